@@ -0,0 +1,95 @@
+package com.dispatch.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JMH 결과(JSON)를 기준값과 비교
+ *
+ * 벤치마크+파라미터 조합마다 기준 대비 변화율을 출력하고, 평균 시간이 threshold 보다 늘어난 항목을 회귀로 표시한다.
+ * --fail 이면 회귀가 하나라도 있을 때 종료 코드 1 (CI 용). 기준에 없는 새 벤치마크는 NEW 로만 표시한다.
+ * 기본 threshold 0.6 은 샌드박스 기준값의 측정 오차(±50%)보다 크게 잡은 값 - CI 장비로 기준값을 다시 잡으면 낮춘다.
+ *
+ * 실행: ./gradlew jmh jmhCompare
+ *       ./gradlew jmhCompare -PcompareArgs="--current build/results/jmh/results.json --threshold 0.3 --fail"
+ */
+public final class BaselineCompare {
+
+    private BaselineCompare() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path baseline = Path.of("src/jmh/baseline/results.json");
+        Path current = Path.of("build/results/jmh/results.json");
+        double threshold = 0.6;
+        boolean fail = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--baseline" -> baseline = Path.of(args[++i]);
+                case "--current" -> current = Path.of(args[++i]);
+                case "--threshold" -> threshold = Double.parseDouble(args[++i]);
+                case "--fail" -> fail = true;
+                default -> throw new IllegalArgumentException("알 수 없는 옵션: " + args[i]);
+            }
+        }
+
+        Map<String, Score> before = read(baseline);
+        Map<String, Score> after = read(current);
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Score> entry : after.entrySet()) {
+            Score now = entry.getValue();
+            Score base = before.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("%-70s %14s %14s %9s%n", entry.getKey(), "-", now, "NEW");
+                continue;
+            }
+            if (!base.unit().equals(now.unit())) {
+                System.out.printf("%-70s %14s %14s %9s%n", entry.getKey(), base, now, "UNIT");
+                continue;
+            }
+
+            double change = (now.value() - base.value()) / base.value();
+            boolean regressed = change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14s %14s %+8.1f%%%s%n", entry.getKey(), base, now, change * 100,
+                    regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) over %.0f%%%n", regressions, threshold * 100);
+
+        if (fail && regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replace("com.dispatch.benchmark.", ""));
+            run.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private record Score(double value, String unit) {
+
+        @Override
+        public String toString() {
+            return String.format("%.3f %s", value, unit);
+        }
+    }
+}
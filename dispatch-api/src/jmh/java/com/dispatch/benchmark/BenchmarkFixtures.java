@@ -0,0 +1,122 @@
+package com.dispatch.benchmark;
+
+import com.dispatch.entity.Company;
+import com.dispatch.entity.DispatchMatch;
+import com.dispatch.entity.DispatchRequest;
+import com.dispatch.entity.Driver;
+import com.dispatch.entity.Equipment;
+import com.dispatch.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+
+/**
+ * 벤치마크 공통 데이터 - 작업 완료 후 서명까지 끝난 배차 1건 (영속성 컨텍스트 없이 엔티티만 구성)
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static DispatchMatch completedMatch() {
+        LocalDateTime base = LocalDateTime.of(2026, 10, 19, 8, 0);
+
+        Company company = Company.builder()
+                .id(10L)
+                .name("한빛건설")
+                .businessNumber("1108104567")
+                .representative("김대표")
+                .build();
+
+        User staff = User.builder()
+                .id(100L)
+                .email("staff@dispatch.com")
+                .name("이담당")
+                .phone("010-1111-2222")
+                .role(User.UserRole.STAFF)
+                .status(User.UserStatus.APPROVED)
+                .company(company)
+                .build();
+
+        User driverUser = User.builder()
+                .id(200L)
+                .email("driver@dispatch.com")
+                .name("박기사")
+                .phone("010-3333-4444")
+                .role(User.UserRole.DRIVER)
+                .status(User.UserStatus.APPROVED)
+                .build();
+
+        Driver driver = Driver.builder()
+                .id(20L)
+                .user(driverUser)
+                .businessRegistrationNumber("2208101234")
+                .businessName("박기사중기")
+                .verificationStatus(Driver.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build();
+
+        Equipment equipment = Equipment.builder()
+                .id(30L)
+                .driver(driver)
+                .type(Equipment.EquipmentType.CRANE)
+                .model("KATO 25t")
+                .tonnage("25")
+                .maxHeight(45.0)
+                .vehicleNumber("12가3456")
+                .status(Equipment.EquipmentStatus.ACTIVE)
+                .build();
+
+        DispatchRequest request = DispatchRequest.builder()
+                .id(1000L)
+                .staff(staff)
+                .company(company)
+                .siteAddress("서울특별시 강남구 테헤란로 123")
+                .siteDetail("B동 후문 하역장")
+                .latitude(37.5012)
+                .longitude(127.0396)
+                .contactName("최현장")
+                .contactPhone("010-5555-6666")
+                .workDate(LocalDate.of(2026, 10, 20))
+                .workTime(LocalTime.of(9, 0))
+                .estimatedHours(4)
+                .workDescription("외벽 유리 패널 양중 작업, 20층 높이")
+                .equipmentType(Equipment.EquipmentType.CRANE)
+                .minHeight(40.0)
+                .equipmentRequirements("아웃트리거 설치 공간 확보됨")
+                .price(new BigDecimal("850000"))
+                .priceNegotiable(false)
+                .minDriverRating(3)
+                .status(DispatchRequest.DispatchStatus.COMPLETED)
+                .createdAt(base.minusDays(1))
+                .build();
+
+        // 서명 이미지는 실제와 비슷한 크기(수 KB)의 data URL
+        String signature = "data:image/png;base64," + Base64.getEncoder().encodeToString(new byte[4096]);
+
+        return DispatchMatch.builder()
+                .id(500L)
+                .request(request)
+                .driver(driver)
+                .equipment(equipment)
+                .matchedAt(base)
+                .departedAt(base.plusMinutes(20))
+                .arrivedAt(base.plusMinutes(55))
+                .workStartedAt(base.plusMinutes(60))
+                .completedAt(base.plusHours(4))
+                .finalPrice(new BigDecimal("900000"))
+                .driverSignature(signature)
+                .driverSignedAt(base.plusHours(4))
+                .clientSignature(signature)
+                .clientName("최현장")
+                .clientSignedAt(base.plusHours(4).plusMinutes(5))
+                .companyConfirmed(false)
+                .workNotes("작업 중 우천으로 30분 지연")
+                .workPhotos("[\"/uploads/work/1.jpg\",\"/uploads/work/2.jpg\"]")
+                .status(DispatchMatch.MatchStatus.SIGNED)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.dispatch.benchmark;
+
+import com.dispatch.entity.Driver.DriverGrade;
+import com.dispatch.entity.Equipment.EquipmentType;
+import com.dispatch.repository.DispatchMatchRepository;
+import com.dispatch.repository.DriverRepository;
+import com.dispatch.repository.EquipmentRepository;
+import com.dispatch.service.DriverCandidateIndex;
+import com.dispatch.service.DriverCandidateIndex.Candidate;
+import com.dispatch.util.GeoUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배차 1건의 반경 내 후보 기사 거르기 (haversine)
+ *
+ * scan: 전체 후보를 돌며 장비 유형 확인 후 거리 계산 (색인 도입 전 방식)
+ * grid: DriverCandidateIndex.findNearby 로 주변 격자 칸만 꺼낸 뒤 거리 계산 (DispatchMatchingService.rank 방식)
+ * 기사는 수도권 범위에 고정 시드로 흩뿌리고, 색인은 저장소 대신 동적 프록시가 돌려주는 행으로 채운다.
+ * 거리 계산은 서비스들이 함께 쓰는 GeoUtils.distanceKm 를 그대로 부른다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CandidateFilterBenchmark {
+
+    private static final EquipmentType[] TYPES = {
+            EquipmentType.HIGH_LIFT_TRUCK, EquipmentType.AERIAL_PLATFORM, EquipmentType.LADDER_TRUCK,
+            EquipmentType.CRANE, EquipmentType.BOOM_LIFT
+    };
+
+    @Param({"2000", "20000"})
+    private int drivers;
+
+    @Param({"20", "50"})
+    private double radiusKm;
+
+    private DriverCandidateIndex index;
+    private double[][] sites;
+    private int next;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        Random random = new Random(42);
+        List<Object[]> driverRows = new ArrayList<>();
+        List<Object[]> specRows = new ArrayList<>();
+        for (long id = 1; id <= drivers; id++) {
+            driverRows.add(new Object[]{id, id + 100_000, "d" + id + "@t.com", DriverGrade.values()[(int) (id % 3)],
+                    3.0 + random.nextDouble() * 2, 10, 40.0, 10.0,
+                    37.2 + random.nextDouble() * 0.6, 126.7 + random.nextDouble() * 0.7});
+            specRows.add(new Object[]{id, TYPES[random.nextInt(TYPES.length)], 15.0 + random.nextInt(5) * 10});
+        }
+
+        DriverRepository driverRepository = repository(DriverRepository.class, Map.of("findMatchingCandidates", driverRows));
+        EquipmentRepository equipmentRepository = repository(EquipmentRepository.class, Map.of("findMatchingSpecs", specRows));
+        DispatchMatchRepository matchRepository = repository(DispatchMatchRepository.class,
+                Map.of("countActiveMatchesGroupByDriver", List.of()));
+
+        index = new DriverCandidateIndex(driverRepository, equipmentRepository, matchRepository);
+        Field cellSize = DriverCandidateIndex.class.getDeclaredField("cellSizeDeg");
+        cellSize.setAccessible(true);
+        cellSize.setDouble(index, 0.1);
+        index.refresh();
+        // 격자 구성은 첫 조회 때 - 측정에서 제외
+        index.findNearby(EquipmentType.CRANE, 37.5, 127.0, radiusKm);
+
+        sites = new double[64][];
+        for (int i = 0; i < sites.length; i++) {
+            sites[i] = new double[]{37.3 + random.nextDouble() * 0.4, 126.8 + random.nextDouble() * 0.5};
+        }
+    }
+
+    @Benchmark
+    public int scan() {
+        double[] site = nextSite();
+        int found = 0;
+        for (Candidate candidate : index.getAll()) {
+            if (candidate.getEquipment().containsKey(EquipmentType.CRANE) && withinRadius(site, candidate)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int grid() {
+        double[] site = nextSite();
+        int found = 0;
+        for (Candidate candidate : index.findNearby(EquipmentType.CRANE, site[0], site[1], radiusKm)) {
+            if (withinRadius(site, candidate)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private boolean withinRadius(double[] site, Candidate candidate) {
+        return GeoUtils.distanceKm(site[0], site[1], candidate.getLatitude(), candidate.getLongitude())
+                <= radiusKm;
+    }
+
+    private double[] nextSite() {
+        return sites[next++ & (sites.length - 1)];
+    }
+
+    // 정해진 메서드만 행 목록을 돌려주는 저장소 대역
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, Map<String, List<Object[]>> rows) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            List<Object[]> result = rows.get(method.getName());
+            if (result == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,132 @@
+package com.dispatch.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 조회 지연 - 보관(ChatArchiveService) 전후 chat_messages 크기 비교
+ *
+ * archived=false: 완료된 배차의 지난 대화까지 모두 chat_messages 에 남아 있는 상태
+ * archived=true: 진행 중 배차의 대화만 남은 상태 (완료 건은 chat_message_archives 로 이동)
+ * 조회는 ChatMessageRepository 의 대화 조회(발신자 이름 포함)와 안 읽은 메시지 집계를 같은 SQL 로 흉내 낸다.
+ * H2 메모리 DB 라 운영 DB 의 절대값과는 다르고, 두 상태의 차이를 보는 용도.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ChatFetchBenchmark {
+
+    private static final int COMPLETED_DISPATCHES = 2000;
+    private static final int ACTIVE_DISPATCHES = 50;
+    private static final int MESSAGES_PER_DISPATCH = 100;
+    private static final int USERS = 200;
+    private static final long STAFF_ID = 1L;
+
+    @Param({"false", "true"})
+    private boolean archived;
+
+    private Connection connection;
+    private PreparedStatement fetch;
+    private PreparedStatement unread;
+    private int next;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:chat-" + archived + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("CREATE TABLE dispatch_requests (id BIGINT PRIMARY KEY, staff_id BIGINT)");
+            statement.execute("CREATE TABLE chat_messages (id BIGINT AUTO_INCREMENT PRIMARY KEY, dispatch_id BIGINT NOT NULL, "
+                    + "seq BIGINT, sender_id BIGINT NOT NULL, sender_type VARCHAR(20) NOT NULL, message VARCHAR(1000) NOT NULL, "
+                    + "image_url VARCHAR(255), is_read BOOLEAN, read_at TIMESTAMP, created_at TIMESTAMP)");
+            statement.execute("CREATE UNIQUE INDEX idx_chat_dispatch_seq ON chat_messages (dispatch_id, seq)");
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO users VALUES (?, ?)")) {
+            for (long id = 1; id <= USERS; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "사용자" + id);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        // 진행 중 배차가 1 ~ ACTIVE_DISPATCHES, 완료 배차가 그 뒤
+        int dispatches = ACTIVE_DISPATCHES + (archived ? 0 : COMPLETED_DISPATCHES);
+        LocalDateTime base = LocalDateTime.now().minusDays(120);
+        try (PreparedStatement request = connection.prepareStatement("INSERT INTO dispatch_requests VALUES (?, ?)");
+             PreparedStatement message = connection.prepareStatement("INSERT INTO chat_messages "
+                     + "(dispatch_id, seq, sender_id, sender_type, message, is_read, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (long dispatchId = 1; dispatchId <= dispatches; dispatchId++) {
+                long staffId = dispatchId % 10 == 1 ? STAFF_ID : 2 + dispatchId % (USERS / 2);
+                long driverUserId = USERS / 2 + dispatchId % (USERS / 2);
+                request.setLong(1, dispatchId);
+                request.setLong(2, staffId);
+                request.addBatch();
+
+                boolean active = dispatchId <= ACTIVE_DISPATCHES;
+                for (long seq = 1; seq <= MESSAGES_PER_DISPATCH; seq++) {
+                    boolean fromDriver = seq % 2 == 0;
+                    message.setLong(1, dispatchId);
+                    message.setLong(2, seq);
+                    message.setLong(3, fromDriver ? driverUserId : staffId);
+                    message.setString(4, fromDriver ? "DRIVER" : "COMPANY");
+                    message.setString(5, "현장 도착 예정 시간 안내드립니다. 메시지 " + seq);
+                    // 진행 중 배차의 마지막 몇 개만 안 읽음
+                    message.setBoolean(6, !active || seq <= MESSAGES_PER_DISPATCH - 5);
+                    message.setTimestamp(7, Timestamp.valueOf(base.plusDays(dispatchId % 120).plusMinutes(seq)));
+                    message.addBatch();
+                }
+                message.executeBatch();
+            }
+            request.executeBatch();
+        }
+
+        fetch = connection.prepareStatement("SELECT m.*, u.name FROM chat_messages m LEFT JOIN users u ON u.id = m.sender_id "
+                + "WHERE m.dispatch_id = ? ORDER BY m.seq");
+        unread = connection.prepareStatement("SELECT m.dispatch_id, COUNT(*) FROM chat_messages m "
+                + "WHERE m.is_read = FALSE AND m.sender_id <> ? "
+                + "AND m.dispatch_id IN (SELECT d.id FROM dispatch_requests d WHERE d.staff_id = ?) GROUP BY m.dispatch_id");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void fetchConversation(Blackhole blackhole) throws SQLException {
+        // 조회 대상은 항상 진행 중 배차
+        fetch.setLong(1, 1 + (next++ % ACTIVE_DISPATCHES));
+        try (ResultSet rows = fetch.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getString("message"));
+                blackhole.consume(rows.getString("name"));
+            }
+        }
+    }
+
+    @Benchmark
+    public void unreadCounts(Blackhole blackhole) throws SQLException {
+        unread.setLong(1, STAFF_ID);
+        unread.setLong(2, STAFF_ID);
+        try (ResultSet rows = unread.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getLong(2));
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.dispatch.benchmark;
+
+import com.dispatch.entity.Equipment.EquipmentType;
+import com.dispatch.service.DispatchPlanSolver;
+import com.dispatch.service.DispatchPlanSolver.Plan;
+import com.dispatch.service.DispatchPlanSolver.PlanDriver;
+import com.dispatch.service.DispatchPlanSolver.PlanJob;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 작업일 일괄 배정 계획 계산 시간과 품질 (합성 인스턴스)
+ *
+ * 수도권 범위에 배차 jobs 건, 기사 drivers 명을 고정 시드로 생성한다.
+ * - 장비: 5개 유형 (일부 기사는 2개 유형), 최대 높이 15~60m, 배차 절반은 최소 높이 요구
+ * - 시간: 07:00~16:00 시작, 1~5시간 + 이동 여유 60분, 일부 기사는 이미 배정된 오전 작업 보유
+ * budgetMs = 0 은 탐욕 배정만, 그 외는 시간 예산까지 개선한다.
+ * 품질(배정/미배정 건수, 총 이동 거리)과 탐색 반복 횟수는 보조 카운터로 함께 출력된다.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+public class DispatchPlanBenchmark {
+
+    private static final EquipmentType[] TYPES = {
+            EquipmentType.HIGH_LIFT_TRUCK, EquipmentType.AERIAL_PLATFORM, EquipmentType.LADDER_TRUCK,
+            EquipmentType.CRANE, EquipmentType.BOOM_LIFT
+    };
+    private static final double[] HEIGHTS = {15, 25, 35, 45, 60};
+
+    @Param({"5000"})
+    private int jobs;
+
+    @Param({"2000"})
+    private int drivers;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    @Param({"0", "2000"})
+    private long budgetMs;
+
+    private List<PlanJob> jobList;
+    private List<PlanDriver> driverList;
+    private ExecutorService executor;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Quality {
+        public long assigned;
+        public long unassigned;
+        public double totalKm;
+        public long iterations;
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        jobList = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            int start = 7 * 60 + random.nextInt(19) * 30;
+            int hours = 1 + random.nextInt(5);
+            Double minHeight = random.nextBoolean() ? HEIGHTS[random.nextInt(HEIGHTS.length - 1)] : null;
+            jobList.add(new PlanJob(i + 1, TYPES[random.nextInt(TYPES.length)], minHeight, null,
+                    37.3 + random.nextDouble() * 0.4, 126.7 + random.nextDouble() * 0.6,
+                    start, start + hours * 60 + 60));
+        }
+
+        driverList = new ArrayList<>();
+        for (int i = 0; i < drivers; i++) {
+            Map<EquipmentType, Double> equipment = new EnumMap<>(EquipmentType.class);
+            equipment.put(TYPES[random.nextInt(TYPES.length)], HEIGHTS[random.nextInt(HEIGHTS.length)]);
+            if (random.nextInt(5) == 0) {
+                equipment.put(TYPES[random.nextInt(TYPES.length)], HEIGHTS[random.nextInt(HEIGHTS.length)]);
+            }
+            List<int[]> busy = random.nextInt(10) == 0 ? List.<int[]>of(new int[]{8 * 60, 12 * 60}) : List.of();
+            driverList.add(new PlanDriver(i + 1, 37.3 + random.nextDouble() * 0.4, 126.7 + random.nextDouble() * 0.6,
+                    equipment, 3.0 + random.nextDouble() * 2, busy));
+        }
+
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Plan solve(Quality quality) {
+        Plan plan = new DispatchPlanSolver(executor).solve(jobList, driverList,
+                new DispatchPlanSolver.Options(threads, budgetMs, 50, 30, 1000, 7));
+        quality.assigned += plan.assigned();
+        quality.unassigned += plan.unassigned();
+        quality.totalKm += plan.totalDistanceKm();
+        quality.iterations += plan.iterations();
+        return plan;
+    }
+}
@@ -0,0 +1,113 @@
+package com.dispatch.benchmark;
+
+import com.dispatch.dto.websocket.WebSocketMessage.MessageType;
+import com.dispatch.service.FcmMessageTemplates;
+import com.google.firebase.messaging.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 1건당 FCM 메시지 구성 비용
+ *
+ * legacy: 기존 FcmService 방식 (이벤트마다 플랫폼 설정 전체를 새로 생성)
+ * template: MessageType 템플릿 (불변 플랫폼 설정 재사용, Notification/data 만 생성)
+ * silent: data-only 템플릿
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class FcmMessageBuildBenchmark {
+
+    @Param({"1", "500"})
+    private int tokenCount;
+
+    private List<String> tokens;
+    private FcmMessageTemplates templates;
+    private long dispatchId;
+
+    @Setup
+    public void setUp() {
+        tokens = new ArrayList<>();
+        for (int i = 0; i < tokenCount; i++) {
+            tokens.add("token-" + i);
+        }
+        templates = new FcmMessageTemplates();
+    }
+
+    @Benchmark
+    public MulticastMessage legacy() {
+        long id = ++dispatchId;
+        String title = "배차 수락됨";
+        String body = String.format("기사가 배차를 수락했습니다. (배차 #%d)", id);
+
+        AndroidConfig androidConfig = AndroidConfig.builder()
+                .setNotification(AndroidNotification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .setIcon("ic_notification")
+                        .setColor("#2563EB")
+                        .setSound("default")
+                        .setChannelId("dispatch_channel")
+                        .build())
+                .setPriority(AndroidConfig.Priority.HIGH)
+                .build();
+
+        ApnsConfig apnsConfig = ApnsConfig.builder()
+                .setAps(Aps.builder()
+                        .setAlert(ApsAlert.builder()
+                                .setTitle(title)
+                                .setBody(body)
+                                .build())
+                        .setSound("default")
+                        .setBadge(1)
+                        .build())
+                .build();
+
+        WebpushConfig webpushConfig = WebpushConfig.builder()
+                .setNotification(WebpushNotification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .setIcon("/icons/icon-192x192.png")
+                        .build())
+                .build();
+
+        return MulticastMessage.builder()
+                .addAllTokens(tokens)
+                .setNotification(Notification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .build())
+                .putAllData(dispatchData(id))
+                .setAndroidConfig(androidConfig)
+                .setApnsConfig(apnsConfig)
+                .setWebpushConfig(webpushConfig)
+                .build();
+    }
+
+    @Benchmark
+    public MulticastMessage template() {
+        long id = ++dispatchId;
+        FcmMessageTemplates.Template template = templates.get(MessageType.DISPATCH_ACCEPTED);
+        return template.build(tokens, null, template.body(id), dispatchData(id));
+    }
+
+    @Benchmark
+    public MulticastMessage silent() {
+        long id = ++dispatchId;
+        return templates.get(MessageType.CHAT_UNREAD).build(tokens, null, null, dispatchData(id));
+    }
+
+    private Map<String, String> dispatchData(long id) {
+        Map<String, String> data = new HashMap<>();
+        data.put("type", "DISPATCH");
+        data.put("dispatchId", String.valueOf(id));
+        data.put("status", "MATCHED");
+        data.put("siteAddress", "서울시 강남구");
+        return data;
+    }
+}
@@ -0,0 +1,66 @@
+package com.dispatch.benchmark;
+
+import com.dispatch.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 발급/검증 비용 (HS256)
+ *
+ * authenticate: JwtAuthenticationFilter / STOMP CONNECT 경로와 같이 validateToken 후 getEmail
+ * (토큰을 두 번 파싱한다). 사용자 조회(loadUserForToken)는 포함하지 않는다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        // 사용자 조회를 하지 않으므로 CustomUserDetailsService 없이 생성
+        provider = new JwtTokenProvider(null);
+        set("secret", "benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256");
+        set("expiration", 3_600_000L);
+        set("refreshExpiration", 604_800_000L);
+        Method init = JwtTokenProvider.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(provider);
+
+        token = provider.createToken("driver@dispatch.com", "DRIVER");
+    }
+
+    @Benchmark
+    public String createToken() {
+        return provider.createToken("driver@dispatch.com", "DRIVER");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getEmail() {
+        return provider.getEmail(token);
+    }
+
+    @Benchmark
+    public void authenticate(Blackhole blackhole) {
+        if (provider.validateToken(token)) {
+            blackhole.consume(provider.getEmail(token));
+        }
+    }
+
+    private void set(String name, Object value) throws ReflectiveOperationException {
+        Field field = JwtTokenProvider.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(provider, value);
+    }
+}
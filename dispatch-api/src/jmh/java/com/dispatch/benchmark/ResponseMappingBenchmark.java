@@ -0,0 +1,44 @@
+package com.dispatch.benchmark;
+
+import com.dispatch.dto.dispatch.DispatchResponse;
+import com.dispatch.dto.dispatch.WorkReportResponse;
+import com.dispatch.entity.DispatchMatch;
+import com.dispatch.entity.DispatchRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 -> 응답 DTO 변환 비용 (배차 목록/상세, 작업 확인서 조회 1건당)
+ *
+ * 연관 엔티티가 모두 적재된 상태 기준이라 지연 로딩 쿼리는 포함하지 않는다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    private DispatchRequest request;
+    private DispatchMatch match;
+
+    @Setup
+    public void setUp() {
+        match = BenchmarkFixtures.completedMatch();
+        request = match.getRequest();
+    }
+
+    @Benchmark
+    public DispatchResponse dispatchResponse() {
+        return DispatchResponse.from(request);
+    }
+
+    @Benchmark
+    public DispatchResponse dispatchResponseWithMatch() {
+        return DispatchResponse.from(request, match);
+    }
+
+    @Benchmark
+    public WorkReportResponse workReportResponse() {
+        return WorkReportResponse.from(request, match);
+    }
+}
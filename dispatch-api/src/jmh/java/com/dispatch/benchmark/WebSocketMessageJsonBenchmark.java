@@ -0,0 +1,85 @@
+package com.dispatch.benchmark;
+
+import com.dispatch.dto.chat.ChatMessageResponse;
+import com.dispatch.dto.dispatch.DispatchResponse;
+import com.dispatch.dto.websocket.LocationUpdate;
+import com.dispatch.dto.websocket.WebSocketMessage;
+import com.dispatch.dto.websocket.WebSocketMessage.MessageType;
+import com.dispatch.entity.ChatMessage;
+import com.dispatch.entity.DispatchMatch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * STOMP 전송 메시지 JSON 직렬화 비용 (메시지 1건당)
+ *
+ * ObjectMapper 는 Spring Boot 기본 구성(Jackson2ObjectMapperBuilder, 날짜 ISO 문자열)과 같게 만든다.
+ * - chat: 채팅 메시지 (가장 잦은 메시지)
+ * - location: 기사 위치 (이동 중 몇 초마다 반복)
+ * - dispatch: 새 배차 알림 (DispatchResponse 전체)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class WebSocketMessageJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private WebSocketMessage<ChatMessageResponse> chat;
+    private WebSocketMessage<LocationUpdate> location;
+    private WebSocketMessage<DispatchResponse> dispatch;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        DispatchMatch match = BenchmarkFixtures.completedMatch();
+        LocalDateTime now = LocalDateTime.of(2026, 10, 19, 9, 30);
+
+        chat = WebSocketMessage.of(MessageType.CHAT_MESSAGE, "새 메시지", "박기사", ChatMessageResponse.builder()
+                .id(9001L)
+                .dispatchId(match.getRequest().getId())
+                .sequence(42L)
+                .senderId(200L)
+                .senderName("박기사")
+                .senderType(ChatMessage.SenderType.DRIVER)
+                .message("현장 도착했습니다. 후문으로 진입하겠습니다.")
+                .isRead(false)
+                .createdAt(now)
+                .build());
+
+        location = WebSocketMessage.of(MessageType.LOCATION_UPDATE, "위치 업데이트", "기사 위치가 업데이트되었습니다.",
+                LocationUpdate.builder()
+                        .driverId(20L)
+                        .driverName("박기사")
+                        .dispatchId(match.getRequest().getId())
+                        .latitude(37.50123)
+                        .longitude(127.03961)
+                        .heading(87.5)
+                        .speed(42.0)
+                        .timestamp(now)
+                        .build());
+
+        dispatch = WebSocketMessage.of(MessageType.NEW_DISPATCH, "새 배차", "서울특별시 강남구",
+                DispatchResponse.from(match.getRequest()));
+    }
+
+    @Benchmark
+    public String chat() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(chat);
+    }
+
+    @Benchmark
+    public String location() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(location);
+    }
+
+    @Benchmark
+    public String dispatch() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(dispatch);
+    }
+}
@@ -0,0 +1,56 @@
+package com.dispatch.benchmark;
+
+import com.dispatch.entity.DispatchMatch;
+import com.dispatch.service.DispatchMetrics;
+import com.dispatch.service.PdfGenerationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 작업 확인서 PDF 생성 시간 (PdfGenerationService.generateWorkReport, 파일 저장 포함)
+ *
+ * 서명 이미지 2장 포함. 파일은 임시 디렉터리에 쓰고 종료 시 지운다.
+ * 한글 폰트는 실행 환경에 따라 다르다 (Linux 기본 이미지에서는 기본 폰트로 대체) - 기준값은 같은 환경끼리 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class WorkReportPdfBenchmark {
+
+    private PdfGenerationService service;
+    private DispatchMatch match;
+    private Path uploadDir;
+
+    @Setup
+    public void setUp() throws IOException, ReflectiveOperationException {
+        uploadDir = Files.createTempDirectory("pdf-benchmark");
+        service = new PdfGenerationService(new DispatchMetrics(new SimpleMeterRegistry()));
+        Field field = PdfGenerationService.class.getDeclaredField("uploadDir");
+        field.setAccessible(true);
+        field.set(service, uploadDir.toString());
+
+        match = BenchmarkFixtures.completedMatch();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String generateWorkReport() throws IOException {
+        return service.generateWorkReport(match);
+    }
+}
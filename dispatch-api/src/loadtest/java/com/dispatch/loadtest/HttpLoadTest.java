@@ -0,0 +1,288 @@
+package com.dispatch.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP 부하 생성기 (닫힌 루프)
+ *
+ * concurrency 개의 클라이언트가 각자 요청-응답을 반복한다. warmup 동안의 요청은 집계하지 않고,
+ * 이후 duration 동안의 처리량과 지연 분포(p50/p90/p99/p99.9)를 출력하며 --out 이 있으면 JSON 으로 남긴다.
+ * 서버 스레드 모드(플랫폼/가상)를 비교할 때는 같은 클라이언트 설정으로 서버만 바꿔 실행한다.
+ *
+ * 실행: ./gradlew loadTest -PloadArgs="--path /api/verify/cargo --method POST --body-file cargo.json
+ *        --login admin@dispatch.com:admin123 --concurrency 2000 --duration-seconds 30 --out build/loadtest/vt.json"
+ */
+public final class HttpLoadTest {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        String token = options.login != null ? login(client, options) : options.token;
+        HttpRequest request = buildRequest(options, token);
+
+        System.out.printf("%s %s%s concurrency=%d warmup=%ds duration=%ds%n", options.method, options.baseUrl,
+                options.path, options.concurrency, options.warmupSeconds, options.durationSeconds);
+
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + Duration.ofSeconds(options.warmupSeconds).toNanos();
+        long measureUntil = measureFrom + Duration.ofSeconds(options.durationSeconds).toNanos();
+
+        List<Worker> workers = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(options.concurrency);
+        for (int i = 0; i < options.concurrency; i++) {
+            Worker worker = new Worker(client, request, measureFrom, measureUntil, done);
+            workers.add(worker);
+            Thread thread = new Thread(worker, "load-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        Result result = Result.merge(options, workers);
+        System.out.println(result.summary());
+        if (options.out != null) {
+            Path out = Path.of(options.out);
+            if (out.getParent() != null) {
+                Files.createDirectories(out.getParent());
+            }
+            Files.writeString(out, result.toJson(), StandardCharsets.UTF_8);
+            System.out.println("result written to " + out.toAbsolutePath());
+        }
+    }
+
+    private static String login(HttpClient client, Options options) throws IOException, InterruptedException {
+        int separator = options.login.indexOf(':');
+        String body = "{\"email\":\"" + options.login.substring(0, separator)
+                + "\",\"password\":\"" + options.login.substring(separator + 1) + "\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(options.baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        Matcher matcher = ACCESS_TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("login failed: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static HttpRequest buildRequest(Options options, String token) throws IOException {
+        String body = options.bodyFile != null ? Files.readString(Path.of(options.bodyFile)) : options.body;
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.baseUrl + options.path))
+                .timeout(Duration.ofSeconds(options.timeoutSeconds))
+                .method(options.method, body != null
+                        ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody());
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 클라이언트 하나 - 측정 구간의 지연(마이크로초)과 상태 코드를 스레드 안에서만 기록한다
+     */
+    private static final class Worker implements Runnable {
+        private final HttpClient client;
+        private final HttpRequest request;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final CountDownLatch done;
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<String, Integer> statuses = new TreeMap<>();
+
+        Worker(HttpClient client, HttpRequest request, long measureFrom, long measureUntil, CountDownLatch done) {
+            this.client = client;
+            this.request = request;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            try {
+                long now = System.nanoTime();
+                while (now < measureUntil) {
+                    String status;
+                    try {
+                        status = String.valueOf(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                    } catch (IOException e) {
+                        status = e.getClass().getSimpleName();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+
+                    long finishedAt = System.nanoTime();
+                    // 측정 구간에 시작해서 끝난 요청만
+                    if (now >= measureFrom && finishedAt <= measureUntil) {
+                        record((finishedAt - now) / 1_000, status);
+                    }
+                    now = finishedAt;
+                }
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private void record(long micros, String status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = micros;
+            statuses.merge(status, 1, Integer::sum);
+        }
+    }
+
+    private record Result(Options options, long[] latencies, Map<String, Integer> statuses, long errors) {
+
+        static Result merge(Options options, List<Worker> workers) {
+            int total = workers.stream().mapToInt(worker -> worker.count).sum();
+            long[] latencies = new long[total];
+            Map<String, Integer> statuses = new TreeMap<>();
+            int offset = 0;
+            for (Worker worker : workers) {
+                System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+                offset += worker.count;
+                worker.statuses.forEach((status, count) -> statuses.merge(status, count, Integer::sum));
+            }
+            Arrays.sort(latencies);
+
+            long errors = statuses.entrySet().stream()
+                    .filter(entry -> !entry.getKey().startsWith("2"))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+            return new Result(options, latencies, statuses, errors);
+        }
+
+        double throughput() {
+            return latencies.length / (double) options.durationSeconds;
+        }
+
+        double percentileMs(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1000.0;
+        }
+
+        double meanMs() {
+            return latencies.length == 0 ? 0 : Arrays.stream(latencies).average().orElse(0) / 1000.0;
+        }
+
+        Map<String, Double> latencyMs() {
+            Map<String, Double> latency = new LinkedHashMap<>();
+            latency.put("mean", meanMs());
+            latency.put("p50", percentileMs(50));
+            latency.put("p90", percentileMs(90));
+            latency.put("p99", percentileMs(99));
+            latency.put("p999", percentileMs(99.9));
+            latency.put("max", percentileMs(100));
+            return latency;
+        }
+
+        String summary() {
+            StringBuilder summary = new StringBuilder()
+                    .append(String.format("requests=%d errors=%d throughput=%.1f req/s%n",
+                            latencies.length, errors, throughput()))
+                    .append("latency(ms)");
+            latencyMs().forEach((name, value) -> summary.append(String.format(" %s=%.1f", name, value)));
+            return summary.append(System.lineSeparator()).append("statuses ").append(statuses).toString();
+        }
+
+        String toJson() {
+            StringBuilder json = new StringBuilder("{\n");
+            json.append("  \"label\": \"").append(options.label).append("\",\n");
+            json.append("  \"method\": \"").append(options.method).append("\",\n");
+            json.append("  \"url\": \"").append(options.baseUrl).append(options.path).append("\",\n");
+            json.append("  \"concurrency\": ").append(options.concurrency).append(",\n");
+            json.append("  \"durationSeconds\": ").append(options.durationSeconds).append(",\n");
+            json.append("  \"requests\": ").append(latencies.length).append(",\n");
+            json.append("  \"errors\": ").append(errors).append(",\n");
+            json.append("  \"throughputRps\": ").append(String.format("%.1f", throughput())).append(",\n");
+            json.append("  \"latencyMs\": {");
+            StringBuilder fields = new StringBuilder();
+            latencyMs().forEach((name, value) -> fields.append(fields.length() > 0 ? ", " : "")
+                    .append('"').append(name).append("\": ").append(String.format("%.1f", value)));
+            json.append(fields).append("},\n");
+            json.append("  \"statuses\": {");
+            StringBuilder codes = new StringBuilder();
+            statuses.forEach((status, count) -> codes.append(codes.length() > 0 ? ", " : "")
+                    .append('"').append(status).append("\": ").append(count));
+            json.append(codes).append("}\n}\n");
+            return json.toString();
+        }
+    }
+
+    private static final class Options {
+        String baseUrl = "http://localhost:8080";
+        String path = "/api/health";
+        String method = "GET";
+        String body;
+        String bodyFile;
+        String login;
+        String token;
+        String label = "run";
+        String out;
+        int concurrency = 100;
+        int warmupSeconds = 10;
+        int durationSeconds = 30;
+        int timeoutSeconds = 60;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--base-url" -> options.baseUrl = value;
+                    case "--path" -> options.path = value;
+                    case "--method" -> options.method = value.toUpperCase();
+                    case "--body" -> options.body = value;
+                    case "--body-file" -> options.bodyFile = value;
+                    case "--login" -> options.login = value;
+                    case "--token" -> options.token = value;
+                    case "--label" -> options.label = value;
+                    case "--out" -> options.out = value;
+                    case "--concurrency" -> options.concurrency = Integer.parseInt(value);
+                    case "--warmup-seconds" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "--duration-seconds" -> options.durationSeconds = Integer.parseInt(value);
+                    case "--timeout-seconds" -> options.timeoutSeconds = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("unknown option: " + args[i]);
+                }
+            }
+            return options;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.dispatch.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 엔드포인트별 지연/상태 코드 집계 (시나리오 부하 테스트용)
+ *
+ * 측정 구간(measureFrom ~ measureUntil) 안에서 시작해서 끝난 요청만 기록한다.
+ * 오류는 5xx 와 전송 실패(예외 이름, ...Exception)만 센다 - 409 같은 4xx 는 경합에서 진 정상 결과일 수 있어 상태 코드로만 남긴다.
+ */
+final class LatencyRecorder {
+
+    private final long measureFrom;
+    private final long measureUntil;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    LatencyRecorder(long measureFrom, long measureUntil) {
+        this.measureFrom = measureFrom;
+        this.measureUntil = measureUntil;
+    }
+
+    boolean measuring(long nanos) {
+        return nanos >= measureFrom && nanos <= measureUntil;
+    }
+
+    boolean finished() {
+        return System.nanoTime() > measureUntil;
+    }
+
+    void record(String endpoint, long startedAt, long finishedAt, String status) {
+        if (startedAt >= measureFrom && finishedAt <= measureUntil) {
+            endpoints.computeIfAbsent(endpoint, key -> new Endpoint()).record((finishedAt - startedAt) / 1_000, status);
+        }
+    }
+
+    /**
+     * 측정 구간 안에서 일어난 사건 수 (위치 전송, 수락 성공 등)
+     */
+    void count(String counter) {
+        if (measuring(System.nanoTime())) {
+            counters.computeIfAbsent(counter, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    String summary(int durationSeconds) {
+        StringBuilder summary = new StringBuilder(String.format("%-52s %8s %6s %9s %8s %8s %8s %8s%n",
+                "endpoint", "requests", "errors", "req/s", "p50", "p99", "p999", "max"));
+        new TreeMap<>(endpoints).forEach((name, endpoint) -> {
+            Stats stats = endpoint.stats(durationSeconds);
+            summary.append(String.format("%-52s %8d %6d %9.1f %8.1f %8.1f %8.1f %8.1f%n", name, stats.requests(),
+                    stats.errors, stats.throughput, stats.percentileMs(50), stats.percentileMs(99),
+                    stats.percentileMs(99.9), stats.percentileMs(100)));
+        });
+        summary.append("latency in ms, counters ").append(counterValues());
+        return summary.toString();
+    }
+
+    String toJson(Map<String, Object> config, int durationSeconds) {
+        StringBuilder json = new StringBuilder("{\n  \"config\": {");
+        StringBuilder fields = new StringBuilder();
+        config.forEach((name, value) -> fields.append(fields.length() > 0 ? ", " : "")
+                .append('"').append(name).append("\": ")
+                .append(value instanceof Number ? value.toString() : "\"" + value + "\""));
+        json.append(fields).append("},\n");
+        json.append("  \"durationSeconds\": ").append(durationSeconds).append(",\n");
+
+        json.append("  \"endpoints\": [");
+        boolean first = true;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Stats stats = entry.getValue().stats(durationSeconds);
+            json.append(first ? "\n" : ",\n");
+            first = false;
+            json.append("    {\"endpoint\": \"").append(entry.getKey()).append("\", ")
+                    .append("\"requests\": ").append(stats.requests()).append(", ")
+                    .append("\"errors\": ").append(stats.errors).append(", ")
+                    .append("\"throughputRps\": ").append(String.format("%.1f", stats.throughput)).append(", ")
+                    .append("\"latencyMs\": {");
+            StringBuilder latency = new StringBuilder();
+            stats.latencyMs().forEach((name, value) -> latency.append(latency.length() > 0 ? ", " : "")
+                    .append('"').append(name).append("\": ").append(String.format("%.2f", value)));
+            json.append(latency).append("}, \"statuses\": {");
+            StringBuilder codes = new StringBuilder();
+            stats.statuses.forEach((status, count) -> codes.append(codes.length() > 0 ? ", " : "")
+                    .append('"').append(status).append("\": ").append(count));
+            json.append(codes).append("}}");
+        }
+        json.append("\n  ],\n");
+
+        json.append("  \"counters\": {");
+        StringBuilder values = new StringBuilder();
+        counterValues().forEach((name, value) -> values.append(values.length() > 0 ? ", " : "")
+                .append('"').append(name).append("\": ").append(value));
+        return json.append(values).append("}\n}\n").toString();
+    }
+
+    private Map<String, Long> counterValues() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, value) -> values.put(name, value.get()));
+        return values;
+    }
+
+    private static final class Endpoint {
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<String, Integer> statuses = new TreeMap<>();
+
+        synchronized void record(long micros, String status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = micros;
+            statuses.merge(status, 1, Integer::sum);
+        }
+
+        synchronized Stats stats(int durationSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            long errors = statuses.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith("5") || entry.getKey().endsWith("Exception"))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+            return new Stats(sorted, new TreeMap<>(statuses), errors, sorted.length / (double) durationSeconds);
+        }
+    }
+
+    private record Stats(long[] latencies, Map<String, Integer> statuses, long errors, double throughput) {
+
+        int requests() {
+            return latencies.length;
+        }
+
+        double percentileMs(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1000.0;
+        }
+
+        Map<String, Double> latencyMs() {
+            Map<String, Double> latency = new LinkedHashMap<>();
+            latency.put("mean", latencies.length == 0 ? 0 : Arrays.stream(latencies).average().orElse(0) / 1000.0);
+            latency.put("p50", percentileMs(50));
+            latency.put("p90", percentileMs(90));
+            latency.put("p99", percentileMs(99));
+            latency.put("p999", percentileMs(99.9));
+            latency.put("max", percentileMs(100));
+            return latency;
+        }
+    }
+}
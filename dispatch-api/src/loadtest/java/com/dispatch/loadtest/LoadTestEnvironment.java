@@ -0,0 +1,71 @@
+package com.dispatch.loadtest;
+
+import com.dispatch.DispatchApiApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.SpringApplication;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 부하 테스트용 앱 실행 환경 (외부 인프라 없이 한 프로세스)
+ *
+ * - DB: H2 메모리 DB (dev 와 같은 기본 모드) - src/loadtest/resources/application-loadtest.yml
+ * - Redis: 내장 Redis 서버 (L2 캐시, 무효화 채널까지 실제 Redis 프로토콜로 동작)
+ * - FCM: FakeFcmSender (실제 전송 없이 성공 처리)
+ * - verify-server: StubVerifyServer (고정 지연 후 VALID)
+ * 옵션으로 지정하지 않은 인자는 그대로 Spring 에 넘긴다 (예: --server.port=8090 --matching.enabled=false).
+ *
+ * 실행: ./gradlew loadTestEnvironment -PenvArgs="--redis-port 16379 --verify-port 18080 --verify-delay-ms 100"
+ */
+public final class LoadTestEnvironment {
+
+    private LoadTestEnvironment() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int redisPort = 16379;
+        int verifyPort = 18080;
+        long verifyDelayMs = 100;
+        double verifyErrorRate = 0;
+        List<String> springArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--redis-port" -> redisPort = Integer.parseInt(args[++i]);
+                case "--verify-port" -> verifyPort = Integer.parseInt(args[++i]);
+                case "--verify-delay-ms" -> verifyDelayMs = Long.parseLong(args[++i]);
+                case "--verify-error-rate" -> verifyErrorRate = Double.parseDouble(args[++i]);
+                default -> springArgs.add(args[i]);
+            }
+        }
+
+        // 대역은 프로세스 안의 스레드라 먼저 띄운다 (포트 충돌 시 Redis 프로세스를 남기지 않도록)
+        HttpServer verify = StubVerifyServer.start(verifyPort, verifyDelayMs, verifyErrorRate);
+        RedisServer redis = RedisServer.newRedisServer()
+                .port(redisPort)
+                .setting("bind 127.0.0.1")
+                .setting("save \"\"")
+                .setting("appendonly no")
+                .setting("maxmemory 256mb")
+                .build();
+        redis.start();
+        System.out.printf("embedded redis on %d, stub verify server on %d (delay=%dms, error-rate=%.2f)%n",
+                redisPort, verifyPort, verifyDelayMs, verifyErrorRate);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            verify.stop(0);
+            try {
+                redis.stop();
+            } catch (IOException e) {
+                System.err.println("embedded redis stop failed: " + e.getMessage());
+            }
+        }, "loadtest-environment-shutdown"));
+
+        springArgs.add(0, "--spring.profiles.active=dev,loadtest");
+        springArgs.add(1, "--spring.data.redis.port=" + redisPort);
+        springArgs.add(2, "--verify.api.url=http://localhost:" + verifyPort);
+        SpringApplication.run(DispatchApiApplication.class, springArgs.toArray(String[]::new));
+    }
+}
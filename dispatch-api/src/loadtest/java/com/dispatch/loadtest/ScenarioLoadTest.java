@@ -0,0 +1,608 @@
+package com.dispatch.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 시나리오 부하 테스트 (기사 위치 전송, 배차 등록, 수락 경합, 채팅을 동시에)
+ *
+ * 준비 단계에서 직원/기사 계정을 만들고(기사는 관리자 승인, 근무 시작, 위치 등록까지) 측정 단계에서 아래를 함께 돌린다.
+ * - 위치: 기사마다 STOMP 로 /app/location 을 주기적으로 전송. 출발한 배차가 있으면 직원이 /user/queue/location 으로
+ *   받기까지의 지연을, 없으면 같은 연결의 /app/ping 왕복 지연을 잰다.
+ * - 배차 등록: 직원마다 주기적으로 POST /api/dispatches
+ * - 수락 경합: 기사마다 가용 배차를 조회해 무작위로 골라 수락 (409 는 경합에서 진 것), 이긴 기사는 출발 처리
+ * - 채팅: 매칭된 배차에서 기사/직원이 메시지를 보내고 이어 받기(sync), 안 읽은 수 요약을 조회
+ * 엔드포인트별 처리량과 p50/p90/p99/p99.9 를 출력하고 --out 이 있으면 JSON 으로 남긴다.
+ *
+ * 대상 앱은 LoadTestEnvironment(H2, 내장 Redis, FCM 대역, verify-server 대역)로 띄운다.
+ * 실행: ./gradlew scenarioLoadTest -PscenarioArgs="--drivers 200 --staff 10 --duration-seconds 60 --out build/loadtest/scenario.json"
+ */
+public final class ScenarioLoadTest {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern DATA_ID = Pattern.compile("\"data\"\\s*:\\s*\\{\\s*\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern DISPATCH_ID = Pattern.compile("\\{\"id\":(\\d+),\"staff\"");
+    private static final Pattern SEQUENCE = Pattern.compile("\"sequence\"\\s*:\\s*(\\d+)");
+    private static final Pattern LOCATION = Pattern.compile(
+            "\"driverId\":(\\d+).*?\"latitude\":([-0-9.E]+),\"longitude\":([-0-9.E]+)");
+
+    private static final String[] EQUIPMENT_TYPES = {"CRANE", "HIGH_LIFT_TRUCK", "AERIAL_PLATFORM"};
+
+    // 서울 일대
+    private static final double MIN_LAT = 37.45;
+    private static final double MAX_LAT = 37.65;
+    private static final double MIN_LNG = 126.85;
+    private static final double MAX_LNG = 127.15;
+
+    private final Options options;
+    private final HttpClient client;
+    private final String run;
+    private final List<Staff> staff = new ArrayList<>();
+    private final List<DriverAccount> drivers = new ArrayList<>();
+    private final Map<Long, Staff> staffByDispatch = new ConcurrentHashMap<>();
+    private final List<Match> matches = Collections.synchronizedList(new ArrayList<>());
+    // 기사 ID -> 직원에게 전달되기를 기다리는 마지막 위치
+    private final Map<Long, PendingLocation> pendingLocations = new ConcurrentHashMap<>();
+    private LatencyRecorder recorder;
+
+    private ScenarioLoadTest(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.run = String.format("%04d", ThreadLocalRandom.current().nextInt(10_000));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ScenarioLoadTest(Options.parse(args)).execute();
+    }
+
+    private void execute() throws Exception {
+        System.out.printf("%s drivers=%d staff=%d chat-workers=%d warmup=%ds duration=%ds run=%s%n", options.baseUrl,
+                options.drivers, options.staff, options.chatWorkers, options.warmupSeconds, options.durationSeconds, run);
+
+        long setupStartedAt = System.nanoTime();
+        prepareAccounts();
+        System.out.printf("setup done in %.1fs%n", (System.nanoTime() - setupStartedAt) / 1e9);
+
+        long measureFrom = System.nanoTime() + Duration.ofSeconds(options.warmupSeconds).toNanos();
+        long measureUntil = measureFrom + Duration.ofSeconds(options.durationSeconds).toNanos();
+        recorder = new LatencyRecorder(measureFrom, measureUntil);
+
+        ScheduledExecutorService ticker = Executors.newScheduledThreadPool(options.locationThreads, daemon("location"));
+        ExecutorService loops = Executors.newCachedThreadPool(daemon("scenario"));
+        List<StompClient> sockets = connectSockets(ticker);
+
+        List<Future<?>> running = new ArrayList<>();
+        for (Staff account : staff) {
+            running.add(loops.submit(() -> createDispatches(account)));
+        }
+        for (DriverAccount driver : drivers) {
+            running.add(loops.submit(() -> raceForDispatches(driver)));
+        }
+        for (int i = 0; i < options.chatWorkers; i++) {
+            running.add(loops.submit(this::chat));
+        }
+
+        long remaining = measureUntil - System.nanoTime();
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, remaining));
+        ticker.shutdownNow();
+        for (Future<?> future : running) {
+            try {
+                future.get(options.timeoutSeconds, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                future.cancel(true);
+            }
+        }
+        loops.shutdownNow();
+        sockets.forEach(StompClient::close);
+
+        System.out.println(recorder.summary(options.durationSeconds));
+        if (options.out != null) {
+            Path out = Path.of(options.out);
+            if (out.getParent() != null) {
+                Files.createDirectories(out.getParent());
+            }
+            Files.writeString(out, recorder.toJson(options.describe(run), options.durationSeconds), StandardCharsets.UTF_8);
+            System.out.println("result written to " + out.toAbsolutePath());
+        }
+    }
+
+    // ==================== 준비 ====================
+
+    private void prepareAccounts() throws Exception {
+        String adminToken = login(options.admin);
+        ExecutorService setup = Executors.newFixedThreadPool(options.setupThreads, daemon("setup"));
+        try {
+            List<Future<Staff>> staffFutures = new ArrayList<>();
+            for (int i = 0; i < options.staff; i++) {
+                int index = i;
+                staffFutures.add(setup.submit(() -> registerStaff(index)));
+            }
+            List<Future<DriverAccount>> driverFutures = new ArrayList<>();
+            for (int i = 0; i < options.drivers; i++) {
+                int index = i;
+                driverFutures.add(setup.submit(() -> registerDriver(index, adminToken)));
+            }
+            for (Future<Staff> future : staffFutures) {
+                staff.add(future.get());
+            }
+            for (Future<DriverAccount> future : driverFutures) {
+                drivers.add(future.get());
+            }
+        } finally {
+            setup.shutdownNow();
+        }
+    }
+
+    private Staff registerStaff(int index) throws IOException, InterruptedException {
+        String email = "lt" + run + "-s" + index + "@load.test";
+        String token = register(email, "부하직원" + index, phone(5000 + index), "STAFF");
+        registerDevice(token, "lt" + run + "-s" + index);
+        return new Staff(email, token);
+    }
+
+    private DriverAccount registerDriver(int index, String adminToken) throws IOException, InterruptedException {
+        String token = register("lt" + run + "-d" + index + "@load.test", "부하기사" + index, phone(index), "DRIVER");
+        String equipmentType = EQUIPMENT_TYPES[index % EQUIPMENT_TYPES.length];
+        Response registered = setupCall("POST", "/api/drivers/register", token, "{\"businessRegistrationNumber\":\""
+                + businessNumber(Integer.parseInt(run) * 10_000 + index) + "\",\"businessName\":\"부하시험" + index
+                + "\",\"driverLicenseNumber\":\"LT" + run + index + "\",\"equipmentType\":\"" + equipmentType
+                + "\",\"equipmentModel\":\"LT-1\",\"maxHeight\":45.0}");
+        Matcher id = DATA_ID.matcher(registered.body());
+        if (!id.find()) {
+            throw new IllegalStateException("driver register failed: " + registered.status() + " " + registered.body());
+        }
+        long driverId = Long.parseLong(id.group(1));
+
+        Response approved = setupCall("POST", "/api/admin/drivers/" + driverId + "/approve", adminToken, null);
+        if (!approved.successful()) {
+            throw new IllegalStateException("driver approve failed: " + approved.status() + " " + approved.body());
+        }
+        setupCall("PUT", "/api/drivers/active?active=true", token, null);
+        DriverAccount driver = new DriverAccount(driverId, token, randomLatitude(), randomLongitude());
+        setupCall("PUT", "/api/drivers/location", token,
+                "{\"latitude\":" + driver.latitude + ",\"longitude\":" + driver.longitude + "}");
+        registerDevice(token, "lt" + run + "-d" + index);
+        return driver;
+    }
+
+    private String register(String email, String name, String phone, String role) throws IOException, InterruptedException {
+        Response response = setupCall("POST", "/api/auth/register", null, "{\"email\":\"" + email
+                + "\",\"password\":\"password1\",\"name\":\"" + name + "\",\"phone\":\"" + phone
+                + "\",\"role\":\"" + role + "\"}");
+        Matcher matcher = ACCESS_TOKEN.matcher(response.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("register failed: " + response.status() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private void registerDevice(String token, String fcmToken) throws IOException, InterruptedException {
+        setupCall("POST", "/api/devices/token", token, "{\"token\":\"" + fcmToken + "\",\"deviceType\":\"ANDROID\"}");
+    }
+
+    private String login(String credentials) throws IOException, InterruptedException {
+        int separator = credentials.indexOf(':');
+        Response response = setupCall("POST", "/api/auth/login", null, "{\"email\":\""
+                + credentials.substring(0, separator) + "\",\"password\":\"" + credentials.substring(separator + 1) + "\"}");
+        Matcher matcher = ACCESS_TOKEN.matcher(response.body());
+        if (response.status() != 200 || !matcher.find()) {
+            throw new IllegalStateException("login failed: " + response.status() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private String phone(int index) {
+        return "010" + run + String.format("%04d", index);
+    }
+
+    // ==================== 위치 (STOMP) ====================
+
+    private List<StompClient> connectSockets(ScheduledExecutorService ticker) throws Exception {
+        List<StompClient> sockets = new ArrayList<>();
+        for (Staff account : staff) {
+            StompClient socket = StompClient.connect(client, options.baseUrl, account.token, this::onStaffMessage);
+            socket.subscribe("/user/queue/location");
+            socket.subscribe("/user/queue/notifications");
+            sockets.add(socket);
+        }
+
+        for (DriverAccount driver : drivers) {
+            StompClient socket = StompClient.connect(client, options.baseUrl, driver.token,
+                    (destination, body) -> onPong(driver));
+            socket.subscribe("/user/queue/pong");
+            socket.subscribe("/user/queue/notifications");
+            sockets.add(socket);
+
+            long initialDelay = ThreadLocalRandom.current().nextLong(options.locationIntervalMs);
+            ticker.scheduleAtFixedRate(() -> sendLocation(driver, socket), initialDelay,
+                    options.locationIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        return sockets;
+    }
+
+    private void sendLocation(DriverAccount driver, StompClient socket) {
+        try {
+            // 수십 미터씩 이동
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            driver.latitude = clamp(driver.latitude + random.nextDouble(-0.0005, 0.0005), MIN_LAT, MAX_LAT);
+            driver.longitude = clamp(driver.longitude + random.nextDouble(-0.0005, 0.0005), MIN_LNG, MAX_LNG);
+
+            if (driver.enRouteDispatchId != null) {
+                pendingLocations.put(driver.driverId, new PendingLocation(driver.latitude, driver.longitude, System.nanoTime()));
+            }
+            socket.send("/app/location", "{\"latitude\":" + driver.latitude + ",\"longitude\":" + driver.longitude
+                    + ",\"heading\":" + random.nextInt(360) + ",\"speed\":" + random.nextInt(60) + "}");
+            recorder.count("location.sent");
+
+            if (driver.enRouteDispatchId == null && driver.pingSentAt == 0
+                    && driver.ticks.incrementAndGet() % options.pingEvery == 0) {
+                driver.pingSentAt = System.nanoTime();
+                socket.send("/app/ping", "{}");
+            }
+        } catch (RuntimeException e) {
+            recorder.count("location.failed");
+        }
+    }
+
+    private void onPong(DriverAccount driver) {
+        long sentAt = driver.pingSentAt;
+        if (sentAt != 0) {
+            driver.pingSentAt = 0;
+            recorder.record("STOMP /app/ping -> /user/queue/pong", sentAt, System.nanoTime(), "MESSAGE");
+        }
+    }
+
+    private void onStaffMessage(String destination, String body) {
+        if (!destination.endsWith("/queue/location")) {
+            return;
+        }
+        Matcher matcher = LOCATION.matcher(body);
+        if (!matcher.find()) {
+            return;
+        }
+        long driverId = Long.parseLong(matcher.group(1));
+        PendingLocation pending = pendingLocations.get(driverId);
+        if (pending != null && pending.latitude == Double.parseDouble(matcher.group(2))
+                && pending.longitude == Double.parseDouble(matcher.group(3))
+                && pendingLocations.remove(driverId, pending)) {
+            recorder.record("STOMP /app/location -> /user/queue/location", pending.sentAt, System.nanoTime(), "MESSAGE");
+        }
+    }
+
+    // ==================== 배차 등록 ====================
+
+    private void createDispatches(Staff account) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long next = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(random.nextLong(options.dispatchIntervalMs));
+        while (!recorder.finished()) {
+            if (!sleepUntil(next)) {
+                return;
+            }
+            next += TimeUnit.MILLISECONDS.toNanos(options.dispatchIntervalMs);
+
+            // 일정이 겹쳐 수락이 막히지 않도록 날짜/시간을 넓게 흩뿌림
+            String body = "{\"siteAddress\":\"서울 부하시험 현장\",\"workDate\":\""
+                    + LocalDate.now().plusDays(1 + random.nextInt(365)) + "\",\"workTime\":\""
+                    + String.format("%02d:00:00", 7 + random.nextInt(10)) + "\",\"estimatedHours\":4,\"equipmentType\":\""
+                    + EQUIPMENT_TYPES[random.nextInt(EQUIPMENT_TYPES.length)] + "\",\"latitude\":" + randomLatitude()
+                    + ",\"longitude\":" + randomLongitude() + ",\"contactName\":\"현장담당\",\"contactPhone\":\"01000000000\","
+                    + "\"price\":" + (100_000 + random.nextInt(20) * 10_000) + "}";
+            Response response = call("POST /api/dispatches", "POST", "/api/dispatches", account.token, body);
+            Matcher id = DATA_ID.matcher(response.body());
+            if (response.successful() && id.find()) {
+                staffByDispatch.put(Long.parseLong(id.group(1)), account);
+                recorder.count("dispatch.created");
+            }
+        }
+    }
+
+    // ==================== 수락 경합 ====================
+
+    private void raceForDispatches(DriverAccount driver) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (!recorder.finished()) {
+            if (!sleepUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(
+                    options.acceptIntervalMs / 2 + random.nextLong(options.acceptIntervalMs)))) {
+                return;
+            }
+
+            Response available = call("GET /api/dispatches/available", "GET", "/api/dispatches/available?latitude="
+                    + driver.latitude + "&longitude=" + driver.longitude + "&radiusKm=50", driver.token, null);
+            List<Long> ids = new ArrayList<>();
+            Matcher matcher = DISPATCH_ID.matcher(available.body());
+            while (matcher.find() && ids.size() < 5) {
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+            if (ids.isEmpty()) {
+                continue;
+            }
+
+            // 목록 앞쪽(최근 등록)을 여러 기사가 동시에 노린다
+            long dispatchId = ids.get(random.nextInt(ids.size()));
+            Response accepted = call("POST /api/dispatches/{id}/accept", "POST",
+                    "/api/dispatches/" + dispatchId + "/accept", driver.token, null);
+            if (accepted.status() == 409) {
+                recorder.count("accept.lost");
+                continue;
+            }
+            if (accepted.status() != 200) {
+                continue;
+            }
+            recorder.count("accept.won");
+
+            Staff owner = staffByDispatch.get(dispatchId);
+            if (owner != null) {
+                matches.add(new Match(dispatchId, driver, owner));
+            }
+            // 출발한 배차가 하나뿐이어야 위치가 그 배차 직원에게 전달된다
+            if (driver.enRouteDispatchId == null) {
+                Response departed = call("POST /api/dispatches/{id}/depart", "POST",
+                        "/api/dispatches/" + dispatchId + "/depart", driver.token, null);
+                if (departed.status() == 200) {
+                    driver.enRouteDispatchId = dispatchId;
+                }
+            }
+        }
+    }
+
+    // ==================== 채팅 ====================
+
+    private void chat() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (!recorder.finished()) {
+            if (!sleepUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(
+                    options.chatIntervalMs / 2 + random.nextLong(options.chatIntervalMs)))) {
+                return;
+            }
+
+            Match match;
+            synchronized (matches) {
+                if (matches.isEmpty()) {
+                    continue;
+                }
+                match = matches.get(random.nextInt(matches.size()));
+            }
+
+            boolean fromDriver = random.nextBoolean();
+            String senderToken = fromDriver ? match.driver.token : match.staff.token;
+            String readerToken = fromDriver ? match.staff.token : match.driver.token;
+            String base = "/api/dispatches/" + match.dispatchId + "/chat";
+
+            Response sent = call("POST /api/dispatches/{id}/chat/messages", "POST", base + "/messages", senderToken,
+                    "{\"message\":\"부하시험 메시지 " + random.nextInt(1_000_000) + "\"}");
+            Matcher sequence = SEQUENCE.matcher(sent.body());
+            if (!sent.successful() || !sequence.find()) {
+                continue;
+            }
+            recorder.count("chat.sent");
+
+            // 상대방: 마지막으로 받은 순번 이후 이어 받기, 읽음 처리, 안 읽은 수 요약
+            long lastSeen = match.lastSeen.getAndSet(Long.parseLong(sequence.group(1)));
+            call("GET /api/dispatches/{id}/chat/messages/sync", "GET",
+                    base + "/messages/sync?afterSequence=" + lastSeen + "&limit=50", readerToken, null);
+            call("PUT /api/dispatches/{id}/chat/messages/read", "PUT", base + "/messages/read", readerToken, null);
+            call("GET /api/chat/unread-summary", "GET", "/api/chat/unread-summary", senderToken, null);
+        }
+    }
+
+    // ==================== HTTP ====================
+
+    private Response call(String endpoint, String method, String path, String token, String body) {
+        long startedAt = System.nanoTime();
+        Response response;
+        try {
+            response = exchange(method, path, token, body);
+        } catch (IOException e) {
+            response = new Response(-1, e.getClass().getSimpleName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, "");
+        }
+        recorder.record(endpoint, startedAt, System.nanoTime(),
+                response.status() > 0 ? String.valueOf(response.status()) : response.body());
+        return response;
+    }
+
+    private Response setupCall(String method, String path, String token, String body)
+            throws IOException, InterruptedException {
+        return exchange(method, path, token, body);
+    }
+
+    private Response exchange(String method, String path, String token, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.baseUrl + path))
+                .timeout(Duration.ofSeconds(options.timeoutSeconds))
+                .method(method, body != null
+                        ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody());
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    // ==================== 기타 ====================
+
+    private static boolean sleepUntil(long nanos) {
+        long delay = nanos - System.nanoTime();
+        if (delay <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static double randomLatitude() {
+        return ThreadLocalRandom.current().nextDouble(MIN_LAT, MAX_LAT);
+    }
+
+    private static double randomLongitude() {
+        return ThreadLocalRandom.current().nextDouble(MIN_LNG, MAX_LNG);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    // 체크섬이 맞는 사업자등록번호 (기사마다 달라야 검증 결과 캐시를 거치지 않고 verify-server 대역까지 간다)
+    private static String businessNumber(int seed) {
+        String body = String.format("%09d", 100_000_000 + seed);
+        int[] weights = {1, 3, 7, 1, 3, 7, 1, 3, 5};
+        int sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += Character.getNumericValue(body.charAt(i)) * weights[i];
+        }
+        sum += (Character.getNumericValue(body.charAt(8)) * 5) / 10;
+        return body + (10 - (sum % 10)) % 10;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Response(int status, String body) {
+
+        // 생성 API 는 201 로 응답한다
+        boolean successful() {
+            return status / 100 == 2;
+        }
+    }
+
+    private record Staff(String email, String token) {
+    }
+
+    private record PendingLocation(double latitude, double longitude, long sentAt) {
+    }
+
+    private static final class DriverAccount {
+        final long driverId;
+        final String token;
+        final AtomicLong ticks = new AtomicLong();
+        volatile double latitude;
+        volatile double longitude;
+        volatile Long enRouteDispatchId;
+        volatile long pingSentAt;
+
+        DriverAccount(long driverId, String token, double latitude, double longitude) {
+            this.driverId = driverId;
+            this.token = token;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+
+    private static final class Match {
+        final long dispatchId;
+        final DriverAccount driver;
+        final Staff staff;
+        final AtomicLong lastSeen = new AtomicLong();
+
+        Match(long dispatchId, DriverAccount driver, Staff staff) {
+            this.dispatchId = dispatchId;
+            this.driver = driver;
+            this.staff = staff;
+        }
+    }
+
+    private static final class Options {
+        String baseUrl = "http://localhost:8082";
+        String admin = "admin@dispatch.com:admin123";
+        String out;
+        int drivers = 200;
+        int staff = 10;
+        int chatWorkers = 20;
+        long locationIntervalMs = 1000;
+        int pingEvery = 5;
+        long dispatchIntervalMs = 2000;
+        long acceptIntervalMs = 3000;
+        long chatIntervalMs = 1000;
+        int locationThreads = 4;
+        int setupThreads = 8;
+        int warmupSeconds = 10;
+        int durationSeconds = 60;
+        int timeoutSeconds = 30;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--base-url" -> options.baseUrl = value;
+                    case "--admin" -> options.admin = value;
+                    case "--out" -> options.out = value;
+                    case "--drivers" -> options.drivers = Integer.parseInt(value);
+                    case "--staff" -> options.staff = Integer.parseInt(value);
+                    case "--chat-workers" -> options.chatWorkers = Integer.parseInt(value);
+                    case "--location-interval-ms" -> options.locationIntervalMs = Long.parseLong(value);
+                    case "--ping-every" -> options.pingEvery = Integer.parseInt(value);
+                    case "--dispatch-interval-ms" -> options.dispatchIntervalMs = Long.parseLong(value);
+                    case "--accept-interval-ms" -> options.acceptIntervalMs = Long.parseLong(value);
+                    case "--chat-interval-ms" -> options.chatIntervalMs = Long.parseLong(value);
+                    case "--location-threads" -> options.locationThreads = Integer.parseInt(value);
+                    case "--setup-threads" -> options.setupThreads = Integer.parseInt(value);
+                    case "--warmup-seconds" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "--duration-seconds" -> options.durationSeconds = Integer.parseInt(value);
+                    case "--timeout-seconds" -> options.timeoutSeconds = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("unknown option: " + args[i]);
+                }
+            }
+            return options;
+        }
+
+        Map<String, Object> describe(String run) {
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("baseUrl", baseUrl);
+            config.put("run", run);
+            config.put("drivers", drivers);
+            config.put("staff", staff);
+            config.put("chatWorkers", chatWorkers);
+            config.put("locationIntervalMs", locationIntervalMs);
+            config.put("dispatchIntervalMs", dispatchIntervalMs);
+            config.put("acceptIntervalMs", acceptIntervalMs);
+            config.put("chatIntervalMs", chatIntervalMs);
+            config.put("warmupSeconds", warmupSeconds);
+            return config;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.dispatch.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * 부하 테스트용 최소 STOMP 1.2 클라이언트 (JDK WebSocket, SockJS 없이 /ws 직접 연결)
+ *
+ * CONNECT 에 Authorization 헤더로 JWT 를 실어 보내고 CONNECTED 를 기다린다.
+ * 받은 MESSAGE 는 (destination, body) 로 listener 에 넘긴다. 하트비트와 RECEIPT 는 쓰지 않는다.
+ */
+final class StompClient implements WebSocket.Listener {
+
+    private final BiConsumer<String, String> listener;
+    private final CompletableFuture<Void> connected = new CompletableFuture<>();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+    private final StringBuilder partial = new StringBuilder();
+    private WebSocket socket;
+
+    private StompClient(BiConsumer<String, String> listener) {
+        this.listener = listener;
+    }
+
+    static StompClient connect(HttpClient client, String baseUrl, String token, BiConsumer<String, String> listener)
+            throws Exception {
+        StompClient stomp = new StompClient(listener);
+        String url = baseUrl.replaceFirst("^http", "ws") + "/ws";
+        stomp.socket = client.newWebSocketBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .buildAsync(URI.create(url), stomp)
+                .get(10, TimeUnit.SECONDS);
+        stomp.sendFrame("CONNECT\naccept-version:1.2\nheart-beat:0,0\nAuthorization:Bearer " + token + "\n\n");
+        stomp.connected.get(10, TimeUnit.SECONDS);
+        return stomp;
+    }
+
+    void subscribe(String destination) {
+        sendFrame("SUBSCRIBE\nid:sub-" + subscriptions.getAndIncrement() + "\ndestination:" + destination + "\n\n");
+    }
+
+    void send(String destination, String json) {
+        sendFrame("SEND\ndestination:" + destination + "\ncontent-type:application/json\n\n" + json);
+    }
+
+    void close() {
+        socket.sendClose(WebSocket.NORMAL_CLOSURE, "").exceptionally(e -> null);
+    }
+
+    // JDK WebSocket 은 이전 전송이 끝나기 전에 다시 보내면 실패하므로 연결 단위로 직렬화
+    private synchronized void sendFrame(String frame) {
+        socket.sendText(frame + "\0", true).join();
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        webSocket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        partial.append(data);
+        if (last) {
+            String frame = partial.toString();
+            partial.setLength(0);
+            handle(frame);
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        connected.completeExceptionally(error);
+    }
+
+    private void handle(String frame) {
+        int headerEnd = frame.indexOf("\n\n");
+        String head = headerEnd >= 0 ? frame.substring(0, headerEnd) : frame;
+        String command = head.lines().findFirst().orElse("");
+        switch (command) {
+            case "CONNECTED" -> connected.complete(null);
+            case "ERROR" -> connected.completeExceptionally(new IllegalStateException("STOMP error: " + frame));
+            case "MESSAGE" -> {
+                String destination = head.lines()
+                        .filter(line -> line.startsWith("destination:"))
+                        .map(line -> line.substring("destination:".length()))
+                        .findFirst()
+                        .orElse("");
+                String body = frame.substring(headerEnd + 2);
+                listener.accept(destination, body.endsWith("\0") ? body.substring(0, body.length() - 1) : body);
+            }
+            default -> {
+                // 하트비트(빈 프레임) 등은 무시
+            }
+        }
+    }
+}
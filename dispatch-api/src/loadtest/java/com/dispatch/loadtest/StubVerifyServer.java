@@ -0,0 +1,84 @@
+package com.dispatch.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하 테스트용 verify-server 대역
+ *
+ * /api/verify/** 요청에 고정 지연 후 VALID 를 돌려준다. 외부 검증 API 처럼 응답을 기다리는 동안
+ * 요청 스레드가 묶이는 경로를 재현하기 위한 것으로, 앱은 verify.api.url 을 이 서버로 지정해 띄운다.
+ * --error-rate 비율만큼은 503 을 돌려준다 (차단기 확인용).
+ *
+ * 실행: ./gradlew stubVerifyServer -PstubArgs="--port 18080 --delay-ms 100 --error-rate 0.0"
+ */
+public final class StubVerifyServer {
+
+    private StubVerifyServer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 18080;
+        long delayMs = 100;
+        double errorRate = 0;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--delay-ms" -> delayMs = Long.parseLong(args[i + 1]);
+                case "--error-rate" -> errorRate = Double.parseDouble(args[i + 1]);
+                default -> throw new IllegalArgumentException("unknown option: " + args[i]);
+            }
+        }
+
+        start(port, delayMs, errorRate);
+        System.out.printf("stub verify server listening on %d (delay=%dms, error-rate=%.2f)%n",
+                port, delayMs, errorRate);
+    }
+
+    public static HttpServer start(int port, long delayMs, double errorRate) throws IOException {
+        AtomicLong served = new AtomicLong();
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 4096);
+        // 지연 중인 요청마다 스레드 하나 (대역이 병목이 되지 않도록 상한 없음)
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/verify/", exchange -> handle(exchange, delayMs, errorRate, served));
+        server.start();
+        return server;
+    }
+
+    private static void handle(HttpExchange exchange, long delayMs, double errorRate, AtomicLong served)
+            throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            String response = "{\"requestId\":\"" + UUID.randomUUID() + "\",\"result\":\"VALID\",\"reasonCode\":\"OK\","
+                    + "\"provider\":\"stub\",\"verifiedAt\":\"" + OffsetDateTime.now() + "\",\"message\":\"stub #"
+                    + served.incrementAndGet() + "\"}";
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.dispatch.config;
+
+import com.dispatch.service.ReadModelCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * 다른 인스턴스의 캐시 무효화 메시지 구독 (L2 사용 시에만)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cache.l2.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                   ReadModelCache readModelCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> readModelCache.onInvalidationMessage(
+                        new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(ReadModelCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
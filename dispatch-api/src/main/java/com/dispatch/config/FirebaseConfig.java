@@ -1,11 +1,15 @@
 package com.dispatch.config;
 
+import com.dispatch.service.FakeFcmSender;
+import com.dispatch.service.FcmSender;
+import com.dispatch.service.FirebaseFcmSender;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.messaging.FirebaseMessaging;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,6 +19,9 @@ import org.springframework.core.io.Resource;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Configuration
@@ -76,4 +83,34 @@ public class FirebaseConfig {
         }
         return FirebaseMessaging.getInstance();
     }
+
+    /**
+     * FCM 전송 구현 선택
+     * fcm.fake.enabled=true 이면 로컬 대역, Firebase 가 초기화되어 있으면 실제 전송, 둘 다 아니면 전송 안 함(null)
+     */
+    @Bean
+    public FcmSender fcmSender(@Autowired(required = false) FirebaseMessaging firebaseMessaging,
+                               @Value("${fcm.fake.enabled:false}") boolean fakeEnabled) {
+        if (fakeEnabled) {
+            log.info("FCM fake sender enabled");
+            return new FakeFcmSender();
+        }
+        if (firebaseMessaging == null) {
+            return null;
+        }
+        return new FirebaseFcmSender(firebaseMessaging);
+    }
+
+    /**
+     * FCM multicast 청크 병렬 전송용 스레드 풀
+     */
+    @Bean(name = "fcmSendExecutor", destroyMethod = "shutdown")
+    public ExecutorService fcmSendExecutor(@Value("${fcm.send.parallelism:4}") int parallelism) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "fcm-send-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
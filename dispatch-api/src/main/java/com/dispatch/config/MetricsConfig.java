@@ -0,0 +1,65 @@
+package com.dispatch.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * Micrometer 추가 지표 (배차/알림/FCM/PDF 는 DispatchMetrics, HTTP/JVM/리포지토리는 Actuator 기본)
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * STOMP 세션 수, 인바운드/아웃바운드 채널 대기열
+     *
+     * 값은 스크레이프 시점에 읽는다 (메시지 경로에는 아무것도 더하지 않음).
+     * 인바운드 대기열이 쌓이면 @MessageMapping 처리(위치 수신 등)가 밀리고,
+     * 아웃바운드 대기열이 쌓이면 느린 클라이언트로 보내는 전송이 밀린다.
+     */
+    @Bean
+    public MeterBinder stompMetrics(
+            @Qualifier("subProtocolWebSocketHandler") WebSocketHandler webSocketHandler,
+            @Qualifier("clientInboundChannelExecutor") TaskExecutor inboundExecutor,
+            @Qualifier("clientOutboundChannelExecutor") TaskExecutor outboundExecutor) {
+        SubProtocolWebSocketHandler handler = (SubProtocolWebSocketHandler)
+                WebSocketHandlerDecorator.unwrap(webSocketHandler);
+
+        return registry -> {
+            Gauge.builder("stomp.sessions", handler, h -> h.getStats().getWebSocketSessions())
+                    .description("연결된 STOMP 세션 수")
+                    .tag("transport", "websocket")
+                    .register(registry);
+            Gauge.builder("stomp.sessions", handler, h -> h.getStats().getHttpStreamingSessions()
+                            + h.getStats().getHttpPollingSessions())
+                    .description("연결된 STOMP 세션 수")
+                    .tag("transport", "sockjs-http")
+                    .register(registry);
+
+            channelGauges(registry, "inbound", inboundExecutor);
+            channelGauges(registry, "outbound", outboundExecutor);
+        };
+    }
+
+    private void channelGauges(MeterRegistry registry, String channel, TaskExecutor executor) {
+        if (!(executor instanceof ThreadPoolTaskExecutor pool)) {
+            return;
+        }
+        Gauge.builder("stomp.channel.queued", pool, ThreadPoolTaskExecutor::getQueueSize)
+                .description("STOMP 채널 실행기 대기 작업 수")
+                .tag("channel", channel)
+                .register(registry);
+        Gauge.builder("stomp.channel.active", pool, ThreadPoolTaskExecutor::getActiveCount)
+                .description("STOMP 채널 실행기 처리 중 스레드 수")
+                .tag("channel", channel)
+                .register(registry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.dispatch.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * 스케줄러 설정
+ *
+ * STOMP 브로커가 messageBrokerTaskScheduler 를 등록하므로 Boot 기본 스케줄러가 만들어지지 않고,
+ * 별도 스케줄러가 없으면 모든 @Scheduled 작업이 브로커 하트비트 스레드 하나를 같이 쓴다.
+ * 이름이 taskScheduler 인 빈을 두면 @Scheduled 는 이 풀에서 실행된다.
+ * 가상 스레드 모드(spring.threads.virtual.enabled + Java 21 이상)에서는 Boot 기본 스케줄러처럼
+ * 실행마다 가상 스레드를 쓰는 SimpleAsyncTaskScheduler 를, 아니면 scheduling.pool-size 크기의 플랫폼 스레드 풀을 쓴다.
+ * 오래 걸리는 작업(채팅 아카이빙, 등급 일괄 산정, 배정 계획, FCM 재시도)은 스케줄러 스레드에서
+ * 각자의 실행기로 넘기기만 한다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Value("${scheduling.pool-size:8}")
+    private int poolSize;
+
+    @Bean(name = "taskScheduler")
+    public TaskScheduler taskScheduler(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+            scheduler.setVirtualThreads(true);
+            scheduler.setThreadNamePrefix("scheduling-");
+            return scheduler;
+        }
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
+}
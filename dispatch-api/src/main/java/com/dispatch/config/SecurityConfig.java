@@ -2,6 +2,9 @@ package com.dispatch.config;
 
 import com.dispatch.security.JwtAuthenticationFilter;
 import com.dispatch.security.JwtTokenProvider;
+import com.dispatch.service.SuspensionRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,6 +34,8 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final SuspensionRegistry suspensionRegistry;
+    private final ObjectMapper objectMapper;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -40,12 +45,16 @@ public class SecurityConfig {
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // 비동기 응답(long-poll/SSE) 재디스패치 - 최초 요청에서 이미 인가됨
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // 공개 엔드포인트
                         .requestMatchers(HttpMethod.POST, "/api/companies/register").permitAll()  // 발주처 회원가입
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()  // CORS preflight
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/api/health",
+                                "/actuator/health/**",
+                                "/actuator/prometheus",             // 지표 수집 (관리 포트에서만 열림 - management.server.port)
                                 "/api/reports/dispatches/*/view",  // 작업 확인서 공개 조회
                                 "/uploads/**",                      // 업로드 파일 접근
                                 "/api/dispatches/*/sign/client",    // 고객 서명 (인증 불필요)
@@ -57,7 +66,7 @@ public class SecurityConfig {
                                 "/ws/**"
                         ).permitAll()
                         // 관리자 전용
-                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
                         // 직원/발주처 전용
                         .requestMatchers("/api/dispatches/create").hasAnyRole("STAFF", "ADMIN", "COMPANY")
                         // 기사 전용
@@ -67,7 +76,7 @@ public class SecurityConfig {
                         // 나머지는 인증 필요
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider),
+                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, suspensionRegistry, objectMapper),
                         UsernamePasswordAuthenticationFilter.class)
                 .headers(headers -> headers.frameOptions(frame -> frame.disable())); // H2 Console
 
@@ -1,10 +1,13 @@
 package com.dispatch.controller;
 
 import com.dispatch.dto.ApiResponse;
+import com.dispatch.dto.PageResponse;
 import com.dispatch.dto.admin.*;
+import com.dispatch.dto.chat.ChatArchiveResult;
 import com.dispatch.dto.company.CompanyCreateRequest;
 import com.dispatch.dto.company.CompanyResponse;
 import com.dispatch.dto.company.CompanyUpdateRequest;
+import com.dispatch.dto.dispatch.DispatchCandidateResponse;
 import com.dispatch.dto.dispatch.WorkReportResponse;
 import com.dispatch.dto.driver.DriverResponse;
 import com.dispatch.dto.settings.SystemSettingRequest;
@@ -20,11 +23,14 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -42,14 +48,26 @@ public class AdminController {
     private final StatisticsService statisticsService;
     private final SystemSettingService systemSettingService;
     private final DispatchService dispatchService;
+    private final ChatArchiveService chatArchiveService;
+    private final ReadModelCache readModelCache;
+    private final DriverGradingService driverGradingService;
+    private final DispatchMatchingService dispatchMatchingService;
+    private final DispatchPlanningService dispatchPlanningService;
+    private final EntityTagService entityTagService;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final VerifyClient verifyClient;
+    private final DocumentVerificationPipeline documentVerificationPipeline;
 
     // ==================== 기사 관리 ====================
 
     @GetMapping("/drivers")
     @Operation(summary = "전체 기사 목록", description = "모든 기사 목록을 조회합니다")
-    public ResponseEntity<ApiResponse<List<DriverResponse>>> getAllDrivers() {
+    public ResponseEntity<ApiResponse<List<DriverResponse>>> getAllDrivers(WebRequest request) {
+        if (entityTagService.notModified(request, entityTagService.drivers())) {
+            return null;
+        }
         List<DriverResponse> drivers = driverService.getAllDrivers();
-        return ResponseEntity.ok(ApiResponse.success(drivers));
+        return ResponseEntity.ok().cacheControl(EntityTagService.REVALIDATE).body(ApiResponse.success(drivers));
     }
 
     @GetMapping("/drivers/approved")
@@ -97,6 +115,26 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("등급이 변경되었습니다", response));
     }
 
+    @DeleteMapping("/drivers/{driverId}/grade/lock")
+    @Operation(summary = "기사 등급 고정 해제", description = "관리자가 지정한 등급 고정을 풀고 자동 등급 산정을 다시 적용합니다")
+    public ResponseEntity<ApiResponse<DriverResponse>> unlockDriverGrade(@PathVariable Long driverId) {
+        DriverResponse response = driverGradingService.unlockGrade(driverId);
+        return ResponseEntity.ok(ApiResponse.success("등급 고정이 해제되었습니다", response));
+    }
+
+    @PostMapping("/drivers/grades/recalculate")
+    @Operation(summary = "기사 등급 일괄 산정", description = "전체 기사의 등급을 즉시 다시 산정합니다 (야간 작업과 동일)")
+    public ResponseEntity<ApiResponse<GradingResult>> recalculateDriverGrades() {
+        GradingResult result = driverGradingService.regradeAll();
+        return ResponseEntity.ok(ApiResponse.success("등급 산정이 완료되었습니다", result));
+    }
+
+    @GetMapping("/drivers/grades/recalculate/status")
+    @Operation(summary = "기사 등급 일괄 산정 결과", description = "마지막 등급 일괄 산정 결과를 조회합니다")
+    public ResponseEntity<ApiResponse<GradingResult>> getDriverGradingStatus() {
+        return ResponseEntity.ok(ApiResponse.success(driverGradingService.getLastResult()));
+    }
+
     // ==================== 발주처 관리 ====================
 
     @GetMapping("/companies")
@@ -178,9 +216,11 @@ public class AdminController {
     // ==================== 경고 관리 ====================
 
     @GetMapping("/warnings")
-    @Operation(summary = "경고 목록", description = "모든 경고 목록을 조회합니다")
-    public ResponseEntity<ApiResponse<List<WarningResponse>>> getAllWarnings() {
-        List<WarningResponse> warnings = warningService.getAllWarnings();
+    @Operation(summary = "경고 목록", description = "경고 목록을 최신순으로 페이지 단위 조회합니다")
+    public ResponseEntity<ApiResponse<PageResponse<WarningResponse>>> getAllWarnings(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        PageResponse<WarningResponse> warnings = warningService.getAllWarnings(page, size);
         return ResponseEntity.ok(ApiResponse.success(warnings));
     }
 
@@ -207,16 +247,20 @@ public class AdminController {
     // ==================== 정지 관리 ====================
 
     @GetMapping("/suspensions")
-    @Operation(summary = "정지 목록", description = "모든 정지 목록을 조회합니다")
-    public ResponseEntity<ApiResponse<List<SuspensionResponse>>> getAllSuspensions() {
-        List<SuspensionResponse> suspensions = suspensionService.getAllSuspensions();
+    @Operation(summary = "정지 목록", description = "정지 목록을 최신순으로 페이지 단위 조회합니다")
+    public ResponseEntity<ApiResponse<PageResponse<SuspensionResponse>>> getAllSuspensions(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        PageResponse<SuspensionResponse> suspensions = suspensionService.getAllSuspensions(page, size);
         return ResponseEntity.ok(ApiResponse.success(suspensions));
     }
 
     @GetMapping("/suspensions/active")
-    @Operation(summary = "활성 정지 목록", description = "현재 활성화된 정지 목록을 조회합니다")
-    public ResponseEntity<ApiResponse<List<SuspensionResponse>>> getActiveSuspensions() {
-        List<SuspensionResponse> suspensions = suspensionService.getActiveSuspensions();
+    @Operation(summary = "활성 정지 목록", description = "현재 활성화된 정지 목록을 페이지 단위 조회합니다")
+    public ResponseEntity<ApiResponse<PageResponse<SuspensionResponse>>> getActiveSuspensions(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        PageResponse<SuspensionResponse> suspensions = suspensionService.getActiveSuspensions(page, size);
         return ResponseEntity.ok(ApiResponse.success(suspensions));
     }
 
@@ -244,37 +288,54 @@ public class AdminController {
 
     @GetMapping("/statistics/dashboard")
     @Operation(summary = "대시보드 통계", description = "관리자 대시보드 통계를 조회합니다")
-    public ResponseEntity<ApiResponse<DashboardStatistics>> getDashboardStatistics() {
+    public ResponseEntity<ApiResponse<DashboardStatistics>> getDashboardStatistics(WebRequest request) {
+        if (entityTagService.notModified(request, entityTagService.dashboardStatistics())) {
+            return null;
+        }
         DashboardStatistics statistics = statisticsService.getDashboardStatistics();
-        return ResponseEntity.ok(ApiResponse.success(statistics));
+        return ResponseEntity.ok().cacheControl(EntityTagService.REVALIDATE).body(ApiResponse.success(statistics));
     }
 
     @GetMapping("/statistics/drivers")
     @Operation(summary = "기사별 통계", description = "모든 기사의 통계를 조회합니다")
-    public ResponseEntity<ApiResponse<List<DriverStatistics>>> getDriverStatistics() {
+    public ResponseEntity<ApiResponse<List<DriverStatistics>>> getDriverStatistics(WebRequest request) {
+        if (entityTagService.notModified(request, entityTagService.driverStatistics())) {
+            return null;
+        }
         List<DriverStatistics> statistics = statisticsService.getDriverStatistics();
-        return ResponseEntity.ok(ApiResponse.success(statistics));
+        return ResponseEntity.ok().cacheControl(EntityTagService.REVALIDATE).body(ApiResponse.success(statistics));
     }
 
     @GetMapping("/statistics/drivers/{driverId}")
     @Operation(summary = "기사 상세 통계", description = "특정 기사의 통계를 조회합니다")
-    public ResponseEntity<ApiResponse<DriverStatistics>> getDriverStatistics(@PathVariable Long driverId) {
+    public ResponseEntity<ApiResponse<DriverStatistics>> getDriverStatistics(@PathVariable Long driverId,
+                                                                             WebRequest request) {
+        if (entityTagService.notModified(request, entityTagService.driverStatistics(driverId))) {
+            return null;
+        }
         DriverStatistics statistics = statisticsService.getDriverStatistics(driverId);
-        return ResponseEntity.ok(ApiResponse.success(statistics));
+        return ResponseEntity.ok().cacheControl(EntityTagService.REVALIDATE).body(ApiResponse.success(statistics));
     }
 
     @GetMapping("/statistics/companies")
     @Operation(summary = "발주처별 통계", description = "모든 발주처의 통계를 조회합니다")
-    public ResponseEntity<ApiResponse<List<CompanyStatistics>>> getCompanyStatistics() {
+    public ResponseEntity<ApiResponse<List<CompanyStatistics>>> getCompanyStatistics(WebRequest request) {
+        if (entityTagService.notModified(request, entityTagService.companyStatistics())) {
+            return null;
+        }
         List<CompanyStatistics> statistics = statisticsService.getCompanyStatistics();
-        return ResponseEntity.ok(ApiResponse.success(statistics));
+        return ResponseEntity.ok().cacheControl(EntityTagService.REVALIDATE).body(ApiResponse.success(statistics));
     }
 
     @GetMapping("/statistics/companies/{companyId}")
     @Operation(summary = "발주처 상세 통계", description = "특정 발주처의 통계를 조회합니다")
-    public ResponseEntity<ApiResponse<CompanyStatistics>> getCompanyStatistics(@PathVariable Long companyId) {
+    public ResponseEntity<ApiResponse<CompanyStatistics>> getCompanyStatistics(@PathVariable Long companyId,
+                                                                               WebRequest request) {
+        if (entityTagService.notModified(request, entityTagService.companyStatistics(companyId))) {
+            return null;
+        }
         CompanyStatistics statistics = statisticsService.getCompanyStatistics(companyId);
-        return ResponseEntity.ok(ApiResponse.success(statistics));
+        return ResponseEntity.ok().cacheControl(EntityTagService.REVALIDATE).body(ApiResponse.success(statistics));
     }
 
     // ==================== 설정 관리 ====================
@@ -311,13 +372,43 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(settings));
     }
 
+    // ==================== 배차 매칭 ====================
+
+    @GetMapping("/dispatches/{dispatchId}/candidates")
+    @Operation(summary = "배차 후보 기사 순위", description = "매칭 엔진이 계산한 후보 기사 순위와 항목별 점수를 조회합니다")
+    public ResponseEntity<ApiResponse<List<DispatchCandidateResponse>>> getDispatchCandidates(
+            @PathVariable Long dispatchId,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<DispatchCandidateResponse> candidates = dispatchMatchingService.getCandidates(dispatchId, Math.min(limit, 100));
+        return ResponseEntity.ok(ApiResponse.success(candidates));
+    }
+
+    @PostMapping("/dispatch-plans/run")
+    @Operation(summary = "작업일 일괄 배정 계획", description = "작업일(기본: 다음 날)의 대기 배차 전체를 기사에게 일괄 배정합니다. apply=false 면 계획만 계산합니다")
+    public ResponseEntity<ApiResponse<DispatchPlanResult>> runDispatchPlan(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "false") boolean apply) {
+        LocalDate workDate = date != null ? date : LocalDate.now().plusDays(1);
+        DispatchPlanResult result = dispatchPlanningService.plan(workDate, apply);
+        return ResponseEntity.ok(ApiResponse.success(apply ? "배정 계획이 반영되었습니다" : "배정 계획이 계산되었습니다", result));
+    }
+
+    @GetMapping("/dispatch-plans/status")
+    @Operation(summary = "작업일 일괄 배정 계획 결과", description = "마지막 일괄 배정 계획 결과를 조회합니다")
+    public ResponseEntity<ApiResponse<DispatchPlanResult>> getDispatchPlanStatus() {
+        return ResponseEntity.ok(ApiResponse.success(dispatchPlanningService.getLastResult()));
+    }
+
     // ==================== 작업 확인서 관리 ====================
 
     @GetMapping("/work-reports")
     @Operation(summary = "작업 확인서 목록", description = "모든 완료된 작업의 확인서 목록을 조회합니다")
-    public ResponseEntity<ApiResponse<List<WorkReportResponse>>> getAllWorkReports() {
+    public ResponseEntity<ApiResponse<List<WorkReportResponse>>> getAllWorkReports(WebRequest request) {
+        if (entityTagService.notModified(request, entityTagService.workReports())) {
+            return null;
+        }
         List<WorkReportResponse> reports = dispatchService.getCompletedDispatches();
-        return ResponseEntity.ok(ApiResponse.success(reports));
+        return ResponseEntity.ok().cacheControl(EntityTagService.REVALIDATE).body(ApiResponse.success(reports));
     }
 
     @GetMapping("/work-reports/{dispatchId}")
@@ -326,4 +417,65 @@ public class AdminController {
         WorkReportResponse report = dispatchService.getWorkReport(dispatchId);
         return ResponseEntity.ok(ApiResponse.success(report));
     }
+
+    // ==================== 채팅 보관 관리 ====================
+
+    @PostMapping("/chat-archive/run")
+    @Operation(summary = "채팅 아카이빙 실행", description = "보관 기간이 지난 채팅 메시지를 즉시 아카이빙합니다")
+    public ResponseEntity<ApiResponse<ChatArchiveResult>> runChatArchive() {
+        ChatArchiveResult result = chatArchiveService.archiveExpiredMessages();
+        return ResponseEntity.ok(ApiResponse.success("채팅 아카이빙이 완료되었습니다", result));
+    }
+
+    @GetMapping("/chat-archive/status")
+    @Operation(summary = "채팅 아카이빙 결과", description = "마지막 채팅 아카이빙 실행 결과를 조회합니다")
+    public ResponseEntity<ApiResponse<ChatArchiveResult>> getChatArchiveStatus() {
+        ChatArchiveResult result = chatArchiveService.getLastResult();
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
+    // ==================== 캐시 관리 ====================
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "캐시 통계", description = "조회 모델 캐시 영역별 적중률과 크기를 조회합니다")
+    public ResponseEntity<ApiResponse<List<CacheStatsResponse>>> getCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(readModelCache.getStats()));
+    }
+
+    @DeleteMapping("/cache")
+    @Operation(summary = "캐시 초기화", description = "조회 모델 캐시(L1/L2)를 모두 비웁니다")
+    public ResponseEntity<ApiResponse<Void>> clearCache() {
+        readModelCache.clear();
+        return ResponseEntity.ok(ApiResponse.success("캐시가 초기화되었습니다", null));
+    }
+
+    // ==================== 외부 검증 ====================
+
+    @GetMapping("/verify/client/stats")
+    @Operation(summary = "검증 클라이언트 통계", description = "verify-server 호출 수, 캐시 적중, 실패/거절 건수와 차단기 상태를 조회합니다")
+    public ResponseEntity<ApiResponse<VerifyClientStatsResponse>> getVerifyClientStats() {
+        return ResponseEntity.ok(ApiResponse.success(verifyClient.getStats()));
+    }
+
+    @GetMapping("/documents/pipeline/stats")
+    @Operation(summary = "서류 자동 검증 통계", description = "서류 검증 파이프라인의 단계별 처리/재시도 건수, 처리 시간과 판정 결과를 조회합니다")
+    public ResponseEntity<ApiResponse<DocumentPipelineStatsResponse>> getDocumentPipelineStats() {
+        return ResponseEntity.ok(ApiResponse.success(documentVerificationPipeline.getStats()));
+    }
+
+    // ==================== 스레드 진단 ====================
+
+    @GetMapping("/threads/pinning")
+    @Operation(summary = "가상 스레드 고정 통계",
+            description = "가상 스레드 모드에서 캐리어 스레드 고정(pinning)을 일으킨 위치별 횟수와 시간을 조회합니다")
+    public ResponseEntity<ApiResponse<ThreadPinningStatsResponse>> getThreadPinningStats() {
+        return ResponseEntity.ok(ApiResponse.success(pinningMonitor.getStats()));
+    }
+
+    @DeleteMapping("/threads/pinning")
+    @Operation(summary = "가상 스레드 고정 통계 초기화", description = "수집된 고정 통계를 비웁니다")
+    public ResponseEntity<ApiResponse<Void>> resetThreadPinningStats() {
+        pinningMonitor.reset();
+        return ResponseEntity.ok(ApiResponse.success("고정 통계가 초기화되었습니다", null));
+    }
 }
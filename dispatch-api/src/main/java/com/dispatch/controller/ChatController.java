@@ -3,6 +3,7 @@ package com.dispatch.controller;
 import com.dispatch.dto.ApiResponse;
 import com.dispatch.dto.chat.ChatMessageRequest;
 import com.dispatch.dto.chat.ChatMessageResponse;
+import com.dispatch.dto.chat.ChatSyncResponse;
 import com.dispatch.security.CustomUserDetails;
 import com.dispatch.service.ChatService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -34,6 +35,18 @@ public class ChatController {
         return ResponseEntity.ok(ApiResponse.success(messages));
     }
 
+    @GetMapping("/messages/sync")
+    @Operation(summary = "채팅 증분 동기화", description = "마지막으로 받은 순번 이후의 메시지만 조회합니다 (재연결 시 누락분 복구)")
+    public ResponseEntity<ApiResponse<ChatSyncResponse>> syncMessages(
+            @PathVariable Long dispatchId,
+            @RequestParam(defaultValue = "0") Long afterSequence,
+            @RequestParam(defaultValue = "200") int limit,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        ChatSyncResponse response = chatService.syncMessages(dispatchId, afterSequence, limit, userDetails.getUserId());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @PostMapping("/messages")
     @Operation(summary = "메시지 전송", description = "채팅 메시지를 전송합니다")
     public ResponseEntity<ApiResponse<ChatMessageResponse>> sendMessage(
@@ -0,0 +1,33 @@
+package com.dispatch.controller;
+
+import com.dispatch.dto.ApiResponse;
+import com.dispatch.dto.chat.ChatUnreadSummary;
+import com.dispatch.security.CustomUserDetails;
+import com.dispatch.service.ChatUnreadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/chat")
+@RequiredArgsConstructor
+@Tag(name = "채팅", description = "배차 관련 채팅 API")
+public class ChatUnreadController {
+
+    private final ChatUnreadService chatUnreadService;
+
+    @GetMapping("/unread-summary")
+    @Operation(summary = "전체 읽지 않은 메시지 요약",
+            description = "참여 중인 모든 배차의 읽지 않은 메시지 수를 조회합니다. 이후 변경은 /user/queue/chat-unread 로 전송됩니다")
+    public ResponseEntity<ApiResponse<ChatUnreadSummary>> getUnreadSummary(
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        ChatUnreadSummary summary = chatUnreadService.getSummary(userDetails.getUserId(), userDetails.getUsername());
+        return ResponseEntity.ok(ApiResponse.success(summary));
+    }
+}
@@ -6,6 +6,7 @@ import com.dispatch.dto.company.CompanyResponse;
 import com.dispatch.dto.statistics.CompanyStatistics;
 import com.dispatch.security.CustomUserDetails;
 import com.dispatch.service.CompanyService;
+import com.dispatch.service.EntityTagService;
 import com.dispatch.service.StatisticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @RestController
@@ -25,6 +27,7 @@ public class CompanyController {
 
     private final CompanyService companyService;
     private final StatisticsService statisticsService;
+    private final EntityTagService entityTagService;
 
     @PostMapping("/register")
     @Operation(summary = "발주처 회원가입", description = "발주처(업체)가 직접 회원가입합니다")
@@ -61,9 +64,13 @@ public class CompanyController {
     @PreAuthorize("hasAnyRole('COMPANY', 'STAFF')")
     @Operation(summary = "내 발주처 통계", description = "로그인한 사용자 소속 발주처의 통계를 조회합니다")
     public ResponseEntity<ApiResponse<CompanyStatistics>> getMyCompanyStatistics(
-            @AuthenticationPrincipal CustomUserDetails userDetails) {
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            WebRequest request) {
 
+        if (entityTagService.notModified(request, entityTagService.myCompanyStatistics(userDetails.getUserId()))) {
+            return null;
+        }
         CompanyStatistics stats = statisticsService.getMyCompanyStatistics(userDetails.getUserId());
-        return ResponseEntity.ok(ApiResponse.success(stats));
+        return ResponseEntity.ok().cacheControl(EntityTagService.REVALIDATE).body(ApiResponse.success(stats));
     }
 }
@@ -2,20 +2,28 @@ package com.dispatch.controller;
 
 import com.dispatch.dto.ApiResponse;
 import com.dispatch.dto.dispatch.DispatchCreateRequest;
+import com.dispatch.dto.dispatch.DispatchFeedResponse;
 import com.dispatch.dto.dispatch.DispatchResponse;
 import com.dispatch.dto.dispatch.SignatureRequest;
 import com.dispatch.dto.dispatch.WorkReportResponse;
 import com.dispatch.security.CustomUserDetails;
+import com.dispatch.service.DispatchMatchingService;
 import com.dispatch.service.DispatchService;
+import com.dispatch.service.EntityTagService;
+import com.dispatch.service.OpenDispatchFeed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -26,6 +34,9 @@ import java.util.List;
 public class DispatchController {
 
     private final DispatchService dispatchService;
+    private final DispatchMatchingService dispatchMatchingService;
+    private final OpenDispatchFeed openDispatchFeed;
+    private final EntityTagService entityTagService;
 
     // ========== 직원용 API ==========
 
@@ -68,6 +79,40 @@ public class DispatchController {
         return ResponseEntity.ok(ApiResponse.success(dispatches));
     }
 
+    @GetMapping("/available/feed")
+    @PreAuthorize("hasRole('DRIVER')")
+    @Operation(summary = "가용 배차 피드 (long-poll)",
+            description = "처음에는 전체 목록, 이후 받은 epoch/version 을 보내면 그 이후 변경분만 받습니다. 변경이 없으면 변경이 생기거나 제한 시간이 될 때까지 기다립니다 (기사)")
+    public DeferredResult<ResponseEntity<ApiResponse<DispatchFeedResponse>>> pollAvailableDispatches(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String epoch,
+            @RequestParam(required = false) Long version,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false, defaultValue = "50") Double radiusKm) {
+
+        return openDispatchFeed.poll(userDetails.getUserId(),
+                OpenDispatchFeed.FeedQuery.of(null, epoch, version, latitude, longitude, radiusKm),
+                response -> ResponseEntity.ok(ApiResponse.success(response)));
+    }
+
+    @GetMapping(value = "/available/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('DRIVER')")
+    @Operation(summary = "가용 배차 피드 (SSE)",
+            description = "snapshot 이벤트 후 변경마다 diff 이벤트를 보냅니다. 재연결 시 Last-Event-ID 로 이어받습니다 (기사)")
+    public SseEmitter streamAvailableDispatches(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) String epoch,
+            @RequestParam(required = false) Long version,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false, defaultValue = "50") Double radiusKm) {
+
+        return openDispatchFeed.stream(userDetails.getUserId(),
+                OpenDispatchFeed.FeedQuery.of(lastEventId, epoch, version, latitude, longitude, radiusKm));
+    }
+
     @PostMapping("/{id}/accept")
     @PreAuthorize("hasRole('DRIVER')")
     @Operation(summary = "배차 수락", description = "배차를 수락합니다 (기사)")
@@ -79,6 +124,17 @@ public class DispatchController {
         return ResponseEntity.ok(ApiResponse.success("배차를 수락했습니다", response));
     }
 
+    @PostMapping("/{id}/decline")
+    @PreAuthorize("hasRole('DRIVER')")
+    @Operation(summary = "배차 제안 거절", description = "우선 제안받은 배차를 거절합니다 (기사)")
+    public ResponseEntity<ApiResponse<Void>> declineDispatch(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Long id) {
+
+        dispatchMatchingService.decline(userDetails.getUserId(), id);
+        return ResponseEntity.ok(ApiResponse.success("배차 제안을 거절했습니다", null));
+    }
+
     @PostMapping("/{id}/depart")
     @PreAuthorize("hasRole('DRIVER')")
     @Operation(summary = "출발", description = "현장으로 출발 처리합니다 (기사)")
@@ -158,10 +214,14 @@ public class DispatchController {
     @PreAuthorize("hasRole('DRIVER')")
     @Operation(summary = "기사 배차 이력", description = "기사의 배차 이력을 조회합니다")
     public ResponseEntity<ApiResponse<List<DispatchResponse>>> getDriverDispatches(
-            @AuthenticationPrincipal CustomUserDetails userDetails) {
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            WebRequest request) {
 
+        if (entityTagService.notModified(request, entityTagService.driverHistory(userDetails.getUserId()))) {
+            return null;
+        }
         List<DispatchResponse> dispatches = dispatchService.getDriverDispatches(userDetails.getUserId());
-        return ResponseEntity.ok(ApiResponse.success(dispatches));
+        return ResponseEntity.ok().cacheControl(EntityTagService.REVALIDATE).body(ApiResponse.success(dispatches));
     }
 
     @DeleteMapping("/{id}")
@@ -7,6 +7,7 @@ import com.dispatch.dto.driver.LocationUpdateRequest;
 import com.dispatch.dto.statistics.DriverStatistics;
 import com.dispatch.security.CustomUserDetails;
 import com.dispatch.service.DriverService;
+import com.dispatch.service.EntityTagService;
 import com.dispatch.service.StatisticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @RestController
@@ -28,6 +30,7 @@ public class DriverController {
 
     private final DriverService driverService;
     private final StatisticsService statisticsService;
+    private final EntityTagService entityTagService;
 
     @PostMapping("/register")
     @PreAuthorize("hasRole('DRIVER')")
@@ -101,9 +104,13 @@ public class DriverController {
     @PreAuthorize("hasRole('DRIVER')")
     @Operation(summary = "내 통계", description = "기사 본인의 통계를 조회합니다")
     public ResponseEntity<ApiResponse<DriverStatistics>> getMyStatistics(
-            @AuthenticationPrincipal CustomUserDetails userDetails) {
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            WebRequest request) {
 
+        if (entityTagService.notModified(request, entityTagService.myDriverStatistics(userDetails.getUserId()))) {
+            return null;
+        }
         DriverStatistics statistics = statisticsService.getMyDriverStatistics(userDetails.getUserId());
-        return ResponseEntity.ok(ApiResponse.success(statistics));
+        return ResponseEntity.ok().cacheControl(EntityTagService.REVALIDATE).body(ApiResponse.success(statistics));
     }
 }
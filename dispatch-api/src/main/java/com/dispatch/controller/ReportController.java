@@ -8,6 +8,7 @@ import com.dispatch.repository.DispatchMatchRepository;
 import com.dispatch.repository.DispatchRequestRepository;
 import com.dispatch.security.CustomUserDetails;
 import com.dispatch.service.PdfGenerationService;
+import com.dispatch.service.ReadModelCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +39,7 @@ public class ReportController {
     private final DispatchRequestRepository dispatchRequestRepository;
     private final DispatchMatchRepository dispatchMatchRepository;
     private final PdfGenerationService pdfGenerationService;
+    private final ReadModelCache readModelCache;
 
     @Value("${file.upload-dir:./uploads}")
     private String uploadDir;
@@ -63,6 +65,7 @@ public class ReportController {
             String pdfUrl = pdfGenerationService.generateWorkReport(match);
             match.setWorkReportUrl(pdfUrl);
             dispatchMatchRepository.save(match);
+            readModelCache.evict(ReadModelCache.Region.DISPATCH, dispatchId);
 
             log.info("Work report regenerated: dispatchId={}, url={}", dispatchId, pdfUrl);
             return ResponseEntity.ok(ApiResponse.success(
@@ -1,5 +1,7 @@
 package com.dispatch.controller;
 
+import com.dispatch.dto.chat.ChatResumeRequest;
+import com.dispatch.dto.chat.ChatSyncResponse;
 import com.dispatch.dto.websocket.LocationUpdate;
 import com.dispatch.dto.websocket.WebSocketMessage;
 import com.dispatch.entity.DispatchRequest;
@@ -8,6 +10,9 @@ import com.dispatch.exception.CustomException;
 import com.dispatch.repository.DispatchMatchRepository;
 import com.dispatch.repository.DispatchRequestRepository;
 import com.dispatch.repository.DriverRepository;
+import com.dispatch.security.CustomUserDetails;
+import com.dispatch.service.ChatService;
+import com.dispatch.service.DriverCandidateIndex;
 import com.dispatch.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +33,8 @@ public class WebSocketController {
     private final DispatchRequestRepository dispatchRequestRepository;
     private final DispatchMatchRepository dispatchMatchRepository;
     private final NotificationService notificationService;
+    private final ChatService chatService;
+    private final DriverCandidateIndex candidateIndex;
 
     /**
      * 기사 위치 업데이트 수신
@@ -46,10 +53,9 @@ public class WebSocketController {
 
         // 기사 정보 업데이트
         driverRepository.findByUserEmail(email).ifPresent(driver -> {
-            driver.setLatitude(locationUpdate.getLatitude());
-            driver.setLongitude(locationUpdate.getLongitude());
-            driver.setLocationUpdatedAt(LocalDateTime.now());
-            driverRepository.save(driver);
+            driverRepository.updateLocation(driver.getId(),
+                    locationUpdate.getLatitude(), locationUpdate.getLongitude(), LocalDateTime.now());
+            candidateIndex.updateLocation(driver.getId(), locationUpdate.getLatitude(), locationUpdate.getLongitude());
 
             // 현재 진행 중인 배차가 있으면 직원에게 위치 알림
             dispatchMatchRepository.findActiveMatchByDriver(driver).ifPresent(match -> {
@@ -69,6 +75,20 @@ public class WebSocketController {
         });
     }
 
+    /**
+     * 채팅 재연결 시 누락 메시지 복구
+     * 클라이언트에서 /app/chat/resume 으로 마지막 순번을 전송하면 /user/queue/chat-resume 으로 응답
+     */
+    @MessageMapping("/chat/resume")
+    @SendToUser("/queue/chat-resume")
+    public ChatSyncResponse resumeChat(@Payload ChatResumeRequest request, Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            throw CustomException.unauthorized("인증이 필요합니다");
+        }
+
+        return chatService.syncMessages(request.getDispatchId(), request.getLastSequence(), 500, userDetails.getUserId());
+    }
+
     /**
      * 연결 확인용 ping
      */
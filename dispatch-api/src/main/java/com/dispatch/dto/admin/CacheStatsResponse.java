@@ -0,0 +1,25 @@
+package com.dispatch.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    private String region;
+    private long size;          // L1 항목 수
+
+    private long l1Hits;
+    private long l2Hits;
+    private long misses;        // DB 조회
+    private long coalesced;     // 동시 조회 합류 (중복 DB 조회 방지)
+    private long evictions;
+
+    private double hitRatio;    // (L1 + L2 적중 + 합류) / 전체 조회
+    private boolean l2Available;
+}
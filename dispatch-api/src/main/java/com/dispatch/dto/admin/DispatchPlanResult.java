@@ -0,0 +1,54 @@
+package com.dispatch.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchPlanResult {
+
+    private LocalDate workDate;
+    private Boolean applied;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long durationMs;
+
+    // 입력
+    private Integer dispatches;
+    private Integer drivers;
+    private Long candidateEdges;
+
+    // 계획
+    private Integer assigned;
+    private Integer unassigned;
+    private Double totalDistanceKm;
+    private Double averageDistanceKm;
+    private Integer threads;
+    private Integer iterations;
+    private Long solveMs;
+
+    // 반영 (applied 일 때)
+    private Integer offersCreated;
+    private Integer skipped;
+
+    private List<PlannedAssignment> assignments;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PlannedAssignment {
+        private Long dispatchId;
+        private Long driverId;
+        private Double distanceKm;
+    }
+}
@@ -0,0 +1,38 @@
+package com.dispatch.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentPipelineStatsResponse {
+
+    private int workers;
+    private int active;                 // 처리 중 작업
+    private int queued;                 // 작업자 대기열
+
+    private Map<String, Long> jobsByStage;  // 단계별 작업 수 (DONE 포함, DB 기준)
+    private Map<String, Long> outcomes;     // 이 인스턴스가 끝낸 작업의 결과별 건수
+    private List<StageStats> stages;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StageStats {
+        private String stage;
+        private long runs;
+        private long succeeded;
+        private long retried;           // 실패 후 재시도 예약
+        private long gaveUp;            // 재시도 한도 초과
+        private double avgMs;
+        private long maxMs;
+    }
+}
@@ -0,0 +1,28 @@
+package com.dispatch.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradingResult {
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long durationMs;
+
+    private Integer drivers;
+    private Integer chunks;
+    private Integer failedChunks;
+
+    // 등급 변경 결과
+    private Integer changed;
+    private Integer promoted;
+    private Integer demoted;
+}
@@ -0,0 +1,37 @@
+package com.dispatch.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThreadPinningStatsResponse {
+
+    private boolean virtualThreads;     // 가상 스레드 모드 (spring.threads.virtual.enabled + Java 21 이상)
+    private boolean monitoring;         // JFR 고정 이벤트 수집 중
+    private int javaVersion;
+    private long thresholdMs;           // 이보다 짧은 고정은 수집하지 않음
+
+    private long events;
+    private List<Site> sites;           // 총 고정 시간 순
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Site {
+        private String frame;           // 고정을 일으킨 첫 애플리케이션 프레임 (없으면 최상위 프레임)
+        private long count;
+        private long totalMs;
+        private long maxMs;
+        private LocalDateTime lastSeenAt;
+        private String stack;           // 마지막 이벤트의 상위 프레임
+    }
+}
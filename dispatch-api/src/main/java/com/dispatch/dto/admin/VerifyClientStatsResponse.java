@@ -0,0 +1,27 @@
+package com.dispatch.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerifyClientStatsResponse {
+
+    private long calls;             // verify-server 실제 호출
+    private long failures;          // 연결/응답 실패
+    private long rejected;          // 격벽 포화로 거절
+
+    private long cacheL1Hits;       // 메모리 캐시 적중
+    private long cacheStoreHits;    // verification_results 테이블 적중
+    private long cacheMisses;       // 캐시 없음 (verify-server 호출)
+    private long coalesced;         // 진행 중인 같은 조회에 합류
+    private long cacheSize;         // 메모리 캐시 항목 수
+
+    private boolean circuitOpen;
+    private int active;             // 진행 중 호출
+    private int queued;             // 대기 중 호출
+}
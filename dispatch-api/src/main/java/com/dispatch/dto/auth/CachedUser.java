@@ -0,0 +1,54 @@
+package com.dispatch.dto.auth;
+
+import com.dispatch.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 토큰 인증용 사용자 캐시 항목 (비밀번호/연관 엔티티 제외)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedUser {
+
+    private Long id;
+    private String email;
+    private String name;
+    private String phone;
+    private User.UserRole role;
+    private User.UserStatus status;
+    private Long driverId;
+    private Long companyId;
+
+    public static CachedUser from(User user, Long driverId) {
+        return CachedUser.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .name(user.getName())
+                .phone(user.getPhone())
+                .role(user.getRole())
+                .status(user.getStatus())
+                .driverId(driverId)
+                .companyId(user.getCompany() != null ? user.getCompany().getId() : null)
+                .build();
+    }
+
+    /**
+     * 인증 주체용 분리(detached) User 생성
+     */
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .email(email)
+                .password("")
+                .name(name)
+                .phone(phone)
+                .role(role)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.dispatch.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatArchiveResult {
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long durationMs;
+
+    private Integer retentionDays;
+    private LocalDateTime cutoff;
+
+    // 이번 실행 결과
+    private Integer dispatches;
+    private Integer chunks;
+    private Long rowsArchived;
+    private Long compressedBytes;
+
+    // 누적 결과
+    private Long totalRuns;
+    private Long totalRowsArchived;
+}
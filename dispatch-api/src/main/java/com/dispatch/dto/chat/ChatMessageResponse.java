@@ -16,6 +16,7 @@ public class ChatMessageResponse {
 
     private Long id;
     private Long dispatchId;
+    private Long sequence;
     private Long senderId;
     private String senderName;
     private ChatMessage.SenderType senderType;
@@ -29,6 +30,7 @@ public class ChatMessageResponse {
         return ChatMessageResponse.builder()
                 .id(chatMessage.getId())
                 .dispatchId(chatMessage.getDispatchId())
+                .sequence(chatMessage.getSequence())
                 .senderId(chatMessage.getSenderId())
                 .senderType(chatMessage.getSenderType())
                 .message(chatMessage.getMessage())
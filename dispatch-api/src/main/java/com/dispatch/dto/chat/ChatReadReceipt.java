@@ -0,0 +1,19 @@
+package com.dispatch.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatReadReceipt {
+
+    private Long dispatchId;
+    private Long readerId;
+    private LocalDateTime readAt;
+}
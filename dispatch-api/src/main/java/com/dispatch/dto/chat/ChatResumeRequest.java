@@ -0,0 +1,18 @@
+package com.dispatch.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatResumeRequest {
+
+    private Long dispatchId;
+
+    // 클라이언트가 마지막으로 받은 메시지 순번 (없으면 0)
+    private Long lastSequence;
+}
@@ -0,0 +1,24 @@
+package com.dispatch.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSyncResponse {
+
+    private Long dispatchId;
+    private List<ChatMessageResponse> messages;
+
+    // 이번 응답의 마지막 순번 (다음 요청의 afterSequence)
+    private Long lastSequence;
+
+    // limit 때문에 잘린 경우 true - 이어서 다시 요청
+    private Boolean hasMore;
+}
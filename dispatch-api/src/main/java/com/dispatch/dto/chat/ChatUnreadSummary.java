@@ -0,0 +1,20 @@
+package com.dispatch.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatUnreadSummary {
+
+    private Integer totalUnread;
+
+    // 배차 ID별 읽지 않은 메시지 수 (0인 배차는 제외)
+    private Map<Long, Integer> byDispatch;
+}
@@ -0,0 +1,36 @@
+package com.dispatch.dto.dispatch;
+
+import com.dispatch.entity.Driver;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 매칭 엔진 후보 순위 (관리자 확인용)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchCandidateResponse {
+
+    private Integer rank;
+    private Long driverId;
+    private Double score;
+
+    private Double distanceKm;
+    private Integer etaMinutes;
+    private Driver.DriverGrade grade;
+    private Double rating;
+    private Integer activeMatches;
+    private Double maxHeight;
+
+    // 항목별 점수 (0~1, 가중치 적용 전)
+    private Double distanceScore;
+    private Double etaScore;
+    private Double gradeScore;
+    private Double ratingScore;
+    private Double workloadScore;
+    private Double fitScore;
+}
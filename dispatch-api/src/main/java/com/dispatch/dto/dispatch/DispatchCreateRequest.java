@@ -2,6 +2,8 @@ package com.dispatch.dto.dispatch;
 
 import com.dispatch.entity.Equipment;
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -53,4 +55,9 @@ public class DispatchCreateRequest {
     private BigDecimal price;
 
     private Boolean priceNegotiable;
+
+    // 최소 기사 별점 (1~5, 없으면 제한 없음)
+    @Min(value = 1, message = "최소 별점은 1 이상이어야 합니다")
+    @Max(value = 5, message = "최소 별점은 5 이하여야 합니다")
+    private Integer minDriverRating;
 }
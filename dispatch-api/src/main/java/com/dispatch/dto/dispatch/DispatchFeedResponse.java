@@ -0,0 +1,45 @@
+package com.dispatch.dto.dispatch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 가용 배차 피드 (snapshot 또는 diff)
+ *
+ * reset = true 면 dispatches 가 전체 목록이므로 클라이언트 목록을 교체하고,
+ * false 면 dispatches 를 추가/갱신하고 removed 를 목록에서 뺀다.
+ * 다음 요청에는 받은 epoch, version 을 그대로 보낸다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchFeedResponse {
+
+    private String epoch;
+    private Long version;
+    private Boolean reset;
+
+    private List<DispatchResponse> dispatches;
+    private List<RemovedDispatch> removed;
+
+    public enum RemoveReason {
+        TAKEN,      // 다른 기사(또는 본인)가 수락
+        CANCELLED,  // 요청자가 취소
+        EXPIRED,    // 작업일 경과
+        HIDDEN      // 아직 열려 있지만 이 기사에게는 노출 대상이 아님 (제안 만료/별점/일정/반경)
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RemovedDispatch {
+        private Long id;
+        private RemoveReason reason;
+    }
+}
@@ -47,6 +47,7 @@ public class DispatchResponse {
     // 요금
     private BigDecimal price;
     private Boolean priceNegotiable;
+    private Integer minDriverRating;
 
     // 상태
     private DispatchRequest.DispatchStatus status;
@@ -111,6 +112,7 @@ public class DispatchResponse {
                 .equipmentRequirements(request.getEquipmentRequirements())
                 .price(request.getPrice())
                 .priceNegotiable(request.getPriceNegotiable())
+                .minDriverRating(request.getMinDriverRating())
                 .status(request.getStatus())
                 .createdAt(request.getCreatedAt());
 
@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class DriverResponse {
@@ -38,8 +38,12 @@ public class DriverResponse {
 
     // 등급 시스템
     private Driver.DriverGrade grade;
+    private Boolean gradeLocked;
     private Double averageRating;
     private Integer totalRatings;
+    private Double rating30d;       // 최근 30일 평균 (평가 없으면 null)
+    private Double rating90d;       // 최근 90일 평균 (평가 없으면 null)
+    private Double decayedRating;   // 시간 감쇠 평균 (최근 평가에 가중)
     private Integer totalCompletedDispatches;
     private Integer warningCount;
 
@@ -94,8 +98,14 @@ public class DriverResponse {
                 .longitude(driver.getLongitude())
                 .isActive(driver.getIsActive())
                 .grade(driver.getGrade())
+                .gradeLocked(driver.getGradeLocked())
                 .averageRating(driver.getAverageRating())
                 .totalRatings(driver.getTotalRatings())
+                .rating30d(average(driver.getRating30dSum(), driver.getRating30dCount()))
+                .rating90d(average(driver.getRating90dSum(), driver.getRating90dCount()))
+                .decayedRating(driver.getDecayedRatingWeight() != null && driver.getDecayedRatingWeight() > 0
+                        ? round(driver.getDecayedRatingSum() / driver.getDecayedRatingWeight())
+                        : null)
                 .totalCompletedDispatches(driver.getTotalCompletedDispatches())
                 .warningCount(driver.getWarningCount())
                 .equipments(equipmentInfos)
@@ -103,4 +113,15 @@ public class DriverResponse {
                 .approvedAt(driver.getApprovedAt())
                 .build();
     }
+
+    private static Double average(Long sum, Integer count) {
+        if (sum == null || count == null || count <= 0) {
+            return null;
+        }
+        return round((double) sum / count);
+    }
+
+    private static Double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
 }
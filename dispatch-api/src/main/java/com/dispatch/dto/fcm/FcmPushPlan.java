@@ -0,0 +1,52 @@
+package com.dispatch.dto.fcm;
+
+import com.dispatch.entity.User;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * FCM 수신 대상 묶음
+ *
+ * 한 알림의 수신자(사용자/역할)를 모아 두고 토큰 조회와 multicast 전송을 한 번에 처리한다.
+ */
+@Getter
+public class FcmPushPlan {
+
+    private final Set<Long> userIds = new LinkedHashSet<>();
+    private final Set<User.UserRole> roles = EnumSet.noneOf(User.UserRole.class);
+
+    public static FcmPushPlan toUsers(Long... userIds) {
+        return new FcmPushPlan().andUsers(Arrays.asList(userIds));
+    }
+
+    public static FcmPushPlan toUsers(Collection<Long> userIds) {
+        return new FcmPushPlan().andUsers(userIds);
+    }
+
+    public static FcmPushPlan toRoles(User.UserRole... roles) {
+        FcmPushPlan plan = new FcmPushPlan();
+        plan.roles.addAll(Arrays.asList(roles));
+        return plan;
+    }
+
+    public FcmPushPlan andUser(Long userId) {
+        if (userId != null) {
+            userIds.add(userId);
+        }
+        return this;
+    }
+
+    public FcmPushPlan andUsers(Collection<Long> ids) {
+        ids.forEach(this::andUser);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return userIds.isEmpty() && roles.isEmpty();
+    }
+}
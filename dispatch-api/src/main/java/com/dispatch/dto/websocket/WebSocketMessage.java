@@ -22,6 +22,7 @@ public class WebSocketMessage<T> {
     public enum MessageType {
         // 배차 관련
         NEW_DISPATCH,           // 새 배차 등록됨 (기사에게)
+        DISPATCH_OFFER,         // 배차 우선 제안 (제안받은 기사에게)
         DISPATCH_ACCEPTED,      // 배차 수락됨 (직원에게)
         DISPATCH_ARRIVED,       // 기사 현장 도착 (직원에게)
         DISPATCH_COMPLETED,     // 작업 완료 (직원에게)
@@ -36,6 +37,8 @@ public class WebSocketMessage<T> {
 
         // 채팅 관련
         CHAT_MESSAGE,           // 채팅 메시지
+        CHAT_READ,              // 채팅 읽음 처리
+        CHAT_UNREAD,            // 읽지 않은 메시지 수 변경
 
         // 시스템
         SYSTEM_NOTICE           // 시스템 공지
@@ -7,7 +7,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        @Index(name = "idx_chat_dispatch_seq", columnList = "dispatch_id, seq", unique = true)
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,6 +24,10 @@ public class ChatMessage {
     @Column(name = "dispatch_id", nullable = false)
     private Long dispatchId;
 
+    // 배차 내 메시지 순번 (1부터 증가)
+    @Column(name = "seq")
+    private Long sequence;
+
     @Column(name = "sender_id", nullable = false)
     private Long senderId;
 
@@ -0,0 +1,48 @@
+package com.dispatch.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "chat_message_archives", indexes = {
+        @Index(name = "idx_chat_archive_dispatch", columnList = "dispatch_id"),
+        @Index(name = "idx_chat_archive_month", columnList = "archive_month")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatMessageArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dispatch_id", nullable = false)
+    private Long dispatchId;
+
+    // 보관 파티션 키 (첫 메시지 기준 yyyyMM)
+    @Column(name = "archive_month", nullable = false, length = 6)
+    private String archiveMonth;
+
+    @Column(name = "message_count", nullable = false)
+    private Integer messageCount;
+
+    @Column(name = "first_message_at")
+    private LocalDateTime firstMessageAt;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    // 메시지 목록 (JSON, GZIP 압축)
+    @Column(nullable = false, length = 16777216)
+    private byte[] payload;
+
+    @CreationTimestamp
+    @Column(name = "archived_at", updatable = false)
+    private LocalDateTime archivedAt;
+}
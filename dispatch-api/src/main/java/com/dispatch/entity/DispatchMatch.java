@@ -9,7 +9,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "dispatch_matches")
+@Table(name = "dispatch_matches", indexes = {
+        @Index(name = "idx_dispatch_matches_updated", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
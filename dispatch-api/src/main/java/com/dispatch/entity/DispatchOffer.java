@@ -0,0 +1,90 @@
+package com.dispatch.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 배차 우선 제안
+ *
+ * 매칭 엔진이 점수 상위 기사에게 배차를 먼저 제안한 기록.
+ * 제안이 살아 있는 동안(OFFERED, expiresAt 이전)에는 제안받은 기사만 수락할 수 있고,
+ * 모든 라운드가 끝나면 배차는 전체 기사에게 공개된다 (DispatchRequest.broadcastAt).
+ * 작업일 일괄 배정 계획(DispatchPlanningService)이 만든 제안은 source = PLAN 이다.
+ */
+@Entity
+@Table(name = "dispatch_offers", indexes = {
+        @Index(name = "idx_dispatch_offers_dispatch", columnList = "dispatch_id, status"),
+        @Index(name = "idx_dispatch_offers_driver", columnList = "driver_id, status"),
+        @Index(name = "idx_dispatch_offers_expires", columnList = "status, expires_at"),
+        @Index(name = "idx_dispatch_offers_offered", columnList = "offered_at"),
+        @Index(name = "idx_dispatch_offers_responded", columnList = "responded_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DispatchOffer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dispatch_id", nullable = false)
+    private Long dispatchId;
+
+    @Column(name = "driver_id", nullable = false)
+    private Long driverId;
+
+    // 제안 라운드 (1부터)
+    @Column(nullable = false)
+    private Integer round;
+
+    // 라운드 내 순위 (1부터)
+    @Column(name = "offer_rank", nullable = false)
+    private Integer rank;
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(name = "distance_km")
+    private Double distanceKm;
+
+    @Column(name = "eta_minutes")
+    private Integer etaMinutes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OfferStatus status;
+
+    @CreationTimestamp
+    @Column(name = "offered_at", updatable = false)
+    private LocalDateTime offeredAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "responded_at")
+    private LocalDateTime respondedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    @Builder.Default
+    private OfferSource source = OfferSource.MATCHING;
+
+    public enum OfferStatus {
+        OFFERED,    // 응답 대기
+        ACCEPTED,   // 수락
+        DECLINED,   // 거절
+        EXPIRED,    // 시간 초과
+        CANCELLED   // 다른 기사 수락/배차 취소로 종료
+    }
+
+    public enum OfferSource {
+        MATCHING,   // 배차 생성 시 매칭 엔진 라운드
+        PLAN        // 작업일 일괄 배정 계획
+    }
+}
@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "dispatch_requests")
+@Table(name = "dispatch_requests", indexes = {
+        @Index(name = "idx_dispatch_requests_updated", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -97,6 +99,19 @@ public class DispatchRequest {
     @Column(name = "min_driver_rating")
     private Integer minDriverRating;
 
+    // 매칭 엔진 우선 제안 시작 시각 (null 이면 처음부터 전체 공개)
+    @Column(name = "matching_started_at")
+    private LocalDateTime matchingStartedAt;
+
+    // 우선 제안 종료 후 전체 기사 공개 시각
+    @Column(name = "broadcast_at")
+    private LocalDateTime broadcastAt;
+
+    // 마지막 채팅 메시지 순번 (DispatchRequestRepository.incrementChatSequence로만 변경)
+    @Column(name = "chat_sequence", updatable = false)
+    @Builder.Default
+    private Long chatSequence = 0L;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,101 @@
+package com.dispatch.entity;
+
+import com.dispatch.dto.verify.VerifyResponse.VerifyResult;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 제출 서류 자동 검증 작업 (기사/발주처 1건씩)
+ *
+ * 서류 업로드로 검증 중(VERIFYING) 이 되면 생성되고, 썸네일 -> 외부 검증 -> 승인/표시 단계를 거쳐 DONE 이 된다.
+ * 단계가 실패하면 attempts 를 올리고 next_attempt_at 이후 같은 단계부터 다시 처리한다.
+ */
+@Entity
+@Table(name = "document_verification_jobs", indexes = {
+        @Index(name = "idx_document_jobs_due", columnList = "stage, next_attempt_at"),
+        @Index(name = "idx_document_jobs_owner", columnList = "owner_type, owner_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentVerificationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_type", nullable = false, length = 20)
+    private OwnerType ownerType;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Stage stage;
+
+    // 현재 단계 시도 횟수
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 검증 단계 결과
+    @Enumerated(EnumType.STRING)
+    @Column(name = "business_result", length = 20)
+    private VerifyResult businessResult;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "license_result", length = 20)
+    private VerifyResult licenseResult;
+
+    // 검증 결과 요약 (관리자 확인용)
+    @Column(length = 500)
+    private String summary;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Outcome outcome;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum OwnerType {
+        DRIVER,
+        COMPANY
+    }
+
+    public enum Stage {
+        THUMBNAIL,      // 이미지 썸네일 생성
+        VERIFY,         // 사업자등록상태/면허 조회
+        DECIDE,         // 자동 승인 또는 관리자 확인 표시
+        DONE
+    }
+
+    public enum Outcome {
+        APPROVED,       // 모든 검증 통과 - 자동 승인
+        FLAGGED,        // 검증 실패 항목 있음 - 관리자 확인 필요
+        MANUAL_REVIEW,  // 확인 불가 항목 있음 - 관리자 확인 필요
+        SKIPPED,        // 그 사이 관리자가 처리함
+        FAILED          // 재시도 한도 초과
+    }
+}
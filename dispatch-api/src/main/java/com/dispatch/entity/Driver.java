@@ -68,6 +68,11 @@ public class Driver {
     @Builder.Default
     private DriverGrade grade = DriverGrade.GRADE_3;
 
+    // 관리자가 직접 지정한 등급 고정 (자동 등급 산정 제외)
+    @Column(name = "grade_locked")
+    @Builder.Default
+    private Boolean gradeLocked = false;
+
     @Column(name = "average_rating")
     @Builder.Default
     private Double averageRating = 0.0;
@@ -76,6 +81,40 @@ public class Driver {
     @Builder.Default
     private Integer totalRatings = 0;
 
+    // 별점 누적 집계 (RatingAggregationService 에서만 변경)
+    @Column(name = "rating_sum")
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    // 최근 30일/90일 별점 합계와 건수 (일별 버킷 만료 시 차감)
+    @Column(name = "rating_30d_sum")
+    @Builder.Default
+    private Long rating30dSum = 0L;
+
+    @Column(name = "rating_30d_count")
+    @Builder.Default
+    private Integer rating30dCount = 0;
+
+    @Column(name = "rating_90d_sum")
+    @Builder.Default
+    private Long rating90dSum = 0L;
+
+    @Column(name = "rating_90d_count")
+    @Builder.Default
+    private Integer rating90dCount = 0;
+
+    // 시간 감쇠 별점 (decayed_at 기준 가중 합계/가중치)
+    @Column(name = "decayed_rating_sum")
+    @Builder.Default
+    private Double decayedRatingSum = 0.0;
+
+    @Column(name = "decayed_rating_weight")
+    @Builder.Default
+    private Double decayedRatingWeight = 0.0;
+
+    @Column(name = "rating_decayed_at")
+    private LocalDateTime ratingDecayedAt;
+
     @Column(name = "total_completed_dispatches")
     @Builder.Default
     private Integer totalCompletedDispatches = 0;
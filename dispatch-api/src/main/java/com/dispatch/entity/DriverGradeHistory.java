@@ -33,7 +33,8 @@ public class DriverGradeHistory {
     @Column(columnDefinition = "TEXT")
     private String reason;
 
-    @Column(name = "changed_by", nullable = false)
+    // 자동 등급 산정으로 변경된 경우 null
+    @Column(name = "changed_by")
     private Long changedBy;
 
     @CreationTimestamp
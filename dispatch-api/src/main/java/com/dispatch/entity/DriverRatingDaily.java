@@ -0,0 +1,50 @@
+package com.dispatch.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 기사 일별 별점 버킷
+ *
+ * 최근 30일/90일 별점을 전체 평가 재집계 없이 유지하기 위한 일별 합계.
+ * 버킷이 기간을 벗어나면 야간 작업이 기사 집계에서 한 번만 차감하고 expired 플래그를 세운다.
+ */
+@Entity
+@Table(name = "driver_rating_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_driver_rating_daily", columnNames = {"driver_id", "rating_date"})
+}, indexes = {
+        @Index(name = "idx_driver_rating_daily_date", columnList = "rating_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DriverRatingDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "driver_id", nullable = false)
+    private Long driverId;
+
+    @Column(name = "rating_date", nullable = false)
+    private LocalDate ratingDate;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private Integer ratingCount;
+
+    @Column(name = "expired_30d", nullable = false)
+    @Builder.Default
+    private Boolean expired30d = false;
+
+    @Column(name = "expired_90d", nullable = false)
+    @Builder.Default
+    private Boolean expired90d = false;
+}
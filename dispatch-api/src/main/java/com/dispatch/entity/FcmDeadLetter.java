@@ -0,0 +1,57 @@
+package com.dispatch.entity;
+
+import com.dispatch.dto.websocket.WebSocketMessage.MessageType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * FCM 전송 최종 실패 기록 (dead-letter)
+ *
+ * 재시도 한도를 넘겼거나 재시도해도 소용없는 오류(인증/발신자 불일치 등)로 실패한 전송을 남긴다.
+ */
+@Entity
+@Table(name = "fcm_dead_letters", indexes = {
+        @Index(name = "idx_fcm_dead_letter_failed_at", columnList = "failed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FcmDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "message_type", length = 30)
+    private MessageType messageType;
+
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Column(columnDefinition = "TEXT")
+    private String data;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String tokens;
+
+    @Column(name = "token_count", nullable = false)
+    private Integer tokenCount;
+
+    @Column(name = "error_code", length = 50)
+    private String errorCode;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @CreationTimestamp
+    @Column(name = "failed_at", updatable = false)
+    private LocalDateTime failedAt;
+}
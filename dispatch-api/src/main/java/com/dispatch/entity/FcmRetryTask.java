@@ -0,0 +1,73 @@
+package com.dispatch.entity;
+
+import com.dispatch.dto.websocket.WebSocketMessage.MessageType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * FCM 재전송 대기열
+ *
+ * 일시적 오류(UNAVAILABLE, QUOTA_EXCEEDED 등)로 실패한 토큰 묶음과 메시지 내용을 보관한다.
+ * next_attempt_at 이 지나면 재전송 스케줄러가 선점(claimed_by, claimed_until)하고 다시 보낸다.
+ */
+@Entity
+@Table(name = "fcm_retry_tasks", indexes = {
+        @Index(name = "idx_fcm_retry_next_attempt", columnList = "next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FcmRetryTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 템플릿 타입 (null 이면 기본 템플릿)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "message_type", length = 30)
+    private MessageType messageType;
+
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    // data 맵 (JSON)
+    @Column(columnDefinition = "TEXT")
+    private String data;
+
+    // 대상 토큰 목록 (JSON 배열)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String tokens;
+
+    @Column(name = "token_count", nullable = false)
+    private Integer tokenCount;
+
+    @Column(name = "error_code", length = 50)
+    private String errorCode;
+
+    // 지금까지 시도한 횟수 (최초 전송 포함)
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 선점한 인스턴스 ID (SchedulerLeaseService 노드 ID)
+    @Column(name = "claimed_by", length = 64)
+    private String claimedBy;
+
+    // 선점 만료 시각 - 그때까지 삭제되지 않았으면 다른 인스턴스가 다시 가져간다
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,32 @@
+package com.dispatch.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄러 리더 임대(lease)
+ *
+ * 여러 인스턴스 중 한 곳에서만 실행해야 하는 작업의 실행권을 보관한다.
+ * 보유 인스턴스가 lease_until 전에 갱신하지 못하면 다른 인스턴스가 가져간다.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+}
@@ -0,0 +1,57 @@
+package com.dispatch.entity;
+
+import com.dispatch.dto.verify.VerifyResponse.VerifyResult;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 외부 검증 결과 캐시 (사업자등록번호, 화물운송 자격증 등)
+ *
+ * 같은 번호로 다시 검증하면 만료 전까지 verify-server 를 호출하지 않고 이 결과를 쓴다.
+ * 키에 이름/생년월일이 들어가므로 원문 대신 SHA-256 해시를 키로 저장한다.
+ */
+@Entity
+@Table(name = "verification_results", indexes = {
+        @Index(name = "idx_verification_results_expires", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VerificationResult {
+
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash;
+
+    // 검증 종류 (business, cargo ...)
+    @Column(nullable = false, length = 20)
+    private String kind;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private VerifyResult result;
+
+    @Column(name = "reason_code", length = 50)
+    private String reasonCode;
+
+    @Column(length = 50)
+    private String provider;
+
+    @Column(name = "verified_at", length = 50)
+    private String verifiedAt;
+
+    @Column(length = 500)
+    private String message;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -2,6 +2,7 @@ package com.dispatch.exception;
 
 import com.dispatch.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.connector.ClientAbortException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -10,6 +11,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -59,6 +61,20 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("접근 권한이 없습니다"));
     }
 
+    // 클라이언트가 먼저 끊은 연결 (SSE/long-poll 재연결 등) - 응답을 쓸 수 없으므로 기록만
+    @ExceptionHandler(ClientAbortException.class)
+    public void handleClientAbortException(ClientAbortException e) {
+        log.debug("Client disconnected: {}", e.getMessage());
+    }
+
+    // 매핑 없는 경로 (API 포트로 온 /actuator/** 등) - 500 이 아니라 404
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<ApiResponse<Object>> handleNoResourceFoundException(NoResourceFoundException e) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("요청한 경로를 찾을 수 없습니다"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Object>> handleException(Exception e) {
         log.error("Unexpected error: ", e);
@@ -0,0 +1,13 @@
+package com.dispatch.repository;
+
+import com.dispatch.entity.ChatMessageArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChatMessageArchiveRepository extends JpaRepository<ChatMessageArchive, Long> {
+
+    List<ChatMessageArchive> findByDispatchIdOrderByFirstMessageAtAsc(Long dispatchId);
+}
@@ -1,9 +1,15 @@
 package com.dispatch.repository;
 
 import com.dispatch.entity.ChatMessage;
+import com.dispatch.entity.DispatchRequest;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -24,9 +30,61 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     int countUnreadMessages(@Param("dispatchId") Long dispatchId, @Param("userId") Long userId);
 
     @Modifying
-    @Query("UPDATE ChatMessage m SET m.isRead = true, m.readAt = :now WHERE m.dispatchId = :dispatchId AND m.senderId != :userId AND m.isRead = false")
+    @Query("UPDATE ChatMessage m SET m.isRead = true, m.readAt = :now WHERE m.dispatchId = :dispatchId AND m.senderId != :userId AND m.isRead = false AND m.createdAt <= :now")
     int markAsRead(@Param("dispatchId") Long dispatchId, @Param("userId") Long userId, @Param("now") LocalDateTime now);
 
-    @Query("SELECT m FROM ChatMessage m WHERE m.dispatchId = :dispatchId AND m.createdAt > :since ORDER BY m.createdAt ASC")
-    List<ChatMessage> findMessagesSince(@Param("dispatchId") Long dispatchId, @Param("since") LocalDateTime since);
+    // 발신자 이름을 함께 조회 (결과: [ChatMessage, String senderName])
+    @Query("SELECT m, u.name FROM ChatMessage m LEFT JOIN User u ON u.id = m.senderId WHERE m.dispatchId = :dispatchId ORDER BY m.sequence ASC")
+    List<Object[]> findWithSenderNameByDispatchId(@Param("dispatchId") Long dispatchId);
+
+    // 마지막으로 받은 순번 이후 메시지 (idx_chat_dispatch_seq 범위 조회)
+    @Query("SELECT m, u.name FROM ChatMessage m LEFT JOIN User u ON u.id = m.senderId WHERE m.dispatchId = :dispatchId AND m.sequence > :afterSequence ORDER BY m.sequence ASC")
+    List<Object[]> findWithSenderNameAfterSequence(@Param("dispatchId") Long dispatchId,
+                                                   @Param("afterSequence") Long afterSequence,
+                                                   Pageable pageable);
+
+    // 사용자가 참여한 배차별 읽지 않은 메시지 수 (결과: [dispatchId, count])
+    @Query("SELECT m.dispatchId, COUNT(m) FROM ChatMessage m WHERE m.isRead = false AND m.senderId != :userId " +
+            "AND (m.dispatchId IN (SELECT d.id FROM DispatchRequest d WHERE d.staff.id = :userId) " +
+            "OR m.dispatchId IN (SELECT dm.request.id FROM DispatchMatch dm WHERE dm.driver.user.id = :userId)) " +
+            "GROUP BY m.dispatchId")
+    List<Object[]> countUnreadByDispatchForUser(@Param("userId") Long userId);
+
+    // 보관 기간이 지난 메시지가 있는 종료 배차 ID (아카이빙 대상)
+    @Query("SELECT DISTINCT m.dispatchId FROM ChatMessage m WHERE m.createdAt < :cutoff AND m.dispatchId IN (SELECT d.id FROM DispatchRequest d WHERE d.status IN :statuses)")
+    List<Long> findArchivableDispatchIds(@Param("cutoff") LocalDateTime cutoff,
+                                         @Param("statuses") List<DispatchRequest.DispatchStatus> statuses,
+                                         Pageable pageable);
+
+    // 아카이빙 청크 잠금 (FOR UPDATE SKIP LOCKED - 다른 인스턴스가 잡은 행은 건너뛴다)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM ChatMessage m WHERE m.dispatchId = :dispatchId AND m.createdAt < :cutoff ORDER BY m.id ASC")
+    List<ChatMessage> findArchiveChunkForUpdate(@Param("dispatchId") Long dispatchId,
+                                                @Param("cutoff") LocalDateTime cutoff,
+                                                Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ChatMessage m WHERE m.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    // 순번 도입 이전 메시지가 남은 배차 (순번 백필 대상)
+    @Query("SELECT DISTINCT m.dispatchId FROM ChatMessage m WHERE m.sequence IS NULL")
+    List<Long> findDispatchIdsWithoutSequence(Pageable pageable);
+
+    @Query("SELECT m.id FROM ChatMessage m WHERE m.dispatchId = :dispatchId AND m.sequence IS NULL ORDER BY m.id ASC")
+    List<Long> findIdsWithoutSequence(@Param("dispatchId") Long dispatchId);
+
+    // 이미 순번이 있는 메시지를 offset 만큼 뒤로 (유니크 인덱스 충돌을 피해 음수로 한 번 옮긴 뒤 되돌린다)
+    @Modifying
+    @Query("UPDATE ChatMessage m SET m.sequence = -(m.sequence + :offset) WHERE m.dispatchId = :dispatchId AND m.sequence > 0")
+    int shiftSequencesNegative(@Param("dispatchId") Long dispatchId, @Param("offset") Long offset);
+
+    @Modifying
+    @Query("UPDATE ChatMessage m SET m.sequence = -m.sequence WHERE m.dispatchId = :dispatchId AND m.sequence < 0")
+    int restoreShiftedSequences(@Param("dispatchId") Long dispatchId);
+
+    @Modifying
+    @Query("UPDATE ChatMessage m SET m.sequence = :sequence WHERE m.id = :id")
+    int assignSequence(@Param("id") Long id, @Param("sequence") Long sequence);
 }
@@ -1,11 +1,15 @@
 package com.dispatch.repository;
 
 import com.dispatch.entity.Company;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +24,16 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
 
     List<Company> findByVerificationStatus(Company.VerificationStatus status);
 
+    // 검증 메시지가 그대로 남은 발주처 (ID, 사업자등록번호) - 사업자등록번호 재조회용
+    @Query("""
+        SELECT c.id, c.businessNumber FROM Company c
+        WHERE c.verificationMessage = :message AND c.updatedAt < :before
+        ORDER BY c.updatedAt ASC
+        """)
+    List<Object[]> findIdsAndBusinessNumbersByVerificationMessage(@Param("message") String message,
+                                                                  @Param("before") LocalDateTime before,
+                                                                  Pageable pageable);
+
     @Query("SELECT c FROM Company c WHERE c.status = :status ORDER BY c.createdAt DESC")
     List<Company> findByStatusOrderByCreatedAtDesc(@Param("status") Company.CompanyStatus status);
 
@@ -31,4 +45,33 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
 
     @Query("SELECT c FROM Company c JOIN c.employees e WHERE e.id = :userId")
     Optional<Company> findByEmployeesUserId(@Param("userId") Long userId);
+
+    // 발주처 ID -> 이름 (목록 응답용 일괄 조회)
+    @Query("SELECT c.id, c.name FROM Company c WHERE c.id IN :ids")
+    List<Object[]> findNamesByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Company c SET c.status = :status, c.updatedAt = LOCAL DATETIME WHERE c.id IN :ids")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") Company.CompanyStatus status);
+
+    // 조건부 GET 태그용 (행 수, 최대 수정 시각)
+    @Query("SELECT COUNT(c), MAX(c.updatedAt) FROM Company c")
+    List<Object[]> findWatermark();
+
+    // 발주처 통계 태그용 (배차 수, 배차/발주처 최대 수정 시각, 직원 수)
+    @Query("""
+        SELECT COUNT(d), MAX(d.updatedAt), MAX(c.updatedAt), (SELECT COUNT(u) FROM User u WHERE u.company = c)
+        FROM Company c LEFT JOIN DispatchRequest d ON d.company = c
+        WHERE c.id = :companyId
+        GROUP BY c
+        """)
+    List<Object[]> findStatisticsWatermarkById(@Param("companyId") Long companyId);
+
+    @Query("""
+        SELECT COUNT(d), MAX(d.updatedAt), MAX(c.updatedAt), (SELECT COUNT(u) FROM User u WHERE u.company = c)
+        FROM Company c LEFT JOIN DispatchRequest d ON d.company = c
+        WHERE c.id IN (SELECT e.company.id FROM User e WHERE e.id = :userId)
+        GROUP BY c
+        """)
+    List<Object[]> findStatisticsWatermarkByUserId(@Param("userId") Long userId);
 }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +28,16 @@ public interface DeviceTokenRepository extends JpaRepository<DeviceToken, Long>
     @Query("SELECT dt FROM DeviceToken dt WHERE dt.user.role = :role AND dt.active = true")
     List<DeviceToken> findByUserRoleAndActiveTrue(@Param("role") User.UserRole role);
 
+    // 토큰 캐시 적재용 (userId, token)
+    @Query("SELECT dt.user.id, dt.token FROM DeviceToken dt WHERE dt.user.id IN :userIds AND dt.active = true")
+    List<Object[]> findActiveTokensByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // 토큰 캐시 적재용 (userId, role, token) - 지정 사용자와 역할 전체를 한 번에 조회
+    @Query("SELECT u.id, u.role, dt.token FROM DeviceToken dt JOIN dt.user u " +
+           "WHERE dt.active = true AND (u.id IN :userIds OR u.role IN :roles)")
+    List<Object[]> findActiveTokensByUserIdsOrRoles(@Param("userIds") Collection<Long> userIds,
+                                                    @Param("roles") Collection<User.UserRole> roles);
+
     @Modifying
     @Query("UPDATE DeviceToken dt SET dt.active = false WHERE dt.token IN :tokens")
     void deactivateByTokens(@Param("tokens") List<String> tokens);
@@ -8,6 +8,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,9 +29,22 @@ public interface DispatchMatchRepository extends JpaRepository<DispatchMatch, Lo
     @Query("SELECT m FROM DispatchMatch m WHERE m.driver = :driver AND m.status NOT IN ('COMPLETED', 'SIGNED', 'CANCELLED')")
     List<DispatchMatch> findActiveMatchesByDriver(@Param("driver") Driver driver);
 
-    @Query("SELECT m FROM DispatchMatch m WHERE m.driver = :driver AND m.status IN ('EN_ROUTE', 'ARRIVED', 'WORKING') ORDER BY m.matchedAt DESC")
+    // 위치 알림이 배차의 담당 직원 이메일까지 쓰므로 함께 적재 (STOMP 핸들러는 트랜잭션 밖)
+    @Query("""
+        SELECT m FROM DispatchMatch m JOIN FETCH m.request r JOIN FETCH r.staff
+        WHERE m.driver = :driver AND m.status IN ('EN_ROUTE', 'ARRIVED', 'WORKING')
+        ORDER BY m.matchedAt DESC
+        """)
     Optional<DispatchMatch> findActiveMatchByDriver(@Param("driver") Driver driver);
 
+    // 채팅 참여자 [직원 ID, 직원 이메일, 기사 사용자 ID, 기사 이메일] (읽음 푸시용, 엔티티 미적재)
+    @Query("""
+        SELECT r.staff.id, r.staff.email, d.user.id, d.user.email
+        FROM DispatchMatch m JOIN m.request r JOIN m.driver d
+        WHERE r.id = :dispatchId
+        """)
+    List<Object[]> findChatParticipants(@Param("dispatchId") Long dispatchId);
+
     @Query("SELECT m FROM DispatchMatch m WHERE m.request.id = :dispatchId")
     Optional<DispatchMatch> findByDispatchRequestId(@Param("dispatchId") Long dispatchId);
 
@@ -39,4 +55,62 @@ public interface DispatchMatchRepository extends JpaRepository<DispatchMatch, Lo
 
     @Query("SELECT m FROM DispatchMatch m WHERE m.status IN :statuses ORDER BY m.completedAt DESC")
     List<DispatchMatch> findByStatusInOrderByCompletedAtDesc(@Param("statuses") List<DispatchMatch.MatchStatus> statuses);
+
+    // 기사별 진행 중 매칭 수 (매칭 후보 작업량)
+    @Query("""
+        SELECT m.driver.id, COUNT(m) FROM DispatchMatch m
+        WHERE m.status NOT IN ('COMPLETED', 'SIGNED', 'CANCELLED')
+        GROUP BY m.driver.id
+        """)
+    List<Object[]> countActiveMatchesGroupByDriver();
+
+    @Query("""
+        SELECT m.driver.id, COUNT(m) FROM DispatchMatch m
+        WHERE m.status NOT IN ('COMPLETED', 'SIGNED', 'CANCELLED') AND m.driver.id IN :driverIds
+        GROUP BY m.driver.id
+        """)
+    List<Object[]> countActiveMatchesByDriverIds(@Param("driverIds") Collection<Long> driverIds);
+
+    // 작업일에 이미 배정된 기사 일정 (기사 ID, 작업 시각, 예상 시간)
+    @Query("""
+        SELECT m.driver.id, m.request.workTime, m.request.estimatedHours FROM DispatchMatch m
+        WHERE m.request.workDate = :workDate AND m.status <> 'CANCELLED'
+        """)
+    List<Object[]> findScheduleByWorkDate(@Param("workDate") LocalDate workDate);
+
+    // 기사 일정 색인 적재 (배차 ID, 기사 ID, 작업일, 작업 시각, 예상 시간)
+    @Query("""
+        SELECT m.request.id, m.driver.id, m.request.workDate, m.request.workTime, m.request.estimatedHours
+        FROM DispatchMatch m
+        WHERE m.status IN ('ACCEPTED', 'EN_ROUTE', 'ARRIVED', 'WORKING') AND m.request.workDate >= :fromDate
+        """)
+    List<Object[]> findActiveSchedules(@Param("fromDate") LocalDate fromDate);
+
+    // 기사 일정 색인 변경분 (배차 ID, 기사 ID, 작업일, 작업 시각, 예상 시간, 상태)
+    @Query("""
+        SELECT m.request.id, m.driver.id, m.request.workDate, m.request.workTime, m.request.estimatedHours, m.status
+        FROM DispatchMatch m
+        WHERE m.updatedAt > :since
+        """)
+    List<Object[]> findScheduleChangesSince(@Param("since") LocalDateTime since);
+
+    // 조건부 GET 태그용 (행 수, 최대 수정 시각)
+    @Query("SELECT COUNT(m), MAX(m.updatedAt) FROM DispatchMatch m")
+    List<Object[]> findWatermark();
+
+    // 기사 배차 이력 태그용 (매칭 수, 매칭/배차/요청자/기사 사용자 최대 수정 시각)
+    @Query("""
+        SELECT COUNT(m), MAX(m.updatedAt), MAX(d.updatedAt), MAX(s.updatedAt), MAX(u.updatedAt)
+        FROM DispatchMatch m JOIN m.request d JOIN d.staff s JOIN m.driver dr JOIN dr.user u
+        WHERE u.id = :userId
+        """)
+    List<Object[]> findDriverHistoryWatermark(@Param("userId") Long userId);
+
+    // 작업 확인서 목록 태그용 (서명 완료 매칭 수, 매칭/배차/발주처/요청자/기사 사용자 최대 수정 시각)
+    @Query("""
+        SELECT COUNT(m), MAX(m.updatedAt), MAX(d.updatedAt), MAX(c.updatedAt), MAX(s.updatedAt), MAX(u.updatedAt)
+        FROM DispatchMatch m JOIN m.request d LEFT JOIN d.company c JOIN d.staff s JOIN m.driver dr JOIN dr.user u
+        WHERE m.status = 'SIGNED'
+        """)
+    List<Object[]> findSignedWatermark();
 }
@@ -0,0 +1,69 @@
+package com.dispatch.repository;
+
+import com.dispatch.entity.DispatchOffer;
+import com.dispatch.entity.DispatchOffer.OfferStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DispatchOfferRepository extends JpaRepository<DispatchOffer, Long> {
+
+    List<DispatchOffer> findByDispatchIdOrderByRoundAscRankAsc(Long dispatchId);
+
+    // 이미 제안받은 기사 (다음 라운드 제외 대상)
+    @Query("SELECT o.driverId FROM DispatchOffer o WHERE o.dispatchId = :dispatchId")
+    List<Long> findDriverIdsByDispatchId(@Param("dispatchId") Long dispatchId);
+
+    @Query("SELECT COALESCE(MAX(o.round), 0) FROM DispatchOffer o WHERE o.dispatchId = :dispatchId")
+    int findLastRound(@Param("dispatchId") Long dispatchId);
+
+    @Query("""
+        SELECT o FROM DispatchOffer o
+        WHERE o.dispatchId = :dispatchId AND o.driverId = :driverId AND o.status = 'OFFERED' AND o.expiresAt > :now
+        """)
+    Optional<DispatchOffer> findLiveOffer(@Param("dispatchId") Long dispatchId,
+                                          @Param("driverId") Long driverId,
+                                          @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(o) > 0 FROM DispatchOffer o WHERE o.dispatchId = :dispatchId AND o.status = 'OFFERED'")
+    boolean existsPendingByDispatchId(@Param("dispatchId") Long dispatchId);
+
+    // 기사가 현재 제안받은 배차 (배차 목록 노출용)
+    @Query("SELECT o.dispatchId FROM DispatchOffer o WHERE o.driverId = :driverId AND o.status = 'OFFERED' AND o.expiresAt > :now")
+    List<Long> findLiveDispatchIdsByDriverId(@Param("driverId") Long driverId, @Param("now") LocalDateTime now);
+
+    // 응답 시간이 지난 제안 만료
+    @Modifying
+    @Query("UPDATE DispatchOffer o SET o.status = 'EXPIRED' WHERE o.status = 'OFFERED' AND o.expiresAt <= :now")
+    int expireOffers(@Param("now") LocalDateTime now);
+
+    // 수락/취소 시 남은 제안 종료
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE DispatchOffer o SET o.status = :status, o.respondedAt = :now
+        WHERE o.dispatchId = :dispatchId AND o.status = 'OFFERED'
+        """)
+    int closePendingOffers(@Param("dispatchId") Long dispatchId,
+                           @Param("status") OfferStatus status,
+                           @Param("now") LocalDateTime now);
+
+    // 가용 배차 피드: 마지막 동기화 이후 제안/응답이 있었던 배차
+    @Query("SELECT DISTINCT o.dispatchId FROM DispatchOffer o WHERE o.offeredAt > :since OR o.respondedAt > :since")
+    List<Long> findDispatchIdsChangedSince(@Param("since") LocalDateTime since);
+
+    // 살아 있는 제안 (배차 ID, 기사 ID, 만료 시각)
+    @Query("""
+        SELECT o.dispatchId, o.driverId, o.expiresAt FROM DispatchOffer o
+        WHERE o.dispatchId IN :dispatchIds AND o.status = 'OFFERED' AND o.expiresAt > :now
+        """)
+    List<Object[]> findLiveOffersByDispatchIds(@Param("dispatchIds") Collection<Long> dispatchIds,
+                                               @Param("now") LocalDateTime now);
+}
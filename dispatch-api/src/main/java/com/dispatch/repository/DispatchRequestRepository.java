@@ -3,13 +3,19 @@ package com.dispatch.repository;
 import com.dispatch.entity.DispatchRequest;
 import com.dispatch.entity.Equipment;
 import com.dispatch.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DispatchRequestRepository extends JpaRepository<DispatchRequest, Long> {
@@ -45,4 +51,55 @@ public interface DispatchRequestRepository extends JpaRepository<DispatchRequest
 
     @Query("SELECT d FROM DispatchRequest d WHERE d.staff.id = :staffId ORDER BY d.createdAt DESC")
     List<DispatchRequest> findByStaffId(@Param("staffId") Long staffId);
+
+    // 채팅 순번 증가 (행 잠금으로 같은 배차의 동시 전송을 직렬화)
+    @Modifying
+    @Query("UPDATE DispatchRequest d SET d.chatSequence = COALESCE(d.chatSequence, 0) + 1 WHERE d.id = :id")
+    int incrementChatSequence(@Param("id") Long id);
+
+    @Query("SELECT d.chatSequence FROM DispatchRequest d WHERE d.id = :id")
+    Long findChatSequence(@Param("id") Long id);
+
+    // 순번 백필로 앞에 끼워 넣은 메시지 수만큼 마지막 순번 증가
+    @Modifying
+    @Query("UPDATE DispatchRequest d SET d.chatSequence = COALESCE(d.chatSequence, 0) + :delta WHERE d.id = :id")
+    int addChatSequence(@Param("id") Long id, @Param("delta") Long delta);
+
+    // 수락/제안 라운드 직렬화용 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM DispatchRequest d WHERE d.id = :id")
+    Optional<DispatchRequest> findByIdForUpdate(@Param("id") Long id);
+
+    // 우선 제안 중이지만 응답 대기 제안이 없는 배차 (다음 라운드 또는 전체 공개 대상)
+    @Query("""
+        SELECT d.id FROM DispatchRequest d
+        WHERE d.status = 'OPEN' AND d.matchingStartedAt IS NOT NULL AND d.broadcastAt IS NULL
+        AND NOT EXISTS (SELECT o.id FROM DispatchOffer o WHERE o.dispatchId = d.id AND o.status = 'OFFERED')
+        ORDER BY d.id
+        """)
+    List<Long> findIdsAwaitingNextOfferRound();
+
+    // 작업일 일괄 배정 계획 입력 (id, 장비 유형, 최소 높이, 최소 별점, 위도, 경도, 작업 시각, 예상 시간)
+    @Query("""
+        SELECT d.id, d.equipmentType, d.minHeight, d.minDriverRating, d.latitude, d.longitude, d.workTime, d.estimatedHours
+        FROM DispatchRequest d
+        WHERE d.status = 'OPEN' AND d.workDate = :workDate AND d.latitude IS NOT NULL AND d.longitude IS NOT NULL
+        ORDER BY d.id
+        """)
+    List<Object[]> findPlanningInputs(@Param("workDate") LocalDate workDate);
+
+    // 가용 배차 피드: 마지막 동기화 이후 바뀐 배차
+    @Query("SELECT d.id FROM DispatchRequest d WHERE d.updatedAt > :since")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT d.id FROM DispatchRequest d WHERE d.status = 'OPEN' AND d.workDate >= :today")
+    List<Long> findAvailableIds(@Param("today") LocalDate today);
+
+    // 응답 변환용 요청자 함께 조회
+    @Query("SELECT d FROM DispatchRequest d JOIN FETCH d.staff WHERE d.id IN :ids")
+    List<DispatchRequest> findAllWithStaffByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 조건부 GET 태그용 (행 수, 최대 수정 시각)
+    @Query("SELECT COUNT(d), MAX(d.updatedAt) FROM DispatchRequest d")
+    List<Object[]> findWatermark();
 }
@@ -0,0 +1,45 @@
+package com.dispatch.repository;
+
+import com.dispatch.entity.DocumentVerificationJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DocumentVerificationJobRepository extends JpaRepository<DocumentVerificationJob, Long> {
+
+    @Query("""
+        SELECT j FROM DocumentVerificationJob j
+        WHERE j.stage <> 'DONE' AND j.nextAttemptAt <= :now
+        ORDER BY j.nextAttemptAt ASC
+        """)
+    List<DocumentVerificationJob> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 작업 선점 - 다른 인스턴스가 먼저 가져갔으면 0 반환
+    @Modifying
+    @Query("""
+        UPDATE DocumentVerificationJob j SET j.nextAttemptAt = :leaseUntil
+        WHERE j.id = :id AND j.nextAttemptAt = :expected
+        """)
+    int claim(@Param("id") Long id,
+              @Param("expected") LocalDateTime expected,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("""
+        SELECT COUNT(j) > 0 FROM DocumentVerificationJob j
+        WHERE j.ownerType = :ownerType AND j.ownerId = :ownerId
+        AND j.stage <> 'DONE'
+        """)
+    boolean existsOpen(@Param("ownerType") DocumentVerificationJob.OwnerType ownerType,
+                       @Param("ownerId") Long ownerId);
+
+    // 단계별 대기 작업 수 (stage, count)
+    @Query("SELECT j.stage, COUNT(j) FROM DocumentVerificationJob j GROUP BY j.stage")
+    List<Object[]> countByStage();
+}
@@ -1,11 +1,15 @@
 package com.dispatch.repository;
 
 import com.dispatch.entity.DriverGradeHistory;
+import com.dispatch.entity.Driver;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,4 +19,20 @@ public interface DriverGradeHistoryRepository extends JpaRepository<DriverGradeH
 
     @Query("SELECT h FROM DriverGradeHistory h WHERE h.driverId = :driverId ORDER BY h.changedAt DESC LIMIT 1")
     DriverGradeHistory findLatestByDriverId(@Param("driverId") Long driverId);
+
+    // 자동 등급 변경 이력 일괄 기록 (INSERT ... SELECT, 실제로 새 등급이 된 기사만)
+    // ids 는 같은 트랜잭션에서 findForGradeChange 로 잠근 기사여야 한다 (다른 경로로 바뀐 기사 중복 기록 방지)
+    @Modifying
+    @Query("""
+        INSERT INTO DriverGradeHistory (driverId, previousGrade, newGrade, reason, changedAt)
+        SELECT d.id, :previousGrade, :newGrade, :reason, :changedAt
+        FROM Driver d
+        WHERE d.id IN :ids AND d.grade = :next
+        """)
+    int insertAutoChanges(@Param("ids") Collection<Long> ids,
+                          @Param("next") Driver.DriverGrade next,
+                          @Param("previousGrade") DriverGradeHistory.DriverGrade previousGrade,
+                          @Param("newGrade") DriverGradeHistory.DriverGrade newGrade,
+                          @Param("reason") String reason,
+                          @Param("changedAt") LocalDateTime changedAt);
 }
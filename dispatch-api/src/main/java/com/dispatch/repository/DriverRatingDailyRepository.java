@@ -0,0 +1,34 @@
+package com.dispatch.repository;
+
+import com.dispatch.entity.DriverRatingDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface DriverRatingDailyRepository extends JpaRepository<DriverRatingDaily, Long> {
+
+    Optional<DriverRatingDaily> findByDriverIdAndRatingDate(Long driverId, LocalDate ratingDate);
+
+    @Modifying
+    @Query("UPDATE DriverRatingDaily b SET b.expired30d = true WHERE b.ratingDate <= :cutoff AND b.expired30d = false")
+    int markExpired30d(@Param("cutoff") LocalDate cutoff);
+
+    @Modifying
+    @Query("UPDATE DriverRatingDaily b SET b.expired90d = true WHERE b.ratingDate <= :cutoff AND b.expired90d = false")
+    int markExpired90d(@Param("cutoff") LocalDate cutoff);
+
+    // 90일 집계에서도 차감된 버킷 정리
+    @Modifying
+    @Query("DELETE FROM DriverRatingDaily b WHERE b.expired90d = true")
+    int deleteFullyExpired();
+
+    @Modifying
+    @Query("DELETE FROM DriverRatingDaily b WHERE b.driverId = :driverId")
+    int deleteByDriverId(@Param("driverId") Long driverId);
+}
@@ -20,11 +20,9 @@ public interface DriverRatingRepository extends JpaRepository<DriverRating, Long
 
     boolean existsByDispatchId(Long dispatchId);
 
-    @Query("SELECT AVG(r.rating) FROM DriverRating r WHERE r.driverId = :driverId")
-    Double getAverageRatingByDriverId(@Param("driverId") Long driverId);
-
-    @Query("SELECT COUNT(r) FROM DriverRating r WHERE r.driverId = :driverId")
-    Integer countByDriverId(@Param("driverId") Long driverId);
+    // 기사 별점 집계 재구성용 (평가 시점 오름차순, 별점과 평가 시각만)
+    @Query("SELECT r.rating, r.createdAt FROM DriverRating r WHERE r.driverId = :driverId ORDER BY r.createdAt ASC")
+    List<Object[]> findRatingHistoryByDriverId(@Param("driverId") Long driverId);
 
     @Query("SELECT r FROM DriverRating r WHERE r.driverId = :driverId ORDER BY r.createdAt DESC")
     List<DriverRating> findRecentRatingsByDriverId(@Param("driverId") Long driverId);
@@ -2,11 +2,19 @@ package com.dispatch.repository;
 
 import com.dispatch.entity.Driver;
 import com.dispatch.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,11 +23,30 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
     Optional<Driver> findByUser(User user);
     Optional<Driver> findByUserId(Long userId);
 
-    @Query("SELECT d FROM Driver d WHERE d.user.email = :email")
+    // STOMP 핸들러처럼 세션 밖에서 기사 이름을 읽는 곳이 있어 사용자를 함께 적재
+    @Query("SELECT d FROM Driver d JOIN FETCH d.user u WHERE u.email = :email")
     Optional<Driver> findByUserEmail(@Param("email") String email);
 
     List<Driver> findByVerificationStatus(Driver.VerificationStatus status);
 
+    // 검증 메시지가 그대로 남은 기사 (ID, 사업자등록번호) - 사업자등록번호 재조회용
+    @Query("""
+        SELECT d.id, d.businessRegistrationNumber FROM Driver d
+        WHERE d.verificationMessage = :message AND d.updatedAt < :before
+        ORDER BY d.updatedAt ASC
+        """)
+    List<Object[]> findIdsAndBusinessNumbersByVerificationMessage(@Param("message") String message,
+                                                                  @Param("before") LocalDateTime before,
+                                                                  Pageable pageable);
+
+    // 관리자 목록용 (사용자/장비 함께 적재, 기사별 추가 조회 없음)
+    @Query("""
+        SELECT DISTINCT d FROM Driver d JOIN FETCH d.user LEFT JOIN FETCH d.equipments
+        WHERE d.verificationStatus = :status
+        ORDER BY d.createdAt ASC
+        """)
+    List<Driver> findWithDetailsByVerificationStatus(@Param("status") Driver.VerificationStatus status);
+
     @Query("SELECT d FROM Driver d WHERE d.isActive = true AND d.verificationStatus = 'VERIFIED'")
     List<Driver> findActiveDrivers();
 
@@ -37,4 +64,167 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
     List<Driver> findNearbyDrivers(@Param("lat") Double latitude,
                                    @Param("lng") Double longitude,
                                    @Param("radius") Double radiusKm);
+
+    // 현재 위치 [위도, 경도] (캐시된 프로필에 덧씌우는 용도)
+    @Query("SELECT d.latitude, d.longitude FROM Driver d WHERE d.id = :id")
+    List<Object[]> findLocationById(@Param("id") Long id);
+
+    // 별점 집계 갱신용 행 잠금 (같은 기사의 동시 평가 직렬화)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Driver d WHERE d.id = :id")
+    Optional<Driver> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT d.id FROM Driver d ORDER BY d.id")
+    List<Long> findAllIds();
+
+    // 위치만 갱신 - 잠금 없이 읽은 엔티티를 통째로 저장하면 그 사이 바뀐 별점 집계/등급/완료 건수를 덮어쓴다
+    // updated_at 은 올리지 않는다 (조건부 GET 태그가 수 초마다 오는 위치 보고로 바뀌지 않도록, 위치는 location_updated_at)
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Driver d SET d.latitude = :lat, d.longitude = :lng, d.locationUpdatedAt = :at
+        WHERE d.id = :id
+        """)
+    int updateLocation(@Param("id") Long id,
+                       @Param("lat") Double latitude,
+                       @Param("lng") Double longitude,
+                       @Param("at") LocalDateTime at);
+
+    // 30일 기간을 벗어난 일별 버킷 차감 (버킷 expired_30d 표시 전에 실행)
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE Driver d SET
+            d.rating30dSum = COALESCE(d.rating30dSum, 0) - (SELECT COALESCE(SUM(b.ratingSum), 0) FROM DriverRatingDaily b
+                WHERE b.driverId = d.id AND b.ratingDate <= :cutoff AND b.expired30d = false),
+            d.rating30dCount = COALESCE(d.rating30dCount, 0) - (SELECT COALESCE(SUM(b.ratingCount), 0) FROM DriverRatingDaily b
+                WHERE b.driverId = d.id AND b.ratingDate <= :cutoff AND b.expired30d = false),
+            d.updatedAt = LOCAL DATETIME
+        WHERE d.id IN (SELECT b.driverId FROM DriverRatingDaily b WHERE b.ratingDate <= :cutoff AND b.expired30d = false)
+        """)
+    int subtractExpired30d(@Param("cutoff") LocalDate cutoff);
+
+    // 90일 기간을 벗어난 일별 버킷 차감 (버킷 expired_90d 표시 전에 실행)
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE Driver d SET
+            d.rating90dSum = COALESCE(d.rating90dSum, 0) - (SELECT COALESCE(SUM(b.ratingSum), 0) FROM DriverRatingDaily b
+                WHERE b.driverId = d.id AND b.ratingDate <= :cutoff AND b.expired90d = false),
+            d.rating90dCount = COALESCE(d.rating90dCount, 0) - (SELECT COALESCE(SUM(b.ratingCount), 0) FROM DriverRatingDaily b
+                WHERE b.driverId = d.id AND b.ratingDate <= :cutoff AND b.expired90d = false),
+            d.updatedAt = LOCAL DATETIME
+        WHERE d.id IN (SELECT b.driverId FROM DriverRatingDaily b WHERE b.ratingDate <= :cutoff AND b.expired90d = false)
+        """)
+    int subtractExpired90d(@Param("cutoff") LocalDate cutoff);
+
+    // 기사 ID -> 이름 (목록 응답용 일괄 조회)
+    @Query("SELECT d.id, d.user.name FROM Driver d WHERE d.id IN :ids")
+    List<Object[]> findNamesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT d.id FROM Driver d WHERE d.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    // 가용 배차 피드 노출 판정용 (ID, 검증 상태, 평균 별점, 평가 수)
+    @Query("SELECT d.id, d.verificationStatus, d.averageRating, d.totalRatings FROM Driver d WHERE d.user.id = :userId")
+    List<Object[]> findFeedContextByUserId(@Param("userId") Long userId);
+
+    // 기사 ID -> (사용자 ID, 이메일) (캐시 무효화용, 엔티티 미적재)
+    @Query("SELECT d.user.id, d.user.email FROM Driver d WHERE d.id IN :ids")
+    List<Object[]> findUserKeysByIds(@Param("ids") Collection<Long> ids);
+
+    // 자동 등급 산정 입력값 (등급 고정 기사 제외, 엔티티 미적재)
+    @Query("""
+        SELECT d.id, d.grade, d.decayedRatingSum, d.decayedRatingWeight, d.totalCompletedDispatches, d.warningCount
+        FROM Driver d
+        WHERE d.id IN :ids AND (d.gradeLocked IS NULL OR d.gradeLocked = false)
+        """)
+    List<Object[]> findGradingInputsByIds(@Param("ids") Collection<Long> ids);
+
+    // 등급 일괄 변경 대상 잠금 (이전 등급이 그대로이고 고정되지 않은 기사, 동시 개별 재산정과 직렬화)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT d FROM Driver d
+        WHERE d.id IN :ids AND d.grade = :previous AND (d.gradeLocked IS NULL OR d.gradeLocked = false)
+        """)
+    List<Driver> findForGradeChange(@Param("ids") Collection<Long> ids,
+                                    @Param("previous") Driver.DriverGrade previous);
+
+    // 등급 일괄 변경 (이전 등급이 그대로이고 고정되지 않은 기사만)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Driver d SET d.grade = :next, d.updatedAt = LOCAL DATETIME
+        WHERE d.id IN :ids AND d.grade = :previous AND (d.gradeLocked IS NULL OR d.gradeLocked = false)
+        """)
+    int updateGrades(@Param("ids") Collection<Long> ids,
+                     @Param("previous") Driver.DriverGrade previous,
+                     @Param("next") Driver.DriverGrade next);
+
+    // 백필: 완료 건수를 서명 완료 매칭 수로 맞춘다 (집계 도입 전 완료분, 이미 더 큰 값은 그대로)
+    @Modifying
+    @Query("""
+        UPDATE Driver d SET
+            d.totalCompletedDispatches = (SELECT COUNT(m) FROM DispatchMatch m WHERE m.driver.id = d.id AND m.status = 'SIGNED'),
+            d.updatedAt = LOCAL DATETIME
+        WHERE COALESCE(d.totalCompletedDispatches, 0)
+            < (SELECT COUNT(m) FROM DispatchMatch m WHERE m.driver.id = d.id AND m.status = 'SIGNED')
+        """)
+    int backfillCompletedDispatches();
+
+    // 백필: 별점 집계 컬럼이 비어 있는 기사 (집계 도입 전 행)
+    @Query("""
+        SELECT d.id FROM Driver d
+        WHERE d.ratingSum IS NULL OR d.rating30dSum IS NULL OR d.rating30dCount IS NULL
+            OR d.rating90dSum IS NULL OR d.rating90dCount IS NULL
+            OR d.decayedRatingSum IS NULL OR d.decayedRatingWeight IS NULL
+        ORDER BY d.id
+        """)
+    List<Long> findIdsWithoutRatingAggregates();
+
+    // 백필: 등급 고정 여부 (관리자가 등급을 지정한 이력이 있으면 고정)
+    @Modifying
+    @Query("""
+        UPDATE Driver d SET
+            d.gradeLocked = CASE WHEN EXISTS (SELECT h.id FROM DriverGradeHistory h
+                WHERE h.driverId = d.id AND h.changedBy IS NOT NULL) THEN true ELSE false END,
+            d.updatedAt = LOCAL DATETIME
+        WHERE d.gradeLocked IS NULL
+        """)
+    int backfillGradeLocked();
+
+    // 매칭 후보 기사 (활동 중 + 검증 완료, 엔티티 미적재)
+    @Query("""
+        SELECT d.id, d.user.id, d.user.email, d.grade, d.averageRating, d.totalRatings,
+               d.decayedRatingSum, d.decayedRatingWeight, d.latitude, d.longitude
+        FROM Driver d
+        WHERE d.isActive = true AND d.verificationStatus = 'VERIFIED'
+        """)
+    List<Object[]> findMatchingCandidates();
+
+    @Query("""
+        SELECT d.id, d.user.id, d.user.email, d.grade, d.averageRating, d.totalRatings,
+               d.decayedRatingSum, d.decayedRatingWeight, d.latitude, d.longitude
+        FROM Driver d
+        WHERE d.isActive = true AND d.verificationStatus = 'VERIFIED' AND d.id IN :ids
+        """)
+    List<Object[]> findMatchingCandidatesByIds(@Param("ids") Collection<Long> ids);
+
+    // 조건부 GET 태그용 (행 수, 기사 최대 수정 시각, 사용자 최대 수정 시각) - 위치 갱신은 updated_at 을 바꾸지 않아 반영되지 않는다
+    @Query("SELECT COUNT(d), MAX(d.updatedAt), MAX(u.updatedAt) FROM Driver d JOIN d.user u")
+    List<Object[]> findWatermark();
+
+    // 기사 통계 태그용 (매칭 수, 매칭/기사/사용자 최대 수정 시각)
+    @Query("""
+        SELECT COUNT(m), MAX(m.updatedAt), MAX(d.updatedAt), MAX(u.updatedAt)
+        FROM Driver d JOIN d.user u LEFT JOIN DispatchMatch m ON m.driver = d
+        WHERE d.id = :driverId
+        GROUP BY d
+        """)
+    List<Object[]> findStatisticsWatermarkById(@Param("driverId") Long driverId);
+
+    @Query("""
+        SELECT COUNT(m), MAX(m.updatedAt), MAX(d.updatedAt), MAX(u.updatedAt)
+        FROM Driver d JOIN d.user u LEFT JOIN DispatchMatch m ON m.driver = d
+        WHERE u.id = :userId
+        GROUP BY d
+        """)
+    List<Object[]> findStatisticsWatermarkByUserId(@Param("userId") Long userId);
 }
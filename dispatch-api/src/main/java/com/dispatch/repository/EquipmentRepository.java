@@ -3,8 +3,11 @@ package com.dispatch.repository;
 import com.dispatch.entity.Driver;
 import com.dispatch.entity.Equipment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +16,21 @@ public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
     List<Equipment> findByDriverId(Long driverId);
     List<Equipment> findByType(Equipment.EquipmentType type);
     List<Equipment> findByDriverAndStatus(Driver driver, Equipment.EquipmentStatus status);
+
+    // 매칭 후보 장비 사양 (기사 ID, 장비 유형, 최대 작업 높이)
+    @Query("""
+        SELECT e.driver.id, e.type, e.maxHeight FROM Equipment e
+        WHERE e.status = 'ACTIVE' AND e.driver.isActive = true AND e.driver.verificationStatus = 'VERIFIED'
+        """)
+    List<Object[]> findMatchingSpecs();
+
+    @Query("""
+        SELECT e.driver.id, e.type, e.maxHeight FROM Equipment e
+        WHERE e.status = 'ACTIVE' AND e.driver.id IN :driverIds
+        """)
+    List<Object[]> findMatchingSpecsByDriverIds(@Param("driverIds") Collection<Long> driverIds);
+
+    // 조건부 GET 태그용 (행 수, 최대 수정 시각)
+    @Query("SELECT COUNT(e), MAX(e.updatedAt) FROM Equipment e")
+    List<Object[]> findWatermark();
 }
@@ -0,0 +1,13 @@
+package com.dispatch.repository;
+
+import com.dispatch.entity.FcmDeadLetter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FcmDeadLetterRepository extends JpaRepository<FcmDeadLetter, Long> {
+
+    Page<FcmDeadLetter> findAllByOrderByFailedAtDesc(Pageable pageable);
+}
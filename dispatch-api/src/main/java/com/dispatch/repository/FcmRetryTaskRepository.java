@@ -0,0 +1,40 @@
+package com.dispatch.repository;
+
+import com.dispatch.entity.FcmRetryTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FcmRetryTaskRepository extends JpaRepository<FcmRetryTask, Long> {
+
+    // 재전송 시각이 됐고 선점되지 않은(또는 선점이 만료된) 작업
+    @Query("""
+        SELECT t FROM FcmRetryTask t
+        WHERE t.nextAttemptAt <= :now AND (t.claimedUntil IS NULL OR t.claimedUntil < :now)
+        ORDER BY t.nextAttemptAt ASC
+        """)
+    List<FcmRetryTask> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 작업 선점 - 다른 인스턴스가 먼저 가져갔으면 0 반환
+    @Modifying
+    @Query("""
+        UPDATE FcmRetryTask t SET t.claimedBy = :owner, t.claimedUntil = :leaseUntil
+        WHERE t.id = :id AND t.nextAttemptAt <= :now AND (t.claimedUntil IS NULL OR t.claimedUntil < :now)
+        """)
+    int claim(@Param("id") Long id,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 처리 완료 - 선점이 만료되어 다른 인스턴스가 가져간 작업은 지우지 않는다
+    @Modifying
+    @Query("DELETE FROM FcmRetryTask t WHERE t.id = :id AND t.claimedBy = :owner")
+    int deleteClaimed(@Param("id") Long id, @Param("owner") String owner);
+}
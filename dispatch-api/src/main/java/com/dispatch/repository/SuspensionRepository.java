@@ -2,12 +2,16 @@ package com.dispatch.repository;
 
 import com.dispatch.entity.Suspension;
 import com.dispatch.entity.Warning;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,12 +28,35 @@ public interface SuspensionRepository extends JpaRepository<Suspension, Long> {
 
     boolean existsByUserIdAndUserTypeAndIsActiveTrue(Long userId, Warning.UserType userType);
 
-    @Query("SELECT s FROM Suspension s WHERE s.isActive = true ORDER BY s.createdAt DESC")
-    List<Suspension> findAllActiveSuspensions();
-
-    @Query("SELECT s FROM Suspension s ORDER BY s.createdAt DESC")
-    List<Suspension> findAllOrderByCreatedAtDesc();
-
-    @Query("SELECT s FROM Suspension s WHERE s.isActive = true AND s.type = 'TEMP' AND s.endDate <= :now")
-    List<Suspension> findExpiredSuspensions(@Param("now") LocalDateTime now);
+    @Query(value = "SELECT s FROM Suspension s WHERE s.isActive = true ORDER BY s.createdAt DESC, s.id DESC",
+            countQuery = "SELECT COUNT(s) FROM Suspension s WHERE s.isActive = true")
+    Page<Suspension> findAllActiveSuspensions(Pageable pageable);
+
+    @Query(value = "SELECT s FROM Suspension s ORDER BY s.createdAt DESC, s.id DESC",
+            countQuery = "SELECT COUNT(s) FROM Suspension s")
+    Page<Suspension> findAllOrderByCreatedAtDesc(Pageable pageable);
+
+    // 현재 적용 중인 정지 (대상 ID, 대상 유형, 종료일) - SuspensionRegistry 적재용
+    @Query("SELECT s.userId, s.userType, s.endDate FROM Suspension s WHERE s.isActive = true " +
+            "AND (s.type = 'PERMANENT' OR s.endDate > :now)")
+    List<Object[]> findCurrentActiveKeys(@Param("now") LocalDateTime now);
+
+    @Query("SELECT MAX(s.id) FROM Suspension s")
+    Long findMaxId();
+
+    // 만료 예정 정지 (ID, 종료일) - afterId 초과 maxId 이하, 종료일이 until 이전
+    @Query("SELECT s.id, s.endDate FROM Suspension s WHERE s.isActive = true AND s.type = 'TEMP' " +
+            "AND s.id > :afterId AND s.id <= :maxId AND s.endDate <= :until")
+    List<Object[]> findPendingExpiries(@Param("afterId") Long afterId,
+                                       @Param("maxId") Long maxId,
+                                       @Param("until") LocalDateTime until);
+
+    // 해제 대상 (ID, 대상 ID, 대상 유형) - 이미 해제되었거나 아직 만료 전이면 제외
+    @Query("SELECT s.id, s.userId, s.userType FROM Suspension s WHERE s.id IN :ids " +
+            "AND s.isActive = true AND s.type = 'TEMP' AND s.endDate <= :now")
+    List<Object[]> findDueForLift(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Suspension s SET s.isActive = false, s.liftedAt = :now WHERE s.id IN :ids AND s.isActive = true")
+    int deactivateByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 }
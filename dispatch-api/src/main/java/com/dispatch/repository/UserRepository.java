@@ -2,8 +2,13 @@ package com.dispatch.repository;
 
 import com.dispatch.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +16,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     boolean existsByPhone(String phone);
+
+    // 사용자 ID -> 이름 (목록 응답용 일괄 조회)
+    @Query("SELECT u.id, u.name FROM User u WHERE u.id IN :ids")
+    List<Object[]> findNamesByIds(@Param("ids") Collection<Long> ids);
+
+    // 발주처 소속 직원 이메일 (캐시 무효화용, 엔티티 미적재)
+    @Query("SELECT u.email FROM User u WHERE u.company.id IN :companyIds")
+    List<String> findEmailsByCompanyIds(@Param("companyIds") Collection<Long> companyIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.status = :status WHERE u.company.id IN :companyIds")
+    int updateStatusByCompanyIds(@Param("companyIds") Collection<Long> companyIds,
+                                 @Param("status") User.UserStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.status = :status WHERE u.id IN " +
+            "(SELECT d.user.id FROM Driver d WHERE d.id IN :driverIds)")
+    int updateStatusByDriverIds(@Param("driverIds") Collection<Long> driverIds,
+                                @Param("status") User.UserStatus status);
+
+    // 조건부 GET 태그용 (행 수, 최대 수정 시각)
+    @Query("SELECT COUNT(u), MAX(u.updatedAt) FROM User u")
+    List<Object[]> findWatermark();
 }
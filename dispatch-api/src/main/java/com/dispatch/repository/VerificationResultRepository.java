@@ -0,0 +1,19 @@
+package com.dispatch.repository;
+
+import com.dispatch.entity.VerificationResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface VerificationResultRepository extends JpaRepository<VerificationResult, String> {
+
+    // 만료된 결과 정리
+    @Modifying
+    @Query("DELETE FROM VerificationResult v WHERE v.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,6 +1,8 @@
 package com.dispatch.repository;
 
 import com.dispatch.entity.Warning;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,6 +24,7 @@ public interface WarningRepository extends JpaRepository<Warning, Long> {
     @Query("SELECT w FROM Warning w WHERE w.userType = :userType ORDER BY w.createdAt DESC")
     List<Warning> findAllByUserType(@Param("userType") Warning.UserType userType);
 
-    @Query("SELECT w FROM Warning w ORDER BY w.createdAt DESC")
-    List<Warning> findAllOrderByCreatedAtDesc();
+    @Query(value = "SELECT w FROM Warning w ORDER BY w.createdAt DESC, w.id DESC",
+            countQuery = "SELECT COUNT(w) FROM Warning w")
+    Page<Warning> findAllOrderByCreatedAtDesc(Pageable pageable);
 }
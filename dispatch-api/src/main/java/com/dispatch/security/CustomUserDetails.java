@@ -14,8 +14,18 @@ public class CustomUserDetails implements UserDetails {
 
     private final User user;
 
+    // 정지 여부 확인용 (기사 ID, 소속 발주처 ID)
+    private final Long driverId;
+    private final Long companyId;
+
     public CustomUserDetails(User user) {
+        this(user, null, user.getCompany() != null ? user.getCompany().getId() : null);
+    }
+
+    public CustomUserDetails(User user, Long driverId, Long companyId) {
         this.user = user;
+        this.driverId = driverId;
+        this.companyId = companyId;
     }
 
     @Override
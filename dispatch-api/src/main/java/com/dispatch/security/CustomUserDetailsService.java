@@ -1,7 +1,10 @@
 package com.dispatch.security;
 
+import com.dispatch.dto.auth.CachedUser;
 import com.dispatch.entity.User;
+import com.dispatch.repository.DriverRepository;
 import com.dispatch.repository.UserRepository;
+import com.dispatch.service.ReadModelCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -13,6 +16,8 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final DriverRepository driverRepository;
+    private final ReadModelCache readModelCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -21,4 +26,21 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return new CustomUserDetails(user);
     }
+
+    /**
+     * 토큰 인증용 사용자 조회 (캐시 사용, 비밀번호 미포함)
+     * 로그인(비밀번호 검증)은 loadUserByUsername 으로 DB에서 직접 조회한다.
+     */
+    public UserDetails loadUserForToken(String email) throws UsernameNotFoundException {
+        CachedUser cachedUser = readModelCache.get(ReadModelCache.Region.USER, email, () -> {
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+            Long driverId = user.getRole() == User.UserRole.DRIVER
+                    ? driverRepository.findIdByUserId(user.getId()).orElse(null)
+                    : null;
+            return CachedUser.from(user, driverId);
+        });
+
+        return new CustomUserDetails(cachedUser.toUser(), cachedUser.getDriverId(), cachedUser.getCompanyId());
+    }
 }
@@ -1,11 +1,16 @@
 package com.dispatch.security;
 
+import com.dispatch.dto.ApiResponse;
+import com.dispatch.service.SuspensionRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
@@ -18,6 +23,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final SuspensionRegistry suspensionRegistry;
+    private final ObjectMapper objectMapper;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -28,6 +35,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
             Authentication authentication = jwtTokenProvider.getAuthentication(token);
+
+            // 정지된 기사/발주처 직원은 인증 API 외 모든 요청 차단 (메모리 확인, SQL 없음)
+            if (authentication.getPrincipal() instanceof CustomUserDetails userDetails
+                    && suspensionRegistry.isSuspended(userDetails)
+                    && !request.getRequestURI().startsWith("/api/auth/")) {
+                log.debug("Rejected request from suspended user '{}', uri: {}",
+                        userDetails.getUsername(), request.getRequestURI());
+                writeSuspended(response);
+                return;
+            }
+
             SecurityContextHolder.getContext().setAuthentication(authentication);
             log.debug("Set Authentication to security context for '{}', uri: {}",
                     authentication.getName(), request.getRequestURI());
@@ -36,6 +54,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private void writeSuspended(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("정지된 계정입니다"));
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
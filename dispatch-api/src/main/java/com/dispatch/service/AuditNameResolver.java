@@ -0,0 +1,97 @@
+package com.dispatch.service;
+
+import com.dispatch.entity.Warning;
+import com.dispatch.repository.CompanyRepository;
+import com.dispatch.repository.DriverRepository;
+import com.dispatch.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 경고/정지 목록의 대상(기사/발주처)과 처리자 이름 일괄 조회
+ *
+ * 행마다 조회하지 않고 ID 를 모아 유형별로 한 번씩(최대 3회) 조회한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditNameResolver {
+
+    private final DriverRepository driverRepository;
+    private final CompanyRepository companyRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * 이름 조회 대상 ID 수집기 생성
+     */
+    public Request request() {
+        return new Request();
+    }
+
+    private Names resolve(Request request) {
+        return new Names(
+                toMap(request.driverIds, driverRepository::findNamesByIds),
+                toMap(request.companyIds, companyRepository::findNamesByIds),
+                toMap(request.userIds, userRepository::findNamesByIds));
+    }
+
+    private static Map<Long, String> toMap(Set<Long> ids, Function<Collection<Long>, List<Object[]>> query) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (Object[] row : query.apply(ids)) {
+            names.put((Long) row[0], (String) row[1]);
+        }
+        return names;
+    }
+
+    /**
+     * 이름 조회 대상 ID 모음
+     */
+    public class Request {
+
+        private final Set<Long> driverIds = new HashSet<>();
+        private final Set<Long> companyIds = new HashSet<>();
+        private final Set<Long> userIds = new HashSet<>();
+
+        public Request target(Warning.UserType userType, Long targetId) {
+            if (targetId != null) {
+                (userType == Warning.UserType.DRIVER ? driverIds : companyIds).add(targetId);
+            }
+            return this;
+        }
+
+        public Request user(Long userId) {
+            if (userId != null) {
+                userIds.add(userId);
+            }
+            return this;
+        }
+
+        public Names resolve() {
+            return AuditNameResolver.this.resolve(this);
+        }
+    }
+
+    /**
+     * 조회된 이름 (없으면 null)
+     */
+    public record Names(Map<Long, String> drivers, Map<Long, String> companies, Map<Long, String> users) {
+
+        public String target(Warning.UserType userType, Long targetId) {
+            return (userType == Warning.UserType.DRIVER ? drivers : companies).get(targetId);
+        }
+
+        public String user(Long userId) {
+            return users.get(userId);
+        }
+    }
+}
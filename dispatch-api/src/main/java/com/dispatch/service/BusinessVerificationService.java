@@ -0,0 +1,205 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.verify.VerifyResponse;
+import com.dispatch.entity.Company;
+import com.dispatch.entity.Driver;
+import com.dispatch.repository.CompanyRepository;
+import com.dispatch.repository.DriverRepository;
+import com.dispatch.service.ReadModelCache.Region;
+import com.dispatch.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 기사/발주처 가입 시 사업자등록번호 비동기 검증
+ *
+ * 형식/체크섬 검증은 요청 안에서 끝내고, 등록 상태 조회가 연동되어 있으면(verify.business.remote-enabled)
+ * 올바른 번호를 "확인 중" 으로 저장한 뒤 커밋 이후 verify-server 조회를 요청만 한다.
+ * 결과가 오면 별도 트랜잭션에서 반영한다. 그 사이 번호가 바뀌었거나 메시지가 "확인 중" 이 아니면
+ * (재등록, 관리자 처리, 서류 검토) 늦게 온 결과로 덮어쓰지 않는다.
+ * 결과를 반영하기 전에 재시작되거나 반영이 실패해 "확인 중" 으로 남은 행은 recheck-after-minutes 가 지나면
+ * 리더 인스턴스가 다시 조회를 요청한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BusinessVerificationService {
+
+    public static final String PENDING_MESSAGE = "사업자등록번호 확인 중";
+
+    static final String RECHECK_LEASE_NAME = "business-verify-recheck";
+
+    private final VerifyService verifyService;
+    private final DriverRepository driverRepository;
+    private final CompanyRepository companyRepository;
+    private final ReadModelCache readModelCache;
+    private final SchedulerLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${verify.business.apply-threads:2}")
+    private int applyThreads;
+
+    @Value("${verify.business.recheck-after-minutes:10}")
+    private long recheckAfterMinutes;
+
+    @Value("${verify.business.recheck-batch-size:100}")
+    private int recheckBatchSize;
+
+    private ExecutorService executor;
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, applyThreads), runnable -> {
+            Thread thread = new Thread(runnable, "business-verify-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 저장할 검증 메시지 - 형식이 틀리면 실패 메시지, 올바르면 확인 중 (조회 미연동이면 null)
+     */
+    public String initialMessage(String businessNumber) {
+        VerifyResponse formatError = verifyService.checkBusinessNumberFormat(normalize(businessNumber));
+        if (formatError != null) {
+            log.warn("Business registration verification failed: {}", formatError.getMessage());
+            return failureMessage(formatError);
+        }
+        return verifyService.isBusinessRemoteEnabled() ? PENDING_MESSAGE : null;
+    }
+
+    /**
+     * 커밋 이후 기사 사업자등록번호 검증 요청
+     */
+    public void verifyDriverAfterCommit(Long driverId, String businessNumber) {
+        String number = normalize(businessNumber);
+        TransactionCallbacks.afterCommit(() -> request(number, result -> applyToDriver(driverId, number, result)));
+    }
+
+    /**
+     * 커밋 이후 발주처 사업자등록번호 검증 요청
+     */
+    public void verifyCompanyAfterCommit(Long companyId, String businessNumber) {
+        String number = normalize(businessNumber);
+        TransactionCallbacks.afterCommit(() -> request(number, result -> applyToCompany(companyId, number, result)));
+    }
+
+    /**
+     * "확인 중" 으로 오래 남은 기사/발주처 재조회 요청 (리더 인스턴스만)
+     * 결과 반영 조건은 처음 요청과 같다 (그 사이 번호/메시지가 바뀌었으면 반영하지 않음).
+     */
+    @Scheduled(fixedDelayString = "${verify.business.recheck-interval-ms:300000}",
+            initialDelayString = "${verify.business.recheck-interval-ms:300000}")
+    public void recheckStalePending() {
+        if (!verifyService.isBusinessRemoteEnabled()
+                || !leaseService.tryAcquire(RECHECK_LEASE_NAME, Duration.ofMinutes(1))) {
+            return;
+        }
+        try {
+            LocalDateTime before = LocalDateTime.now().minusMinutes(recheckAfterMinutes);
+            PageRequest page = PageRequest.of(0, recheckBatchSize);
+
+            List<Object[]> drivers = driverRepository.findIdsAndBusinessNumbersByVerificationMessage(
+                    PENDING_MESSAGE, before, page);
+            for (Object[] row : drivers) {
+                Long driverId = (Long) row[0];
+                String number = normalize((String) row[1]);
+                request(number, result -> applyToDriver(driverId, number, result));
+            }
+
+            List<Object[]> companies = companyRepository.findIdsAndBusinessNumbersByVerificationMessage(
+                    PENDING_MESSAGE, before, page);
+            for (Object[] row : companies) {
+                Long companyId = (Long) row[0];
+                String number = normalize((String) row[1]);
+                request(number, result -> applyToCompany(companyId, number, result));
+            }
+
+            if (!drivers.isEmpty() || !companies.isEmpty()) {
+                log.info("Stale business verifications re-requested: drivers={}, companies={}",
+                        drivers.size(), companies.size());
+            }
+        } finally {
+            leaseService.release(RECHECK_LEASE_NAME);
+        }
+    }
+
+    private void request(String number, Consumer<VerifyResponse> apply) {
+        verifyService.verifyBusinessRegistrationAsync(number)
+                .thenAcceptAsync(result -> requiresNew.executeWithoutResult(status -> apply.accept(result)), executor)
+                .exceptionally(e -> {
+                    log.error("Applying business verification failed: number={}", number, e);
+                    return null;
+                });
+    }
+
+    private void applyToDriver(Long driverId, String number, VerifyResponse result) {
+        // 행을 잠가 읽는다 - 잠금 없이 읽은 엔티티를 저장하면 그 사이 바뀐 별점 집계/등급/완료 건수를 되돌린다
+        Driver driver = driverRepository.findByIdForUpdate(driverId).orElse(null);
+        if (driver == null || !number.equals(normalize(driver.getBusinessRegistrationNumber()))
+                || !PENDING_MESSAGE.equals(driver.getVerificationMessage())) {
+            return;
+        }
+
+        driver.setVerificationMessage(resultMessage(result));
+        readModelCache.evict(Region.DRIVER_PROFILE, driver.getUser().getId());
+        log.info("Driver business verification applied: driverId={}, result={}", driverId, result.getResult());
+    }
+
+    private void applyToCompany(Long companyId, String number, VerifyResponse result) {
+        Company company = companyRepository.findById(companyId).orElse(null);
+        if (company == null || !number.equals(normalize(company.getBusinessNumber()))
+                || !PENDING_MESSAGE.equals(company.getVerificationMessage())) {
+            return;
+        }
+
+        company.setVerificationMessage(resultMessage(result));
+        if (result.isValid() && company.getVerificationStatus() == Company.VerificationStatus.PENDING) {
+            company.setVerificationStatus(Company.VerificationStatus.VERIFIED);
+        }
+        readModelCache.evict(Region.COMPANY, companyId);
+        log.info("Company business verification applied: companyId={}, result={}", companyId, result.getResult());
+    }
+
+    // 확인 불가(UNKNOWN)는 메시지를 비워 검증 전과 같게 둔다
+    private static String resultMessage(VerifyResponse result) {
+        return switch (result.getResult()) {
+            case VALID -> "사업자등록번호 검증 완료";
+            case INVALID -> failureMessage(result);
+            case UNKNOWN -> null;
+        };
+    }
+
+    private static String failureMessage(VerifyResponse result) {
+        return "사업자등록번호 검증 실패: " + result.getMessage();
+    }
+
+    private static String normalize(String businessNumber) {
+        return businessNumber != null ? businessNumber.replaceAll("-", "") : null;
+    }
+}
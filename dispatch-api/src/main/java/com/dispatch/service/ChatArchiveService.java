@@ -0,0 +1,250 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.chat.ChatArchiveResult;
+import com.dispatch.dto.chat.ChatMessageResponse;
+import com.dispatch.entity.ChatMessage;
+import com.dispatch.entity.ChatMessageArchive;
+import com.dispatch.entity.DispatchRequest;
+import com.dispatch.exception.CustomException;
+import com.dispatch.repository.ChatMessageArchiveRepository;
+import com.dispatch.repository.ChatMessageRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 채팅 메시지 보관 기간(chat_retention_days) 적용
+ *
+ * 완료/취소된 배차의 만료 메시지를 작은 단위로 잘라 압축 보관 테이블로 옮긴다.
+ * 청크마다 별도 트랜잭션으로 처리하고 청크 사이에 쉬어서 chat_messages 잠금을 짧게 유지한다.
+ * 정기 실행은 리더 인스턴스(scheduler_leases)만 하고, 청크는 행을 잠근 뒤 지운 건수가 맞을 때만 보관한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatArchiveService {
+
+    static final String LEASE_NAME = "chat-archive";
+
+    private static final List<DispatchRequest.DispatchStatus> ARCHIVABLE_STATUSES = List.of(
+            DispatchRequest.DispatchStatus.COMPLETED,
+            DispatchRequest.DispatchStatus.CANCELLED
+    );
+
+    private static final DateTimeFormatter ARCHIVE_MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatMessageArchiveRepository archiveRepository;
+    private final SystemSettingService systemSettingService;
+    private final ChatUnreadService chatUnreadService;
+    private final SchedulerLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${chat.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${chat.archive.pause-ms:100}")
+    private long pauseMs;
+
+    @Value("${chat.archive.max-chunks-per-run:500}")
+    private int maxChunksPerRun;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong totalRuns = new AtomicLong();
+    private final AtomicLong totalRowsArchived = new AtomicLong();
+    private volatile ChatArchiveResult lastResult;
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 만료 메시지 아카이빙 (스케줄러, 리더 인스턴스만)
+     * 청크 사이 대기로 오래 걸리므로 전용 스레드에서 실행하고 스케줄러 스레드는 바로 돌려준다.
+     */
+    @Scheduled(cron = "${chat.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (!leaseService.tryAcquire(LEASE_NAME, Duration.ofMinutes(30))) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                archiveExpiredMessages();
+            } catch (CustomException e) {
+                log.warn("Chat archive skipped: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("Chat archive failed", e);
+            }
+        });
+    }
+
+    /**
+     * 만료 메시지 아카이빙 실행
+     */
+    public ChatArchiveResult archiveExpiredMessages() {
+        if (!running.compareAndSet(false, true)) {
+            throw CustomException.conflict("채팅 아카이빙이 이미 실행 중입니다");
+        }
+
+        try {
+            return runArchive();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 마지막 실행 결과 조회
+     */
+    public ChatArchiveResult getLastResult() {
+        return lastResult;
+    }
+
+    private ChatArchiveResult runArchive() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        int retentionDays = systemSettingService.getSettingIntValue("chat_retention_days", 7);
+        LocalDateTime cutoff = startedAt.minusDays(retentionDays);
+
+        int dispatches = 0;
+        int chunks = 0;
+        long rowsArchived = 0;
+        long compressedBytes = 0;
+
+        while (chunks < maxChunksPerRun) {
+            List<Long> dispatchIds = chatMessageRepository.findArchivableDispatchIds(
+                    cutoff, ARCHIVABLE_STATUSES, PageRequest.of(0, 50));
+            if (dispatchIds.isEmpty()) {
+                break;
+            }
+
+            for (Long dispatchId : dispatchIds) {
+                dispatches++;
+                ArchivedChunk chunk;
+                do {
+                    chunk = transactionTemplate.execute(status -> archiveChunk(dispatchId, cutoff));
+                    if (chunk == null || chunk.rows() == 0) {
+                        break;
+                    }
+                    chunks++;
+                    rowsArchived += chunk.rows();
+                    compressedBytes += chunk.bytes();
+                    pause();
+                } while (chunk.rows() == batchSize && chunks < maxChunksPerRun);
+
+                if (chunks >= maxChunksPerRun) {
+                    break;
+                }
+            }
+        }
+
+        // 아카이빙된 메시지가 집계에 남지 않도록 초기화
+        if (rowsArchived > 0) {
+            chatUnreadService.evictAll();
+        }
+
+        LocalDateTime finishedAt = LocalDateTime.now();
+        ChatArchiveResult result = ChatArchiveResult.builder()
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .durationMs(Duration.between(startedAt, finishedAt).toMillis())
+                .retentionDays(retentionDays)
+                .cutoff(cutoff)
+                .dispatches(dispatches)
+                .chunks(chunks)
+                .rowsArchived(rowsArchived)
+                .compressedBytes(compressedBytes)
+                .totalRuns(totalRuns.incrementAndGet())
+                .totalRowsArchived(totalRowsArchived.addAndGet(rowsArchived))
+                .build();
+        lastResult = result;
+
+        log.info("Chat archive finished: dispatches={}, chunks={}, rows={}, bytes={}, durationMs={}",
+                dispatches, chunks, rowsArchived, compressedBytes, result.getDurationMs());
+
+        return result;
+    }
+
+    private ArchivedChunk archiveChunk(Long dispatchId, LocalDateTime cutoff) {
+        List<ChatMessage> messages = chatMessageRepository.findArchiveChunkForUpdate(
+                dispatchId, cutoff, PageRequest.of(0, batchSize));
+        if (messages.isEmpty()) {
+            return new ArchivedChunk(0, 0);
+        }
+
+        // 다른 실행이 먼저 지운 행이 섞였으면 보관하지 않고 롤백 (중복 보관 방지)
+        int deleted = chatMessageRepository.deleteByIds(messages.stream().map(ChatMessage::getId).toList());
+        if (deleted != messages.size()) {
+            throw CustomException.conflict("채팅 아카이브 청크가 동시에 처리되었습니다 (배차 " + dispatchId + ")");
+        }
+
+        ChatMessage first = messages.get(0);
+        ChatMessage last = messages.get(messages.size() - 1);
+        byte[] payload = compress(messages.stream().map(ChatMessageResponse::from).toList());
+
+        archiveRepository.save(ChatMessageArchive.builder()
+                .dispatchId(dispatchId)
+                .archiveMonth(first.getCreatedAt().format(ARCHIVE_MONTH_FORMAT))
+                .messageCount(messages.size())
+                .firstMessageAt(first.getCreatedAt())
+                .lastMessageAt(last.getCreatedAt())
+                .payload(payload)
+                .build());
+
+        return new ArchivedChunk(messages.size(), payload.length);
+    }
+
+    private byte[] compress(List<ChatMessageResponse> messages) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzip, messages);
+        } catch (IOException e) {
+            throw CustomException.serverError("채팅 아카이브 압축 실패: " + e.getMessage());
+        }
+        return out.toByteArray();
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record ArchivedChunk(int rows, long bytes) {
+    }
+}
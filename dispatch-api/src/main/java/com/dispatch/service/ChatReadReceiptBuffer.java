@@ -0,0 +1,121 @@
+package com.dispatch.service;
+
+import com.dispatch.repository.ChatMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅 읽음 처리 버퍼
+ *
+ * 읽음 이벤트를 (배차, 사용자) 단위로 병합해 두었다가 주기적으로 한 번에 반영한다.
+ * 채팅 화면에서 읽음 요청이 연달아 들어와도 chat_messages UPDATE는 flush 주기마다 한 번만 실행된다.
+ * 대기 항목은 UPDATE 가 성공한 뒤에만 지운다 (실패하면 남겨 두고 다음 주기에 다시 반영).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatReadReceiptBuffer {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<ReceiptKey, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 읽음 이벤트 기록 (같은 배차/사용자는 마지막 시각만 유지)
+     */
+    public void record(Long dispatchId, Long userId, LocalDateTime readAt) {
+        pending.merge(new ReceiptKey(dispatchId, userId), readAt,
+                (previous, current) -> current.isAfter(previous) ? current : previous);
+    }
+
+    /**
+     * 특정 배차/사용자의 대기 중인 읽음 처리를 즉시 반영
+     */
+    @Transactional
+    public void flush(Long dispatchId, Long userId) {
+        ReceiptKey key = new ReceiptKey(dispatchId, userId);
+        LocalDateTime readAt = pending.get(key);
+        if (readAt != null) {
+            apply(key, readAt);
+            pending.remove(key, readAt);
+        }
+    }
+
+    /**
+     * 특정 사용자의 대기 중인 읽음 처리를 모두 즉시 반영
+     */
+    @Transactional
+    public void flushUser(Long userId) {
+        for (ReceiptKey key : new ArrayList<>(pending.keySet())) {
+            if (key.userId().equals(userId)) {
+                LocalDateTime readAt = pending.get(key);
+                if (readAt != null) {
+                    apply(key, readAt);
+                    pending.remove(key, readAt);
+                }
+            }
+        }
+    }
+
+    /**
+     * 대기 중인 모든 읽음 처리 반영 (스케줄러)
+     *
+     * 항목마다 별도 트랜잭션으로 반영해 한 건의 실패가 앞서 반영한 항목까지 되돌리지 않게 한다.
+     * 반영 중에 더 늦은 읽음 시각이 들어왔으면 remove(key, value) 가 지우지 않아 다음 주기에 반영된다.
+     */
+    @Scheduled(fixedDelayString = "${chat.read-receipt.flush-interval-ms:2000}")
+    public void flushAll() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<ReceiptKey> keys = new ArrayList<>(pending.keySet());
+        int updated = 0;
+        int failed = 0;
+        for (ReceiptKey key : keys) {
+            LocalDateTime readAt = pending.get(key);
+            if (readAt == null) {
+                continue;
+            }
+            try {
+                Integer count = transactionTemplate.execute(status -> apply(key, readAt));
+                pending.remove(key, readAt);
+                updated += count != null ? count : 0;
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Chat read receipt flush failed, will retry: dispatchId={}, userId={}",
+                        key.dispatchId(), key.userId(), e);
+            }
+        }
+
+        log.debug("Chat read receipts flushed: receipts={}, messages={}, failed={}", keys.size(), updated, failed);
+    }
+
+    /**
+     * 종료 시 남은 읽음 처리 반영
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void flushOnShutdown() {
+        flushAll();
+    }
+
+    private int apply(ReceiptKey key, LocalDateTime readAt) {
+        return chatMessageRepository.markAsRead(key.dispatchId(), key.userId(), readAt);
+    }
+
+    private record ReceiptKey(Long dispatchId, Long userId) {
+    }
+}
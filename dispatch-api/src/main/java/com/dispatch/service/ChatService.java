@@ -2,6 +2,8 @@ package com.dispatch.service;
 
 import com.dispatch.dto.chat.ChatMessageRequest;
 import com.dispatch.dto.chat.ChatMessageResponse;
+import com.dispatch.dto.chat.ChatReadReceipt;
+import com.dispatch.dto.chat.ChatSyncResponse;
 import com.dispatch.dto.websocket.WebSocketMessage;
 import com.dispatch.entity.ChatMessage;
 import com.dispatch.entity.DispatchMatch;
@@ -9,24 +11,33 @@ import com.dispatch.entity.User;
 import com.dispatch.exception.CustomException;
 import com.dispatch.repository.ChatMessageRepository;
 import com.dispatch.repository.DispatchMatchRepository;
+import com.dispatch.repository.DispatchRequestRepository;
 import com.dispatch.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatService {
 
+    private static final int MAX_SYNC_LIMIT = 500;
+
     private final ChatMessageRepository chatMessageRepository;
     private final DispatchMatchRepository dispatchMatchRepository;
+    private final DispatchRequestRepository dispatchRequestRepository;
     private final UserRepository userRepository;
+    private final ChatReadReceiptBuffer readReceiptBuffer;
+    private final ChatUnreadService chatUnreadService;
+    private final NotificationService notificationService;
     private final SimpMessagingTemplate messagingTemplate;
 
     /**
@@ -38,9 +49,12 @@ public class ChatService {
         DispatchMatch match = dispatchMatchRepository.findByDispatchRequestId(dispatchId)
                 .orElseThrow(() -> CustomException.notFound("매칭된 배차가 아닙니다"));
 
-        // 발신자 정보 확인
+        // 발신자 정보 확인 (배차 담당 직원, 매칭된 기사만)
         User sender = userRepository.findById(senderId)
                 .orElseThrow(() -> CustomException.notFound("사용자를 찾을 수 없습니다"));
+        if (!isParticipant(match, senderId)) {
+            throw CustomException.forbidden("채팅 권한이 없습니다");
+        }
 
         // 발신자 유형 결정
         ChatMessage.SenderType senderType;
@@ -52,8 +66,13 @@ public class ChatService {
             throw CustomException.forbidden("채팅 권한이 없습니다");
         }
 
+        // 배차 내 순번 발급 (같은 배차의 동시 전송은 행 잠금으로 직렬화됨)
+        dispatchRequestRepository.incrementChatSequence(dispatchId);
+        Long sequence = dispatchRequestRepository.findChatSequence(dispatchId);
+
         ChatMessage message = ChatMessage.builder()
                 .dispatchId(dispatchId)
+                .sequence(sequence)
                 .senderId(senderId)
                 .senderType(senderType)
                 .message(request.getMessage())
@@ -68,6 +87,16 @@ public class ChatService {
         // WebSocket으로 실시간 전송
         sendWebSocketMessage(dispatchId, response);
 
+        // 상대방 읽지 않은 메시지 수 반영
+        Long staffId = match.getRequest().getStaff().getId();
+        Long driverUserId = match.getDriver().getUser().getId();
+        if (!staffId.equals(senderId)) {
+            chatUnreadService.onMessageSent(dispatchId, staffId);
+        }
+        if (!driverUserId.equals(senderId)) {
+            chatUnreadService.onMessageSent(dispatchId, driverUserId);
+        }
+
         log.info("Chat message sent: dispatchId={}, senderId={}", dispatchId, senderId);
 
         return response;
@@ -78,52 +107,107 @@ public class ChatService {
      */
     @Transactional(readOnly = true)
     public List<ChatMessageResponse> getMessages(Long dispatchId, Long userId) {
-        // 배차 매칭 확인
-        dispatchMatchRepository.findByDispatchRequestId(dispatchId)
+        // 배차 매칭 및 참여자 확인
+        DispatchMatch match = dispatchMatchRepository.findByDispatchRequestId(dispatchId)
                 .orElseThrow(() -> CustomException.notFound("매칭된 배차가 아닙니다"));
+        checkReadAccess(match, userId);
 
-        return chatMessageRepository.findByDispatchIdOrderByCreatedAtAsc(dispatchId)
+        return chatMessageRepository.findWithSenderNameByDispatchId(dispatchId)
                 .stream()
-                .map(msg -> {
-                    String senderName = userRepository.findById(msg.getSenderId())
-                            .map(User::getName)
-                            .orElse("Unknown");
-                    return buildChatMessageResponse(msg, senderName);
-                })
+                .map(this::buildChatMessageResponse)
                 .toList();
     }
 
     /**
      * 읽음 처리
+     *
+     * DB 반영은 ChatReadReceiptBuffer가 모아서 처리하고, 읽음 상태는 즉시 WebSocket으로 전송한다.
+     * 앱이 백그라운드인 상대방에게는 data-only FCM 으로 보낸다.
      */
-    @Transactional
     public void markAsRead(Long dispatchId, Long userId) {
-        int updated = chatMessageRepository.markAsRead(dispatchId, userId, LocalDateTime.now());
-        log.info("Messages marked as read: dispatchId={}, userId={}, count={}", dispatchId, userId, updated);
+        LocalDateTime now = LocalDateTime.now();
+        readReceiptBuffer.record(dispatchId, userId, now);
+        chatUnreadService.onRead(dispatchId, userId);
+
+        sendReadReceipt(dispatchId, ChatReadReceipt.builder()
+                .dispatchId(dispatchId)
+                .readerId(userId)
+                .readAt(now)
+                .build());
+        pushReadReceipt(dispatchId, userId, now);
+
+        log.debug("Messages marked as read: dispatchId={}, userId={}", dispatchId, userId);
     }
 
     /**
      * 읽지 않은 메시지 수 조회
      */
-    @Transactional(readOnly = true)
+    @Transactional
     public int getUnreadCount(Long dispatchId, Long userId) {
+        // 대기 중인 읽음 처리가 있으면 먼저 반영
+        readReceiptBuffer.flush(dispatchId, userId);
         return chatMessageRepository.countUnreadMessages(dispatchId, userId);
     }
 
     /**
-     * 특정 시간 이후 메시지 조회 (폴링용)
+     * 순번 기반 증분 동기화 - afterSequence 이후 메시지만 조회
      */
     @Transactional(readOnly = true)
-    public List<ChatMessageResponse> getMessagesSince(Long dispatchId, LocalDateTime since) {
-        return chatMessageRepository.findMessagesSince(dispatchId, since)
+    public ChatSyncResponse syncMessages(Long dispatchId, Long afterSequence, int limit, Long userId) {
+        DispatchMatch match = dispatchMatchRepository.findByDispatchRequestId(dispatchId)
+                .orElseThrow(() -> CustomException.notFound("매칭된 배차가 아닙니다"));
+        checkReadAccess(match, userId);
+
+        long after = afterSequence != null ? afterSequence : 0L;
+        int size = Math.max(1, Math.min(limit, MAX_SYNC_LIMIT));
+
+        // limit + 1개를 조회해서 다음 페이지 존재 여부 판단
+        List<ChatMessageResponse> messages = chatMessageRepository
+                .findWithSenderNameAfterSequence(dispatchId, after, PageRequest.of(0, size + 1))
                 .stream()
-                .map(msg -> {
-                    String senderName = userRepository.findById(msg.getSenderId())
-                            .map(User::getName)
-                            .orElse("Unknown");
-                    return buildChatMessageResponse(msg, senderName);
-                })
+                .map(this::buildChatMessageResponse)
                 .toList();
+
+        boolean hasMore = messages.size() > size;
+        if (hasMore) {
+            messages = messages.subList(0, size);
+        }
+
+        Long lastSequence = messages.isEmpty() ? after : messages.get(messages.size() - 1).getSequence();
+
+        return ChatSyncResponse.builder()
+                .dispatchId(dispatchId)
+                .messages(messages)
+                .lastSequence(lastSequence)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * 배차 담당 직원 또는 매칭된 기사인지 (기사 사용자 ID 는 프록시 식별자라 추가 조회 없음)
+     */
+    private boolean isParticipant(DispatchMatch match, Long userId) {
+        return match.getRequest().getStaff().getId().equals(userId)
+                || match.getDriver().getUser().getId().equals(userId);
+    }
+
+    /**
+     * 메시지 조회 권한 - 참여자 또는 관리자
+     */
+    private void checkReadAccess(DispatchMatch match, Long userId) {
+        if (isParticipant(match, userId)) {
+            return;
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> CustomException.notFound("사용자를 찾을 수 없습니다"));
+        if (user.getRole() != User.UserRole.ADMIN) {
+            throw CustomException.forbidden("채팅 권한이 없습니다");
+        }
+    }
+
+    private ChatMessageResponse buildChatMessageResponse(Object[] row) {
+        String senderName = row[1] != null ? (String) row[1] : "Unknown";
+        return buildChatMessageResponse((ChatMessage) row[0], senderName);
     }
 
     private ChatMessageResponse buildChatMessageResponse(ChatMessage message, String senderName) {
@@ -141,4 +225,32 @@ public class ChatService {
 
         messagingTemplate.convertAndSend("/topic/chat/" + dispatchId, wsMessage);
     }
+
+    private void pushReadReceipt(Long dispatchId, Long readerId, LocalDateTime readAt) {
+        Map<String, String> data = Map.of(
+                "dispatchId", String.valueOf(dispatchId),
+                "readerId", String.valueOf(readerId),
+                "readAt", readAt.toString());
+
+        // [직원 ID, 직원 이메일, 기사 사용자 ID, 기사 이메일] 중 읽은 사람이 아닌 쪽
+        for (Object[] row : dispatchMatchRepository.findChatParticipants(dispatchId)) {
+            for (int i = 0; i < row.length; i += 2) {
+                Long participantId = (Long) row[i];
+                if (!participantId.equals(readerId)) {
+                    notificationService.pushSilentIfOffline(participantId, (String) row[i + 1],
+                            WebSocketMessage.MessageType.CHAT_READ, data);
+                }
+            }
+        }
+    }
+
+    private void sendReadReceipt(Long dispatchId, ChatReadReceipt receipt) {
+        WebSocketMessage<ChatReadReceipt> wsMessage = WebSocketMessage.<ChatReadReceipt>builder()
+                .type(WebSocketMessage.MessageType.CHAT_READ)
+                .data(receipt)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        messagingTemplate.convertAndSend("/topic/chat/" + dispatchId, wsMessage);
+    }
 }
@@ -0,0 +1,149 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.chat.ChatUnreadSummary;
+import com.dispatch.dto.websocket.WebSocketMessage;
+import com.dispatch.repository.ChatMessageRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 읽지 않은 채팅 메시지 집계
+ *
+ * 최초 조회 시 한 번의 GROUP BY 쿼리로 적재하고, 이후에는 메시지 전송/읽음 처리 때 메모리에서 증감한다.
+ * 값이 바뀌면 /user/queue/chat-unread 로 전체 요약을 전송하므로 앱은 배차별 COUNT 폴링이 필요 없다.
+ * STOMP 세션이 없는(앱이 백그라운드인) 사용자에게는 같은 값을 data-only FCM 으로 보낸다.
+ * 적재되지 않은 사용자(아직 요약을 조회하지 않은 사용자)는 증감/전송 대상에서 제외된다.
+ * 적재 항목은 최대 개수와 유지 시간을 두어 밀려나거나 만료되면 다음 조회 때 다시 적재한다
+ * (메모리 상한 겸 다른 인스턴스에서 생긴 변경을 주기적으로 맞추는 역할).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatUnreadService {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatReadReceiptBuffer readReceiptBuffer;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationService notificationService;
+
+    @Value("${chat.unread.max-users:10000}")
+    private long maxUsers;
+
+    @Value("${chat.unread.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    private Cache<Long, UserUnread> summaries;
+
+    @PostConstruct
+    void init() {
+        summaries = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    /**
+     * 사용자의 읽지 않은 메시지 요약 조회
+     */
+    @Transactional
+    public ChatUnreadSummary getSummary(Long userId, String email) {
+        UserUnread unread = summaries.getIfPresent(userId);
+        if (unread == null) {
+            unread = load(userId, email);
+        }
+        return unread.toSummary();
+    }
+
+    /**
+     * 메시지 수신 반영 - 수신자의 해당 배차 카운트 증가
+     */
+    public void onMessageSent(Long dispatchId, Long recipientId) {
+        UserUnread unread = summaries.getIfPresent(recipientId);
+        if (unread == null) {
+            return;
+        }
+
+        unread.counts.merge(dispatchId, 1, Integer::sum);
+        push(unread);
+    }
+
+    /**
+     * 읽음 처리 반영 - 해당 배차 카운트 초기화
+     */
+    public void onRead(Long dispatchId, Long userId) {
+        UserUnread unread = summaries.getIfPresent(userId);
+        if (unread == null) {
+            return;
+        }
+
+        if (unread.counts.remove(dispatchId) != null) {
+            push(unread);
+        }
+    }
+
+    /**
+     * 집계 전체 초기화 (메시지 아카이빙 등 대량 변경 후)
+     */
+    public void evictAll() {
+        summaries.invalidateAll();
+    }
+
+    private UserUnread load(Long userId, String email) {
+        // 버퍼에 남은 읽음 처리를 먼저 반영해야 카운트가 정확하다
+        readReceiptBuffer.flushUser(userId);
+
+        UserUnread unread = new UserUnread(userId, email);
+        for (Object[] row : chatMessageRepository.countUnreadByDispatchForUser(userId)) {
+            unread.counts.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+
+        UserUnread existing = summaries.asMap().putIfAbsent(userId, unread);
+        log.debug("Chat unread summary loaded: userId={}, dispatches={}", userId, unread.counts.size());
+        return existing != null ? existing : unread;
+    }
+
+    private void push(UserUnread unread) {
+        WebSocketMessage<ChatUnreadSummary> message = WebSocketMessage.of(
+                WebSocketMessage.MessageType.CHAT_UNREAD,
+                "읽지 않은 메시지",
+                null,
+                unread.toSummary()
+        );
+
+        messagingTemplate.convertAndSendToUser(unread.email, "/queue/chat-unread", message);
+        notificationService.pushSilentIfOffline(unread.userId, unread.email, WebSocketMessage.MessageType.CHAT_UNREAD,
+                Map.of("totalUnread", String.valueOf(message.getData().getTotalUnread())));
+    }
+
+    private static class UserUnread {
+        private final Long userId;
+        private final String email;
+        private final Map<Long, Integer> counts = new ConcurrentHashMap<>();
+
+        UserUnread(Long userId, String email) {
+            this.userId = userId;
+            this.email = email;
+        }
+
+        ChatUnreadSummary toSummary() {
+            Map<Long, Integer> byDispatch = new HashMap<>(counts);
+            int total = byDispatch.values().stream().mapToInt(Integer::intValue).sum();
+            return ChatUnreadSummary.builder()
+                    .totalUnread(total)
+                    .byDispatch(byDispatch)
+                    .build();
+        }
+    }
+}
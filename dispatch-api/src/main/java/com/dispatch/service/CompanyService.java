@@ -4,12 +4,13 @@ import com.dispatch.dto.company.CompanyCreateRequest;
 import com.dispatch.dto.company.CompanyRegisterRequest;
 import com.dispatch.dto.company.CompanyResponse;
 import com.dispatch.dto.company.CompanyUpdateRequest;
-import com.dispatch.dto.verify.VerifyResponse;
 import com.dispatch.entity.Company;
+import com.dispatch.entity.DocumentVerificationJob;
 import com.dispatch.entity.User;
 import com.dispatch.exception.CustomException;
 import com.dispatch.repository.CompanyRepository;
 import com.dispatch.repository.UserRepository;
+import com.dispatch.service.ReadModelCache.Region;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -28,9 +29,11 @@ public class CompanyService {
     private final CompanyRepository companyRepository;
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
-    private final VerifyService verifyService;
+    private final BusinessVerificationService businessVerificationService;
     private final PasswordEncoder passwordEncoder;
     private final NotificationService notificationService;
+    private final ReadModelCache readModelCache;
+    private final DocumentVerificationQueue documentVerificationQueue;
 
     /**
      * 발주처 직접 회원가입
@@ -47,20 +50,8 @@ public class CompanyService {
             throw CustomException.conflict("이미 사용 중인 이메일입니다");
         }
 
-        // 사업자등록번호 검증
-        String verificationMessage = null;
-        Company.VerificationStatus verificationStatus = Company.VerificationStatus.PENDING;
-
-        VerifyResponse verifyResult = verifyService.verifyBusinessRegistration(
-                request.getBusinessNumber().replaceAll("-", ""));
-
-        if (verifyResult.getResult() == VerifyResponse.VerifyResult.INVALID) {
-            verificationMessage = "사업자등록번호 검증 실패: " + verifyResult.getMessage();
-            log.warn("Business registration verification failed: {}", verificationMessage);
-        } else if (verifyResult.getResult() == VerifyResponse.VerifyResult.VALID) {
-            verificationMessage = "사업자등록번호 검증 완료";
-            verificationStatus = Company.VerificationStatus.VERIFIED;
-        }
+        // 사업자등록번호 검증 (형식만 바로, 등록 상태 조회는 커밋 이후 비동기로 반영)
+        String verificationMessage = businessVerificationService.initialMessage(request.getBusinessNumber());
 
         // 회사 생성
         Company company = Company.builder()
@@ -73,7 +64,7 @@ public class CompanyService {
                 .contactEmail(request.getContactEmail())
                 .contactPhone(request.getContactPhone())
                 .status(Company.CompanyStatus.PENDING)
-                .verificationStatus(verificationStatus)
+                .verificationStatus(Company.VerificationStatus.PENDING)
                 .verificationMessage(verificationMessage)
                 .warningCount(0)
                 .build();
@@ -94,6 +85,10 @@ public class CompanyService {
         userRepository.save(user);
         company.getEmployees().add(user);
 
+        if (BusinessVerificationService.PENDING_MESSAGE.equals(verificationMessage)) {
+            businessVerificationService.verifyCompanyAfterCommit(company.getId(), request.getBusinessNumber());
+        }
+
         log.info("Company registered: companyId={}, name={}", company.getId(), company.getName());
 
         return CompanyResponse.from(company);
@@ -182,9 +177,9 @@ public class CompanyService {
      */
     @Transactional(readOnly = true)
     public CompanyResponse getCompany(Long companyId) {
-        Company company = companyRepository.findById(companyId)
-                .orElseThrow(() -> CustomException.notFound("발주처를 찾을 수 없습니다"));
-        return CompanyResponse.from(company);
+        return readModelCache.get(Region.COMPANY, companyId, () -> CompanyResponse.from(
+                companyRepository.findById(companyId)
+                        .orElseThrow(() -> CustomException.notFound("발주처를 찾을 수 없습니다"))));
     }
 
     /**
@@ -219,6 +214,8 @@ public class CompanyService {
 
         log.info("Company updated: companyId={}", companyId);
 
+        readModelCache.evict(Region.COMPANY, companyId);
+
         return CompanyResponse.from(company);
     }
 
@@ -239,6 +236,8 @@ public class CompanyService {
 
         log.info("Company approved: companyId={}, adminId={}", companyId, adminId);
 
+        evictCompanyCache(company);
+
         return CompanyResponse.from(company);
     }
 
@@ -258,6 +257,8 @@ public class CompanyService {
 
         log.info("Company rejected: companyId={}, reason={}", companyId, reason);
 
+        evictCompanyCache(company);
+
         return CompanyResponse.from(company);
     }
 
@@ -276,10 +277,13 @@ public class CompanyService {
         if (company.getVerificationStatus() == Company.VerificationStatus.PENDING) {
             company.setVerificationStatus(Company.VerificationStatus.VERIFYING);
             company.setVerificationMessage("서류 검토 중입니다");
+            documentVerificationQueue.submit(DocumentVerificationJob.OwnerType.COMPANY, companyId);
         }
 
         log.info("Business license uploaded: companyId={}", companyId);
 
+        readModelCache.evict(Region.COMPANY, companyId);
+
         return CompanyResponse.from(company);
     }
 
@@ -296,6 +300,8 @@ public class CompanyService {
         // 소속 직원들의 상태도 SUSPENDED로 변경
         company.getEmployees().forEach(user -> user.setStatus(User.UserStatus.SUSPENDED));
 
+        evictCompanyCache(company);
+
         log.info("Company banned: companyId={}", companyId);
     }
 
@@ -311,7 +317,7 @@ public class CompanyService {
             throw CustomException.notFound("소속된 발주처가 없습니다");
         }
 
-        return CompanyResponse.from(user.getCompany());
+        return getCompany(user.getCompany().getId());
     }
 
     /**
@@ -325,6 +331,14 @@ public class CompanyService {
                 .toList();
     }
 
+    /**
+     * 발주처와 소속 직원 캐시 무효화 (직원 상태가 함께 바뀌는 경우)
+     */
+    private void evictCompanyCache(Company company) {
+        readModelCache.evict(Region.COMPANY, company.getId());
+        company.getEmployees().forEach(user -> readModelCache.evict(Region.USER, user.getEmail()));
+    }
+
     private String generateRandomPassword() {
         return java.util.UUID.randomUUID().toString().substring(0, 8);
     }
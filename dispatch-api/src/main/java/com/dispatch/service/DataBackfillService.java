@@ -0,0 +1,149 @@
+package com.dispatch.service;
+
+import com.dispatch.repository.ChatMessageRepository;
+import com.dispatch.repository.DispatchRequestRepository;
+import com.dispatch.repository.DriverRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 기존 데이터 백필 (스키마는 ddl-auto 로 추가되므로 새 컬럼이 비어 있는 기존 행을 채운다)
+ *
+ * 기동 후 리더 인스턴스 한 곳에서 별도 스레드로 실행한다.
+ * 단계마다 비어 있는 행만 골라 채우므로 여러 번 실행해도 결과가 같고, 채울 것이 없으면 조회 한 번으로 끝난다.
+ * - 채팅 순번: 순번 도입 이전 메시지(seq IS NULL)에 배차별로 1부터 순번을 매긴다
+ * - 기사 등급 입력값: 자동 등급 산정 도입 이전 기사의 완료 건수, 별점 집계, 등급 고정 여부
+ *   (야간 일괄 산정 grading.batch.enabled 는 이 단계가 끝난 뒤 켠다)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DataBackfillService {
+
+    static final String LEASE_NAME = "data-backfill";
+
+    private static final int DISPATCH_PAGE_SIZE = 100;
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final DispatchRequestRepository dispatchRequestRepository;
+    private final DriverRepository driverRepository;
+    private final RatingAggregationService ratingAggregationService;
+    private final SchedulerLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${backfill.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = new Thread(this::runAll, "data-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 전체 백필 실행 (리더 인스턴스만)
+     */
+    public void runAll() {
+        if (!leaseService.tryAcquire(LEASE_NAME, Duration.ofMinutes(30))) {
+            return;
+        }
+        try {
+            backfillChatSequences();
+            backfillDriverGrading();
+        } catch (RuntimeException e) {
+            log.error("Data backfill failed", e);
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * 순번 없는 채팅 메시지에 순번 부여 (배차별 트랜잭션)
+     */
+    public int backfillChatSequences() {
+        int dispatches = 0;
+        int messages = 0;
+
+        List<Long> dispatchIds;
+        while (!(dispatchIds = chatMessageRepository.findDispatchIdsWithoutSequence(
+                PageRequest.of(0, DISPATCH_PAGE_SIZE))).isEmpty()) {
+            for (Long dispatchId : dispatchIds) {
+                Integer assigned = transactionTemplate.execute(status -> backfillChatSequence(dispatchId));
+                messages += assigned != null ? assigned : 0;
+                dispatches++;
+            }
+        }
+
+        if (dispatches > 0) {
+            log.info("Chat sequences backfilled: dispatches={}, messages={}", dispatches, messages);
+        }
+        return messages;
+    }
+
+    /**
+     * 자동 등급 산정 입력값 백필
+     * - 완료 건수: 서명 완료 매칭 수 (집계 도입 전에는 늘리지 않았음)
+     * - 별점 집계: 비어 있는 기사만 평가 이력으로 재구성
+     * - 등급 고정: 관리자가 등급을 지정한 이력이 있으면 고정 (없으면 자동 산정 대상)
+     */
+    public void backfillDriverGrading() {
+        Integer completed = transactionTemplate.execute(status -> driverRepository.backfillCompletedDispatches());
+
+        List<Long> driverIds = driverRepository.findIdsWithoutRatingAggregates();
+        for (Long driverId : driverIds) {
+            ratingAggregationService.rebuildDriver(driverId);
+        }
+
+        Integer locked = transactionTemplate.execute(status -> driverRepository.backfillGradeLocked());
+
+        if (completed != null && completed > 0 || !driverIds.isEmpty() || locked != null && locked > 0) {
+            log.info("Driver grading inputs backfilled: completedCounts={}, ratingAggregates={}, gradeLocks={}",
+                    completed, driverIds.size(), locked);
+        }
+    }
+
+    /**
+     * 한 배차의 순번 백필
+     *
+     * 배차 행을 잠가 메시지 전송(순번 발급)과 직렬화한다. 순번 없는 메시지는 순번 도입 이전 것이므로
+     * 1부터 번호를 매기고, 도입 이후 이미 순번을 받은 메시지는 그만큼 뒤로 민다
+     * (이미 받은 순번이 바뀐 클라이언트는 다음 동기화에서 일부 메시지를 다시 받을 뿐 누락은 없다).
+     */
+    private int backfillChatSequence(Long dispatchId) {
+        // 배차가 지워진 메시지도 순번은 채워야 다시 대상에 오르지 않는다
+        boolean dispatchExists = dispatchRequestRepository.findByIdForUpdate(dispatchId).isPresent();
+
+        List<Long> messageIds = chatMessageRepository.findIdsWithoutSequence(dispatchId);
+        if (messageIds.isEmpty()) {
+            return 0;
+        }
+
+        long offset = messageIds.size();
+        if (chatMessageRepository.shiftSequencesNegative(dispatchId, offset) > 0) {
+            chatMessageRepository.restoreShiftedSequences(dispatchId);
+        }
+
+        long sequence = 0;
+        for (Long messageId : messageIds) {
+            chatMessageRepository.assignSequence(messageId, ++sequence);
+        }
+        if (dispatchExists) {
+            dispatchRequestRepository.addChatSequence(dispatchId, offset);
+        }
+
+        return messageIds.size();
+    }
+}
@@ -0,0 +1,475 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.dispatch.DispatchCandidateResponse;
+import com.dispatch.entity.DispatchOffer;
+import com.dispatch.entity.DispatchOffer.OfferStatus;
+import com.dispatch.entity.DispatchRequest;
+import com.dispatch.entity.Warning;
+import com.dispatch.exception.CustomException;
+import com.dispatch.repository.DispatchOfferRepository;
+import com.dispatch.repository.DispatchRequestRepository;
+import com.dispatch.repository.DriverRepository;
+import com.dispatch.service.DriverCandidateIndex.Candidate;
+import com.dispatch.util.GeoUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * 배차-기사 매칭 엔진
+ *
+ * 새 배차를 전체 기사에게 바로 공개하지 않고, 후보 기사를 점수로 정렬해 상위 기사에게 먼저 제안한다.
+ * - 후보: DriverCandidateIndex 의 장비 유형/격자 후보 중 높이·최소 별점·반경·정지 여부를 통과하고
+ *   DriverScheduleIndex 의 수락한 일정과 작업 시간이 겹치지 않는 기사 (배차 목록 피드와 같은 규칙)
+ * - 점수: 거리, 도착 예상 시간(거리 + 진행 중 작업), 등급, 별점, 작업량, 장비 적합도의 가중 평균 (0~1)
+ * - 제안: PARALLEL 은 라운드마다 상위 top-k 명에게 동시에, SEQUENTIAL 은 한 명씩 순서대로
+ *   제안은 timeout 이 지나면 만료되고, 응답 대기 제안이 없어지면 다음 라운드로 넘어간다.
+ *   총 top-k × max-rounds 명에게 제안했거나 후보가 없으면 전체 기사에게 공개한다 (기존 방식).
+ * - 제안 중에는 제안받은 기사만 배차 목록에서 보고 수락할 수 있다. 먼저 수락한 기사가 배정된다.
+ *
+ * 만료/다음 라운드 처리는 리더 인스턴스(scheduler_leases)만 하고, 배차별로 병렬 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DispatchMatchingService {
+
+    static final String OFFER_LEASE_NAME = "dispatch-offers";
+
+    private final DispatchRequestRepository dispatchRequestRepository;
+    private final DispatchOfferRepository offerRepository;
+    private final DriverRepository driverRepository;
+    private final DriverCandidateIndex candidateIndex;
+    private final DriverScheduleIndex scheduleIndex;
+    private final SuspensionRegistry suspensionRegistry;
+    private final SystemSettingService systemSettingService;
+    private final NotificationService notificationService;
+    private final SchedulerLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${matching.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matching.offer.mode:PARALLEL}")
+    private OfferMode offerMode;
+
+    @Value("${matching.offer.top-k:3}")
+    private int topK;
+
+    @Value("${matching.offer.timeout-seconds:60}")
+    private long offerTimeoutSeconds;
+
+    @Value("${matching.offer.max-rounds:2}")
+    private int maxRounds;
+
+    @Value("${matching.offer.lease-ttl-seconds:30}")
+    private long leaseTtlSeconds;
+
+    @Value("${matching.parallelism:4}")
+    private int parallelism;
+
+    @Value("${matching.eta.road-factor:1.3}")
+    private double roadFactor;
+
+    @Value("${matching.eta.speed-kmh:40}")
+    private double speedKmh;
+
+    @Value("${matching.eta.busy-minutes:30}")
+    private double busyMinutes;
+
+    @Value("${matching.eta.half-score-minutes:30}")
+    private double etaHalfScoreMinutes;
+
+    @Value("${matching.weights.distance:0.2}")
+    private double distanceWeight;
+
+    @Value("${matching.weights.eta:0.25}")
+    private double etaWeight;
+
+    @Value("${matching.weights.grade:0.15}")
+    private double gradeWeight;
+
+    @Value("${matching.weights.rating:0.2}")
+    private double ratingWeight;
+
+    @Value("${matching.weights.workload:0.1}")
+    private double workloadWeight;
+
+    @Value("${matching.weights.fit:0.1}")
+    private double fitWeight;
+
+    private ExecutorService executor;
+
+    public enum OfferMode {
+        PARALLEL,   // 라운드마다 top-k 명에게 동시 제안
+        SEQUENTIAL  // 한 명씩 순서대로 제안
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "dispatch-matching-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 새 배차 매칭 시작 (배차 생성과 같은 트랜잭션)
+     * 매칭을 쓰지 않거나 현장 좌표가 없으면 바로 전체 공개한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void startMatching(DispatchRequest dispatch) {
+        if (!enabled) {
+            notificationService.notifyNewDispatch(dispatch);
+            return;
+        }
+
+        dispatch.setMatchingStartedAt(LocalDateTime.now());
+        if (dispatch.getLatitude() == null || dispatch.getLongitude() == null) {
+            broadcast(dispatch, "no site coordinates");
+            return;
+        }
+        nextRound(dispatch, radiusKm());
+    }
+
+    /**
+     * 전체 기사에게 공개된 배차인지 (아니면 제안받은 기사만 볼 수 있다)
+     */
+    public boolean isPublic(DispatchRequest dispatch) {
+        return dispatch.getMatchingStartedAt() == null || dispatch.getBroadcastAt() != null;
+    }
+
+    /**
+     * 기사가 현재 제안받은 배차 ID
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> getLiveOfferDispatchIds(Long driverId) {
+        return new HashSet<>(offerRepository.findLiveDispatchIdsByDriverId(driverId, LocalDateTime.now()));
+    }
+
+    /**
+     * 수락 가능 여부 확인 (배차 행 잠금 상태에서 호출)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void checkCanAccept(DispatchRequest dispatch, Long driverId) {
+        if (isPublic(dispatch)) {
+            return;
+        }
+        if (offerRepository.findLiveOffer(dispatch.getId(), driverId, LocalDateTime.now()).isEmpty()) {
+            throw CustomException.forbidden("다른 기사에게 우선 제안 중인 배차입니다");
+        }
+    }
+
+    /**
+     * 수락 반영 - 수락한 기사의 제안은 ACCEPTED, 나머지 대기 제안은 종료
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onAccepted(DispatchRequest dispatch, Long driverId) {
+        if (dispatch.getMatchingStartedAt() != null) {
+            LocalDateTime now = LocalDateTime.now();
+            offerRepository.findLiveOffer(dispatch.getId(), driverId, now).ifPresent(offer -> {
+                offer.setStatus(OfferStatus.ACCEPTED);
+                offer.setRespondedAt(now);
+            });
+            offerRepository.closePendingOffers(dispatch.getId(), OfferStatus.CANCELLED, now);
+        }
+        candidateIndex.incrementWorkload(driverId);
+    }
+
+    /**
+     * 배차 취소 시 대기 제안 종료
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCancelled(DispatchRequest dispatch) {
+        if (dispatch.getMatchingStartedAt() != null) {
+            offerRepository.closePendingOffers(dispatch.getId(), OfferStatus.CANCELLED, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 제안 거절 - 대기 제안이 더 없으면 바로 다음 라운드
+     */
+    @Transactional
+    public void decline(Long userId, Long dispatchId) {
+        Long driverId = driverRepository.findIdByUserId(userId)
+                .orElseThrow(() -> CustomException.notFound("기사 정보를 찾을 수 없습니다"));
+        DispatchRequest dispatch = dispatchRequestRepository.findByIdForUpdate(dispatchId)
+                .orElseThrow(() -> CustomException.notFound("배차를 찾을 수 없습니다"));
+
+        LocalDateTime now = LocalDateTime.now();
+        DispatchOffer offer = offerRepository.findLiveOffer(dispatchId, driverId, now)
+                .orElseThrow(() -> CustomException.badRequest("응답할 수 있는 배차 제안이 없습니다"));
+
+        offer.setStatus(OfferStatus.DECLINED);
+        offer.setRespondedAt(now);
+        log.info("Dispatch offer declined: dispatchId={}, driverId={}", dispatchId, driverId);
+
+        if (dispatch.getStatus() == DispatchRequest.DispatchStatus.OPEN
+                && !isPublic(dispatch)
+                && !offerRepository.existsPendingByDispatchId(dispatchId)) {
+            nextRound(dispatch, radiusKm());
+        }
+    }
+
+    /**
+     * 후보 순위 미리보기 (관리자용, 제안 여부와 무관하게 현재 색인 기준)
+     */
+    @Transactional(readOnly = true)
+    public List<DispatchCandidateResponse> getCandidates(Long dispatchId, int limit) {
+        DispatchRequest dispatch = dispatchRequestRepository.findById(dispatchId)
+                .orElseThrow(() -> CustomException.notFound("배차를 찾을 수 없습니다"));
+        if (dispatch.getLatitude() == null || dispatch.getLongitude() == null) {
+            return List.of();
+        }
+
+        List<Scored> ranked = rank(dispatch, Set.of(), limit, radiusKm());
+        return IntStream.range(0, ranked.size())
+                .mapToObj(i -> ranked.get(i).toResponse(i + 1))
+                .toList();
+    }
+
+    /**
+     * 만료 제안 정리 및 다음 라운드 진행 (모든 인스턴스에서 실행, 리더만 처리)
+     */
+    @Scheduled(fixedDelayString = "${matching.offer.poll-interval-ms:2000}",
+            initialDelayString = "${matching.offer.poll-interval-ms:2000}")
+    public void processOffers() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (!leaseService.tryAcquire(OFFER_LEASE_NAME, Duration.ofSeconds(leaseTtlSeconds))) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Dispatch offer lease check failed: {}", e.getMessage());
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Integer expired = transactionTemplate.execute(status -> offerRepository.expireOffers(now));
+        List<Long> dispatchIds = dispatchRequestRepository.findIdsAwaitingNextOfferRound();
+        if (dispatchIds.isEmpty()) {
+            return;
+        }
+
+        // 배차별 트랜잭션을 병렬로 (후보 평가는 메모리 색인만 사용)
+        double radiusKm = radiusKm();
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long dispatchId : dispatchIds) {
+            futures.add(executor.submit(() -> advance(dispatchId, radiusKm)));
+        }
+
+        int failed = 0;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failed++;
+                log.error("Dispatch offer round failed: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        log.info("Dispatch offers processed: expired={}, dispatches={}, failed={}",
+                expired != null ? expired : 0, dispatchIds.size(), failed);
+    }
+
+    private void advance(Long dispatchId, double radiusKm) {
+        transactionTemplate.executeWithoutResult(status -> {
+            DispatchRequest dispatch = dispatchRequestRepository.findByIdForUpdate(dispatchId).orElse(null);
+            if (dispatch == null
+                    || dispatch.getStatus() != DispatchRequest.DispatchStatus.OPEN
+                    || isPublic(dispatch)
+                    || offerRepository.existsPendingByDispatchId(dispatchId)) {
+                return;
+            }
+            nextRound(dispatch, radiusKm);
+        });
+    }
+
+    private void nextRound(DispatchRequest dispatch, double radiusKm) {
+        List<Long> offeredDriverIds = offerRepository.findDriverIdsByDispatchId(dispatch.getId());
+        int remaining = topK * maxRounds - offeredDriverIds.size();
+        if (remaining <= 0) {
+            broadcast(dispatch, "offers exhausted");
+            return;
+        }
+
+        int batch = Math.min(remaining, offerMode == OfferMode.PARALLEL ? topK : 1);
+        List<Scored> ranked = rank(dispatch, new HashSet<>(offeredDriverIds), batch, radiusKm);
+        if (ranked.isEmpty()) {
+            broadcast(dispatch, "no candidates");
+            return;
+        }
+
+        int round = offerRepository.findLastRound(dispatch.getId()) + 1;
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(offerTimeoutSeconds);
+        List<DispatchOffer> offers = new ArrayList<>();
+        for (int i = 0; i < ranked.size(); i++) {
+            Scored scored = ranked.get(i);
+            offers.add(DispatchOffer.builder()
+                    .dispatchId(dispatch.getId())
+                    .driverId(scored.candidate().getDriverId())
+                    .round(round)
+                    .rank(i + 1)
+                    .score(scored.score())
+                    .distanceKm(scored.distanceKm())
+                    .etaMinutes(scored.etaMinutes())
+                    .status(OfferStatus.OFFERED)
+                    .expiresAt(expiresAt)
+                    .build());
+        }
+        offerRepository.saveAll(offers);
+
+        notificationService.notifyDispatchOffer(dispatch,
+                ranked.stream().map(scored -> scored.candidate().getUserId()).toList(),
+                ranked.stream().map(scored -> scored.candidate().getEmail()).toList(),
+                expiresAt, offerTimeoutSeconds);
+
+        log.info("Dispatch offered: dispatchId={}, round={}, drivers={}", dispatch.getId(), round,
+                ranked.stream().map(scored -> scored.candidate().getDriverId()).toList());
+    }
+
+    private void broadcast(DispatchRequest dispatch, String reason) {
+        dispatch.setBroadcastAt(LocalDateTime.now());
+        notificationService.notifyNewDispatch(dispatch);
+        log.info("Dispatch opened to all drivers: dispatchId={}, reason={}", dispatch.getId(), reason);
+    }
+
+    private List<Scored> rank(DispatchRequest dispatch, Set<Long> excludedDriverIds, int limit, double radiusKm) {
+        return candidateIndex.findNearby(dispatch.getEquipmentType(), dispatch.getLatitude(), dispatch.getLongitude(), radiusKm)
+                .stream()
+                .filter(candidate -> !excludedDriverIds.contains(candidate.getDriverId()))
+                .map(candidate -> score(dispatch, candidate, radiusKm))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingDouble(Scored::score).reversed()
+                        .thenComparingDouble(Scored::distanceKm))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 후보 점수 (조건을 통과하지 못하면 null)
+     */
+    private Scored score(DispatchRequest dispatch, Candidate candidate, double radiusKm) {
+        Double latitude = candidate.getLatitude();
+        Double longitude = candidate.getLongitude();
+        if (latitude == null || longitude == null
+                || suspensionRegistry.isSuspended(Warning.UserType.DRIVER, candidate.getDriverId())) {
+            return null;
+        }
+
+        // 장비 유형/높이
+        if (!candidate.getEquipment().containsKey(dispatch.getEquipmentType())) {
+            return null;
+        }
+        Double maxHeight = candidate.getEquipment().get(dispatch.getEquipmentType());
+        Double minHeight = dispatch.getMinHeight();
+        if (minHeight != null && (maxHeight == null || maxHeight < minHeight)) {
+            return null;
+        }
+
+        // 최소 별점 (평가 전 기사는 통과 - DispatchService 와 같은 규칙)
+        Integer minRating = dispatch.getMinDriverRating();
+        if (minRating != null && candidate.getTotalRatings() > 0
+                && (candidate.getAverageRating() == null || candidate.getAverageRating() < minRating)) {
+            return null;
+        }
+
+        double distanceKm = GeoUtils.distanceKm(dispatch.getLatitude(), dispatch.getLongitude(), latitude, longitude);
+        if (distanceKm > radiusKm) {
+            return null;
+        }
+
+        // 이미 수락한 배차와 작업 시간이 겹치면 제안하지 않는다 (OpenDispatchFeed 노출 조건과 같은 규칙)
+        if (scheduleIndex.conflicts(candidate.getDriverId(), dispatch.getId(), dispatch.getWorkDate(),
+                dispatch.getWorkTime(), dispatch.getEstimatedHours())) {
+            return null;
+        }
+
+        int activeMatches = candidate.getActiveMatches();
+        int etaMinutes = (int) Math.round(distanceKm * roadFactor / speedKmh * 60 + activeMatches * busyMinutes);
+
+        double distanceScore = 1 - distanceKm / radiusKm;
+        double etaScore = 1 / (1 + etaMinutes / etaHalfScoreMinutes);
+        double gradeScore = candidate.getGrade() != null ? (2 - candidate.getGrade().ordinal()) / 2.0 : 0.0;
+        Double rating = candidate.getDecayedRating() != null ? candidate.getDecayedRating() : candidate.getAverageRating();
+        double ratingScore = candidate.getTotalRatings() > 0 && rating != null ? (rating - 1) / 4 : 0.5;
+        double workloadScore = 1.0 / (1 + activeMatches);
+        // 필요한 높이에 가까운 장비일수록 높게 (더 높은 장비는 더 높은 현장을 위해 남겨 둔다)
+        double fitScore = minHeight != null && maxHeight != null && maxHeight > 0 ? minHeight / maxHeight : 1.0;
+
+        double totalWeight = distanceWeight + etaWeight + gradeWeight + ratingWeight + workloadWeight + fitWeight;
+        double score = (distanceWeight * distanceScore + etaWeight * etaScore + gradeWeight * gradeScore
+                + ratingWeight * ratingScore + workloadWeight * workloadScore + fitWeight * fitScore) / totalWeight;
+
+        return new Scored(candidate, round4(score), round4(distanceKm), etaMinutes, maxHeight,
+                rating, distanceScore, etaScore, gradeScore, ratingScore, workloadScore, fitScore);
+    }
+
+    private double radiusKm() {
+        return systemSettingService.getSettingIntValue("default_dispatch_radius_km", 50);
+    }
+
+    private static double round4(double value) {
+        return Math.round(value * 10000) / 10000.0;
+    }
+
+    private record Scored(Candidate candidate, double score, double distanceKm, int etaMinutes, Double maxHeight,
+                          Double rating, double distanceScore, double etaScore, double gradeScore,
+                          double ratingScore, double workloadScore, double fitScore) {
+
+        DispatchCandidateResponse toResponse(int rank) {
+            return DispatchCandidateResponse.builder()
+                    .rank(rank)
+                    .driverId(candidate.getDriverId())
+                    .score(score)
+                    .distanceKm(distanceKm)
+                    .etaMinutes(etaMinutes)
+                    .grade(candidate.getGrade())
+                    .rating(rating)
+                    .activeMatches(candidate.getActiveMatches())
+                    .maxHeight(maxHeight)
+                    .distanceScore(round4(distanceScore))
+                    .etaScore(round4(etaScore))
+                    .gradeScore(round4(gradeScore))
+                    .ratingScore(round4(ratingScore))
+                    .workloadScore(round4(workloadScore))
+                    .fitScore(round4(fitScore))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.websocket.WebSocketMessage.MessageType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배차 수명주기, 알림, FCM, PDF 지표 (Micrometer, /actuator/prometheus)
+ *
+ * 태그 조합이 정해진 미터는 생성 시점에 모두 등록해 두고 배열(ordinal)로 찾는다.
+ * 요청 경로에서는 System.nanoTime() 과 미리 만든 미터만 써서 태그/빌더 객체를 만들지 않는다.
+ * FCM 오류 코드만 값이 열려 있어 처음 나온 코드를 등록하고 이후에는 맵 조회로 재사용한다 (MAX_ERROR_CODES 초과분은 OTHER).
+ */
+@Component
+public class DispatchMetrics {
+
+    /**
+     * 배차 상태 전이 (DispatchService 의 성공한 처리만 기록 - 거부된 요청은 http.server.requests 의 status 로 본다)
+     */
+    public enum Transition {
+        CREATED, ACCEPTED, DEPARTED, ARRIVED, WORK_STARTED, WORK_COMPLETED,
+        DRIVER_SIGNED, CLIENT_SIGNED, COMPANY_SIGNED, CANCELLED
+    }
+
+    private static final int MAX_ERROR_CODES = 32;
+    private static final String DEFAULT_TYPE = "DEFAULT";   // 유형 없는 기본 템플릿
+
+    private final MeterRegistry registry;
+    private final Timer[] transitions;
+    private final Timer[] notifications;
+    private final DistributionSummary[] recipients;
+    private final DistributionSummary[] fcmFanout;
+    private final Timer fcmSend;
+    private final Counter fcmDelivered;
+    private final Map<String, Counter> fcmFailures = new ConcurrentHashMap<>();
+    private final Timer pdfRender;
+
+    public DispatchMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        Transition[] transitionValues = Transition.values();
+        transitions = new Timer[transitionValues.length];
+        for (Transition transition : transitionValues) {
+            transitions[transition.ordinal()] = Timer.builder("dispatch.transition")
+                    .description("배차 상태 전이 처리 시간 (트랜잭션 커밋 제외)")
+                    .tag("transition", transition.name())
+                    .register(registry);
+        }
+
+        MessageType[] types = MessageType.values();
+        notifications = new Timer[types.length];
+        recipients = new DistributionSummary[types.length];
+        fcmFanout = new DistributionSummary[types.length + 1];
+        for (MessageType type : types) {
+            notifications[type.ordinal()] = Timer.builder("notification.send")
+                    .description("알림 발송 처리 시간 (WebSocket 전송 + FCM 대상 조회, 전송 자체는 비동기)")
+                    .tag("type", type.name())
+                    .register(registry);
+            recipients[type.ordinal()] = recipientsSummary(type.name());
+            fcmFanout[type.ordinal()] = fanoutSummary(type.name());
+        }
+        fcmFanout[types.length] = fanoutSummary(DEFAULT_TYPE);
+
+        fcmSend = Timer.builder("fcm.send")
+                .description("FCM multicast 요청 1건 (최대 500 토큰) 처리 시간")
+                .register(registry);
+        fcmDelivered = fcmResult("SUCCESS");
+        pdfRender = Timer.builder("pdf.render")
+                .description("작업 확인서 PDF 생성 시간 (파일 저장 포함)")
+                .register(registry);
+    }
+
+    // ==================== 배차 ====================
+
+    public void transition(Transition transition, long startedAt) {
+        transitions[transition.ordinal()].record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    // ==================== 알림 ====================
+
+    /**
+     * 토픽 브로드캐스트 알림 (구독자 수는 브로커만 안다)
+     */
+    public void notified(MessageType type, long startedAt) {
+        notifications[type.ordinal()].record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 사용자 지정 알림 - recipientCount = WebSocket 으로 직접 보낸 사용자 수
+     */
+    public void notified(MessageType type, long startedAt, int recipientCount) {
+        notified(type, startedAt);
+        recipients[type.ordinal()].record(recipientCount);
+    }
+
+    // ==================== FCM ====================
+
+    public void fcmFanout(MessageType type, int tokens) {
+        fcmFanout[type != null ? type.ordinal() : fcmFanout.length - 1].record(tokens);
+    }
+
+    public void fcmSent(long startedAt) {
+        fcmSend.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    public void fcmDelivered(int tokens) {
+        if (tokens > 0) {
+            fcmDelivered.increment(tokens);
+        }
+    }
+
+    public void fcmFailed(String errorCode) {
+        Counter counter = fcmFailures.get(errorCode);
+        if (counter == null) {
+            counter = fcmFailures.size() < MAX_ERROR_CODES
+                    ? fcmFailures.computeIfAbsent(errorCode, this::fcmResult)
+                    : fcmFailures.computeIfAbsent("OTHER", this::fcmResult);
+        }
+        counter.increment();
+    }
+
+    // ==================== PDF ====================
+
+    public void pdfRendered(long startedAt) {
+        pdfRender.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private DistributionSummary recipientsSummary(String type) {
+        return DistributionSummary.builder("notification.recipients")
+                .description("알림 1건의 WebSocket 직접 수신자 수")
+                .baseUnit("users")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    private DistributionSummary fanoutSummary(String type) {
+        return DistributionSummary.builder("fcm.fanout")
+                .description("FCM 발송 1건의 대상 토큰 수")
+                .baseUnit("tokens")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    private Counter fcmResult(String result) {
+        return Counter.builder("fcm.messages")
+                .description("FCM 토큰별 전송 결과 (SUCCESS 또는 오류 코드)")
+                .baseUnit("messages")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,616 @@
+package com.dispatch.service;
+
+import com.dispatch.entity.Equipment.EquipmentType;
+import com.dispatch.util.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 작업일 단위 일괄 배정 계획 (순수 계산 - 스프링/DB 비의존, 벤치마크에서 직접 사용)
+ *
+ * 같은 작업일의 배차(작업)를 기사에게 나눠 배정해 미배정 건수와 총 이동 거리를 줄인다.
+ * - 제약: 장비 유형/높이, 최소 별점, 반경, 기사별 작업 시간 겹침 금지 (기존 배정 포함)
+ * - 목적: 미배정 건수 × 벌점 + 총 이동 거리 (기사 위치 → 현장 직선 거리)
+ * - 후보: 작업마다 반경 안의 가까운 기사 maxCandidates 명 (격자 조회, 작업 구간별 병렬)
+ * - 탐색: 스레드마다 다른 시드로 탐욕 배정(후보가 적은 작업부터, 가까운 기사부터) 후 지역 개선
+ *   (재배치, 한 건 밀어내기, 교환)을 하고, 시간 예산이 남으면 최선 계획의 일부를 풀어 다시 배정/개선한다.
+ *   스레드들은 전체 최선 계획을 공유해 더 좋은 계획이 나오면 그 계획에서 이어서 탐색한다.
+ *
+ * 시간 예산이 0 이면 탐욕 배정 결과만 반환한다. 하한(모든 작업이 가장 가까운 후보에게 배정)에 닿았거나
+ * 일정 횟수 동안 전체 최선이 나아지지 않으면 예산 전에 끝낸다.
+ */
+public final class DispatchPlanSolver {
+
+    private static final double KM_PER_DEGREE = 111.0;
+    private static final double CELL_SIZE_DEG = 0.1;
+
+    // 재배정 때 풀어 주는 배정 비율
+    private static final double RUIN_FRACTION = 0.1;
+
+    // 전체 최선이 이 횟수만큼 나아지지 않으면 스레드 종료
+    private static final int STALL_ITERATIONS = 2000;
+
+    private final ExecutorService executor;
+
+    public DispatchPlanSolver(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 배정 대상 작업 (시간은 작업일 0시 기준 분, 종료는 이동 여유 포함)
+     */
+    public record PlanJob(long id, EquipmentType type, Double minHeight, Integer minRating,
+                          double latitude, double longitude, int startMinute, int endMinute) {
+    }
+
+    /**
+     * 배정 가능 기사 (rating 은 평가 전이면 null, busy 는 이미 배정된 작업 시간 [시작, 종료) 분)
+     */
+    public record PlanDriver(long id, double latitude, double longitude, Map<EquipmentType, Double> equipment,
+                             Double rating, List<int[]> busy) {
+    }
+
+    public record Options(int threads, long timeBudgetMs, double radiusKm, int maxCandidates,
+                          double unassignedPenaltyKm, long seed) {
+    }
+
+    public record Assignment(long jobId, long driverId, double distanceKm) {
+    }
+
+    public record Plan(List<Assignment> assignments, int jobs, int drivers, long candidateEdges,
+                       int assigned, int unassigned, double totalDistanceKm, int iterations, long elapsedMs) {
+    }
+
+    public Plan solve(List<PlanJob> jobs, List<PlanDriver> drivers, Options options) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + options.timeBudgetMs() * 1_000_000L;
+        int threads = Math.max(1, options.threads());
+
+        Problem problem = new Problem(jobs, drivers, options);
+        long edges = problem.buildCandidates(threads);
+
+        AtomicReference<Result> shared = new AtomicReference<>();
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int worker = 0; worker < threads; worker++) {
+            long seed = options.seed() + worker * 1_000_003L;
+            futures.add(executor.submit(() -> new Search(problem, seed, shared).run(deadline)));
+        }
+
+        int iterations = 0;
+        for (Future<Integer> future : futures) {
+            iterations += await(future);
+        }
+        Result best = shared.get();
+
+        List<Assignment> assignments = new ArrayList<>();
+        double totalKm = 0;
+        for (int j = 0; j < problem.jobCount; j++) {
+            int d = best.assignment()[j];
+            if (d >= 0) {
+                double km = problem.kmOf(j, d);
+                totalKm += km;
+                assignments.add(new Assignment(jobs.get(j).id(), drivers.get(d).id(), km));
+            }
+        }
+
+        return new Plan(assignments, problem.jobCount, problem.driverCount, edges, assignments.size(),
+                problem.jobCount - assignments.size(), totalKm, iterations,
+                (System.nanoTime() - startedAt) / 1_000_000L);
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("배정 계획 계산이 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("배정 계획 계산에 실패했습니다", e.getCause());
+        }
+    }
+
+    private record Result(int[] assignment, double objective) {
+    }
+
+    /**
+     * 입력을 배열로 옮긴 문제 (스레드 간 읽기 전용 공유)
+     */
+    private final class Problem {
+
+        final int jobCount;
+        final int driverCount;
+        final List<PlanJob> jobs;
+        final List<PlanDriver> drivers;
+        final Options options;
+
+        final int[] start;
+        final int[] end;
+        final int[][] busyStart;
+        final int[][] busyEnd;
+
+        // 작업별 후보 기사 (가까운 순)와 거리
+        final int[][] candidates;
+        final double[][] candidateKm;
+
+        // 목적 함수 하한 (작업마다 가장 가까운 후보, 후보가 없으면 미배정 벌점)
+        double lowerBound;
+
+        Problem(List<PlanJob> jobs, List<PlanDriver> drivers, Options options) {
+            this.jobs = jobs;
+            this.drivers = drivers;
+            this.options = options;
+            this.jobCount = jobs.size();
+            this.driverCount = drivers.size();
+
+            start = new int[jobCount];
+            end = new int[jobCount];
+            for (int j = 0; j < jobCount; j++) {
+                start[j] = jobs.get(j).startMinute();
+                end[j] = jobs.get(j).endMinute();
+            }
+
+            busyStart = new int[driverCount][];
+            busyEnd = new int[driverCount][];
+            for (int d = 0; d < driverCount; d++) {
+                List<int[]> busy = drivers.get(d).busy() != null ? drivers.get(d).busy() : List.of();
+                busyStart[d] = new int[busy.size()];
+                busyEnd[d] = new int[busy.size()];
+                for (int i = 0; i < busy.size(); i++) {
+                    busyStart[d][i] = busy.get(i)[0];
+                    busyEnd[d][i] = busy.get(i)[1];
+                }
+            }
+
+            candidates = new int[jobCount][];
+            candidateKm = new double[jobCount][];
+        }
+
+        long buildCandidates(int threads) {
+            // 장비 유형 -> 격자 칸 -> 기사
+            Map<EquipmentType, Map<Long, List<Integer>>> grid = new EnumMap<>(EquipmentType.class);
+            for (int d = 0; d < driverCount; d++) {
+                PlanDriver driver = drivers.get(d);
+                long key = cellKey(cellIndex(driver.latitude()), cellIndex(driver.longitude()));
+                for (EquipmentType type : driver.equipment().keySet()) {
+                    grid.computeIfAbsent(type, t -> new HashMap<>())
+                            .computeIfAbsent(key, k -> new ArrayList<>())
+                            .add(d);
+                }
+            }
+
+            int chunk = Math.max(1, (jobCount + threads - 1) / threads);
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int from = 0; from < jobCount; from += chunk) {
+                int rangeStart = from;
+                int rangeEnd = Math.min(from + chunk, jobCount);
+                futures.add(executor.submit(() -> {
+                    long edges = 0;
+                    for (int j = rangeStart; j < rangeEnd; j++) {
+                        edges += buildCandidates(j, grid);
+                    }
+                    return edges;
+                }));
+            }
+
+            long edges = 0;
+            for (Future<Long> future : futures) {
+                edges += await(future);
+            }
+
+            lowerBound = 0;
+            for (int j = 0; j < jobCount; j++) {
+                lowerBound += candidates[j].length > 0 ? candidateKm[j][0] : options.unassignedPenaltyKm();
+            }
+            return edges;
+        }
+
+        private int buildCandidates(int j, Map<EquipmentType, Map<Long, List<Integer>>> grid) {
+            PlanJob job = jobs.get(j);
+            Map<Long, List<Integer>> cells = grid.get(job.type());
+            if (cells == null) {
+                candidates[j] = new int[0];
+                candidateKm[j] = new double[0];
+                return 0;
+            }
+
+            double radiusKm = options.radiusKm();
+            int latSpan = (int) Math.ceil(radiusKm / KM_PER_DEGREE / CELL_SIZE_DEG);
+            double lngKmPerDegree = KM_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(job.latitude())));
+            int lngSpan = (int) Math.ceil(radiusKm / lngKmPerDegree / CELL_SIZE_DEG);
+            int baseLat = cellIndex(job.latitude());
+            int baseLng = cellIndex(job.longitude());
+
+            // (거리 m << 32 | 기사 인덱스) 로 묶어 기본형 정렬
+            long[] found = new long[16];
+            int count = 0;
+            for (int dLat = -latSpan; dLat <= latSpan; dLat++) {
+                for (int dLng = -lngSpan; dLng <= lngSpan; dLng++) {
+                    List<Integer> cell = cells.get(cellKey(baseLat + dLat, baseLng + dLng));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int d : cell) {
+                        PlanDriver driver = drivers.get(d);
+                        if (!eligible(job, driver)) {
+                            continue;
+                        }
+                        double km = GeoUtils.distanceKm(job.latitude(), job.longitude(), driver.latitude(), driver.longitude());
+                        if (km > radiusKm) {
+                            continue;
+                        }
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                        }
+                        found[count++] = (Math.round(km * 1000) << 32) | d;
+                    }
+                }
+            }
+
+            Arrays.sort(found, 0, count);
+            int size = Math.min(count, options.maxCandidates());
+            int[] ids = new int[size];
+            double[] kms = new double[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = (int) (found[i] & 0xffffffffL);
+                kms[i] = (found[i] >>> 32) / 1000.0;
+            }
+            candidates[j] = ids;
+            candidateKm[j] = kms;
+            return size;
+        }
+
+        private boolean eligible(PlanJob job, PlanDriver driver) {
+            if (!driver.equipment().containsKey(job.type())) {
+                return false;
+            }
+            Double maxHeight = driver.equipment().get(job.type());
+            if (job.minHeight() != null && (maxHeight == null || maxHeight < job.minHeight())) {
+                return false;
+            }
+            // 평가 전 기사는 통과 (DispatchService 와 같은 규칙)
+            return job.minRating() == null || driver.rating() == null || driver.rating() >= job.minRating();
+        }
+
+        // 작업 j 를 기사 d 에게 배정할 때 거리 (후보가 아니면 -1)
+        double kmOf(int j, int d) {
+            int[] ids = candidates[j];
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == d) {
+                    return candidateKm[j][i];
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * 스레드 하나의 탐색 상태
+     */
+    private static final class Search {
+
+        private static final int FITS = -1;
+        private static final int BLOCKED = -2;
+
+        final Problem problem;
+        final SplittableRandom random;
+        final AtomicReference<Result> shared;
+
+        final int[] assigned;
+        // 기사별 배정 작업
+        final int[][] schedule;
+        final int[] scheduleSize;
+
+        double totalKm;
+        int unassigned;
+
+        Search(Problem problem, long seed, AtomicReference<Result> shared) {
+            this.problem = problem;
+            this.random = new SplittableRandom(seed);
+            this.shared = shared;
+            this.assigned = new int[problem.jobCount];
+            this.schedule = new int[problem.driverCount][];
+            this.scheduleSize = new int[problem.driverCount];
+        }
+
+        /**
+         * 탐색 후 반복 횟수 반환 (결과는 shared 에 반영)
+         */
+        int run(long deadline) {
+            Arrays.fill(assigned, -1);
+            unassigned = problem.jobCount;
+            insertAll(orderForInsertion(allJobs()));
+            improve(allJobs(), deadline);
+
+            Result best = publish(new Result(assigned.clone(), objective()));
+            int iterations = 1;
+            int stalled = 0;
+
+            while (System.nanoTime() < deadline && stalled < STALL_ITERATIONS
+                    && best.objective() > problem.lowerBound + 1e-9) {
+                restore(best.assignment());
+                int[] released = orderForInsertion(ruin());
+                insertAll(released);
+                // 풀어 준 작업 주변만 다시 개선 (나머지는 이미 지역 최적)
+                improve(released, deadline);
+                iterations++;
+
+                double current = objective();
+                Result previous = best;
+                best = current < best.objective()
+                        ? publish(new Result(assigned.clone(), current))
+                        : publish(best);
+                stalled = best.objective() < previous.objective() ? 0 : stalled + 1;
+            }
+            return iterations;
+        }
+
+        /**
+         * 전체 최선 계획 갱신 후 현재 전체 최선 반환 (다른 스레드가 더 좋으면 그 계획에서 이어서 탐색)
+         */
+        private Result publish(Result candidate) {
+            return shared.accumulateAndGet(candidate,
+                    (current, offered) -> current == null || offered.objective() < current.objective() ? offered : current);
+        }
+
+        private double objective() {
+            return totalKm + unassigned * problem.options.unassignedPenaltyKm();
+        }
+
+        private int[] allJobs() {
+            int[] jobs = new int[problem.jobCount];
+            for (int j = 0; j < jobs.length; j++) {
+                jobs[j] = j;
+            }
+            return jobs;
+        }
+
+        /**
+         * 후보가 적은 작업부터 (같으면 무작위)
+         */
+        private int[] orderForInsertion(int[] jobs) {
+            long[] keys = new long[jobs.length];
+            for (int i = 0; i < jobs.length; i++) {
+                long candidateCount = problem.candidates[jobs[i]].length;
+                keys[i] = (candidateCount << 52) | ((long) random.nextInt(1 << 20) << 32) | jobs[i];
+            }
+            Arrays.sort(keys);
+            int[] ordered = new int[jobs.length];
+            for (int i = 0; i < keys.length; i++) {
+                ordered[i] = (int) (keys[i] & 0xffffffffL);
+            }
+            return ordered;
+        }
+
+        private int[] orderForInsertion(List<Integer> jobs) {
+            return orderForInsertion(jobs.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        private void insertAll(int[] jobs) {
+            for (int j : jobs) {
+                if (assigned[j] >= 0) {
+                    continue;
+                }
+                int[] ids = problem.candidates[j];
+                for (int i = 0; i < ids.length; i++) {
+                    if (conflict(ids[i], problem.start[j], problem.end[j], -1) == FITS) {
+                        assign(j, ids[i], problem.candidateKm[j][i]);
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * 개선이 없을 때까지 (또는 시간 예산 종료까지) 작업을 무작위 순서로 훑는다
+         */
+        private void improve(int[] order, long deadline) {
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                shuffle(order);
+                for (int j : order) {
+                    if (System.nanoTime() >= deadline) {
+                        return;
+                    }
+                    if (assigned[j] < 0 ? insertWithEjection(j) : relocateOrSwap(j)) {
+                        improved = true;
+                    }
+                }
+            }
+        }
+
+        /**
+         * 미배정 작업 배정 - 빈 기사가 없으면 겹치는 작업 하나를 다른 기사에게 옮기고 그 자리에 배정
+         */
+        private boolean insertWithEjection(int j) {
+            int[] ids = problem.candidates[j];
+            int s = problem.start[j];
+            int e = problem.end[j];
+            for (int i = 0; i < ids.length; i++) {
+                int d = ids[i];
+                int blocking = conflict(d, s, e, -1);
+                if (blocking == FITS) {
+                    assign(j, d, problem.candidateKm[j][i]);
+                    return true;
+                }
+                if (blocking == BLOCKED) {
+                    continue;
+                }
+
+                int[] alternatives = problem.candidates[blocking];
+                for (int a = 0; a < alternatives.length; a++) {
+                    int other = alternatives[a];
+                    if (other != d && conflict(other, problem.start[blocking], problem.end[blocking], -1) == FITS) {
+                        unassign(blocking);
+                        assign(blocking, other, problem.candidateKm[blocking][a]);
+                        assign(j, d, problem.candidateKm[j][i]);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 배정된 작업을 더 가까운 기사에게 - 비어 있으면 재배치, 겹치는 작업 하나와는 교환
+         */
+        private boolean relocateOrSwap(int j) {
+            int current = assigned[j];
+            double currentKm = problem.kmOf(j, current);
+            int[] ids = problem.candidates[j];
+            int s = problem.start[j];
+            int e = problem.end[j];
+
+            for (int i = 0; i < ids.length && problem.candidateKm[j][i] < currentKm; i++) {
+                int d = ids[i];
+                int blocking = conflict(d, s, e, -1);
+                if (blocking == FITS) {
+                    unassign(j);
+                    assign(j, d, problem.candidateKm[j][i]);
+                    return true;
+                }
+                if (blocking == BLOCKED) {
+                    continue;
+                }
+
+                double blockingKm = problem.kmOf(blocking, d);
+                double swappedKm = problem.kmOf(blocking, current);
+                if (swappedKm < 0
+                        || conflict(current, problem.start[blocking], problem.end[blocking], j) != FITS) {
+                    continue;
+                }
+                if (problem.candidateKm[j][i] + swappedKm < currentKm + blockingKm) {
+                    unassign(j);
+                    unassign(blocking);
+                    assign(j, d, problem.candidateKm[j][i]);
+                    assign(blocking, current, swappedKm);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 최선 계획의 일부를 풀어 준다 (무작위 작업 주변의 기사 일정 단위 + 미배정 작업)
+         */
+        private List<Integer> ruin() {
+            List<Integer> released = new ArrayList<>();
+            for (int j = 0; j < assigned.length; j++) {
+                if (assigned[j] < 0) {
+                    released.add(j);
+                }
+            }
+
+            int target = Math.max(1, (int) ((problem.jobCount - unassigned) * RUIN_FRACTION));
+            int attempts = 0;
+            while (target > 0 && attempts++ < problem.jobCount) {
+                int seedJob = random.nextInt(problem.jobCount);
+                // 주변 기사들의 일정을 통째로 풀어야 서로 바꿔 배정할 여지가 생긴다
+                for (int d : problem.candidates[seedJob]) {
+                    while (scheduleSize[d] > 0 && target > 0) {
+                        int j = schedule[d][scheduleSize[d] - 1];
+                        unassign(j);
+                        released.add(j);
+                        target--;
+                    }
+                    if (target == 0) {
+                        break;
+                    }
+                }
+            }
+            return released;
+        }
+
+        private void restore(int[] snapshot) {
+            Arrays.fill(scheduleSize, 0);
+            Arrays.fill(assigned, -1);
+            totalKm = 0;
+            unassigned = problem.jobCount;
+            for (int j = 0; j < snapshot.length; j++) {
+                if (snapshot[j] >= 0) {
+                    assign(j, snapshot[j], problem.kmOf(j, snapshot[j]));
+                }
+            }
+        }
+
+        /**
+         * 기사 d 의 일정에 [s, e) 를 넣을 수 있는지
+         * FITS: 가능, BLOCKED: 기존 배정/둘 이상과 겹침, 그 외: 겹치는 유일한 작업
+         */
+        private int conflict(int d, int s, int e, int ignoredJob) {
+            int[] busyStart = problem.busyStart[d];
+            int[] busyEnd = problem.busyEnd[d];
+            for (int i = 0; i < busyStart.length; i++) {
+                if (s < busyEnd[i] && busyStart[i] < e) {
+                    return BLOCKED;
+                }
+            }
+
+            int blocking = FITS;
+            int[] jobs = schedule[d];
+            for (int i = 0; i < scheduleSize[d]; i++) {
+                int k = jobs[i];
+                if (k != ignoredJob && s < problem.end[k] && problem.start[k] < e) {
+                    if (blocking != FITS) {
+                        return BLOCKED;
+                    }
+                    blocking = k;
+                }
+            }
+            return blocking;
+        }
+
+        private void assign(int j, int d, double km) {
+            if (schedule[d] == null) {
+                schedule[d] = new int[4];
+            } else if (scheduleSize[d] == schedule[d].length) {
+                schedule[d] = Arrays.copyOf(schedule[d], scheduleSize[d] * 2);
+            }
+            schedule[d][scheduleSize[d]++] = j;
+            assigned[j] = d;
+            totalKm += km;
+            unassigned--;
+        }
+
+        private void unassign(int j) {
+            int d = assigned[j];
+            int[] jobs = schedule[d];
+            for (int i = 0; i < scheduleSize[d]; i++) {
+                if (jobs[i] == j) {
+                    jobs[i] = jobs[--scheduleSize[d]];
+                    break;
+                }
+            }
+            assigned[j] = -1;
+            totalKm -= problem.kmOf(j, d);
+            unassigned++;
+        }
+
+        private void shuffle(int[] values) {
+            for (int i = values.length - 1; i > 0; i--) {
+                int k = random.nextInt(i + 1);
+                int tmp = values[i];
+                values[i] = values[k];
+                values[k] = tmp;
+            }
+        }
+    }
+
+    private static int cellIndex(double degree) {
+        return (int) Math.floor(degree / CELL_SIZE_DEG);
+    }
+
+    private static long cellKey(int latIndex, int lngIndex) {
+        return ((long) latIndex << 32) | (lngIndex & 0xffffffffL);
+    }
+}
@@ -0,0 +1,326 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.admin.DispatchPlanResult;
+import com.dispatch.dto.admin.DispatchPlanResult.PlannedAssignment;
+import com.dispatch.entity.DispatchOffer;
+import com.dispatch.entity.DispatchOffer.OfferSource;
+import com.dispatch.entity.DispatchOffer.OfferStatus;
+import com.dispatch.entity.DispatchRequest;
+import com.dispatch.entity.Equipment.EquipmentType;
+import com.dispatch.entity.Warning;
+import com.dispatch.exception.CustomException;
+import com.dispatch.repository.DispatchMatchRepository;
+import com.dispatch.repository.DispatchOfferRepository;
+import com.dispatch.repository.DispatchRequestRepository;
+import com.dispatch.service.DispatchPlanSolver.Assignment;
+import com.dispatch.service.DispatchPlanSolver.Plan;
+import com.dispatch.service.DispatchPlanSolver.PlanDriver;
+import com.dispatch.service.DispatchPlanSolver.PlanJob;
+import com.dispatch.service.DriverCandidateIndex.Candidate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 작업일 일괄 배정 계획 (다음 날 배차)
+ *
+ * 마감 시각(cutoff)에 다음 작업일의 OPEN 배차 전체와 배정 가능한 기사 전체를 모아
+ * 총 이동 거리가 최소가 되도록 한 번에 배정 계획을 세운다 (DispatchPlanSolver, 시간 예산 안에서 병렬 탐색).
+ * - 기사: 매칭 후보 색인의 활동 중 기사 (정지 기사, 좌표 없는 기사 제외)
+ * - 시간 제약: 작업 시각 ~ 예상 시간 + 이동 여유, 이미 수락한 같은 날 배차와 겹치지 않게
+ * - 반영: 배정된 배차마다 해당 기사에게 우선 제안(DispatchOffer, source = PLAN)을 만든다.
+ *   배차는 바로 확정하지 않고 기사가 수락해야 매칭된다. 제안이 만료/거절되면 매칭 엔진 라운드로 이어지고
+ *   배정되지 못한 배차는 기존 매칭/공개 상태를 그대로 유지한다.
+ *   이미 전체 공개된 배차는 공개 상태를 유지한 채 제안만 더한다 (공개된 배차를 다시 숨기지 않는다).
+ *
+ * 마감 작업은 리더 인스턴스(scheduler_leases)만 실행하고, 스케줄러 스레드는 전용 실행기에 넘기기만 한다.
+ * 관리자는 미리보기(반영 없음)로도 실행할 수 있다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DispatchPlanningService {
+
+    static final String LEASE_NAME = "dispatch-planning";
+
+    private final DispatchRequestRepository dispatchRequestRepository;
+    private final DispatchMatchRepository dispatchMatchRepository;
+    private final DispatchOfferRepository offerRepository;
+    private final DriverCandidateIndex candidateIndex;
+    private final SuspensionRegistry suspensionRegistry;
+    private final SystemSettingService systemSettingService;
+    private final NotificationService notificationService;
+    private final SchedulerLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${planning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${matching.enabled:true}")
+    private boolean matchingEnabled;
+
+    @Value("${planning.days-ahead:1}")
+    private int daysAhead;
+
+    @Value("${planning.threads:4}")
+    private int threads;
+
+    @Value("${planning.time-budget-ms:20000}")
+    private long timeBudgetMs;
+
+    @Value("${planning.max-candidates:30}")
+    private int maxCandidates;
+
+    @Value("${planning.buffer-minutes:60}")
+    private int bufferMinutes;
+
+    @Value("${planning.default-hours:4}")
+    private int defaultHours;
+
+    @Value("${planning.unassigned-penalty-km:1000}")
+    private double unassignedPenaltyKm;
+
+    @Value("${planning.offer-timeout-minutes:120}")
+    private long offerTimeoutMinutes;
+
+    @Value("${planning.apply-chunk-size:200}")
+    private int applyChunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile DispatchPlanResult lastResult;
+    private ExecutorService executor;
+    private ExecutorService batchExecutor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "dispatch-planning-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        batchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dispatch-planning-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        batchExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * 마감 시각 일괄 배정 (리더 인스턴스만, 전용 스레드에서 실행)
+     */
+    @Scheduled(cron = "${planning.cutoff-cron:0 0 18 * * *}")
+    public void scheduledPlan() {
+        if (!enabled || !matchingEnabled) {
+            return;
+        }
+        if (!leaseService.tryAcquire(LEASE_NAME, Duration.ofMinutes(30))) {
+            return;
+        }
+        LocalDate workDate = LocalDate.now().plusDays(daysAhead);
+        batchExecutor.execute(() -> {
+            try {
+                plan(workDate, true);
+            } catch (CustomException e) {
+                log.warn("Dispatch planning skipped: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("Dispatch planning failed: workDate={}", workDate, e);
+            }
+        });
+    }
+
+    /**
+     * 작업일 배정 계획 (apply 가 false 면 계획만 계산)
+     */
+    public DispatchPlanResult plan(LocalDate workDate, boolean apply) {
+        if (apply && !matchingEnabled) {
+            throw CustomException.badRequest("매칭 엔진이 꺼져 있어 배정 계획을 반영할 수 없습니다");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw CustomException.conflict("배정 계획이 이미 실행 중입니다");
+        }
+
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            double radiusKm = systemSettingService.getSettingIntValue("default_dispatch_radius_km", 50);
+
+            List<PlanJob> jobs = loadJobs(workDate);
+            List<PlanDriver> drivers = loadDrivers(workDate);
+            Plan plan = new DispatchPlanSolver(executor).solve(jobs, drivers, new DispatchPlanSolver.Options(
+                    threads, timeBudgetMs, radiusKm, maxCandidates, unassignedPenaltyKm, System.nanoTime()));
+
+            int offersCreated = 0;
+            int skipped = 0;
+            if (apply) {
+                int[] counts = applyPlan(plan.assignments(), radiusKm);
+                offersCreated = counts[0];
+                skipped = counts[1];
+            }
+
+            LocalDateTime finishedAt = LocalDateTime.now();
+            DispatchPlanResult result = DispatchPlanResult.builder()
+                    .workDate(workDate)
+                    .applied(apply)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .durationMs(Duration.between(startedAt, finishedAt).toMillis())
+                    .dispatches(plan.jobs())
+                    .drivers(plan.drivers())
+                    .candidateEdges(plan.candidateEdges())
+                    .assigned(plan.assigned())
+                    .unassigned(plan.unassigned())
+                    .totalDistanceKm(round2(plan.totalDistanceKm()))
+                    .averageDistanceKm(plan.assigned() > 0 ? round2(plan.totalDistanceKm() / plan.assigned()) : null)
+                    .threads(threads)
+                    .iterations(plan.iterations())
+                    .solveMs(plan.elapsedMs())
+                    .offersCreated(offersCreated)
+                    .skipped(skipped)
+                    .assignments(plan.assignments().stream()
+                            .map(assignment -> PlannedAssignment.builder()
+                                    .dispatchId(assignment.jobId())
+                                    .driverId(assignment.driverId())
+                                    .distanceKm(round2(assignment.distanceKm()))
+                                    .build())
+                            .toList())
+                    .build();
+            lastResult = result;
+
+            log.info("Dispatch plan computed: workDate={}, applied={}, dispatches={}, drivers={}, assigned={}, unassigned={}, totalKm={}, iterations={}, solveMs={}, offers={}, skipped={}",
+                    workDate, apply, plan.jobs(), plan.drivers(), plan.assigned(), plan.unassigned(),
+                    result.getTotalDistanceKm(), plan.iterations(), plan.elapsedMs(), offersCreated, skipped);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public DispatchPlanResult getLastResult() {
+        return lastResult;
+    }
+
+    private List<PlanJob> loadJobs(LocalDate workDate) {
+        List<PlanJob> jobs = new ArrayList<>();
+        for (Object[] row : dispatchRequestRepository.findPlanningInputs(workDate)) {
+            int[] window = window((LocalTime) row[6], (Integer) row[7]);
+            jobs.add(new PlanJob((Long) row[0], (EquipmentType) row[1], (Double) row[2], (Integer) row[3],
+                    (Double) row[4], (Double) row[5], window[0], window[1]));
+        }
+        return jobs;
+    }
+
+    private List<PlanDriver> loadDrivers(LocalDate workDate) {
+        Map<Long, List<int[]>> busy = new HashMap<>();
+        for (Object[] row : dispatchMatchRepository.findScheduleByWorkDate(workDate)) {
+            busy.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(window((LocalTime) row[1], (Integer) row[2]));
+        }
+
+        List<PlanDriver> drivers = new ArrayList<>();
+        for (Candidate candidate : candidateIndex.getAll()) {
+            Double latitude = candidate.getLatitude();
+            Double longitude = candidate.getLongitude();
+            if (latitude == null || longitude == null
+                    || suspensionRegistry.isSuspended(Warning.UserType.DRIVER, candidate.getDriverId())) {
+                continue;
+            }
+            Double rating = candidate.getTotalRatings() > 0 ? candidate.getAverageRating() : null;
+            drivers.add(new PlanDriver(candidate.getDriverId(), latitude, longitude, candidate.getEquipment(),
+                    rating, busy.getOrDefault(candidate.getDriverId(), List.of())));
+        }
+        return drivers;
+    }
+
+    /**
+     * 작업 시간 [시작, 종료 + 이동 여유) (작업일 0시 기준 분)
+     */
+    private int[] window(LocalTime workTime, Integer estimatedHours) {
+        int start = workTime.getHour() * 60 + workTime.getMinute();
+        int hours = estimatedHours != null && estimatedHours > 0 ? estimatedHours : defaultHours;
+        return new int[]{start, start + hours * 60 + bufferMinutes};
+    }
+
+    /**
+     * 계획 반영 - 청크별 트랜잭션으로 배정 기사에게 우선 제안 (기존 대기 제안은 종료)
+     */
+    private int[] applyPlan(List<Assignment> assignments, double radiusKm) {
+        int created = 0;
+        int skipped = 0;
+        for (int from = 0; from < assignments.size(); from += applyChunkSize) {
+            List<Assignment> chunk = assignments.subList(from, Math.min(from + applyChunkSize, assignments.size()));
+            int[] counts = transactionTemplate.execute(status -> applyChunk(chunk, radiusKm));
+            if (counts != null) {
+                created += counts[0];
+                skipped += counts[1];
+            }
+        }
+        return new int[]{created, skipped};
+    }
+
+    private int[] applyChunk(List<Assignment> chunk, double radiusKm) {
+        int created = 0;
+        int skipped = 0;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusMinutes(offerTimeoutMinutes);
+
+        for (Assignment assignment : chunk) {
+            DispatchRequest dispatch = dispatchRequestRepository.findByIdForUpdate(assignment.jobId()).orElse(null);
+            Candidate candidate = candidateIndex.get(assignment.driverId());
+            // 계산 중 수락/취소된 배차, 색인에서 빠진 기사
+            if (dispatch == null || dispatch.getStatus() != DispatchRequest.DispatchStatus.OPEN || candidate == null) {
+                skipped++;
+                continue;
+            }
+
+            offerRepository.closePendingOffers(dispatch.getId(), OfferStatus.CANCELLED, now);
+            if (dispatch.getMatchingStartedAt() == null) {
+                dispatch.setMatchingStartedAt(now);
+            }
+
+            offerRepository.save(DispatchOffer.builder()
+                    .dispatchId(dispatch.getId())
+                    .driverId(assignment.driverId())
+                    .round(offerRepository.findLastRound(dispatch.getId()) + 1)
+                    .rank(1)
+                    .score(Math.round(Math.max(0, 1 - assignment.distanceKm() / radiusKm) * 10000) / 10000.0)
+                    .distanceKm(round2(assignment.distanceKm()))
+                    .status(OfferStatus.OFFERED)
+                    .source(OfferSource.PLAN)
+                    .expiresAt(expiresAt)
+                    .build());
+
+            notificationService.notifyDispatchOffer(dispatch, List.of(candidate.getUserId()),
+                    List.of(candidate.getEmail()), expiresAt, offerTimeoutMinutes * 60);
+            created++;
+        }
+        return new int[]{created, skipped};
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -7,6 +7,8 @@ import com.dispatch.dto.dispatch.WorkReportResponse;
 import com.dispatch.entity.*;
 import com.dispatch.exception.CustomException;
 import com.dispatch.repository.*;
+import com.dispatch.service.DispatchMetrics.Transition;
+import com.dispatch.service.ReadModelCache.Region;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -29,11 +32,19 @@ public class DispatchService {
     private final CompanyRepository companyRepository;
     private final NotificationService notificationService;
     private final PdfGenerationService pdfGenerationService;
+    private final ReadModelCache readModelCache;
+    private final SuspensionRegistry suspensionRegistry;
+    private final DriverGradingService driverGradingService;
+    private final DispatchMatchingService dispatchMatchingService;
+    private final DriverScheduleIndex driverScheduleIndex;
+    private final DispatchMetrics dispatchMetrics;
 
     // ========== 직원용 API ==========
 
     @Transactional
     public DispatchResponse createDispatch(Long staffId, DispatchCreateRequest request) {
+        long startedAt = System.nanoTime();
+
         User staff = userRepository.findById(staffId)
                 .orElseThrow(() -> CustomException.notFound("사용자를 찾을 수 없습니다"));
 
@@ -54,6 +65,7 @@ public class DispatchService {
                 .equipmentRequirements(request.getEquipmentRequirements())
                 .price(request.getPrice())
                 .priceNegotiable(request.getPriceNegotiable() != null ? request.getPriceNegotiable() : false)
+                .minDriverRating(request.getMinDriverRating())
                 .status(DispatchRequest.DispatchStatus.OPEN)
                 .build();
 
@@ -61,8 +73,10 @@ public class DispatchService {
 
         log.info("Dispatch created: id={}, staffId={}", dispatch.getId(), staffId);
 
-        // 주변 기사들에게 실시간 알림 전송
-        notificationService.notifyNewDispatch(dispatch);
+        // 매칭 엔진 상위 기사에게 우선 제안 (후보가 없거나 매칭 미사용 시 전체 기사에게 알림)
+        dispatchMatchingService.startMatching(dispatch);
+
+        dispatchMetrics.transition(Transition.CREATED, startedAt);
 
         return DispatchResponse.from(dispatch);
     }
@@ -102,27 +116,47 @@ public class DispatchService {
             dispatches = dispatchRequestRepository.findAvailableDispatches(LocalDate.now());
         }
 
+        // 우선 제안 중인 배차는 제안받은 기사에게만 노출
+        Set<Long> offeredDispatchIds = dispatchMatchingService.getLiveOfferDispatchIds(driver.getId());
+
         return dispatches.stream()
+                .filter(dispatch -> dispatchMatchingService.isPublic(dispatch) || offeredDispatchIds.contains(dispatch.getId()))
+                .filter(dispatch -> meetsMinDriverRating(driver, dispatch))
+                // 이미 수락한 배차와 작업 시간이 겹치면 받을 수 없다
+                .filter(dispatch -> !driverScheduleIndex.conflicts(driver.getId(), dispatch))
                 .map(DispatchResponse::from)
                 .toList();
     }
 
     @Transactional
     public DispatchResponse acceptDispatch(Long userId, Long dispatchId) {
+        long startedAt = System.nanoTime();
+
         Driver driver = driverRepository.findByUserId(userId)
                 .orElseThrow(() -> CustomException.notFound("기사 정보를 찾을 수 없습니다"));
 
+        if (suspensionRegistry.isSuspended(Warning.UserType.DRIVER, driver.getId())) {
+            throw CustomException.forbidden("정지된 계정은 배차를 수락할 수 없습니다");
+        }
+
         if (driver.getVerificationStatus() != Driver.VerificationStatus.VERIFIED) {
             throw CustomException.forbidden("검증이 완료되지 않아 배차를 수락할 수 없습니다");
         }
 
-        DispatchRequest dispatch = dispatchRequestRepository.findById(dispatchId)
+        // 동시 수락 직렬화 (먼저 잠근 기사만 OPEN 상태를 본다)
+        DispatchRequest dispatch = dispatchRequestRepository.findByIdForUpdate(dispatchId)
                 .orElseThrow(() -> CustomException.notFound("배차를 찾을 수 없습니다"));
 
         if (dispatch.getStatus() != DispatchRequest.DispatchStatus.OPEN) {
             throw CustomException.conflict("이미 처리된 배차입니다");
         }
 
+        dispatchMatchingService.checkCanAccept(dispatch, driver.getId());
+
+        if (!meetsMinDriverRating(driver, dispatch)) {
+            throw CustomException.forbidden("배차의 최소 별점 조건을 충족하지 않습니다");
+        }
+
         // 기사의 장비 중 매칭되는 장비 찾기
         Equipment equipment = driver.getEquipments().stream()
                 .filter(e -> e.getType() == dispatch.getEquipmentType())
@@ -130,6 +164,9 @@ public class DispatchService {
                 .findFirst()
                 .orElseThrow(() -> CustomException.badRequest("해당 장비 타입을 보유하고 있지 않습니다"));
 
+        // 같은 시간대 중복 수락 방지 (일정 색인에 등록, 롤백 시 제거)
+        driverScheduleIndex.reserve(driver.getId(), dispatch);
+
         // 매칭 생성
         DispatchMatch match = DispatchMatch.builder()
                 .request(dispatch)
@@ -143,17 +180,24 @@ public class DispatchService {
 
         // 배차 상태 업데이트
         dispatch.setStatus(DispatchRequest.DispatchStatus.MATCHED);
+        dispatchMatchingService.onAccepted(dispatch, driver.getId());
 
         log.info("Dispatch accepted: dispatchId={}, driverId={}", dispatchId, driver.getId());
 
         // 직원에게 실시간 알림 전송
         notificationService.notifyDispatchAccepted(dispatch);
 
+        readModelCache.evict(Region.DISPATCH, dispatchId);
+
+        dispatchMetrics.transition(Transition.ACCEPTED, startedAt);
+
         return DispatchResponse.from(dispatch, match);
     }
 
     @Transactional
     public DispatchResponse departForSite(Long userId, Long dispatchId) {
+        long startedAt = System.nanoTime();
+
         DispatchMatch match = getMatchForDriver(userId, dispatchId);
 
         if (match.getStatus() != DispatchMatch.MatchStatus.ACCEPTED) {
@@ -165,11 +209,17 @@ public class DispatchService {
 
         log.info("Driver departed: dispatchId={}", dispatchId);
 
+        readModelCache.evict(Region.DISPATCH, dispatchId);
+
+        dispatchMetrics.transition(Transition.DEPARTED, startedAt);
+
         return DispatchResponse.from(match.getRequest(), match);
     }
 
     @Transactional
     public DispatchResponse arriveAtSite(Long userId, Long dispatchId) {
+        long startedAt = System.nanoTime();
+
         DispatchMatch match = getMatchForDriver(userId, dispatchId);
 
         if (match.getStatus() != DispatchMatch.MatchStatus.EN_ROUTE) {
@@ -185,11 +235,17 @@ public class DispatchService {
         // 직원에게 실시간 알림 전송
         notificationService.notifyDriverArrived(match.getRequest());
 
+        readModelCache.evict(Region.DISPATCH, dispatchId);
+
+        dispatchMetrics.transition(Transition.ARRIVED, startedAt);
+
         return DispatchResponse.from(match.getRequest(), match);
     }
 
     @Transactional
     public DispatchResponse startWork(Long userId, Long dispatchId) {
+        long startedAt = System.nanoTime();
+
         DispatchMatch match = getMatchForDriver(userId, dispatchId);
 
         if (match.getStatus() != DispatchMatch.MatchStatus.ARRIVED) {
@@ -201,11 +257,17 @@ public class DispatchService {
 
         log.info("Work started: dispatchId={}", dispatchId);
 
+        readModelCache.evict(Region.DISPATCH, dispatchId);
+
+        dispatchMetrics.transition(Transition.WORK_STARTED, startedAt);
+
         return DispatchResponse.from(match.getRequest(), match);
     }
 
     @Transactional
     public DispatchResponse completeWork(Long userId, Long dispatchId) {
+        long startedAt = System.nanoTime();
+
         DispatchMatch match = getMatchForDriver(userId, dispatchId);
 
         if (match.getStatus() != DispatchMatch.MatchStatus.WORKING) {
@@ -214,14 +276,21 @@ public class DispatchService {
 
         match.setStatus(DispatchMatch.MatchStatus.COMPLETED);
         match.setCompletedAt(LocalDateTime.now());
+        driverScheduleIndex.release(dispatchId);
 
         log.info("Work completed: dispatchId={}", dispatchId);
 
+        readModelCache.evict(Region.DISPATCH, dispatchId);
+
+        dispatchMetrics.transition(Transition.WORK_COMPLETED, startedAt);
+
         return DispatchResponse.from(match.getRequest(), match);
     }
 
     @Transactional
     public DispatchResponse signByDriver(Long userId, Long dispatchId, SignatureRequest request) {
+        long startedAt = System.nanoTime();
+
         DispatchMatch match = getMatchForDriver(userId, dispatchId);
 
         if (match.getStatus() != DispatchMatch.MatchStatus.COMPLETED) {
@@ -239,11 +308,17 @@ public class DispatchService {
 
         log.info("Driver signed: dispatchId={}", dispatchId);
 
+        readModelCache.evict(Region.DISPATCH, dispatchId);
+
+        dispatchMetrics.transition(Transition.DRIVER_SIGNED, startedAt);
+
         return DispatchResponse.from(match.getRequest(), match);
     }
 
     @Transactional
     public DispatchResponse signByClient(Long dispatchId, SignatureRequest request) {
+        long startedAt = System.nanoTime();
+
         DispatchMatch match = dispatchMatchRepository.findByRequest(
                 dispatchRequestRepository.findById(dispatchId)
                         .orElseThrow(() -> CustomException.notFound("배차를 찾을 수 없습니다"))
@@ -253,6 +328,8 @@ public class DispatchService {
             throw CustomException.badRequest("기사 서명이 먼저 필요합니다");
         }
 
+        boolean firstCompletion = match.getRequest().getStatus() != DispatchRequest.DispatchStatus.COMPLETED;
+
         match.setClientSignature(request.getSignature());
         match.setClientName(request.getClientName());
         match.setClientSignedAt(LocalDateTime.now());
@@ -261,6 +338,16 @@ public class DispatchService {
 
         log.info("Client signed, dispatch completed: dispatchId={}", dispatchId);
 
+        // 기사 완료 건수 증가 및 등급 재산정 (재서명 시 중복 집계 안 함)
+        if (firstCompletion) {
+            Driver driver = driverRepository.findByIdForUpdate(match.getDriver().getId())
+                    .orElseThrow(() -> CustomException.notFound("기사를 찾을 수 없습니다"));
+            driver.setTotalCompletedDispatches(
+                    (driver.getTotalCompletedDispatches() != null ? driver.getTotalCompletedDispatches() : 0) + 1);
+            driverGradingService.regrade(driver, "배차 완료");
+            readModelCache.evict(Region.DRIVER_PROFILE, driver.getUser().getId());
+        }
+
         // 직원에게 완료 알림 전송
         notificationService.notifyDispatchCompleted(match.getRequest());
 
@@ -274,6 +361,10 @@ public class DispatchService {
             // PDF 생성 실패해도 배차 완료 처리는 진행
         }
 
+        readModelCache.evict(Region.DISPATCH, dispatchId);
+
+        dispatchMetrics.transition(Transition.CLIENT_SIGNED, startedAt);
+
         return DispatchResponse.from(match.getRequest(), match);
     }
 
@@ -282,6 +373,8 @@ public class DispatchService {
      */
     @Transactional
     public DispatchResponse signByCompany(Long userId, Long dispatchId, SignatureRequest request) {
+        long startedAt = System.nanoTime();
+
         DispatchRequest dispatch = dispatchRequestRepository.findById(dispatchId)
                 .orElseThrow(() -> CustomException.notFound("배차를 찾을 수 없습니다"));
 
@@ -309,6 +402,10 @@ public class DispatchService {
 
         log.info("Company confirmed dispatch: dispatchId={}, confirmedBy={}", dispatchId, request.getClientName());
 
+        readModelCache.evict(Region.DISPATCH, dispatchId);
+
+        dispatchMetrics.transition(Transition.COMPANY_SIGNED, startedAt);
+
         return DispatchResponse.from(match.getRequest(), match);
     }
 
@@ -369,15 +466,19 @@ public class DispatchService {
 
     @Transactional(readOnly = true)
     public DispatchResponse getDispatchDetail(Long dispatchId) {
-        DispatchRequest dispatch = dispatchRequestRepository.findById(dispatchId)
-                .orElseThrow(() -> CustomException.notFound("배차를 찾을 수 없습니다"));
+        return readModelCache.get(Region.DISPATCH, dispatchId, () -> {
+            DispatchRequest dispatch = dispatchRequestRepository.findById(dispatchId)
+                    .orElseThrow(() -> CustomException.notFound("배차를 찾을 수 없습니다"));
 
-        DispatchMatch match = dispatchMatchRepository.findByRequest(dispatch).orElse(null);
-        return DispatchResponse.from(dispatch, match);
+            DispatchMatch match = dispatchMatchRepository.findByRequest(dispatch).orElse(null);
+            return DispatchResponse.from(dispatch, match);
+        });
     }
 
     @Transactional
     public DispatchResponse cancelDispatch(Long userId, Long dispatchId) {
+        long startedAt = System.nanoTime();
+
         DispatchRequest dispatch = dispatchRequestRepository.findById(dispatchId)
                 .orElseThrow(() -> CustomException.notFound("배차를 찾을 수 없습니다"));
 
@@ -391,10 +492,12 @@ public class DispatchService {
         }
 
         dispatch.setStatus(DispatchRequest.DispatchStatus.CANCELLED);
+        dispatchMatchingService.onCancelled(dispatch);
 
         // 매칭이 있다면 취소 처리
         dispatchMatchRepository.findByRequest(dispatch).ifPresent(match -> {
             match.setStatus(DispatchMatch.MatchStatus.CANCELLED);
+            driverScheduleIndex.release(dispatchId);
         });
 
         log.info("Dispatch cancelled: dispatchId={}", dispatchId);
@@ -402,6 +505,10 @@ public class DispatchService {
         // 관련자들에게 취소 알림 전송
         notificationService.notifyDispatchCancelled(dispatch);
 
+        readModelCache.evict(Region.DISPATCH, dispatchId);
+
+        dispatchMetrics.transition(Transition.CANCELLED, startedAt);
+
         return DispatchResponse.from(dispatch);
     }
 
@@ -421,4 +528,16 @@ public class DispatchService {
 
         return match;
     }
+
+    /**
+     * 배차의 최소 별점 조건 충족 여부
+     * 평가를 아직 받지 않은 기사는 제한하지 않는다 (첫 평가를 받을 기회를 막지 않도록).
+     */
+    private boolean meetsMinDriverRating(Driver driver, DispatchRequest dispatch) {
+        Integer minRating = dispatch.getMinDriverRating();
+        if (minRating == null || driver.getTotalRatings() == null || driver.getTotalRatings() == 0) {
+            return true;
+        }
+        return driver.getAverageRating() != null && driver.getAverageRating() >= minRating;
+    }
 }
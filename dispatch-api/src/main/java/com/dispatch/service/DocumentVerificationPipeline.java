@@ -0,0 +1,462 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.admin.DocumentPipelineStatsResponse;
+import com.dispatch.dto.verify.VerifyResponse;
+import com.dispatch.dto.verify.VerifyResponse.VerifyResult;
+import com.dispatch.entity.Company;
+import com.dispatch.entity.DocumentVerificationJob;
+import com.dispatch.entity.DocumentVerificationJob.OwnerType;
+import com.dispatch.entity.DocumentVerificationJob.Outcome;
+import com.dispatch.entity.DocumentVerificationJob.Stage;
+import com.dispatch.entity.Driver;
+import com.dispatch.repository.CompanyRepository;
+import com.dispatch.repository.DocumentVerificationJobRepository;
+import com.dispatch.repository.DriverRepository;
+import com.dispatch.service.ReadModelCache.Region;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 제출 서류 자동 검증 파이프라인
+ *
+ * 업로드 요청은 파일 저장과 작업 등록(DocumentVerificationQueue)까지만 하고, 나머지는 이 작업자 풀이 처리한다.
+ * 1. THUMBNAIL : 이미지 서류 썸네일 생성 (관리자 목록용, 실패해도 재시도 한도 후 다음 단계로)
+ * 2. VERIFY    : 사업자등록상태 조회, 운전면허 조회 (검증 서버 장애/타임아웃이면 백오프 후 재시도)
+ * 3. DECIDE    : 불일치가 있으면 확인 필요 표시, 그 외는 관리자 검토로 남긴다.
+ *                기사는 auto-approve 설정 시 사업자/면허가 모두 확인되면 자동 승인한다.
+ *                발주처는 사업자등록번호 하나만 확인되므로 자동 승인하지 않는다 (승인 시 소속 직원까지 승인됨).
+ *
+ * 작업은 DB 행으로 관리되어 재시작/다중 인스턴스에서도 한 번씩 처리된다 (선점 후 lease-seconds 안에 못 끝내면 재처리).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentVerificationPipeline {
+
+    private static final String APPROVED_MESSAGE = "서류 자동 검증 완료";
+    private static final String CHECKS_PASSED_MESSAGE = "서류 자동 검증 통과 - 관리자 승인 대기";
+
+    private final DocumentVerificationJobRepository jobRepository;
+    private final DriverRepository driverRepository;
+    private final CompanyRepository companyRepository;
+    private final DriverService driverService;
+    private final VerifyService verifyService;
+    private final FileStorageService fileStorageService;
+    private final ReadModelCache readModelCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${documents.pipeline.workers:2}")
+    private int workers;
+
+    @Value("${documents.pipeline.queue-size:32}")
+    private int queueSize;
+
+    @Value("${documents.pipeline.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${documents.pipeline.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${documents.pipeline.base-delay-ms:10000}")
+    private long baseDelayMs;
+
+    @Value("${documents.pipeline.max-delay-ms:1800000}")
+    private long maxDelayMs;
+
+    @Value("${documents.pipeline.thumbnail-size:320}")
+    private int thumbnailSize;
+
+    @Value("${documents.pipeline.auto-approve:false}")
+    private boolean autoApprove;
+
+    private ThreadPoolExecutor executor;
+
+    private final Map<Stage, StageMetrics> stageMetrics = new EnumMap<>(Stage.class);
+    private final Map<Outcome, AtomicLong> outcomes = new EnumMap<>(Outcome.class);
+
+    private enum StageResult {
+        NEXT,
+        RETRY
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), runnable -> {
+                    Thread thread = new Thread(runnable, "document-verify-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        for (Stage stage : Stage.values()) {
+            if (stage != Stage.DONE) {
+                stageMetrics.put(stage, new StageMetrics());
+            }
+        }
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, new AtomicLong());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 처리할 작업을 선점해 작업자 풀에 넘긴다 (풀 대기열이 찬 만큼은 다음 주기로)
+     */
+    @Scheduled(fixedDelayString = "${documents.pipeline.poll-interval-ms:2000}")
+    public void poll() {
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity <= 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (DocumentVerificationJob job : jobRepository.findDue(now, PageRequest.of(0, capacity))) {
+            Integer claimed = transactionTemplate.execute(status -> jobRepository.claim(
+                    job.getId(), job.getNextAttemptAt(), now.plusSeconds(leaseSeconds)));
+            if (claimed == null || claimed == 0) {
+                continue;
+            }
+            try {
+                executor.execute(() -> process(job.getId()));
+            } catch (RejectedExecutionException e) {
+                // 선점 시간이 지나면 다시 가져간다
+                log.warn("Document verification worker queue full: jobId={}", job.getId());
+                break;
+            }
+        }
+    }
+
+    public DocumentPipelineStatsResponse getStats() {
+        Map<String, Long> jobsByStage = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            jobsByStage.put(stage.name(), 0L);
+        }
+        for (Object[] row : jobRepository.countByStage()) {
+            jobsByStage.put(((Stage) row[0]).name(), (Long) row[1]);
+        }
+
+        Map<String, Long> outcomeCounts = new LinkedHashMap<>();
+        outcomes.forEach((outcome, count) -> outcomeCounts.put(outcome.name(), count.get()));
+
+        List<DocumentPipelineStatsResponse.StageStats> stages = new ArrayList<>();
+        stageMetrics.forEach((stage, metrics) -> stages.add(metrics.toStats(stage)));
+
+        return DocumentPipelineStatsResponse.builder()
+                .workers(workers)
+                .active(executor.getActiveCount())
+                .queued(executor.getQueue().size())
+                .jobsByStage(jobsByStage)
+                .outcomes(outcomeCounts)
+                .stages(stages)
+                .build();
+    }
+
+    private void process(Long jobId) {
+        DocumentVerificationJob job = transactionTemplate.execute(status -> jobRepository.findById(jobId).orElse(null));
+        while (job != null && job.getStage() != Stage.DONE) {
+            Stage stage = job.getStage();
+            StageMetrics metrics = stageMetrics.get(stage);
+            long startedAt = System.nanoTime();
+
+            StageResult result;
+            try {
+                result = switch (stage) {
+                    case THUMBNAIL -> createThumbnails(job);
+                    case VERIFY -> verify(job);
+                    case DECIDE -> decide(job);
+                    case DONE -> StageResult.NEXT;
+                };
+            } catch (RuntimeException e) {
+                log.error("Document verification stage failed: jobId={}, stage={}, error={}",
+                        jobId, stage, e.getMessage());
+                job.setLastError(truncate(stage + ": " + e.getMessage(), 500));
+                result = StageResult.RETRY;
+            }
+
+            if (result == StageResult.NEXT) {
+                metrics.succeeded(System.nanoTime() - startedAt);
+                advance(job, next(stage));
+            } else if (job.getAttempts() + 1 >= maxAttempts) {
+                metrics.gaveUp(System.nanoTime() - startedAt);
+                giveUp(job, stage);
+            } else {
+                metrics.retried(System.nanoTime() - startedAt);
+                scheduleRetry(job);
+                return;
+            }
+        }
+    }
+
+    // ==================== 단계 ====================
+
+    private StageResult createThumbnails(DocumentVerificationJob job) {
+        List<String> files = transactionTemplate.execute(status -> documentFiles(job));
+        for (String file : Objects.requireNonNull(files)) {
+            fileStorageService.createThumbnail(file, thumbnailSize);
+        }
+        return StageResult.NEXT;
+    }
+
+    private StageResult verify(DocumentVerificationJob job) {
+        VerifyInput input = transactionTemplate.execute(status -> verifyInput(job));
+        if (input == null) {
+            // 대상이 삭제됨 - 판정 단계에서 건너뛴다
+            return StageResult.NEXT;
+        }
+
+        VerifyResponse business = input.businessNumber() != null
+                ? verifyService.verifyBusinessRegistrationAsync(input.businessNumber().replaceAll("-", "")).join()
+                : missing("사업자등록번호 미입력");
+        VerifyResponse license = null;
+        if (job.getOwnerType() == OwnerType.DRIVER) {
+            license = input.licenseNumber() != null
+                    ? verifyService.verifyDriverLicense(input.licenseNumber(), input.name(), null)
+                    : missing("운전면허번호 미입력");
+        }
+
+        job.setBusinessResult(business.getResult());
+        job.setLicenseResult(license != null ? license.getResult() : null);
+        job.setSummary(truncate(describe("사업자등록번호", business)
+                + (license != null ? ", " + describe("운전면허", license) : ""), 500));
+
+        // 검증 서버 쪽 사정이면 다시 시도 (한도를 넘기면 확인 불가로 판정 단계에 넘긴다)
+        if (VerifyClient.isClientFailure(business) || (license != null && VerifyClient.isClientFailure(license))) {
+            job.setLastError(truncate("VERIFY: " + job.getSummary(), 500));
+            return StageResult.RETRY;
+        }
+        return StageResult.NEXT;
+    }
+
+    private StageResult decide(DocumentVerificationJob job) {
+        Outcome outcome = transactionTemplate.execute(status -> job.getOwnerType() == OwnerType.DRIVER
+                ? decideDriver(job)
+                : decideCompany(job));
+        job.setOutcome(outcome);
+        outcomes.get(outcome).incrementAndGet();
+        log.info("Document verification decided: jobId={}, {}={}, outcome={}, summary={}",
+                job.getId(), job.getOwnerType(), job.getOwnerId(), outcome, job.getSummary());
+        return StageResult.NEXT;
+    }
+
+    private Outcome decideDriver(DocumentVerificationJob job) {
+        // 행을 잠가 읽는다 - 잠금 없이 읽은 엔티티를 저장하면 그 사이 바뀐 별점 집계/등급/완료 건수를 되돌린다
+        Driver driver = driverRepository.findByIdForUpdate(job.getOwnerId()).orElse(null);
+        if (driver == null || driver.getVerificationStatus() != Driver.VerificationStatus.VERIFYING) {
+            return Outcome.SKIPPED;
+        }
+
+        Outcome outcome = judge(job.getBusinessResult(), job.getLicenseResult());
+        if (outcome == Outcome.APPROVED) {
+            driver.setVerificationMessage(APPROVED_MESSAGE);
+            driverService.approveDriver(driver.getId(), null);
+        } else {
+            driver.setVerificationMessage(reviewMessage(outcome, job.getSummary()));
+            readModelCache.evict(Region.DRIVER_PROFILE, driver.getUser().getId());
+        }
+        return outcome;
+    }
+
+    private Outcome decideCompany(DocumentVerificationJob job) {
+        Company company = companyRepository.findById(job.getOwnerId()).orElse(null);
+        if (company == null || company.getVerificationStatus() != Company.VerificationStatus.VERIFYING) {
+            return Outcome.SKIPPED;
+        }
+
+        // 자동 승인 없음 - 확인 결과만 남기고 승인은 관리자가 한다
+        Outcome outcome = job.getBusinessResult() == VerifyResult.INVALID ? Outcome.FLAGGED : Outcome.MANUAL_REVIEW;
+        company.setVerificationMessage(job.getBusinessResult() == VerifyResult.VALID
+                ? CHECKS_PASSED_MESSAGE
+                : reviewMessage(outcome, job.getSummary()));
+        readModelCache.evict(Region.COMPANY, company.getId());
+        return outcome;
+    }
+
+    // 하나라도 불일치면 표시, 모두 확인되면 자동 승인(설정 시), 그 외는 관리자 검토
+    private Outcome judge(VerifyResult business, VerifyResult license) {
+        if (business == VerifyResult.INVALID || license == VerifyResult.INVALID) {
+            return Outcome.FLAGGED;
+        }
+        if (autoApprove && business == VerifyResult.VALID && license == VerifyResult.VALID) {
+            return Outcome.APPROVED;
+        }
+        return Outcome.MANUAL_REVIEW;
+    }
+
+    // ==================== 작업 상태 ====================
+
+    private void advance(DocumentVerificationJob job, Stage next) {
+        job.setStage(next);
+        job.setAttempts(0);
+        if (next == Stage.DONE) {
+            job.setCompletedAt(LocalDateTime.now());
+        } else {
+            // 이어서 처리하는 동안 다른 작업자가 가져가지 않도록 선점 유지
+            job.setNextAttemptAt(LocalDateTime.now().plusSeconds(leaseSeconds));
+        }
+        save(job);
+    }
+
+    private void scheduleRetry(DocumentVerificationJob job) {
+        int attempts = job.getAttempts() + 1;
+        long delayMs = Math.min(maxDelayMs, baseDelayMs * (1L << Math.min(attempts - 1, 20)));
+        job.setAttempts(attempts);
+        job.setNextAttemptAt(LocalDateTime.now().plusNanos(delayMs * 1_000_000));
+        save(job);
+        log.info("Document verification retry scheduled: jobId={}, stage={}, attempts={}, delayMs={}",
+                job.getId(), job.getStage(), attempts, delayMs);
+    }
+
+    // 썸네일/조회는 포기하고 다음 단계로 (검증 결과가 없으면 관리자 검토), 판정 실패는 작업 종료
+    private void giveUp(DocumentVerificationJob job, Stage stage) {
+        log.warn("Document verification stage gave up: jobId={}, stage={}, lastError={}",
+                job.getId(), stage, job.getLastError());
+        if (stage == Stage.DECIDE) {
+            job.setOutcome(Outcome.FAILED);
+            outcomes.get(Outcome.FAILED).incrementAndGet();
+            advance(job, Stage.DONE);
+        } else {
+            advance(job, next(stage));
+        }
+    }
+
+    private void save(DocumentVerificationJob job) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.save(job));
+    }
+
+    private static Stage next(Stage stage) {
+        return switch (stage) {
+            case THUMBNAIL -> Stage.VERIFY;
+            case VERIFY -> Stage.DECIDE;
+            case DECIDE, DONE -> Stage.DONE;
+        };
+    }
+
+    // ==================== 대상 조회 ====================
+
+    private record VerifyInput(String businessNumber, String licenseNumber, String name) {
+    }
+
+    private List<String> documentFiles(DocumentVerificationJob job) {
+        List<String> files = new ArrayList<>();
+        if (job.getOwnerType() == OwnerType.DRIVER) {
+            driverRepository.findById(job.getOwnerId()).ifPresent(driver -> {
+                files.add(driver.getBusinessRegistrationImage());
+                files.add(driver.getDriverLicenseImage());
+            });
+        } else {
+            companyRepository.findById(job.getOwnerId())
+                    .ifPresent(company -> files.add(company.getBusinessLicenseImage()));
+        }
+        files.removeIf(Objects::isNull);
+        return files;
+    }
+
+    private VerifyInput verifyInput(DocumentVerificationJob job) {
+        if (job.getOwnerType() == OwnerType.DRIVER) {
+            return driverRepository.findById(job.getOwnerId())
+                    .map(driver -> new VerifyInput(driver.getBusinessRegistrationNumber(),
+                            driver.getDriverLicenseNumber(), driver.getUser().getName()))
+                    .orElse(null);
+        }
+        return companyRepository.findById(job.getOwnerId())
+                .map(company -> new VerifyInput(company.getBusinessNumber(), null, null))
+                .orElse(null);
+    }
+
+    // ==================== 메시지 ====================
+
+    private static VerifyResponse missing(String message) {
+        return VerifyResponse.builder()
+                .result(VerifyResult.UNKNOWN)
+                .reasonCode("MISSING")
+                .message(message)
+                .build();
+    }
+
+    private static String describe(String label, VerifyResponse response) {
+        return switch (response.getResult()) {
+            case VALID -> label + " 확인";
+            case INVALID -> label + " 불일치(" + response.getMessage() + ")";
+            case UNKNOWN -> label + " 확인 불가(" + response.getMessage() + ")";
+        };
+    }
+
+    // verification_message 는 255자
+    private static String reviewMessage(Outcome outcome, String summary) {
+        String prefix = outcome == Outcome.FLAGGED ? "서류 자동 검증 불일치 - 관리자 확인 필요" : "서류 검토 중입니다";
+        return truncate(summary != null ? prefix + ": " + summary : prefix, 255);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    /**
+     * 단계별 처리 통계
+     */
+    private static final class StageMetrics {
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong retried = new AtomicLong();
+        private final AtomicLong gaveUp = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void succeeded(long nanos) {
+            succeeded.incrementAndGet();
+            record(nanos);
+        }
+
+        void retried(long nanos) {
+            retried.incrementAndGet();
+            record(nanos);
+        }
+
+        void gaveUp(long nanos) {
+            gaveUp.incrementAndGet();
+            record(nanos);
+        }
+
+        private void record(long nanos) {
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        DocumentPipelineStatsResponse.StageStats toStats(Stage stage) {
+            long runs = succeeded.get() + retried.get() + gaveUp.get();
+            return DocumentPipelineStatsResponse.StageStats.builder()
+                    .stage(stage.name())
+                    .runs(runs)
+                    .succeeded(succeeded.get())
+                    .retried(retried.get())
+                    .gaveUp(gaveUp.get())
+                    .avgMs(runs > 0 ? Math.round(totalNanos.get() / 1_000_000.0 / runs * 10) / 10.0 : 0)
+                    .maxMs(TimeUnit.NANOSECONDS.toMillis(maxNanos.get()))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.dispatch.service;
+
+import com.dispatch.entity.DocumentVerificationJob;
+import com.dispatch.entity.DocumentVerificationJob.OwnerType;
+import com.dispatch.entity.DocumentVerificationJob.Stage;
+import com.dispatch.repository.DocumentVerificationJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 서류 자동 검증 작업 등록
+ *
+ * 업로드 트랜잭션 안에서 작업 행만 저장한다 (커밋되면 DocumentVerificationPipeline 이 가져간다).
+ * 승인 처리를 위해 파이프라인이 DriverService/CompanyService 를 쓰므로 등록만 따로 둔다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DocumentVerificationQueue {
+
+    private final DocumentVerificationJobRepository jobRepository;
+
+    /**
+     * 진행 중인 작업이 없으면 등록
+     */
+    public void submit(OwnerType ownerType, Long ownerId) {
+        if (jobRepository.existsOpen(ownerType, ownerId)) {
+            return;
+        }
+        DocumentVerificationJob job = jobRepository.save(DocumentVerificationJob.builder()
+                .ownerType(ownerType)
+                .ownerId(ownerId)
+                .stage(Stage.THUMBNAIL)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.info("Document verification queued: jobId={}, {}={}", job.getId(), ownerType, ownerId);
+    }
+}
@@ -0,0 +1,304 @@
+package com.dispatch.service;
+
+import com.dispatch.entity.Driver.DriverGrade;
+import com.dispatch.entity.Equipment.EquipmentType;
+import com.dispatch.repository.DispatchMatchRepository;
+import com.dispatch.repository.DriverRepository;
+import com.dispatch.repository.EquipmentRepository;
+import com.dispatch.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 매칭 후보 기사 색인 (메모리)
+ *
+ * 활동 중인 검증 완료 기사를 장비 유형별, 위경도 격자 칸별로 미리 나눠 둔다.
+ * 배차 한 건의 후보 조회는 해당 장비 유형에서 반경에 걸치는 칸만 훑는다 (SQL 없음).
+ * - 전체 재적재: refresh 주기마다 (다른 인스턴스 변경, 등급/별점 변경 반영)
+ * - 기사 단위 재적재: 이 인스턴스에서 활동 상태/승인/장비가 바뀐 직후 (커밋 이후)
+ * - 위치: 좌표만 바로 반영하고 칸 이동은 다음 격자 재구성 때 (조회 시 한 칸 여유를 두고 찾는다)
+ * - 작업량: 이 인스턴스 수락 시 바로 +1, 나머지는 재적재로 보정
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DriverCandidateIndex {
+
+    private static final double KM_PER_DEGREE = 111.0;
+
+    private final DriverRepository driverRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final DispatchMatchRepository dispatchMatchRepository;
+
+    @Value("${matching.index.cell-size-deg:0.1}")
+    private double cellSizeDeg;
+
+    // 기사 ID -> 후보
+    private volatile Map<Long, Candidate> candidates = new ConcurrentHashMap<>();
+
+    // 장비 유형 -> 격자 칸 -> 후보 (candidates 에서 파생, 변경 후 첫 조회 때 재구성)
+    private volatile Map<EquipmentType, Map<Long, List<Candidate>>> grid = new EnumMap<>(EquipmentType.class);
+    private volatile boolean gridDirty = true;
+
+    // 기사 단위 변경 시 증가 - 전체 재적재 도중 변경되면 해당 기사를 다시 적재한다
+    private final AtomicLong version = new AtomicLong();
+    private final Set<Long> changedDuringRefresh = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    /**
+     * 전체 재적재
+     */
+    @Scheduled(fixedDelayString = "${matching.index.refresh-ms:15000}",
+            initialDelayString = "${matching.index.refresh-ms:15000}")
+    public void refresh() {
+        long startVersion = version.get();
+        changedDuringRefresh.clear();
+
+        Map<Long, Candidate> loaded = load(driverRepository.findMatchingCandidates(),
+                equipmentRepository.findMatchingSpecs(),
+                dispatchMatchRepository.countActiveMatchesGroupByDriver());
+
+        candidates = loaded;
+        gridDirty = true;
+
+        if (version.get() != startVersion) {
+            List<Long> changed = new ArrayList<>(changedDuringRefresh);
+            reload(changed);
+        }
+        log.debug("Driver candidate index refreshed: size={}", loaded.size());
+    }
+
+    /**
+     * 기사 한 명 재적재 (트랜잭션 중이면 커밋 이후)
+     */
+    public void reloadDriver(Long driverId) {
+        if (driverId == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            version.incrementAndGet();
+            changedDuringRefresh.add(driverId);
+            reload(List.of(driverId));
+        });
+    }
+
+    /**
+     * 위치 반영 (좌표만, 트랜잭션과 무관하게 즉시)
+     */
+    public void updateLocation(Long driverId, Double latitude, Double longitude) {
+        Candidate candidate = candidates.get(driverId);
+        if (candidate != null && latitude != null && longitude != null) {
+            candidate.latitude = latitude;
+            candidate.longitude = longitude;
+        }
+    }
+
+    /**
+     * 수락으로 진행 중 매칭이 늘어난 기사 (커밋 이후)
+     */
+    public void incrementWorkload(Long driverId) {
+        TransactionCallbacks.afterCommit(() -> {
+            Candidate candidate = candidates.get(driverId);
+            if (candidate != null) {
+                candidate.activeMatches.incrementAndGet();
+            }
+        });
+    }
+
+    public Candidate get(Long driverId) {
+        return candidates.get(driverId);
+    }
+
+    /**
+     * 장비 유형이 맞고 반경 안의 격자 칸에 있는 후보 (거리는 호출자가 계산)
+     */
+    public List<Candidate> findNearby(EquipmentType type, double latitude, double longitude, double radiusKm) {
+        Map<Long, List<Candidate>> cells = currentGrid().get(type);
+        if (cells == null || cells.isEmpty()) {
+            return List.of();
+        }
+
+        // 반경 + 위치 이동 여유 한 칸
+        int latSpan = (int) Math.ceil(radiusKm / KM_PER_DEGREE / cellSizeDeg) + 1;
+        double lngKmPerDegree = KM_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        int lngSpan = (int) Math.ceil(radiusKm / lngKmPerDegree / cellSizeDeg) + 1;
+
+        int baseLat = cellIndex(latitude);
+        int baseLng = cellIndex(longitude);
+        List<Candidate> found = new ArrayList<>();
+        for (int dLat = -latSpan; dLat <= latSpan; dLat++) {
+            for (int dLng = -lngSpan; dLng <= lngSpan; dLng++) {
+                List<Candidate> cell = cells.get(cellKey(baseLat + dLat, baseLng + dLng));
+                if (cell != null) {
+                    found.addAll(cell);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * 전체 후보 (일괄 배정 계획용)
+     */
+    public Collection<Candidate> getAll() {
+        return candidates.values();
+    }
+
+    public int size() {
+        return candidates.size();
+    }
+
+    private void reload(Collection<Long> driverIds) {
+        Map<Long, Candidate> loaded = load(driverRepository.findMatchingCandidatesByIds(driverIds),
+                equipmentRepository.findMatchingSpecsByDriverIds(driverIds),
+                dispatchMatchRepository.countActiveMatchesByDriverIds(driverIds));
+
+        Map<Long, Candidate> current = candidates;
+        for (Long driverId : driverIds) {
+            Candidate candidate = loaded.get(driverId);
+            if (candidate != null) {
+                current.put(driverId, candidate);
+            } else {
+                current.remove(driverId);
+            }
+        }
+        gridDirty = true;
+    }
+
+    private Map<Long, Candidate> load(List<Object[]> drivers, List<Object[]> specs, List<Object[]> workloads) {
+        Map<Long, Map<EquipmentType, Double>> heights = new HashMap<>();
+        for (Object[] row : specs) {
+            Map<EquipmentType, Double> byType = heights.computeIfAbsent((Long) row[0], id -> new EnumMap<>(EquipmentType.class));
+            EquipmentType type = (EquipmentType) row[1];
+            Double maxHeight = (Double) row[2];
+            // 같은 유형 장비가 여러 대면 가장 높은 장비 기준
+            if (!byType.containsKey(type) || (maxHeight != null && (byType.get(type) == null || maxHeight > byType.get(type)))) {
+                byType.put(type, maxHeight);
+            }
+        }
+
+        Map<Long, Integer> activeMatches = new HashMap<>();
+        for (Object[] row : workloads) {
+            activeMatches.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+
+        Map<Long, Candidate> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : drivers) {
+            Long driverId = (Long) row[0];
+            Map<EquipmentType, Double> equipment = heights.get(driverId);
+            if (equipment == null) {
+                continue;
+            }
+            Double decayedSum = (Double) row[6];
+            Double decayedWeight = (Double) row[7];
+            Candidate candidate = new Candidate(driverId, (Long) row[1], (String) row[2], (DriverGrade) row[3],
+                    (Double) row[4], row[5] != null ? (Integer) row[5] : 0,
+                    decayedWeight != null && decayedWeight > 0 ? decayedSum / decayedWeight : null,
+                    equipment, activeMatches.getOrDefault(driverId, 0));
+            candidate.latitude = (Double) row[8];
+            candidate.longitude = (Double) row[9];
+            loaded.put(driverId, candidate);
+        }
+        return loaded;
+    }
+
+    private Map<EquipmentType, Map<Long, List<Candidate>>> currentGrid() {
+        if (gridDirty) {
+            synchronized (this) {
+                if (gridDirty) {
+                    gridDirty = false;
+                    grid = buildGrid(candidates.values());
+                }
+            }
+        }
+        return grid;
+    }
+
+    private Map<EquipmentType, Map<Long, List<Candidate>>> buildGrid(Collection<Candidate> all) {
+        Map<EquipmentType, Map<Long, List<Candidate>>> built = new EnumMap<>(EquipmentType.class);
+        for (Candidate candidate : all) {
+            Double latitude = candidate.latitude;
+            Double longitude = candidate.longitude;
+            if (latitude == null || longitude == null) {
+                continue;
+            }
+            long key = cellKey(cellIndex(latitude), cellIndex(longitude));
+            for (EquipmentType type : candidate.equipment.keySet()) {
+                built.computeIfAbsent(type, t -> new HashMap<>())
+                        .computeIfAbsent(key, k -> new ArrayList<>())
+                        .add(candidate);
+            }
+        }
+        return built;
+    }
+
+    private int cellIndex(double degree) {
+        return (int) Math.floor(degree / cellSizeDeg);
+    }
+
+    private static long cellKey(int latIndex, int lngIndex) {
+        return ((long) latIndex << 32) | (lngIndex & 0xffffffffL);
+    }
+
+    /**
+     * 매칭 후보 기사 (색인 적재 시점 기준, 위치/작업량만 실시간 갱신)
+     */
+    @Getter
+    public static final class Candidate {
+
+        private final Long driverId;
+        private final Long userId;
+        private final String email;
+        private final DriverGrade grade;
+        private final Double averageRating;
+        private final int totalRatings;
+        private final Double decayedRating;
+
+        // 보유 장비 유형 -> 최대 작업 높이 (미등록이면 null)
+        private final Map<EquipmentType, Double> equipment;
+
+        private volatile Double latitude;
+        private volatile Double longitude;
+
+        @Getter(lombok.AccessLevel.NONE)
+        private final AtomicInteger activeMatches;
+
+        private Candidate(Long driverId, Long userId, String email, DriverGrade grade, Double averageRating,
+                          int totalRatings, Double decayedRating, Map<EquipmentType, Double> equipment,
+                          int activeMatches) {
+            this.driverId = driverId;
+            this.userId = userId;
+            this.email = email;
+            this.grade = grade;
+            this.averageRating = averageRating;
+            this.totalRatings = totalRatings;
+            this.decayedRating = decayedRating;
+            this.equipment = equipment;
+            this.activeMatches = new AtomicInteger(activeMatches);
+        }
+
+        public int getActiveMatches() {
+            return activeMatches.get();
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.admin.GradingResult;
+import com.dispatch.dto.driver.DriverResponse;
+import com.dispatch.entity.Driver;
+import com.dispatch.entity.Driver.DriverGrade;
+import com.dispatch.entity.DriverGradeHistory;
+import com.dispatch.exception.CustomException;
+import com.dispatch.repository.DriverGradeHistoryRepository;
+import com.dispatch.repository.DriverRepository;
+import com.dispatch.service.ReadModelCache.Region;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 기사 자동 등급 산정
+ *
+ * 점수 = 100 × (별점 비중 × 별점 점수 + (1 - 별점 비중) × 경력 점수) - 경고 수 × 경고 감점
+ * - 별점 점수: 시간 감쇠 별점에 사전값(prior)을 섞은 베이즈 평균을 0~1 로 환산 (평가 수가 적으면 사전값 쪽으로)
+ * - 경력 점수: 완료 배차 수 / 목표 건수 (최대 1)
+ *
+ * 배차 완료/평가/경고가 생길 때마다 해당 기사만 재산정하고, 매일 야간에 전체 기사를 청크 단위로 병렬 재산정한다.
+ * 관리자가 직접 지정한 등급은 고정되어 자동 산정에서 제외된다 (고정 해제 시 바로 재산정).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DriverGradingService {
+
+    static final String BATCH_LEASE_NAME = "driver-grading";
+
+    private final DriverRepository driverRepository;
+    private final DriverGradeHistoryRepository gradeHistoryRepository;
+    private final SchedulerLeaseService leaseService;
+    private final ReadModelCache readModelCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${grading.score.rating-prior:3.5}")
+    private double ratingPrior;
+
+    @Value("${grading.score.rating-prior-weight:5}")
+    private double ratingPriorWeight;
+
+    @Value("${grading.score.rating-weight:0.7}")
+    private double ratingWeight;
+
+    @Value("${grading.score.experience-target:50}")
+    private double experienceTarget;
+
+    @Value("${grading.score.warning-penalty:10}")
+    private double warningPenalty;
+
+    @Value("${grading.grade-1.min-score:80}")
+    private int grade1MinScore;
+
+    @Value("${grading.grade-1.min-completed:20}")
+    private int grade1MinCompleted;
+
+    @Value("${grading.grade-2.min-score:60}")
+    private int grade2MinScore;
+
+    @Value("${grading.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${grading.batch.parallelism:4}")
+    private int parallelism;
+
+    @Value("${grading.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    private final AtomicBoolean batchRunning = new AtomicBoolean();
+    private volatile GradingResult lastResult;
+    private ExecutorService batchExecutor;
+
+    @PostConstruct
+    void start() {
+        batchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "driver-grading-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        batchExecutor.shutdownNow();
+    }
+
+    /**
+     * 한 기사 재산정 (완료 건수/별점/경고 반영과 같은 트랜잭션, 기사 행 잠금 상태에서 호출)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void regrade(Driver driver, String trigger) {
+        if (Boolean.TRUE.equals(driver.getGradeLocked())) {
+            return;
+        }
+
+        int score = score(driver.getDecayedRatingSum(), driver.getDecayedRatingWeight(),
+                driver.getTotalCompletedDispatches(), driver.getWarningCount());
+        DriverGrade previousGrade = driver.getGrade();
+        DriverGrade newGrade = gradeFor(score, nz(driver.getTotalCompletedDispatches()));
+
+        if (previousGrade == newGrade) {
+            return;
+        }
+
+        driver.setGrade(newGrade);
+        gradeHistoryRepository.save(DriverGradeHistory.builder()
+                .driverId(driver.getId())
+                .previousGrade(previousGrade != null ? DriverGradeHistory.DriverGrade.valueOf(previousGrade.name()) : null)
+                .newGrade(DriverGradeHistory.DriverGrade.valueOf(newGrade.name()))
+                .reason(reason(trigger, score))
+                .build());
+        readModelCache.evict(Region.DRIVER_PROFILE, driver.getUser().getId());
+
+        log.info("Driver grade recalculated: driverId={}, {} -> {}, score={}, trigger={}",
+                driver.getId(), previousGrade, newGrade, score, trigger);
+    }
+
+    /**
+     * 등급 고정 해제 후 바로 재산정
+     */
+    @Transactional
+    public DriverResponse unlockGrade(Long driverId) {
+        Driver driver = driverRepository.findByIdForUpdate(driverId)
+                .orElseThrow(() -> CustomException.notFound("기사를 찾을 수 없습니다"));
+
+        driver.setGradeLocked(false);
+        regrade(driver, "등급 고정 해제");
+        readModelCache.evict(Region.DRIVER_PROFILE, driver.getUser().getId());
+
+        return DriverResponse.from(driver);
+    }
+
+    /**
+     * 전체 기사 야간 재산정 (리더 인스턴스만, 전용 스레드에서 실행)
+     * 기존 기사 데이터 백필(DataBackfillService)이 끝난 뒤 grading.batch.enabled 로 켠다.
+     */
+    @Scheduled(cron = "${grading.batch.cron:0 40 0 * * *}")
+    public void scheduledRegradeAll() {
+        if (!batchEnabled || !leaseService.tryAcquire(BATCH_LEASE_NAME, Duration.ofMinutes(30))) {
+            return;
+        }
+        batchExecutor.execute(() -> {
+            try {
+                regradeAll();
+            } catch (CustomException e) {
+                log.warn("Driver grading batch skipped: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("Driver grading batch failed", e);
+            }
+        });
+    }
+
+    /**
+     * 전체 기사 재산정 (청크별 트랜잭션, 병렬)
+     * 청크마다 입력값만 조회하고, 등급 전이(이전→새 등급)별로 UPDATE 와 이력 INSERT ... SELECT 를 한 번씩 실행한다.
+     */
+    public GradingResult regradeAll() {
+        if (!batchRunning.compareAndSet(false, true)) {
+            throw CustomException.conflict("등급 일괄 산정이 이미 실행 중입니다");
+        }
+
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            List<Long> driverIds = driverRepository.findAllIds();
+            List<List<Long>> chunks = new ArrayList<>();
+            for (int from = 0; from < driverIds.size(); from += chunkSize) {
+                chunks.add(driverIds.subList(from, Math.min(from + chunkSize, driverIds.size())));
+            }
+
+            int changed = 0;
+            int promoted = 0;
+            int demoted = 0;
+            int failedChunks = 0;
+
+            AtomicInteger threadCounter = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, chunks.size())),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "driver-grading-" + threadCounter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            try {
+                List<Future<int[]>> futures = new ArrayList<>();
+                for (List<Long> chunk : chunks) {
+                    futures.add(executor.submit(() -> regradeChunk(chunk, startedAt)));
+                }
+                for (Future<int[]> future : futures) {
+                    try {
+                        int[] counts = future.get();
+                        changed += counts[0];
+                        promoted += counts[1];
+                        demoted += counts[2];
+                    } catch (ExecutionException e) {
+                        failedChunks++;
+                        log.error("Driver grading chunk failed", e.getCause());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw CustomException.serverError("등급 일괄 산정이 중단되었습니다");
+            } finally {
+                executor.shutdown();
+            }
+
+            LocalDateTime finishedAt = LocalDateTime.now();
+            GradingResult result = GradingResult.builder()
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .durationMs(Duration.between(startedAt, finishedAt).toMillis())
+                    .drivers(driverIds.size())
+                    .chunks(chunks.size())
+                    .failedChunks(failedChunks)
+                    .changed(changed)
+                    .promoted(promoted)
+                    .demoted(demoted)
+                    .build();
+            lastResult = result;
+
+            log.info("Driver grades recalculated: drivers={}, chunks={}, failedChunks={}, changed={}, promoted={}, demoted={}, durationMs={}",
+                    driverIds.size(), chunks.size(), failedChunks, changed, promoted, demoted, result.getDurationMs());
+            return result;
+        } finally {
+            batchRunning.set(false);
+        }
+    }
+
+    public GradingResult getLastResult() {
+        return lastResult;
+    }
+
+    private int[] regradeChunk(List<Long> driverIds, LocalDateTime changedAt) {
+        return transactionTemplate.execute(status -> {
+            Map<Transition, List<Long>> transitions = new LinkedHashMap<>();
+
+            for (Object[] row : driverRepository.findGradingInputsByIds(driverIds)) {
+                Long driverId = (Long) row[0];
+                DriverGrade previousGrade = (DriverGrade) row[1];
+                Integer completed = (Integer) row[4];
+                int score = score((Double) row[2], (Double) row[3], completed, (Integer) row[5]);
+                DriverGrade newGrade = gradeFor(score, nz(completed));
+
+                if (previousGrade != null && previousGrade != newGrade) {
+                    transitions.computeIfAbsent(new Transition(previousGrade, newGrade), t -> new ArrayList<>()).add(driverId);
+                }
+            }
+
+            int changed = 0;
+            int promoted = 0;
+            int demoted = 0;
+            List<Long> changedIds = new ArrayList<>();
+
+            for (Map.Entry<Transition, List<Long>> entry : transitions.entrySet()) {
+                Transition transition = entry.getKey();
+
+                // 아직 이전 등급인 기사만 잠가 두고 그 기사들만 변경/기록 (그 사이 개별 재산정으로 바뀐 기사는 이력 중복 없이 제외)
+                List<Long> ids = driverRepository.findForGradeChange(entry.getValue(), transition.previous()).stream()
+                        .map(Driver::getId)
+                        .toList();
+                if (ids.isEmpty()) {
+                    continue;
+                }
+                int updated = driverRepository.updateGrades(ids, transition.previous(), transition.next());
+                gradeHistoryRepository.insertAutoChanges(ids, transition.next(),
+                        DriverGradeHistory.DriverGrade.valueOf(transition.previous().name()),
+                        DriverGradeHistory.DriverGrade.valueOf(transition.next().name()),
+                        reason("야간 일괄 산정", null), changedAt);
+
+                changed += updated;
+                if (transition.next().ordinal() < transition.previous().ordinal()) {
+                    promoted += updated;
+                } else {
+                    demoted += updated;
+                }
+                changedIds.addAll(ids);
+            }
+
+            if (!changedIds.isEmpty()) {
+                List<Long> userIds = driverRepository.findUserKeysByIds(changedIds).stream()
+                        .map(row -> (Long) row[0])
+                        .toList();
+                readModelCache.evictAll(Region.DRIVER_PROFILE, userIds);
+            }
+
+            return new int[]{changed, promoted, demoted};
+        });
+    }
+
+    /**
+     * 등급 점수 (0~100)
+     */
+    int score(Double decayedRatingSum, Double decayedRatingWeight, Integer completedDispatches, Integer warningCount) {
+        double rating = (nz(decayedRatingSum) + ratingPrior * ratingPriorWeight)
+                / (nz(decayedRatingWeight) + ratingPriorWeight);
+        double ratingScore = (rating - 1) / 4;
+        double experienceScore = Math.min(1.0, nz(completedDispatches) / experienceTarget);
+
+        double score = 100 * (ratingWeight * ratingScore + (1 - ratingWeight) * experienceScore)
+                - warningPenalty * nz(warningCount);
+        return (int) Math.round(Math.max(0, Math.min(100, score)));
+    }
+
+    DriverGrade gradeFor(int score, int completedDispatches) {
+        if (score >= grade1MinScore && completedDispatches >= grade1MinCompleted) {
+            return DriverGrade.GRADE_1;
+        }
+        if (score >= grade2MinScore) {
+            return DriverGrade.GRADE_2;
+        }
+        return DriverGrade.GRADE_3;
+    }
+
+    private static String reason(String trigger, Integer score) {
+        return score != null
+                ? "자동 등급 산정 (" + trigger + ", 점수 " + score + ")"
+                : "자동 등급 산정 (" + trigger + ")";
+    }
+
+    private static int nz(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static double nz(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    private record Transition(DriverGrade previous, DriverGrade next) {
+    }
+}
@@ -0,0 +1,309 @@
+package com.dispatch.service;
+
+import com.dispatch.entity.DispatchMatch.MatchStatus;
+import com.dispatch.entity.DispatchRequest;
+import com.dispatch.exception.CustomException;
+import com.dispatch.repository.DispatchMatchRepository;
+import com.dispatch.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 기사 일정 색인 (메모리)
+ *
+ * 진행 중 매칭(ACCEPTED ~ WORKING)의 작업 시간 [작업 시각, 작업 시각 + 예상 시간) 을 기사별로 시작 순 정렬해 둔다.
+ * 배차 수락/목록 조회 때 "이 기사 일정과 겹치는가" 를 SQL 없이 O(log n) 으로 답한다.
+ * - 수락: 겹침 확인과 등록을 기사 일정 잠금 안에서 한 번에 (같은 인스턴스의 동시 수락도 하나만 통과), 롤백되면 제거
+ * - 작업 완료/취소: 커밋 이후 제거
+ * - 다른 인스턴스 변경: sync 주기마다 updated_at 이후 바뀐 매칭만 반영
+ * - 전체 재적재: 시작 시와 reload 주기마다 (지난 일정 정리, 어제 작업일부터 적재)
+ * 기사 일정이 바뀌면 등록된 리스너에 기사 ID 를 알린다 (배차 목록 피드의 기사별 노출 재계산).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DriverScheduleIndex {
+
+    private static final Set<MatchStatus> ACTIVE_STATUSES =
+            Set.of(MatchStatus.ACCEPTED, MatchStatus.EN_ROUTE, MatchStatus.ARRIVED, MatchStatus.WORKING);
+
+    // 다른 인스턴스와의 시계 차이/커밋 지연 여유 (겹쳐 조회해도 반영은 멱등)
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+
+    private final DispatchMatchRepository dispatchMatchRepository;
+
+    @Value("${schedule.default-hours:4}")
+    private int defaultHours;
+
+    @Value("${schedule.buffer-minutes:0}")
+    private int bufferMinutes;
+
+    // 기사 ID -> 일정
+    private final Map<Long, DriverSchedule> schedules = new ConcurrentHashMap<>();
+    // 배차 ID -> 기사 ID (제거용)
+    private final Map<Long, Long> driverByDispatch = new ConcurrentHashMap<>();
+
+    private final List<Consumer<Long>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile LocalDateTime syncedAt;
+
+    // reload/sync 직렬화 - DB 조회 중에 모니터(synchronized)를 잡고 있으면 가상 스레드가 캐리어 스레드에 고정된다
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    @PostConstruct
+    void init() {
+        reload();
+    }
+
+    /**
+     * 전체 재적재 - 적재 시작 이후 이 인스턴스에서 등록된 일정은 유지한다
+     */
+    @Scheduled(fixedDelayString = "${schedule.reload-ms:600000}", initialDelayString = "${schedule.reload-ms:600000}")
+    public void reload() {
+        refreshLock.lock();
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long startedNanos = System.nanoTime();
+
+            Set<Long> loaded = new HashSet<>();
+            for (Object[] row : dispatchMatchRepository.findActiveSchedules(LocalDate.now().minusDays(1))) {
+                Long dispatchId = (Long) row[0];
+                put((Long) row[1], dispatchId, (LocalDate) row[2], (LocalTime) row[3], (Integer) row[4]);
+                loaded.add(dispatchId);
+            }
+
+            int removed = 0;
+            for (Map.Entry<Long, Long> entry : driverByDispatch.entrySet()) {
+                if (!loaded.contains(entry.getKey()) && remove(entry.getKey(), startedNanos)) {
+                    removed++;
+                }
+            }
+            syncedAt = startedAt;
+            log.debug("Driver schedule index reloaded: slots={}, removed={}", loaded.size(), removed);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * 다른 인스턴스에서 바뀐 매칭 반영
+     */
+    @Scheduled(fixedDelayString = "${schedule.sync-ms:5000}", initialDelayString = "${schedule.sync-ms:5000}")
+    public void sync() {
+        refreshLock.lock();
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            LocalDateTime since = syncedAt != null
+                    ? syncedAt.minusSeconds(SYNC_OVERLAP_SECONDS) : startedAt.minusDays(1);
+
+            for (Object[] row : dispatchMatchRepository.findScheduleChangesSince(since)) {
+                Long dispatchId = (Long) row[0];
+                if (ACTIVE_STATUSES.contains((MatchStatus) row[5])) {
+                    put((Long) row[1], dispatchId, (LocalDate) row[2], (LocalTime) row[3], (Integer) row[4]);
+                } else {
+                    remove(dispatchId, Long.MAX_VALUE);
+                }
+            }
+            syncedAt = startedAt;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * 기사 일정과 배차 작업 시간이 겹치는지 (같은 배차는 제외)
+     */
+    public boolean conflicts(Long driverId, DispatchRequest dispatch) {
+        return conflicts(driverId, dispatch.getId(), dispatch.getWorkDate(), dispatch.getWorkTime(),
+                dispatch.getEstimatedHours());
+    }
+
+    public boolean conflicts(Long driverId, Long dispatchId, LocalDate workDate, LocalTime workTime,
+                             Integer estimatedHours) {
+        DriverSchedule schedule = schedules.get(driverId);
+        if (schedule == null) {
+            return false;
+        }
+        long start = startMinute(workDate, workTime);
+        return schedule.findOverlap(start, endMinute(start, workTime, estimatedHours), dispatchId) != null;
+    }
+
+    /**
+     * 기사 일정 변경 리스너 등록 (기사 ID 를 받는다, 일정 잠금 밖에서 호출)
+     */
+    public void addListener(Consumer<Long> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 수락 시 일정 등록 (겹치면 409) - 수락 트랜잭션이 롤백되면 제거된다
+     */
+    public void reserve(Long driverId, DispatchRequest dispatch) {
+        long start = startMinute(dispatch.getWorkDate(), dispatch.getWorkTime());
+        Slot slot = new Slot(dispatch.getId(), start,
+                endMinute(start, dispatch.getWorkTime(), dispatch.getEstimatedHours()), System.nanoTime());
+
+        DriverSchedule schedule = schedules.computeIfAbsent(driverId, id -> new DriverSchedule());
+        if (!schedule.addIfFree(slot)) {
+            throw CustomException.conflict("같은 시간대에 이미 수락한 배차가 있습니다");
+        }
+        driverByDispatch.put(dispatch.getId(), driverId);
+        notifyChanged(driverId);
+
+        TransactionCallbacks.afterRollback(() -> remove(dispatch.getId(), Long.MAX_VALUE));
+    }
+
+    /**
+     * 작업 완료/취소로 일정 해제 (커밋 이후)
+     */
+    public void release(Long dispatchId) {
+        TransactionCallbacks.afterCommit(() -> remove(dispatchId, Long.MAX_VALUE));
+    }
+
+    public int size() {
+        return driverByDispatch.size();
+    }
+
+    private void put(Long driverId, Long dispatchId, LocalDate workDate, LocalTime workTime, Integer estimatedHours) {
+        Long previousDriverId = driverByDispatch.put(dispatchId, driverId);
+        if (previousDriverId != null && !previousDriverId.equals(driverId)
+                && remove(previousDriverId, dispatchId, Long.MAX_VALUE)) {
+            notifyChanged(previousDriverId);
+        }
+        long start = startMinute(workDate, workTime);
+        boolean changed = schedules.computeIfAbsent(driverId, id -> new DriverSchedule())
+                .put(new Slot(dispatchId, start, endMinute(start, workTime, estimatedHours), System.nanoTime()));
+        if (changed) {
+            notifyChanged(driverId);
+        }
+    }
+
+    /**
+     * addedBefore 이전에 등록된 일정만 제거 (재적재 도중 새로 수락된 일정 보호)
+     */
+    private boolean remove(Long dispatchId, long addedBefore) {
+        Long driverId = driverByDispatch.get(dispatchId);
+        if (driverId == null || !remove(driverId, dispatchId, addedBefore)) {
+            return false;
+        }
+        driverByDispatch.remove(dispatchId, driverId);
+        notifyChanged(driverId);
+        return true;
+    }
+
+    private boolean remove(Long driverId, Long dispatchId, long addedBefore) {
+        DriverSchedule schedule = schedules.get(driverId);
+        return schedule != null && schedule.remove(dispatchId, addedBefore);
+    }
+
+    private void notifyChanged(Long driverId) {
+        for (Consumer<Long> listener : listeners) {
+            try {
+                listener.accept(driverId);
+            } catch (RuntimeException e) {
+                log.warn("Driver schedule listener failed: driverId={}, error={}", driverId, e.getMessage());
+            }
+        }
+    }
+
+    // 작업 시각이 없으면 작업일 하루 전체를 일정으로 본다
+    private static long startMinute(LocalDate workDate, LocalTime workTime) {
+        LocalTime time = workTime != null ? workTime : LocalTime.MIDNIGHT;
+        return LocalDateTime.of(workDate, time).toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private long endMinute(long startMinute, LocalTime workTime, Integer estimatedHours) {
+        if (workTime == null) {
+            return startMinute + 24 * 60L + bufferMinutes;
+        }
+        int hours = estimatedHours != null && estimatedHours > 0 ? estimatedHours : defaultHours;
+        return startMinute + hours * 60L + bufferMinutes;
+    }
+
+    /**
+     * 작업 시간 [start, end) (epoch 분), addedAt 은 등록 시각 (System.nanoTime)
+     */
+    private record Slot(Long dispatchId, long start, long end, long addedAt) {
+    }
+
+    /**
+     * 기사 한 명의 일정 (시작 순 정렬)
+     */
+    private static final class DriverSchedule {
+
+        private static final Comparator<Slot> ORDER = Comparator.comparingLong(Slot::start)
+                .thenComparing(Slot::dispatchId);
+
+        private final TreeSet<Slot> slots = new TreeSet<>(ORDER);
+        private final Map<Long, Slot> byDispatch = new HashMap<>();
+        // 가장 긴 일정 길이 - 이보다 앞서 시작한 일정은 겹칠 수 없으므로 탐색을 멈춘다
+        private long maxLength;
+
+        synchronized Slot findOverlap(long start, long end, Long excludedDispatchId) {
+            // 시작이 end 보다 앞선 일정을 늦게 시작한 순으로
+            Iterator<Slot> iterator = slots.headSet(new Slot(Long.MIN_VALUE, end, end, 0), false).descendingIterator();
+            while (iterator.hasNext()) {
+                Slot slot = iterator.next();
+                if (slot.start() + maxLength <= start) {
+                    return null;
+                }
+                if (slot.end() > start && !slot.dispatchId().equals(excludedDispatchId)) {
+                    return slot;
+                }
+            }
+            return null;
+        }
+
+        synchronized boolean addIfFree(Slot slot) {
+            if (findOverlap(slot.start(), slot.end(), slot.dispatchId()) != null) {
+                return false;
+            }
+            put(slot);
+            return true;
+        }
+
+        /**
+         * 등록 (작업 시간이 새로 생기거나 바뀌었으면 true)
+         */
+        synchronized boolean put(Slot slot) {
+            Slot previous = byDispatch.put(slot.dispatchId(), slot);
+            if (previous != null) {
+                slots.remove(previous);
+            }
+            slots.add(slot);
+            maxLength = Math.max(maxLength, slot.end() - slot.start());
+            return previous == null || previous.start() != slot.start() || previous.end() != slot.end();
+        }
+
+        synchronized boolean remove(Long dispatchId, long addedBefore) {
+            Slot slot = byDispatch.get(dispatchId);
+            if (slot == null || slot.addedAt() >= addedBefore) {
+                return false;
+            }
+            byDispatch.remove(dispatchId);
+            slots.remove(slot);
+            return true;
+        }
+    }
+}
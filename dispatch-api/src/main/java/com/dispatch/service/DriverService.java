@@ -4,6 +4,7 @@ import com.dispatch.dto.admin.GradeUpdateRequest;
 import com.dispatch.dto.driver.DriverRegisterRequest;
 import com.dispatch.dto.driver.DriverResponse;
 import com.dispatch.dto.driver.LocationUpdateRequest;
+import com.dispatch.entity.DocumentVerificationJob;
 import com.dispatch.entity.Driver;
 import com.dispatch.entity.DriverGradeHistory;
 import com.dispatch.entity.Equipment;
@@ -13,14 +14,13 @@ import com.dispatch.repository.DriverGradeHistoryRepository;
 import com.dispatch.repository.DriverRepository;
 import com.dispatch.repository.EquipmentRepository;
 import com.dispatch.repository.UserRepository;
+import com.dispatch.service.ReadModelCache.Region;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.dispatch.dto.verify.VerifyResponse;
-
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -35,7 +35,10 @@ public class DriverService {
     private final DriverGradeHistoryRepository gradeHistoryRepository;
     private final FileStorageService fileStorageService;
     private final NotificationService notificationService;
-    private final VerifyService verifyService;
+    private final BusinessVerificationService businessVerificationService;
+    private final ReadModelCache readModelCache;
+    private final DriverCandidateIndex candidateIndex;
+    private final DocumentVerificationQueue documentVerificationQueue;
 
     @Transactional
     public DriverResponse register(Long userId, DriverRegisterRequest request) {
@@ -50,18 +53,10 @@ public class DriverService {
         Driver driver = driverRepository.findByUserId(userId).orElse(null);
         boolean isUpdate = driver != null;
 
-        // 사업자등록번호 검증
+        // 사업자등록번호 검증 (형식만 바로, 등록 상태 조회는 커밋 이후 비동기로 반영)
         String verificationMessage = null;
         if (request.getBusinessRegistrationNumber() != null) {
-            VerifyResponse verifyResult = verifyService.verifyBusinessRegistration(
-                    request.getBusinessRegistrationNumber().replaceAll("-", ""));
-
-            if (verifyResult.getResult() == VerifyResponse.VerifyResult.INVALID) {
-                verificationMessage = "사업자등록번호 검증 실패: " + verifyResult.getMessage();
-                log.warn("Business registration verification failed: {}", verificationMessage);
-            } else if (verifyResult.getResult() == VerifyResponse.VerifyResult.VALID) {
-                verificationMessage = "사업자등록번호 검증 완료";
-            }
+            verificationMessage = businessVerificationService.initialMessage(request.getBusinessRegistrationNumber());
         }
 
         if (isUpdate) {
@@ -102,6 +97,15 @@ public class DriverService {
             driver.getEquipments().add(equipment);
         }
 
+        if (BusinessVerificationService.PENDING_MESSAGE.equals(verificationMessage)) {
+            businessVerificationService.verifyDriverAfterCommit(driver.getId(), request.getBusinessRegistrationNumber());
+        }
+
+        evictDriverCache(driver);
+        candidateIndex.reloadDriver(driver.getId());
+        // 토큰 인증 캐시에 기사 ID 반영
+        readModelCache.evict(Region.USER, driver.getUser().getEmail());
+
         return DriverResponse.from(driver);
     }
 
@@ -117,6 +121,8 @@ public class DriverService {
 
         log.info("Business registration uploaded: driverId={}", driver.getId());
 
+        evictDriverCache(driver);
+
         return DriverResponse.from(driver);
     }
 
@@ -132,24 +138,39 @@ public class DriverService {
 
         log.info("Driver license uploaded: driverId={}", driver.getId());
 
+        evictDriverCache(driver);
+
         return DriverResponse.from(driver);
     }
 
+    /**
+     * 프로필 조회 - 캐시에는 위치를 빼고 담고, 위치는 조회할 때 덧씌운다 (위치 보고마다 캐시를 무효화하지 않도록)
+     */
     @Transactional(readOnly = true)
     public DriverResponse getProfile(Long userId) {
-        Driver driver = getDriverByUserId(userId);
-        return DriverResponse.from(driver);
+        DriverResponse cached = readModelCache.get(Region.DRIVER_PROFILE, userId, () -> {
+            DriverResponse response = DriverResponse.from(getDriverByUserId(userId));
+            response.setLatitude(null);
+            response.setLongitude(null);
+            return response;
+        });
+        return withCurrentLocation(cached);
     }
 
     @Transactional
     public DriverResponse updateLocation(Long userId, LocationUpdateRequest request) {
         Driver driver = getDriverByUserId(userId);
 
-        driver.setLatitude(request.getLatitude());
-        driver.setLongitude(request.getLongitude());
-        driver.setLocationUpdatedAt(LocalDateTime.now());
+        // 엔티티는 건드리지 않고 위치 컬럼만 갱신 (동시에 바뀐 별점 집계/등급을 되돌리지 않도록)
+        driverRepository.updateLocation(driver.getId(), request.getLatitude(), request.getLongitude(), LocalDateTime.now());
 
-        return DriverResponse.from(driver);
+        // 프로필 캐시에는 위치가 없으므로 무효화하지 않는다
+        candidateIndex.updateLocation(driver.getId(), request.getLatitude(), request.getLongitude());
+
+        DriverResponse response = DriverResponse.from(driver);
+        response.setLatitude(request.getLatitude());
+        response.setLongitude(request.getLongitude());
+        return response;
     }
 
     @Transactional
@@ -163,12 +184,15 @@ public class DriverService {
         driver.setIsActive(active);
         log.info("Driver active status changed: driverId={}, active={}", driver.getId(), active);
 
+        evictDriverCache(driver);
+        candidateIndex.reloadDriver(driver.getId());
+
         return DriverResponse.from(driver);
     }
 
     @Transactional(readOnly = true)
     public List<DriverResponse> getPendingDrivers() {
-        return driverRepository.findByVerificationStatus(Driver.VerificationStatus.PENDING)
+        return driverRepository.findWithDetailsByVerificationStatus(Driver.VerificationStatus.PENDING)
                 .stream()
                 .map(DriverResponse::from)
                 .toList();
@@ -207,6 +231,10 @@ public class DriverService {
         // 기사에게 승인 알림 전송
         notificationService.notifyDriverApproved(driver);
 
+        evictDriverCache(driver);
+        readModelCache.evict(Region.USER, driver.getUser().getEmail());
+        candidateIndex.reloadDriver(driver.getId());
+
         return DriverResponse.from(driver);
     }
 
@@ -226,6 +254,10 @@ public class DriverService {
         // 기사에게 거절 알림 전송
         notificationService.notifyDriverRejected(driver, reason);
 
+        evictDriverCache(driver);
+        readModelCache.evict(Region.USER, driver.getUser().getEmail());
+        candidateIndex.reloadDriver(driver.getId());
+
         return DriverResponse.from(driver);
     }
 
@@ -237,7 +269,11 @@ public class DriverService {
         Driver.DriverGrade previousGrade = driver.getGrade();
         Driver.DriverGrade newGrade = request.getGrade();
 
+        // 관리자가 지정한 등급은 고정 (자동 등급 산정 제외, 같은 등급 지정도 고정)
+        driver.setGradeLocked(true);
+
         if (previousGrade == newGrade) {
+            evictDriverCache(driver);
             return DriverResponse.from(driver);
         }
 
@@ -259,6 +295,8 @@ public class DriverService {
         log.info("Driver grade updated: driverId={}, {} -> {}, adminId={}",
                 driverId, previousGrade, newGrade, adminId);
 
+        evictDriverCache(driver);
+
         return DriverResponse.from(driver);
     }
 
@@ -267,6 +305,29 @@ public class DriverService {
                 .orElseThrow(() -> CustomException.notFound("기사 정보를 찾을 수 없습니다. 먼저 기사 등록을 해주세요."));
     }
 
+    /**
+     * 캐시된 프로필 사본에 현재 위치 적용 - 후보 색인(활동 기사)에 있으면 그 값, 없으면 위치 컬럼만 조회
+     * (다른 인스턴스로 들어온 위치는 색인 전체 재적재 주기만큼 늦게 보일 수 있다)
+     */
+    private DriverResponse withCurrentLocation(DriverResponse cached) {
+        DriverResponse response = cached.toBuilder().build();
+        DriverCandidateIndex.Candidate candidate = candidateIndex.get(cached.getId());
+        if (candidate != null) {
+            response.setLatitude(candidate.getLatitude());
+            response.setLongitude(candidate.getLongitude());
+            return response;
+        }
+        driverRepository.findLocationById(cached.getId()).stream().findFirst().ifPresent(row -> {
+            response.setLatitude((Double) row[0]);
+            response.setLongitude((Double) row[1]);
+        });
+        return response;
+    }
+
+    private void evictDriverCache(Driver driver) {
+        readModelCache.evict(Region.DRIVER_PROFILE, driver.getUser().getId());
+    }
+
     private void updateVerificationStatus(Driver driver) {
         // 사업자등록증과 운전면허증 모두 업로드 완료 시 검증 대기 상태로 변경
         if (driver.getBusinessRegistrationImage() != null &&
@@ -275,6 +336,7 @@ public class DriverService {
 
             driver.setVerificationStatus(Driver.VerificationStatus.VERIFYING);
             driver.setVerificationMessage("서류 검토 중입니다");
+            documentVerificationQueue.submit(DocumentVerificationJob.OwnerType.DRIVER, driver.getId());
         }
     }
 }
@@ -0,0 +1,140 @@
+package com.dispatch.service;
+
+import com.dispatch.repository.CompanyRepository;
+import com.dispatch.repository.DispatchMatchRepository;
+import com.dispatch.repository.DispatchRequestRepository;
+import com.dispatch.repository.DriverRepository;
+import com.dispatch.repository.EquipmentRepository;
+import com.dispatch.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 조회 응답 ETag (조건부 GET)
+ *
+ * 응답 본문을 만들거나 직렬화하지 않고, 응답에 들어가는 행들의 (행 수, 최대 updated_at) 집계만으로 약한 태그를 만든다.
+ * 추가/수정은 최대 updated_at 으로, 삭제는 행 수로 드러난다.
+ * 컨트롤러는 서비스 호출 전에 notModified 로 확인하고, 같으면 본문 없이 304 를 돌려준다.
+ * - 최근 settle-seconds 안에 바뀐 행이 있으면 태그를 만들지 않는다 (updated_at 은 커밋보다 먼저 찍히므로
+ *   늦게 커밋된 변경이 같은 태그 뒤에 숨지 않도록)
+ * - 응답 형식(DTO)이 바뀌면 FORMAT 을 올린다
+ * - 기사 위치 갱신은 drivers.updated_at 을 올리지 않으므로 태그에 반영되지 않는다
+ *   (위치 보고마다 기사 목록/대시보드 태그가 바뀌지 않도록, 실시간 위치는 WebSocket 위치 알림으로 본다)
+ */
+@Service
+@RequiredArgsConstructor
+public class EntityTagService {
+
+    // 응답 형식 버전 (DTO 필드가 바뀌면 올린다)
+    private static final String FORMAT = "1";
+
+    // 클라이언트가 저장하되 매번 재검증 (본문은 사용자별이므로 공유 캐시 금지)
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final DriverRepository driverRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final UserRepository userRepository;
+    private final CompanyRepository companyRepository;
+    private final DispatchRequestRepository dispatchRequestRepository;
+    private final DispatchMatchRepository dispatchMatchRepository;
+
+    @Value("${etag.settle-seconds:5}")
+    private long settleSeconds;
+
+    /**
+     * If-None-Match 와 같으면 304 로 처리하고 true (ETag 헤더는 두 경우 모두 설정된다)
+     */
+    public boolean notModified(WebRequest request, String tag) {
+        return tag != null && request.checkNotModified(tag);
+    }
+
+    // ========== 태그 ==========
+
+    // 기사 목록 (관리자)
+    @Transactional(readOnly = true)
+    public String drivers() {
+        return tag("drivers", driverRepository.findWatermark(), equipmentRepository.findWatermark());
+    }
+
+    // 기사 배차 이력
+    @Transactional(readOnly = true)
+    public String driverHistory(Long userId) {
+        return tag("driver-history:" + userId, dispatchMatchRepository.findDriverHistoryWatermark(userId));
+    }
+
+    // 작업 확인서 목록 (관리자)
+    @Transactional(readOnly = true)
+    public String workReports() {
+        return tag("work-reports", dispatchMatchRepository.findSignedWatermark());
+    }
+
+    // 대시보드 통계 (오늘/최근 7일 기준이라 날짜가 바뀌면 태그도 바뀐다)
+    @Transactional(readOnly = true)
+    public String dashboardStatistics() {
+        return tag("dashboard:" + LocalDate.now(), dispatchRequestRepository.findWatermark(),
+                driverRepository.findWatermark(), companyRepository.findWatermark());
+    }
+
+    @Transactional(readOnly = true)
+    public String driverStatistics() {
+        return tag("driver-statistics", driverRepository.findWatermark(), dispatchMatchRepository.findWatermark());
+    }
+
+    @Transactional(readOnly = true)
+    public String driverStatistics(Long driverId) {
+        return tag("driver-statistics:" + driverId, driverRepository.findStatisticsWatermarkById(driverId));
+    }
+
+    @Transactional(readOnly = true)
+    public String myDriverStatistics(Long userId) {
+        return tag("my-driver-statistics:" + userId, driverRepository.findStatisticsWatermarkByUserId(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public String companyStatistics() {
+        return tag("company-statistics", companyRepository.findWatermark(),
+                dispatchRequestRepository.findWatermark(), userRepository.findWatermark());
+    }
+
+    @Transactional(readOnly = true)
+    public String companyStatistics(Long companyId) {
+        return tag("company-statistics:" + companyId, companyRepository.findStatisticsWatermarkById(companyId));
+    }
+
+    @Transactional(readOnly = true)
+    public String myCompanyStatistics(Long userId) {
+        return tag("my-company-statistics:" + userId, companyRepository.findStatisticsWatermarkByUserId(userId));
+    }
+
+    /**
+     * 집계 행들로 약한 태그 생성
+     * 최근 변경이 있거나 대상이 없으면(없는 기사/발주처 - 서비스가 오류를 돌려줄 요청) null
+     */
+    @SafeVarargs
+    private String tag(String resource, List<Object[]>... watermarks) {
+        LocalDateTime settledBefore = LocalDateTime.now().minusSeconds(settleSeconds);
+        StringBuilder source = new StringBuilder(FORMAT).append('|').append(resource);
+        for (List<Object[]> rows : watermarks) {
+            if (rows.isEmpty()) {
+                return null;
+            }
+            for (Object value : rows.get(0)) {
+                if (value instanceof LocalDateTime updatedAt && updatedAt.isAfter(settledBefore)) {
+                    return null;
+                }
+                source.append('|').append(value);
+            }
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,82 @@
+package com.dispatch.service;
+
+import com.google.firebase.messaging.MulticastMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 FCM 대역 (fcm.fake.enabled=true)
+ *
+ * 실제로 전송하지 않고 토큰 이름으로 결과를 흉내 낸다.
+ * - fake-{오류코드}-{n}-... : 처음 n번은 해당 오류로 실패하고 이후 성공 (n=0 이면 항상 실패)
+ *   예) fake-UNAVAILABLE-2-a, fake-QUOTA_EXCEEDED-1-b, fake-UNREGISTERED-0-c
+ * - 그 외 토큰 : 항상 성공
+ */
+@Slf4j
+public class FakeFcmSender implements FcmSender {
+
+    private static final String PREFIX = "fake-";
+
+    private final Map<String, AtomicInteger> attemptsByToken = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @Override
+    public List<String> send(MulticastMessage message, List<String> tokens) {
+        requests.incrementAndGet();
+
+        List<String> errorCodes = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            String errorCode = simulate(token);
+            if (errorCode == null) {
+                delivered.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+            errorCodes.add(errorCode);
+        }
+
+        log.debug("Fake FCM sent: tokens={}, delivered={}, failed={}", tokens.size(), delivered.get(), failed.get());
+        return errorCodes;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    private String simulate(String token) {
+        if (!token.startsWith(PREFIX)) {
+            return null;
+        }
+
+        String[] parts = token.substring(PREFIX.length()).split("-", 3);
+        if (parts.length < 2) {
+            return null;
+        }
+
+        int failures;
+        try {
+            failures = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        int attempt = attemptsByToken.computeIfAbsent(token, key -> new AtomicInteger()).incrementAndGet();
+        return failures == 0 || attempt <= failures ? parts[0] : null;
+    }
+}
@@ -0,0 +1,159 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.websocket.WebSocketMessage.MessageType;
+import com.google.firebase.messaging.AndroidConfig;
+import com.google.firebase.messaging.AndroidNotification;
+import com.google.firebase.messaging.ApnsConfig;
+import com.google.firebase.messaging.Aps;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.WebpushConfig;
+import com.google.firebase.messaging.WebpushNotification;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MessageType 별 FCM 메시지 템플릿
+ *
+ * 플랫폼 설정(Android/APNs/Webpush)은 불변 객체라 기동 시 한 번만 만들어 재사용한다.
+ * 제목/본문은 최상위 Notification 으로만 전달하고 플랫폼 설정은 아이콘, 채널, 사운드만 가진다.
+ * 이벤트마다 새로 만드는 것은 Notification 과 data 맵뿐이다.
+ *
+ * 조용한(data-only) 템플릿은 알림 표시 없이 앱에 데이터만 전달한다.
+ * 잦은 상태 갱신용이며 Android NORMAL 우선순위, APNs background(content-available) 로 전송된다.
+ */
+@Component
+public class FcmMessageTemplates {
+
+    // 화면 표시 알림 공통 플랫폼 설정
+    static final AndroidConfig ANDROID_ALERT = AndroidConfig.builder()
+            .setNotification(AndroidNotification.builder()
+                    .setIcon("ic_notification")
+                    .setColor("#2563EB")
+                    .setSound("default")
+                    .setChannelId("dispatch_channel")
+                    .build())
+            .setPriority(AndroidConfig.Priority.HIGH)
+            .build();
+
+    static final ApnsConfig APNS_ALERT = ApnsConfig.builder()
+            .setAps(Aps.builder()
+                    .setSound("default")
+                    .setBadge(1)
+                    .build())
+            .build();
+
+    static final WebpushConfig WEBPUSH_ALERT = WebpushConfig.builder()
+            .setNotification(WebpushNotification.builder()
+                    .setIcon("/icons/icon-192x192.png")
+                    .build())
+            .build();
+
+    // 조용한(data-only) 전송 플랫폼 설정
+    static final AndroidConfig ANDROID_SILENT = AndroidConfig.builder()
+            .setPriority(AndroidConfig.Priority.NORMAL)
+            .build();
+
+    static final ApnsConfig APNS_SILENT = ApnsConfig.builder()
+            .putHeader("apns-push-type", "background")
+            .putHeader("apns-priority", "5")
+            .setAps(Aps.builder()
+                    .setContentAvailable(true)
+                    .build())
+            .build();
+
+    /**
+     * 기본 템플릿 (MessageType 없이 제목/본문을 직접 지정하는 전송용)
+     */
+    public static final Template DEFAULT = Template.alert(null, null, null);
+
+    private final Map<MessageType, Template> templates = new EnumMap<>(MessageType.class);
+
+    public FcmMessageTemplates() {
+        // 배차 관련
+        register(Template.alert(MessageType.NEW_DISPATCH, "새 배차 요청", "%s 근처 새 배차가 등록되었습니다."));
+        register(Template.alert(MessageType.DISPATCH_OFFER, "배차 우선 제안", "%s 배차가 제안되었습니다. %d초 안에 수락해 주세요."));
+        register(Template.alert(MessageType.DISPATCH_ACCEPTED, "배차 수락됨", "기사가 배차를 수락했습니다. (배차 #%d)"));
+        register(Template.alert(MessageType.DISPATCH_ARRIVED, "기사 도착", "기사가 현장에 도착했습니다. (배차 #%d)"));
+        register(Template.alert(MessageType.DISPATCH_COMPLETED, "작업 완료", "작업이 완료되었습니다. (배차 #%d)"));
+        register(Template.alert(MessageType.DISPATCH_CANCELLED, "배차 취소", "배차가 취소되었습니다. (배차 #%d)"));
+
+        // 기사 관련
+        register(Template.alert(MessageType.DRIVER_APPROVED, "가입 승인",
+                "축하합니다! 기사 등록이 승인되었습니다. 이제 배차를 받을 수 있습니다."));
+        register(Template.alert(MessageType.DRIVER_REJECTED, "가입 거절", "기사 등록이 거절되었습니다. 사유: %s"));
+
+        // 잦은 상태 갱신 (data-only, 앱이 백그라운드인 사용자에게만 - NotificationService.pushSilentIfOffline)
+        register(Template.silent(MessageType.CHAT_READ));
+        register(Template.silent(MessageType.CHAT_UNREAD));
+
+        // 채팅/시스템 (제목/본문은 이벤트마다 지정)
+        register(Template.alert(MessageType.CHAT_MESSAGE, null, null));
+        register(Template.alert(MessageType.SYSTEM_NOTICE, null, null));
+    }
+
+    /**
+     * MessageType 템플릿 조회 (미등록이면 기본 템플릿)
+     */
+    public Template get(MessageType type) {
+        return templates.getOrDefault(type, DEFAULT);
+    }
+
+    private void register(Template template) {
+        templates.put(template.type(), template);
+    }
+
+    /**
+     * FCM 메시지 템플릿 - 불변 플랫폼 설정과 제목/본문 형식
+     */
+    public record Template(MessageType type, String title, String bodyFormat, boolean silent,
+                           AndroidConfig android, ApnsConfig apns, WebpushConfig webpush) {
+
+        static Template alert(MessageType type, String title, String bodyFormat) {
+            return new Template(type, title, bodyFormat, false, ANDROID_ALERT, APNS_ALERT, WEBPUSH_ALERT);
+        }
+
+        static Template silent(MessageType type) {
+            return new Template(type, null, null, true, ANDROID_SILENT, APNS_SILENT, null);
+        }
+
+        /**
+         * 본문 형식에 이벤트 값 적용
+         */
+        public String body(Object... args) {
+            if (bodyFormat == null || args.length == 0) {
+                return bodyFormat;
+            }
+            return String.format(bodyFormat, args);
+        }
+
+        /**
+         * 토큰 청크 하나에 보낼 multicast 메시지 생성
+         */
+        public MulticastMessage build(List<String> tokens, String title, String body, Map<String, String> data) {
+            MulticastMessage.Builder builder = MulticastMessage.builder()
+                    .addAllTokens(tokens)
+                    .setAndroidConfig(android);
+
+            if (data != null) {
+                builder.putAllData(data);
+            }
+            if (apns != null) {
+                builder.setApnsConfig(apns);
+            }
+            if (webpush != null) {
+                builder.setWebpushConfig(webpush);
+            }
+            if (!silent) {
+                builder.setNotification(Notification.builder()
+                        .setTitle(title != null ? title : this.title)
+                        .setBody(body)
+                        .build());
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.dispatch.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FCM 전송 속도 제한 (초당 메시지 수 기준 토큰 버킷)
+ *
+ * 최대 1초 분량까지는 바로 보내고, 그 이상은 설정 속도에 맞춰 전송 스레드를 대기시킨다.
+ * 할당량 초과 응답을 받으면 pauseForQuota() 로 일정 시간(fcm.rate-limit.quota-pause-ms) 전체 전송을 멈춘다.
+ */
+@Slf4j
+@Component
+public class FcmRateLimiter {
+
+    private static final long BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long nanosPerMessage;
+    private final long quotaPauseNanos;
+
+    private long nextFreeNanos = System.nanoTime();
+    private long pausedUntilNanos = System.nanoTime();
+
+    public FcmRateLimiter(@Value("${fcm.rate-limit.messages-per-second:1000}") int messagesPerSecond,
+                          @Value("${fcm.rate-limit.quota-pause-ms:10000}") long quotaPauseMs) {
+        this.nanosPerMessage = TimeUnit.SECONDS.toNanos(1) / Math.max(messagesPerSecond, 1);
+        this.quotaPauseNanos = TimeUnit.MILLISECONDS.toNanos(quotaPauseMs);
+    }
+
+    /**
+     * 메시지 수만큼 전송 허가 획득 (필요하면 대기)
+     */
+    public void acquire(int messages) {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            nextFreeNanos = Math.max(nextFreeNanos, now) + messages * nanosPerMessage;
+            waitNanos = Math.max(nextFreeNanos - now - BURST_NANOS, pausedUntilNanos - now);
+        }
+
+        if (waitNanos > 0) {
+            log.debug("FCM rate limited: messages={}, waitMs={}", messages, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            sleep(waitNanos);
+        }
+    }
+
+    /**
+     * 할당량 초과 시 전체 전송 일시 중지
+     */
+    public synchronized void pauseForQuota() {
+        long until = System.nanoTime() + quotaPauseNanos;
+        if (until - pausedUntilNanos > 0) {
+            pausedUntilNanos = until;
+            log.warn("FCM sending paused for {}ms (quota exceeded)", TimeUnit.NANOSECONDS.toMillis(quotaPauseNanos));
+        }
+    }
+
+    private void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.dispatch.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * FCM 오류 코드별 처리 정책
+ *
+ * - UNREGISTERED / INVALID_ARGUMENT : 토큰 비활성화 (재시도 없음)
+ * - UNAVAILABLE / INTERNAL 등 일시 오류 : 지수 백오프 재시도
+ * - QUOTA_EXCEEDED / RESOURCE_EXHAUSTED : 더 긴 기본 대기(기본 60초)로 재시도
+ * - 그 외 (인증/발신자 불일치 등) 또는 재시도 한도 초과 : dead-letter
+ *
+ * 대기 시간은 base * 2^(시도-1) 를 상한으로 자르고, 그 절반~전체 사이에서 무작위로 정한다.
+ * 같은 시점에 실패한 대량 전송이 한꺼번에 다시 몰리지 않게 하기 위함이다.
+ */
+@Component
+public class FcmRetryPolicy {
+
+    private static final Set<String> INVALID_TOKEN_CODES = Set.of("UNREGISTERED", "INVALID_ARGUMENT");
+    private static final Set<String> QUOTA_CODES = Set.of("QUOTA_EXCEEDED", "RESOURCE_EXHAUSTED");
+    private static final Set<String> TRANSIENT_CODES = Set.of(
+            "UNAVAILABLE", "INTERNAL", "DEADLINE_EXCEEDED", "ABORTED", "CANCELLED", "UNKNOWN");
+
+    @Value("${fcm.retry.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${fcm.retry.base-delay-ms:1000}")
+    private long baseDelayMs;
+
+    @Value("${fcm.retry.quota-base-delay-ms:60000}")
+    private long quotaBaseDelayMs;
+
+    @Value("${fcm.retry.max-delay-ms:3600000}")
+    private long maxDelayMs;
+
+    public enum Action {
+        DEACTIVATE,     // 유효하지 않은 토큰
+        RETRY,          // 재시도 대기열
+        DEAD_LETTER     // 최종 실패
+    }
+
+    public record Decision(Action action, long delayMs) {
+    }
+
+    /**
+     * 실패 처리 결정
+     *
+     * @param errorCode FCM 오류 코드
+     * @param attempts  지금까지 시도한 횟수 (방금 실패한 시도 포함)
+     */
+    public Decision decide(String errorCode, int attempts) {
+        if (INVALID_TOKEN_CODES.contains(errorCode)) {
+            return new Decision(Action.DEACTIVATE, 0);
+        }
+
+        boolean quota = QUOTA_CODES.contains(errorCode);
+        if ((!quota && !TRANSIENT_CODES.contains(errorCode)) || attempts >= maxAttempts) {
+            return new Decision(Action.DEAD_LETTER, 0);
+        }
+
+        return new Decision(Action.RETRY, backoff(quota ? quotaBaseDelayMs : baseDelayMs, attempts));
+    }
+
+    /**
+     * 할당량 초과 여부 (전송 속도 제한에 반영)
+     */
+    public boolean isQuotaError(String errorCode) {
+        return QUOTA_CODES.contains(errorCode);
+    }
+
+    private long backoff(long base, int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        long ceiling = Math.min(base << exponent, maxDelayMs);
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(ceiling - half + 1);
+    }
+}
@@ -0,0 +1,19 @@
+package com.dispatch.service;
+
+import com.google.firebase.messaging.MulticastMessage;
+
+import java.util.List;
+
+/**
+ * FCM multicast 전송 창구
+ *
+ * 실제 구현은 FirebaseMessaging 을 감싸고, 로컬/부하 테스트에서는 FakeFcmSender 로 대체한다.
+ */
+public interface FcmSender {
+
+    /**
+     * multicast 전송 후 토큰 순서대로 실패 코드 반환 (성공한 토큰은 null)
+     * 요청 전체가 실패하면 모든 토큰에 같은 오류 코드를 채운다.
+     */
+    List<String> send(MulticastMessage message, List<String> tokens);
+}
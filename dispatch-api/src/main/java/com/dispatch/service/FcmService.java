@@ -1,200 +1,366 @@
 package com.dispatch.service;
 
+import com.dispatch.dto.fcm.FcmPushPlan;
+import com.dispatch.dto.websocket.WebSocketMessage.MessageType;
 import com.dispatch.entity.DeviceToken;
+import com.dispatch.entity.FcmDeadLetter;
+import com.dispatch.entity.FcmRetryTask;
 import com.dispatch.entity.User;
+import com.dispatch.exception.CustomException;
 import com.dispatch.repository.DeviceTokenRepository;
-import com.google.firebase.messaging.*;
-import lombok.RequiredArgsConstructor;
+import com.dispatch.repository.FcmDeadLetterRepository;
+import com.dispatch.repository.FcmRetryTaskRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * FCM 푸시 전송
+ *
+ * 수신 대상은 FcmPushPlan 으로 묶어 토큰 캐시에서 한 번에 조회하고,
+ * 500개(FCM multicast 제한) 단위 청크를 fcmSendExecutor 에서 병렬 전송한다.
+ * 메시지 구성은 FcmMessageTemplates 의 MessageType 별 템플릿을 사용한다.
+ * 호출 스레드는 전송 완료를 기다리지 않는다.
+ *
+ * 실패 토큰은 FcmRetryPolicy 에 따라 비활성화, 재전송 대기열(fcm_retry_tasks), dead-letter(fcm_dead_letters) 로 나뉜다.
+ * 재전송 스케줄러는 작업 선점만 하고 전송은 fcmSendExecutor 에 넘긴다.
+ * 모든 전송(최초/재전송)은 FcmRateLimiter 를 거친다.
+ * 대상 토큰 수, multicast 지연, 토큰별 결과(오류 코드)는 DispatchMetrics 의 fcm.* 지표로 남긴다.
+ */
 @Slf4j
 @Service
 public class FcmService {
 
-    private final FirebaseMessaging firebaseMessaging;
+    private static final int MULTICAST_LIMIT = 500;
+
+    private final FcmSender fcmSender;
     private final DeviceTokenRepository deviceTokenRepository;
+    private final FcmRetryTaskRepository retryTaskRepository;
+    private final FcmDeadLetterRepository deadLetterRepository;
+    private final FcmTokenCache tokenCache;
+    private final FcmMessageTemplates messageTemplates;
+    private final FcmRetryPolicy retryPolicy;
+    private final FcmRateLimiter rateLimiter;
+    private final DispatchMetrics dispatchMetrics;
+    private final SchedulerLeaseService leaseService;
+    private final ExecutorService sendExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     public FcmService(
-            @Autowired(required = false) FirebaseMessaging firebaseMessaging,
-            DeviceTokenRepository deviceTokenRepository) {
-        this.firebaseMessaging = firebaseMessaging;
+            @Autowired(required = false) FcmSender fcmSender,
+            DeviceTokenRepository deviceTokenRepository,
+            FcmRetryTaskRepository retryTaskRepository,
+            FcmDeadLetterRepository deadLetterRepository,
+            FcmTokenCache tokenCache,
+            FcmMessageTemplates messageTemplates,
+            FcmRetryPolicy retryPolicy,
+            FcmRateLimiter rateLimiter,
+            DispatchMetrics dispatchMetrics,
+            SchedulerLeaseService leaseService,
+            @Qualifier("fcmSendExecutor") ExecutorService sendExecutor,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper) {
+        this.fcmSender = fcmSender;
         this.deviceTokenRepository = deviceTokenRepository;
+        this.retryTaskRepository = retryTaskRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.tokenCache = tokenCache;
+        this.messageTemplates = messageTemplates;
+        this.retryPolicy = retryPolicy;
+        this.rateLimiter = rateLimiter;
+        this.dispatchMetrics = dispatchMetrics;
+        this.leaseService = leaseService;
+        this.sendExecutor = sendExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
     }
 
-    @Value("${firebase.enabled:false}")
-    private boolean firebaseEnabled;
+    @Value("${fcm.retry.batch-size:50}")
+    private int retryBatchSize;
+
+    @Value("${fcm.retry.lease-seconds:300}")
+    private long retryLeaseSeconds;
 
     /**
      * 단일 사용자에게 푸시 알림 전송
      */
-    @Async
     public void sendToUser(Long userId, String title, String body, Map<String, String> data) {
-        if (!firebaseEnabled || firebaseMessaging == null) {
-            log.debug("Firebase is disabled, skipping push notification");
-            return;
-        }
+        send(FcmPushPlan.toUsers(userId), title, body, data);
+    }
 
-        List<DeviceToken> tokens = deviceTokenRepository.findByUserIdAndActiveTrue(userId);
-        if (tokens.isEmpty()) {
-            log.debug("No active device tokens for user: {}", userId);
-            return;
-        }
+    /**
+     * 여러 사용자에게 푸시 알림 전송
+     */
+    public void sendToUsers(List<Long> userIds, String title, String body, Map<String, String> data) {
+        send(FcmPushPlan.toUsers(userIds), title, body, data);
+    }
 
-        List<String> tokenStrings = tokens.stream()
-                .map(DeviceToken::getToken)
-                .toList();
+    /**
+     * 특정 역할의 모든 사용자에게 푸시 알림 전송
+     */
+    public void sendToRole(User.UserRole role, String title, String body, Map<String, String> data) {
+        send(FcmPushPlan.toRoles(role), title, body, data);
+    }
 
-        sendToTokens(tokenStrings, title, body, data);
+    /**
+     * 수신 대상 묶음에 푸시 알림 전송 (기본 템플릿)
+     */
+    public void send(FcmPushPlan plan, String title, String body, Map<String, String> data) {
+        send(plan, FcmMessageTemplates.DEFAULT, title, body, data);
     }
 
     /**
-     * 여러 사용자에게 푸시 알림 전송
+     * 수신 대상 묶음에 템플릿 알림 전송 (제목은 템플릿 기본값)
      */
-    @Async
-    public void sendToUsers(List<Long> userIds, String title, String body, Map<String, String> data) {
-        if (!firebaseEnabled || firebaseMessaging == null) {
+    public void send(FcmPushPlan plan, FcmMessageTemplates.Template template, String body, Map<String, String> data) {
+        send(plan, template, null, body, data);
+    }
+
+    /**
+     * 알림 표시 없이 데이터만 전송 (잦은 상태 갱신용, data 의 type 에 MessageType 을 넣어 앱이 구분)
+     */
+    public void sendSilent(FcmPushPlan plan, MessageType type, Map<String, String> data) {
+        Map<String, String> payload = new HashMap<>(data);
+        payload.put("type", type.name());
+        send(plan, messageTemplates.get(type), null, null, payload);
+    }
+
+    /**
+     * 수신 대상 묶음에 푸시 알림 전송 (토큰 조회 1회, 청크 병렬 전송)
+     */
+    public void send(FcmPushPlan plan, FcmMessageTemplates.Template template,
+                     String title, String body, Map<String, String> data) {
+        if (fcmSender == null) {
+            log.debug("Firebase is disabled, skipping push notification");
+            return;
+        }
+        if (plan.isEmpty()) {
             return;
         }
 
-        List<DeviceToken> tokens = deviceTokenRepository.findByUserIdInAndActiveTrue(userIds);
+        List<String> tokens = tokenCache.resolve(plan);
         if (tokens.isEmpty()) {
+            log.debug("No active device tokens: users={}, roles={}", plan.getUserIds(), plan.getRoles());
             return;
         }
 
-        List<String> tokenStrings = tokens.stream()
-                .map(DeviceToken::getToken)
-                .toList();
+        dispatchMetrics.fcmFanout(template.type(), tokens.size());
+        sendToTokens(tokens, template, title, body, data);
+    }
+
+    /**
+     * 토큰 목록에 푸시 알림 전송
+     */
+    private void sendToTokens(List<String> tokens, FcmMessageTemplates.Template template,
+                              String title, String body, Map<String, String> data) {
+        // 500개씩 청크로 나눠 병렬 전송 (FCM 제한)
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i += MULTICAST_LIMIT) {
+            List<String> batch = tokens.subList(i, Math.min(i + MULTICAST_LIMIT, tokens.size()));
+
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> sendBatch(template, title, body, data, batch, 0), sendExecutor));
+        }
 
-        sendToTokens(tokenStrings, title, body, data);
+        // 모든 청크 완료 후 유효하지 않은 토큰 일괄 비활성화
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenRun(() -> {
+            List<String> failedTokens = new ArrayList<>();
+            futures.forEach(future -> failedTokens.addAll(future.join()));
+            deactivateInvalidTokens(failedTokens);
+        }).exceptionally(e -> {
+            log.error("FCM send failed: {}", e.getMessage());
+            return null;
+        });
     }
 
     /**
-     * 특정 역할의 모든 사용자에게 푸시 알림 전송
+     * 재전송 대기열 처리 (스케줄러)
+     * 작업을 이 인스턴스 이름으로 선점한 뒤 전송은 fcmSendExecutor 에서 한다 (스케줄러 스레드는 속도 제한 대기를 하지 않음).
+     * 전송이 끝나기 전에 죽으면 선점 만료 후 다른 인스턴스가 다시 가져간다.
      */
-    @Async
-    public void sendToRole(User.UserRole role, String title, String body, Map<String, String> data) {
-        if (!firebaseEnabled || firebaseMessaging == null) {
+    @Scheduled(fixedDelayString = "${fcm.retry.poll-interval-ms:5000}")
+    public void processRetries() {
+        if (fcmSender == null) {
             return;
         }
 
-        List<DeviceToken> tokens = deviceTokenRepository.findByUserRoleAndActiveTrue(role);
-        if (tokens.isEmpty()) {
-            return;
+        LocalDateTime now = LocalDateTime.now();
+        String owner = leaseService.getNodeId();
+        int claimedTasks = 0;
+        for (FcmRetryTask task : retryTaskRepository.findDue(now, PageRequest.of(0, retryBatchSize))) {
+            // 선점 실패 = 다른 인스턴스가 처리 중
+            Integer claimed = transactionTemplate.execute(status -> retryTaskRepository.claim(
+                    task.getId(), owner, now, now.plusSeconds(retryLeaseSeconds)));
+            if (claimed == null || claimed == 0) {
+                continue;
+            }
+
+            claimedTasks++;
+            CompletableFuture.runAsync(() -> retry(task, owner), sendExecutor).exceptionally(e -> {
+                // 선점 시간이 지나면 다시 처리된다
+                log.error("FCM retry failed: taskId={}", task.getId(), e);
+                return null;
+            });
         }
 
-        List<String> tokenStrings = tokens.stream()
-                .map(DeviceToken::getToken)
-                .toList();
+        if (claimedTasks > 0) {
+            log.info("FCM retries dispatched: tasks={}", claimedTasks);
+        }
+    }
 
-        sendToTokens(tokenStrings, title, body, data);
+    private void retry(FcmRetryTask task, String owner) {
+        List<String> invalidTokens = sendBatch(
+                messageTemplates.get(task.getMessageType()),
+                task.getTitle(),
+                task.getBody(),
+                readData(task.getData()),
+                readTokens(task.getTokens()),
+                task.getAttempts());
+        transactionTemplate.executeWithoutResult(status -> retryTaskRepository.deleteClaimed(task.getId(), owner));
+        deactivateInvalidTokens(invalidTokens);
     }
 
     /**
-     * 토큰 목록에 푸시 알림 전송
+     * 청크 1개 전송 - 오류 코드별로 재시도 대기열/dead-letter 에 넘기고 유효하지 않은 토큰 목록 반환
+     *
+     * @param attempts 이전까지 시도한 횟수 (최초 전송은 0)
      */
-    private void sendToTokens(List<String> tokens, String title, String body, Map<String, String> data) {
-        if (tokens.isEmpty()) {
-            return;
+    private List<String> sendBatch(FcmMessageTemplates.Template template, String title, String body,
+                                   Map<String, String> data, List<String> batch, int attempts) {
+        rateLimiter.acquire(batch.size());
+
+        long startedAt = System.nanoTime();
+        List<String> errorCodes = fcmSender.send(template.build(batch, title, body, data), batch);
+        dispatchMetrics.fcmSent(startedAt);
+        int sentAttempts = attempts + 1;
+
+        List<String> invalidTokens = new ArrayList<>();
+        Map<String, FcmRetryPolicy.Decision> decisions = new HashMap<>();
+        Map<String, List<String>> failedByCode = new LinkedHashMap<>();
+        int delivered = 0;
+        for (int i = 0; i < errorCodes.size(); i++) {
+            String errorCode = errorCodes.get(i);
+            if (errorCode == null) {
+                delivered++;
+                continue;
+            }
+            dispatchMetrics.fcmFailed(errorCode);
+
+            FcmRetryPolicy.Decision decision = decisions.computeIfAbsent(
+                    errorCode, code -> retryPolicy.decide(code, sentAttempts));
+            if (decision.action() == FcmRetryPolicy.Action.DEACTIVATE) {
+                invalidTokens.add(batch.get(i));
+            } else {
+                failedByCode.computeIfAbsent(errorCode, code -> new ArrayList<>()).add(batch.get(i));
+            }
+            log.warn("FCM failed for token: error={}, action={}", errorCode, decision.action());
         }
+        dispatchMetrics.fcmDelivered(delivered);
 
-        // 데이터가 없으면 빈 맵 사용
-        Map<String, String> messageData = data != null ? data : new HashMap<>();
-
-        // Android 설정
-        AndroidConfig androidConfig = AndroidConfig.builder()
-                .setNotification(AndroidNotification.builder()
-                        .setTitle(title)
-                        .setBody(body)
-                        .setIcon("ic_notification")
-                        .setColor("#2563EB")
-                        .setSound("default")
-                        .setChannelId("dispatch_channel")
-                        .build())
-                .setPriority(AndroidConfig.Priority.HIGH)
-                .build();
+        if (decisions.keySet().stream().anyMatch(retryPolicy::isQuotaError)) {
+            rateLimiter.pauseForQuota();
+        }
 
-        // iOS 설정
-        ApnsConfig apnsConfig = ApnsConfig.builder()
-                .setAps(Aps.builder()
-                        .setAlert(ApsAlert.builder()
-                                .setTitle(title)
-                                .setBody(body)
-                                .build())
-                        .setSound("default")
-                        .setBadge(1)
-                        .build())
-                .build();
+        failedByCode.forEach((errorCode, tokens) -> {
+            FcmRetryPolicy.Decision decision = decisions.get(errorCode);
+            if (decision.action() == FcmRetryPolicy.Action.RETRY) {
+                enqueueRetry(template, title, body, data, tokens, errorCode, sentAttempts, decision.delayMs());
+            } else {
+                deadLetter(template, title, body, data, tokens, errorCode, sentAttempts);
+            }
+        });
 
-        // 웹 푸시 설정
-        WebpushConfig webpushConfig = WebpushConfig.builder()
-                .setNotification(WebpushNotification.builder()
-                        .setTitle(title)
-                        .setBody(body)
-                        .setIcon("/icons/icon-192x192.png")
-                        .build())
-                .build();
+        return invalidTokens;
+    }
 
-        try {
-            // 500개씩 배치로 전송 (FCM 제한)
-            int batchSize = 500;
-            List<String> failedTokens = new ArrayList<>();
+    private void enqueueRetry(FcmMessageTemplates.Template template, String title, String body,
+                              Map<String, String> data, List<String> tokens, String errorCode,
+                              int attempts, long delayMs) {
+        retryTaskRepository.save(FcmRetryTask.builder()
+                .messageType(template.type())
+                .title(title)
+                .body(body)
+                .data(writeJson(data))
+                .tokens(writeJson(tokens))
+                .tokenCount(tokens.size())
+                .errorCode(errorCode)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now().plusNanos(delayMs * 1_000_000))
+                .build());
+
+        log.info("FCM retry scheduled: tokens={}, error={}, attempts={}, delayMs={}",
+                tokens.size(), errorCode, attempts, delayMs);
+    }
 
-            for (int i = 0; i < tokens.size(); i += batchSize) {
-                List<String> batch = tokens.subList(i, Math.min(i + batchSize, tokens.size()));
-
-                MulticastMessage message = MulticastMessage.builder()
-                        .addAllTokens(batch)
-                        .setNotification(Notification.builder()
-                                .setTitle(title)
-                                .setBody(body)
-                                .build())
-                        .putAllData(messageData)
-                        .setAndroidConfig(androidConfig)
-                        .setApnsConfig(apnsConfig)
-                        .setWebpushConfig(webpushConfig)
-                        .build();
-
-                BatchResponse response = firebaseMessaging.sendEachForMulticast(message);
-
-                log.info("FCM sent: success={}, failure={}", response.getSuccessCount(), response.getFailureCount());
-
-                // 실패한 토큰 수집
-                if (response.getFailureCount() > 0) {
-                    List<SendResponse> responses = response.getResponses();
-                    for (int j = 0; j < responses.size(); j++) {
-                        if (!responses.get(j).isSuccessful()) {
-                            String errorCode = responses.get(j).getException() != null ?
-                                    responses.get(j).getException().getMessagingErrorCode().name() : "UNKNOWN";
-
-                            // 유효하지 않은 토큰은 비활성화
-                            if ("UNREGISTERED".equals(errorCode) || "INVALID_ARGUMENT".equals(errorCode)) {
-                                failedTokens.add(batch.get(j));
-                            }
-
-                            log.warn("FCM failed for token: error={}", errorCode);
-                        }
-                    }
-                }
-            }
+    private void deadLetter(FcmMessageTemplates.Template template, String title, String body,
+                            Map<String, String> data, List<String> tokens, String errorCode, int attempts) {
+        deadLetterRepository.save(FcmDeadLetter.builder()
+                .messageType(template.type())
+                .title(title)
+                .body(body)
+                .data(writeJson(data))
+                .tokens(writeJson(tokens))
+                .tokenCount(tokens.size())
+                .errorCode(errorCode)
+                .attempts(attempts)
+                .build());
+
+        log.error("FCM delivery dead-lettered: tokens={}, error={}, attempts={}", tokens.size(), errorCode, attempts);
+    }
 
-            // 실패한 토큰 비활성화
-            if (!failedTokens.isEmpty()) {
-                deactivateTokens(failedTokens);
-            }
+    private void deactivateInvalidTokens(List<String> tokens) {
+        if (!tokens.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> deactivateTokens(tokens));
+        }
+    }
 
-        } catch (FirebaseMessagingException e) {
-            log.error("FCM send failed: {}", e.getMessage());
+    private String writeJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw CustomException.serverError("FCM 메시지 직렬화 실패: " + e.getMessage());
+        }
+    }
+
+    private Map<String, String> readData(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, String>>() {});
+        } catch (JsonProcessingException e) {
+            throw CustomException.serverError("FCM 메시지 역직렬화 실패: " + e.getMessage());
+        }
+    }
+
+    private List<String> readTokens(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<String>>() {});
+        } catch (JsonProcessingException e) {
+            throw CustomException.serverError("FCM 토큰 역직렬화 실패: " + e.getMessage());
         }
     }
 
@@ -221,6 +387,9 @@ public class FcmService {
                 () -> createNewToken(user, token, deviceType)
         );
 
+        tokenCache.evictTokens(List.of(token));
+        tokenCache.evictUser(user.getId());
+
         log.info("FCM token registered: userId={}, deviceType={}", user.getId(), deviceType);
     }
 
@@ -243,6 +412,7 @@ public class FcmService {
             deviceToken.setActive(false);
             deviceTokenRepository.save(deviceToken);
         });
+        tokenCache.evictTokens(List.of(token));
     }
 
     /**
@@ -251,6 +421,7 @@ public class FcmService {
     @Transactional
     public void deactivateTokens(List<String> tokens) {
         deviceTokenRepository.deactivateByTokens(tokens);
+        tokenCache.evictTokens(tokens);
         log.info("Deactivated {} invalid FCM tokens", tokens.size());
     }
 
@@ -260,5 +431,6 @@ public class FcmService {
     @Transactional
     public void deactivateUserTokens(Long userId) {
         deviceTokenRepository.deactivateByUserId(userId);
+        tokenCache.evictUser(userId);
     }
 }
@@ -0,0 +1,177 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.fcm.FcmPushPlan;
+import com.dispatch.entity.User;
+import com.dispatch.repository.DeviceTokenRepository;
+import com.dispatch.util.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FCM 디바이스 토큰 캐시
+ *
+ * 사용자별 활성 토큰과 역할별 (토큰 보유) 사용자 목록을 메모리에 유지한다.
+ * 알림 한 건에 필요한 미적재 사용자/역할은 쿼리 한 번으로 함께 적재하고,
+ * 토큰 등록/비활성화 시 커밋 이후 무효화한다. 다른 인스턴스의 변경은 TTL로 반영된다.
+ * 사용자 토큰은 최대 개수를 넘으면 오래 안 쓴 것부터 밀려나고 다음 알림 때 다시 적재된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FcmTokenCache {
+
+    private static final Long NO_USER = 0L;
+
+    private final DeviceTokenRepository deviceTokenRepository;
+
+    @Value("${fcm.token-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${fcm.token-cache.max-users:50000}")
+    private long maxUsers;
+
+    private Cache<Long, List<String>> userTokens;
+    private Cache<User.UserRole, Set<Long>> roleMembers;
+
+    // 무효화 시 증가 - 적재 도중 무효화되면 적재 결과를 버린다
+    private final AtomicLong version = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        userTokens = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        roleMembers = Caffeine.newBuilder()
+                .maximumSize(User.UserRole.values().length)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * 수신 대상의 활성 토큰 조회 (중복 제거)
+     */
+    public List<String> resolve(FcmPushPlan plan) {
+        Set<User.UserRole> missingRoles = EnumSet.noneOf(User.UserRole.class);
+        Set<Long> userIds = new LinkedHashSet<>(plan.getUserIds());
+        for (User.UserRole role : plan.getRoles()) {
+            Set<Long> members = roleMembers.getIfPresent(role);
+            if (members == null) {
+                missingRoles.add(role);
+            } else {
+                userIds.addAll(members);
+            }
+        }
+
+        // 조회 시점의 값을 잡아 둔다 (적재 도중 만료/밀려나도 이번 알림 대상에서 빠지지 않게)
+        Map<Long, List<String>> cached = new HashMap<>();
+        Set<Long> missingUsers = new HashSet<>();
+        for (Long userId : userIds) {
+            List<String> tokens = userTokens.getIfPresent(userId);
+            if (tokens == null) {
+                missingUsers.add(userId);
+            } else {
+                cached.put(userId, tokens);
+            }
+        }
+
+        Map<Long, List<String>> loaded = load(missingUsers, missingRoles);
+
+        Set<String> result = new LinkedHashSet<>();
+        userIds.addAll(loaded.keySet());
+        for (Long userId : userIds) {
+            List<String> tokens = loaded.get(userId);
+            if (tokens == null) {
+                tokens = cached.getOrDefault(userId, List.of());
+            }
+            result.addAll(tokens);
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * 사용자 토큰 무효화 (트랜잭션 중이면 커밋 이후)
+     */
+    public void evictUser(Long userId) {
+        TransactionCallbacks.afterCommit(() -> {
+            version.incrementAndGet();
+            userTokens.invalidate(userId);
+            roleMembers.invalidateAll();
+        });
+    }
+
+    /**
+     * 토큰 문자열 기준 무효화 (트랜잭션 중이면 커밋 이후)
+     */
+    public void evictTokens(Collection<String> tokens) {
+        Set<String> targets = new HashSet<>(tokens);
+        TransactionCallbacks.afterCommit(() -> {
+            version.incrementAndGet();
+            userTokens.asMap().values().removeIf(userTokenList -> userTokenList.stream().anyMatch(targets::contains));
+            roleMembers.invalidateAll();
+        });
+    }
+
+    /**
+     * 캐시 전체 초기화
+     */
+    public void evictAll() {
+        version.incrementAndGet();
+        userTokens.invalidateAll();
+        roleMembers.invalidateAll();
+    }
+
+    private Map<Long, List<String>> load(Set<Long> missingUsers, Set<User.UserRole> missingRoles) {
+        if (missingUsers.isEmpty() && missingRoles.isEmpty()) {
+            return Map.of();
+        }
+
+        long startVersion = version.get();
+        Map<Long, List<String>> loaded = new HashMap<>();
+        missingUsers.forEach(userId -> loaded.put(userId, new ArrayList<>()));
+        Map<User.UserRole, Set<Long>> members = new HashMap<>();
+        missingRoles.forEach(role -> members.put(role, new HashSet<>()));
+
+        if (missingRoles.isEmpty()) {
+            for (Object[] row : deviceTokenRepository.findActiveTokensByUserIds(missingUsers)) {
+                loaded.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+        } else {
+            // 역할로 조회된 사용자는 활성 토큰이 모두 포함되므로 사용자 캐시에도 그대로 적재
+            Collection<Long> userParam = missingUsers.isEmpty() ? List.of(NO_USER) : missingUsers;
+            for (Object[] row : deviceTokenRepository.findActiveTokensByUserIdsOrRoles(userParam, missingRoles)) {
+                Long userId = (Long) row[0];
+                loaded.computeIfAbsent(userId, id -> new ArrayList<>()).add((String) row[2]);
+                Set<Long> roleSet = members.get((User.UserRole) row[1]);
+                if (roleSet != null) {
+                    roleSet.add(userId);
+                }
+            }
+        }
+
+        if (version.get() == startVersion) {
+            loaded.forEach((userId, tokens) -> userTokens.put(userId, List.copyOf(tokens)));
+            members.forEach((role, ids) -> roleMembers.put(role, Set.copyOf(ids)));
+        }
+
+        log.debug("FCM tokens loaded: users={}, roles={}", loaded.size(), missingRoles);
+        return loaded;
+    }
+}
@@ -8,6 +8,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -80,6 +85,45 @@ public class FileStorageService {
         return uploadPath.resolve(filePath).normalize();
     }
 
+    /**
+     * 이미지 썸네일 생성 (thumbnails/ 아래 같은 경로에 JPEG, 긴 변 maxSize) - 이미지가 아니면(PDF 등) null
+     */
+    public String createThumbnail(String filePath, int maxSize) {
+        String thumbnailPath = "thumbnails/" + filePath.substring(0, filePath.lastIndexOf('.')) + ".jpg";
+        Path targetPath = getFilePath(thumbnailPath);
+        if (Files.exists(targetPath)) {
+            return thumbnailPath;
+        }
+
+        try {
+            BufferedImage source = ImageIO.read(getFilePath(filePath).toFile());
+            if (source == null) {
+                return null;
+            }
+
+            double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+            int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+            // JPEG 는 투명도가 없으므로 흰 배경 위에 그린다
+            BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = thumbnail.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            Files.createDirectories(targetPath.getParent());
+            ImageIO.write(thumbnail, "jpg", targetPath.toFile());
+            log.info("Thumbnail created: {}", targetPath);
+            return thumbnailPath;
+        } catch (IOException e) {
+            throw new RuntimeException("썸네일 생성에 실패했습니다: " + filePath, e);
+        }
+    }
+
     private String getFileExtension(String filename) {
         int lastDot = filename.lastIndexOf('.');
         return lastDot > 0 ? filename.substring(lastDot + 1).toLowerCase() : "";
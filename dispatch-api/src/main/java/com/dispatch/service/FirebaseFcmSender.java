@@ -0,0 +1,51 @@
+package com.dispatch.service;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * FirebaseMessaging 기반 FCM 전송
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FirebaseFcmSender implements FcmSender {
+
+    private final FirebaseMessaging firebaseMessaging;
+
+    @Override
+    public List<String> send(MulticastMessage message, List<String> tokens) {
+        try {
+            BatchResponse response = firebaseMessaging.sendEachForMulticast(message);
+
+            log.info("FCM sent: success={}, failure={}", response.getSuccessCount(), response.getFailureCount());
+
+            List<String> errorCodes = new ArrayList<>(tokens.size());
+            for (SendResponse sendResponse : response.getResponses()) {
+                errorCodes.add(sendResponse.isSuccessful() ? null : errorCode(sendResponse.getException()));
+            }
+            return errorCodes;
+        } catch (FirebaseMessagingException e) {
+            log.error("FCM send failed: {}", e.getMessage());
+            return Collections.nCopies(tokens.size(), errorCode(e));
+        }
+    }
+
+    private String errorCode(FirebaseMessagingException e) {
+        if (e == null) {
+            return "UNKNOWN";
+        }
+        if (e.getMessagingErrorCode() != null) {
+            return e.getMessagingErrorCode().name();
+        }
+        return e.getErrorCode() != null ? e.getErrorCode().name() : "UNKNOWN";
+    }
+}
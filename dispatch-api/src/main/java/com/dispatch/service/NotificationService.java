@@ -1,5 +1,6 @@
 package com.dispatch.service;
 
+import com.dispatch.dto.fcm.FcmPushPlan;
 import com.dispatch.dto.websocket.DispatchNotification;
 import com.dispatch.dto.websocket.LocationUpdate;
 import com.dispatch.dto.websocket.WebSocketMessage;
@@ -11,8 +12,11 @@ import com.dispatch.entity.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,14 +26,20 @@ import java.util.Map;
 public class NotificationService {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
     private final FcmService fcmService;
+    private final FcmMessageTemplates messageTemplates;
+    private final DispatchMetrics dispatchMetrics;
 
     /**
      * 새 배차 등록 알림 - 모든 활성 기사에게 브로드캐스트
      */
     public void notifyNewDispatch(DispatchRequest dispatch) {
-        String title = "새 배차 요청";
-        String body = String.format("%s 근처 새 배차가 등록되었습니다.", dispatch.getSiteAddress());
+        long startedAt = System.nanoTime();
+
+        FcmMessageTemplates.Template template = messageTemplates.get(MessageType.NEW_DISPATCH);
+        String title = template.title();
+        String body = template.body(dispatch.getSiteAddress());
 
         WebSocketMessage<DispatchNotification> message = WebSocketMessage.of(
                 MessageType.NEW_DISPATCH,
@@ -43,11 +53,45 @@ public class NotificationService {
 
         // FCM 푸시 알림 - 모든 기사에게
         Map<String, String> data = createDispatchData(dispatch);
-        fcmService.sendToRole(User.UserRole.DRIVER, title, body, data);
+        fcmService.send(FcmPushPlan.toRoles(User.UserRole.DRIVER), template, body, data);
+
+        dispatchMetrics.notified(MessageType.NEW_DISPATCH, startedAt);
 
         log.info("New dispatch notification sent: dispatchId={}", dispatch.getId());
     }
 
+    /**
+     * 배차 우선 제안 알림 - 매칭 엔진이 고른 기사에게만
+     */
+    public void notifyDispatchOffer(DispatchRequest dispatch, Collection<Long> driverUserIds,
+                                    Collection<String> driverEmails, LocalDateTime expiresAt, long timeoutSeconds) {
+        long startedAt = System.nanoTime();
+
+        FcmMessageTemplates.Template template = messageTemplates.get(MessageType.DISPATCH_OFFER);
+        String title = template.title();
+        String body = template.body(dispatch.getSiteAddress(), timeoutSeconds);
+
+        WebSocketMessage<DispatchNotification> message = WebSocketMessage.of(
+                MessageType.DISPATCH_OFFER,
+                title,
+                body,
+                DispatchNotification.from(dispatch)
+        );
+
+        // WebSocket
+        driverEmails.forEach(email -> messagingTemplate.convertAndSendToUser(email, "/queue/notifications", message));
+
+        // FCM 푸시 알림
+        Map<String, String> data = createDispatchData(dispatch);
+        data.put("type", "DISPATCH_OFFER");
+        data.put("expiresAt", expiresAt.toString());
+        fcmService.send(FcmPushPlan.toUsers(driverUserIds), template, body, data);
+
+        dispatchMetrics.notified(MessageType.DISPATCH_OFFER, startedAt, driverEmails.size());
+
+        log.info("Dispatch offer notification sent: dispatchId={}, drivers={}", dispatch.getId(), driverUserIds.size());
+    }
+
     /**
      * 배차 수락 알림 - 요청한 직원에게
      */
@@ -56,8 +100,11 @@ public class NotificationService {
     }
 
     public void notifyDispatchAccepted(DispatchRequest dispatch, DispatchMatch match) {
-        String title = "배차 수락됨";
-        String body = String.format("기사가 배차를 수락했습니다. (배차 #%d)", dispatch.getId());
+        long startedAt = System.nanoTime();
+
+        FcmMessageTemplates.Template template = messageTemplates.get(MessageType.DISPATCH_ACCEPTED);
+        String title = template.title();
+        String body = template.body(dispatch.getId());
 
         WebSocketMessage<DispatchNotification> message = WebSocketMessage.of(
                 MessageType.DISPATCH_ACCEPTED,
@@ -75,7 +122,9 @@ public class NotificationService {
 
         // FCM 푸시 알림 - 직원에게
         Map<String, String> data = createDispatchData(dispatch);
-        fcmService.sendToUser(dispatch.getStaff().getId(), title, body, data);
+        fcmService.send(FcmPushPlan.toUsers(dispatch.getStaff().getId()), template, body, data);
+
+        dispatchMetrics.notified(MessageType.DISPATCH_ACCEPTED, startedAt, 1);
 
         log.info("Dispatch accepted notification sent to staff: {}", dispatch.getStaff().getEmail());
     }
@@ -88,8 +137,11 @@ public class NotificationService {
     }
 
     public void notifyDriverArrived(DispatchRequest dispatch, DispatchMatch match) {
-        String title = "기사 도착";
-        String body = String.format("기사가 현장에 도착했습니다. (배차 #%d)", dispatch.getId());
+        long startedAt = System.nanoTime();
+
+        FcmMessageTemplates.Template template = messageTemplates.get(MessageType.DISPATCH_ARRIVED);
+        String title = template.title();
+        String body = template.body(dispatch.getId());
 
         WebSocketMessage<DispatchNotification> message = WebSocketMessage.of(
                 MessageType.DISPATCH_ARRIVED,
@@ -107,7 +159,9 @@ public class NotificationService {
 
         // FCM 푸시 알림 - 직원에게
         Map<String, String> data = createDispatchData(dispatch);
-        fcmService.sendToUser(dispatch.getStaff().getId(), title, body, data);
+        fcmService.send(FcmPushPlan.toUsers(dispatch.getStaff().getId()), template, body, data);
+
+        dispatchMetrics.notified(MessageType.DISPATCH_ARRIVED, startedAt, 1);
 
         log.info("Driver arrived notification sent to staff: {}", dispatch.getStaff().getEmail());
     }
@@ -120,8 +174,11 @@ public class NotificationService {
     }
 
     public void notifyDispatchCompleted(DispatchRequest dispatch, DispatchMatch match) {
-        String title = "작업 완료";
-        String body = String.format("작업이 완료되었습니다. (배차 #%d)", dispatch.getId());
+        long startedAt = System.nanoTime();
+
+        FcmMessageTemplates.Template template = messageTemplates.get(MessageType.DISPATCH_COMPLETED);
+        String title = template.title();
+        String body = template.body(dispatch.getId());
 
         WebSocketMessage<DispatchNotification> message = WebSocketMessage.of(
                 MessageType.DISPATCH_COMPLETED,
@@ -139,7 +196,9 @@ public class NotificationService {
 
         // FCM 푸시 알림 - 직원에게
         Map<String, String> data = createDispatchData(dispatch);
-        fcmService.sendToUser(dispatch.getStaff().getId(), title, body, data);
+        fcmService.send(FcmPushPlan.toUsers(dispatch.getStaff().getId()), template, body, data);
+
+        dispatchMetrics.notified(MessageType.DISPATCH_COMPLETED, startedAt, 1);
 
         log.info("Dispatch completed notification sent to staff: {}", dispatch.getStaff().getEmail());
     }
@@ -152,8 +211,11 @@ public class NotificationService {
     }
 
     public void notifyDispatchCancelled(DispatchRequest dispatch, DispatchMatch match) {
-        String title = "배차 취소";
-        String body = String.format("배차가 취소되었습니다. (배차 #%d)", dispatch.getId());
+        long startedAt = System.nanoTime();
+
+        FcmMessageTemplates.Template template = messageTemplates.get(MessageType.DISPATCH_CANCELLED);
+        String title = template.title();
+        String body = template.body(dispatch.getId());
 
         WebSocketMessage<DispatchNotification> message = WebSocketMessage.of(
                 MessageType.DISPATCH_CANCELLED,
@@ -163,25 +225,32 @@ public class NotificationService {
         );
 
         Map<String, String> data = createDispatchData(dispatch);
+        FcmPushPlan pushPlan = FcmPushPlan.toUsers(dispatch.getStaff().getId());
 
-        // 직원에게 (WebSocket + FCM)
+        // 직원에게 (WebSocket)
         messagingTemplate.convertAndSendToUser(
                 dispatch.getStaff().getEmail(),
                 "/queue/notifications",
                 message
         );
-        fcmService.sendToUser(dispatch.getStaff().getId(), title, body, data);
 
-        // 매칭된 기사가 있으면 기사에게도 (WebSocket + FCM)
+        // 매칭된 기사가 있으면 기사에게도 (WebSocket)
+        int recipientCount = 1;
         if (match != null && match.getDriver() != null) {
+            recipientCount++;
             messagingTemplate.convertAndSendToUser(
                     match.getDriver().getUser().getEmail(),
                     "/queue/notifications",
                     message
             );
-            fcmService.sendToUser(match.getDriver().getUser().getId(), title, body, data);
+            pushPlan.andUser(match.getDriver().getUser().getId());
         }
 
+        // FCM - 직원과 기사에게 한 번에
+        fcmService.send(pushPlan, template, body, data);
+
+        dispatchMetrics.notified(MessageType.DISPATCH_CANCELLED, startedAt, recipientCount);
+
         log.info("Dispatch cancelled notification sent: dispatchId={}", dispatch.getId());
     }
 
@@ -189,8 +258,11 @@ public class NotificationService {
      * 기사 승인 알림 - 기사에게
      */
     public void notifyDriverApproved(Driver driver) {
-        String title = "가입 승인";
-        String body = "축하합니다! 기사 등록이 승인되었습니다. 이제 배차를 받을 수 있습니다.";
+        long startedAt = System.nanoTime();
+
+        FcmMessageTemplates.Template template = messageTemplates.get(MessageType.DRIVER_APPROVED);
+        String title = template.title();
+        String body = template.body();
 
         WebSocketMessage<Void> message = WebSocketMessage.of(
                 MessageType.DRIVER_APPROVED,
@@ -210,7 +282,9 @@ public class NotificationService {
         Map<String, String> data = new HashMap<>();
         data.put("type", "DRIVER_APPROVED");
         data.put("driverId", String.valueOf(driver.getId()));
-        fcmService.sendToUser(driver.getUser().getId(), title, body, data);
+        fcmService.send(FcmPushPlan.toUsers(driver.getUser().getId()), template, body, data);
+
+        dispatchMetrics.notified(MessageType.DRIVER_APPROVED, startedAt, 1);
 
         log.info("Driver approved notification sent: driverId={}", driver.getId());
     }
@@ -219,8 +293,11 @@ public class NotificationService {
      * 기사 거절 알림 - 기사에게
      */
     public void notifyDriverRejected(Driver driver, String reason) {
-        String title = "가입 거절";
-        String body = "기사 등록이 거절되었습니다. 사유: " + reason;
+        long startedAt = System.nanoTime();
+
+        FcmMessageTemplates.Template template = messageTemplates.get(MessageType.DRIVER_REJECTED);
+        String title = template.title();
+        String body = template.body(reason);
 
         WebSocketMessage<String> message = WebSocketMessage.of(
                 MessageType.DRIVER_REJECTED,
@@ -241,7 +318,9 @@ public class NotificationService {
         data.put("type", "DRIVER_REJECTED");
         data.put("driverId", String.valueOf(driver.getId()));
         data.put("reason", reason);
-        fcmService.sendToUser(driver.getUser().getId(), title, body, data);
+        fcmService.send(FcmPushPlan.toUsers(driver.getUser().getId()), template, body, data);
+
+        dispatchMetrics.notified(MessageType.DRIVER_REJECTED, startedAt, 1);
 
         log.info("Driver rejected notification sent: driverId={}", driver.getId());
     }
@@ -250,6 +329,8 @@ public class NotificationService {
      * 기사 위치 업데이트 - 직원에게
      */
     public void notifyLocationUpdate(DispatchRequest dispatch, LocationUpdate location) {
+        long startedAt = System.nanoTime();
+
         WebSocketMessage<LocationUpdate> message = WebSocketMessage.of(
                 MessageType.LOCATION_UPDATE,
                 "위치 업데이트",
@@ -262,12 +343,28 @@ public class NotificationService {
                 "/queue/location",
                 message
         );
+
+        dispatchMetrics.notified(MessageType.LOCATION_UPDATE, startedAt, 1);
+    }
+
+    /**
+     * 잦은 상태 갱신(읽음, 읽지 않은 수)을 앱이 백그라운드/오프라인인 사용자에게 data-only 푸시로 전달
+     * 이 인스턴스에 STOMP 세션이 있으면 WebSocket 으로 이미 받았으므로 보내지 않는다
+     * (다른 인스턴스에 연결된 사용자는 한 번 더 받지만 알림이 표시되지 않는다).
+     */
+    public void pushSilentIfOffline(Long userId, String email, MessageType type, Map<String, String> data) {
+        if (userRegistry.getUser(email) != null) {
+            return;
+        }
+        fcmService.sendSilent(FcmPushPlan.toUsers(userId), type, data);
     }
 
     /**
      * 시스템 공지 - 모든 사용자에게
      */
     public void sendSystemNotice(String title, String message) {
+        long startedAt = System.nanoTime();
+
         WebSocketMessage<Void> wsMessage = WebSocketMessage.of(
                 MessageType.SYSTEM_NOTICE,
                 title,
@@ -281,9 +378,10 @@ public class NotificationService {
         // FCM - 모든 사용자에게 (모든 역할)
         Map<String, String> data = new HashMap<>();
         data.put("type", "SYSTEM_NOTICE");
-        fcmService.sendToRole(User.UserRole.DRIVER, title, message, data);
-        fcmService.sendToRole(User.UserRole.STAFF, title, message, data);
-        fcmService.sendToRole(User.UserRole.ADMIN, title, message, data);
+        fcmService.send(FcmPushPlan.toRoles(User.UserRole.DRIVER, User.UserRole.STAFF, User.UserRole.ADMIN),
+                messageTemplates.get(MessageType.SYSTEM_NOTICE), title, message, data);
+
+        dispatchMetrics.notified(MessageType.SYSTEM_NOTICE, startedAt);
 
         log.info("System notice sent: {}", title);
     }
@@ -0,0 +1,651 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.dispatch.DispatchFeedResponse;
+import com.dispatch.dto.dispatch.DispatchFeedResponse.RemoveReason;
+import com.dispatch.dto.dispatch.DispatchFeedResponse.RemovedDispatch;
+import com.dispatch.dto.dispatch.DispatchResponse;
+import com.dispatch.entity.DispatchRequest;
+import com.dispatch.entity.Driver;
+import com.dispatch.exception.CustomException;
+import com.dispatch.repository.DispatchOfferRepository;
+import com.dispatch.repository.DispatchRequestRepository;
+import com.dispatch.repository.DriverRepository;
+import com.dispatch.util.GeoUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 가용 배차 피드 (SSE / long-poll)
+ *
+ * OPEN 배차를 메모리에 두고 바뀔 때마다 버전을 올려 변경 로그에 남긴다.
+ * 기사에게는 처음 한 번 전체 목록(snapshot)을 보내고, 이후에는 받은 버전 이후의 변경분(diff)만 보낸다.
+ * - 갱신: sync 주기마다 updated_at / 제안·응답 시각이 바뀐 배차와 우선 제안이 만료된 배차만 다시 읽는다
+ * - 노출 판정: 공개 여부/우선 제안, 최소 별점, 일정 겹침, 반경을 메모리에서 (배차 목록 API 와 같은 규칙)
+ * - snapshot 재전송: 다른 인스턴스(epoch)의 버전이거나, 로그에서 밀려난 버전이거나, 그 사이 기사 일정이 바뀐 경우
+ * - 대기 중인 long-poll / SSE 는 변경이 생겼을 때만 깨운다
+ * 폴링 비용은 요청 빈도가 아니라 그 사이 변경 건수에 비례한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenDispatchFeed {
+
+    // 다른 인스턴스와의 시계 차이/커밋 지연 여유 (겹쳐 조회해도 변경이 없으면 버전은 그대로)
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    private final DispatchRequestRepository dispatchRequestRepository;
+    private final DispatchOfferRepository offerRepository;
+    private final DriverRepository driverRepository;
+    private final DispatchMatchingService dispatchMatchingService;
+    private final DriverScheduleIndex scheduleIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${feed.log-size:10000}")
+    private int logSize;
+
+    @Value("${feed.long-poll-timeout-ms:25000}")
+    private long longPollTimeoutMs;
+
+    @Value("${feed.sse-timeout-ms:600000}")
+    private long sseTimeoutMs;
+
+    @Value("${feed.driver-cache-seconds:30}")
+    private long driverCacheSeconds;
+
+    @Value("${feed.parallelism:2}")
+    private int parallelism;
+
+    // 인스턴스 식별자 (재시작/다른 인스턴스의 버전으로는 이어받지 않는다)
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    // 아래 상태는 lock 으로 보호
+    private final Object lock = new Object();
+    private long version;
+    private final Map<Long, Item> items = new HashMap<>();
+    private final ArrayDeque<Change> changes = new ArrayDeque<>();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // 사용자 ID -> 기사 노출 조건
+    private final Map<Long, DriverContext> driverContexts = new ConcurrentHashMap<>();
+    private final AtomicBoolean fanOutPending = new AtomicBoolean();
+
+    private ExecutorService executor;
+    private volatile LocalDateTime syncedAt;
+
+    // reload/sync 직렬화 (조회 시간이 길 수 있어 모니터 대신 ReentrantLock, lock 은 메모리 상태 전용)
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    /**
+     * 조회 위치 (epoch, version 은 마지막으로 받은 값, 없으면 snapshot)
+     */
+    public record FeedQuery(String epoch, Long version, Double latitude, Double longitude, Double radiusKm) {
+
+        /**
+         * SSE Last-Event-ID ("epoch:version") 가 있으면 그 위치에서 이어받는다
+         */
+        public static FeedQuery of(String lastEventId, String epoch, Long version,
+                                   Double latitude, Double longitude, Double radiusKm) {
+            if (lastEventId != null) {
+                int separator = lastEventId.lastIndexOf(':');
+                if (separator > 0) {
+                    try {
+                        return new FeedQuery(lastEventId.substring(0, separator),
+                                Long.parseLong(lastEventId.substring(separator + 1)), latitude, longitude, radiusKm);
+                    } catch (NumberFormatException ignored) {
+                        // 형식이 다르면 snapshot 부터
+                    }
+                }
+            }
+            return new FeedQuery(epoch, version, latitude, longitude, radiusKm);
+        }
+
+        boolean hasLocation() {
+            return latitude != null && longitude != null && radiusKm != null;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "dispatch-feed-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleIndex.addListener(this::onScheduleChanged);
+        reload();
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    // ========== 갱신 ==========
+
+    /**
+     * 전체 재대조 - 열린 배차 전체와 메모리 목록을 다시 맞춘다 (시작 시, reload 주기마다)
+     */
+    @Scheduled(fixedDelayString = "${feed.reload-ms:600000}", initialDelayString = "${feed.reload-ms:600000}")
+    public void reload() {
+        refreshLock.lock();
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+
+            Set<Long> ids = new HashSet<>(dispatchRequestRepository.findAvailableIds(startedAt.toLocalDate()));
+            synchronized (lock) {
+                ids.addAll(items.keySet());
+            }
+            int changed = refresh(ids, startedAt);
+            syncedAt = startedAt;
+            log.debug("Dispatch feed reloaded: open={}, changed={}, version={}", ids.size(), changed, version);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막 동기화 이후 바뀐 배차 반영 (변경이 없으면 인덱스 조회 두 번으로 끝난다)
+     */
+    @Scheduled(fixedDelayString = "${feed.sync-ms:1000}", initialDelayString = "${feed.sync-ms:1000}")
+    public void sync() {
+        refreshLock.lock();
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            LocalDateTime since = syncedAt.minusSeconds(SYNC_OVERLAP_SECONDS);
+            LocalDate today = startedAt.toLocalDate();
+
+            Set<Long> ids = new HashSet<>(dispatchRequestRepository.findIdsUpdatedSince(since));
+            ids.addAll(offerRepository.findDispatchIdsChangedSince(since));
+            synchronized (lock) {
+                // 작업일이 지났거나 우선 제안이 만료된 배차 (DB 의 만료 처리는 updated_at 을 바꾸지 않는다)
+                for (Map.Entry<Long, Item> entry : items.entrySet()) {
+                    Item item = entry.getValue();
+                    if (item.workDate().isBefore(today)
+                            || item.offers().values().stream().anyMatch(expiresAt -> !expiresAt.isAfter(startedAt))) {
+                        ids.add(entry.getKey());
+                    }
+                }
+            }
+
+            if (!ids.isEmpty()) {
+                int changed = refresh(ids, startedAt);
+                if (changed > 0) {
+                    log.debug("Dispatch feed synced: checked={}, changed={}, version={}", ids.size(), changed, version);
+                }
+            }
+            syncedAt = startedAt;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * 배차를 다시 읽어 실제로 바뀐 것만 변경 로그에 남긴다
+     */
+    private int refresh(Collection<Long> ids, LocalDateTime now) {
+        Map<Long, Item> loaded = new HashMap<>();
+        Map<Long, RemoveReason> reasons = new HashMap<>();
+        List<Long> idList = new ArrayList<>(ids);
+        for (int from = 0; from < idList.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = idList.subList(from, Math.min(from + LOAD_CHUNK_SIZE, idList.size()));
+            transactionTemplate.executeWithoutResult(status -> load(chunk, now, loaded, reasons));
+        }
+
+        int changed = 0;
+        synchronized (lock) {
+            for (Long id : idList) {
+                Item next = loaded.get(id);
+                Item previous = items.get(id);
+                if (next == null ? previous == null : next.equals(previous)) {
+                    continue;
+                }
+                if (next == null) {
+                    items.remove(id);
+                } else {
+                    items.put(id, next);
+                }
+                append(new Change(++version, id, null, next == null ? reasons.get(id) : null));
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            wake();
+        }
+        return changed;
+    }
+
+    private void load(List<Long> ids, LocalDateTime now, Map<Long, Item> loaded, Map<Long, RemoveReason> reasons) {
+        Map<Long, Map<Long, LocalDateTime>> offers = new HashMap<>();
+        for (Object[] row : offerRepository.findLiveOffersByDispatchIds(ids, now)) {
+            offers.computeIfAbsent((Long) row[0], key -> new HashMap<>()).put((Long) row[1], (LocalDateTime) row[2]);
+        }
+
+        Map<Long, DispatchRequest> dispatches = new HashMap<>();
+        for (DispatchRequest dispatch : dispatchRequestRepository.findAllWithStaffByIdIn(ids)) {
+            dispatches.put(dispatch.getId(), dispatch);
+        }
+
+        for (Long id : ids) {
+            DispatchRequest dispatch = dispatches.get(id);
+            if (dispatch == null || dispatch.getStatus() == DispatchRequest.DispatchStatus.CANCELLED) {
+                reasons.put(id, RemoveReason.CANCELLED);
+            } else if (dispatch.getStatus() != DispatchRequest.DispatchStatus.OPEN) {
+                reasons.put(id, RemoveReason.TAKEN);
+            } else if (dispatch.getWorkDate().isBefore(now.toLocalDate())) {
+                reasons.put(id, RemoveReason.EXPIRED);
+            } else {
+                loaded.put(id, new Item(DispatchResponse.from(dispatch), dispatch.getWorkDate(),
+                        dispatch.getWorkTime(), dispatch.getEstimatedHours(), dispatch.getLatitude(),
+                        dispatch.getLongitude(), dispatch.getMinDriverRating(), dispatchMatchingService.isPublic(dispatch),
+                        Map.copyOf(offers.getOrDefault(id, Map.of()))));
+            }
+        }
+    }
+
+    /**
+     * 기사 일정이 바뀌면 그 기사의 노출 목록을 다시 보낸다 (다음 조회가 snapshot)
+     */
+    private void onScheduleChanged(Long driverId) {
+        synchronized (lock) {
+            append(new Change(++version, null, driverId, null));
+        }
+        wake();
+    }
+
+    private void append(Change change) {
+        changes.addLast(change);
+        while (changes.size() > logSize) {
+            changes.pollFirst();
+        }
+    }
+
+    // ========== 조회 ==========
+
+    /**
+     * long-poll - 받을 변경이 있으면 바로, 없으면 변경이 생기거나 제한 시간이 될 때까지 기다린다
+     * (제한 시간이 되면 같은 버전의 빈 diff)
+     */
+    public <T> DeferredResult<T> poll(Long userId, FeedQuery query, Function<DispatchFeedResponse, T> mapper) {
+        DriverContext driver = driverContext(userId);
+        DeferredResult<T> result = new DeferredResult<>(longPollTimeoutMs);
+        Subscriber subscriber = new Subscriber(userId, query, true, response -> {
+            result.setResult(mapper.apply(response));
+            return true;
+        });
+        result.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            result.setResult(mapper.apply(emptyResponse(subscriber.version)));
+        });
+        result.onCompletion(() -> subscribers.remove(subscriber));
+        subscribe(subscriber, driver);
+        return result;
+    }
+
+    /**
+     * SSE - 첫 이벤트는 snapshot(또는 Last-Event-ID 이후 diff), 이후 변경마다 diff.
+     * 이벤트 ID 는 "epoch:version" 이라 재연결 시 브라우저/클라이언트가 이어받는다.
+     */
+    public SseEmitter stream(Long userId, FeedQuery query) {
+        DriverContext driver = driverContext(userId);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        Subscriber subscriber = new Subscriber(userId, query, false, response -> {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(response.getEpoch() + ":" + response.getVersion())
+                        .name(Boolean.TRUE.equals(response.getReset()) ? "snapshot" : "diff")
+                        .data(response));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                return false;
+            }
+        });
+        subscriber.emitter = emitter;
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribe(subscriber, driver);
+        return emitter;
+    }
+
+    /**
+     * SSE 연결 유지 (프록시 유휴 타임아웃 방지)
+     */
+    @Scheduled(fixedDelayString = "${feed.heartbeat-ms:15000}", initialDelayString = "${feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.emitter == null) {
+                continue;
+            }
+            submit(() -> {
+                subscriber.sending.lock();
+                try {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(subscriber);
+                } finally {
+                    subscriber.sending.unlock();
+                }
+            });
+        }
+    }
+
+    /**
+     * 현재 위치에서 받을 내용을 보내고, 계속 받을 구독이면 등록된 채로 둔다.
+     * 구독자별 전송은 구독자 락(sending) 안에서 순서대로 (첫 snapshot 보다 diff 가 먼저 가지 않도록).
+     * 읽기 전에 같은 lock 안에서 먼저 등록한다 - 읽은 뒤 등록하면 그 사이의 변경 알림(wake)이 이 구독자를 놓친다.
+     * 읽은 뒤의 변경은 fanOut 이 sending 락을 기다렸다가 이어서 보낸다.
+     */
+    private void subscribe(Subscriber subscriber, DriverContext driver) {
+        subscriber.sending.lock();
+        try {
+            DispatchFeedResponse response;
+            synchronized (lock) {
+                subscribers.add(subscriber);
+                response = read(driver, subscriber.epoch, subscriber.version, subscriber.query, LocalDateTime.now());
+                subscriber.epoch = epoch;
+                subscriber.version = response.getVersion();
+            }
+            if (subscriber.oneShot && isEmpty(response)) {
+                return;
+            }
+            if (subscriber.oneShot) {
+                subscribers.remove(subscriber);
+            }
+            if (!subscriber.sink.deliver(response)) {
+                subscribers.remove(subscriber);
+            }
+        } finally {
+            subscriber.sending.unlock();
+        }
+    }
+
+    private void wake() {
+        if (subscribers.isEmpty() || !fanOutPending.compareAndSet(false, true)) {
+            return;
+        }
+        submit(() -> {
+            fanOutPending.set(false);
+            fanOut();
+        });
+    }
+
+    private void fanOut() {
+        for (Subscriber subscriber : subscribers) {
+            DriverContext driver;
+            try {
+                driver = driverContext(subscriber.userId);
+            } catch (CustomException e) {
+                close(subscriber);
+                continue;
+            }
+
+            subscriber.sending.lock();
+            try {
+                if (!subscribers.contains(subscriber)) {
+                    continue;
+                }
+                DispatchFeedResponse response;
+                synchronized (lock) {
+                    if (subscriber.version == version) {
+                        continue;
+                    }
+                    response = read(driver, subscriber.epoch, subscriber.version, subscriber.query, LocalDateTime.now());
+                    subscriber.version = response.getVersion();
+                }
+                if (isEmpty(response)) {
+                    continue;
+                }
+                if (subscriber.oneShot) {
+                    subscribers.remove(subscriber);
+                }
+                if (!subscriber.sink.deliver(response)) {
+                    close(subscriber);
+                }
+            } finally {
+                subscriber.sending.unlock();
+            }
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        if (subscriber.emitter != null) {
+            // 전송 실패로 끝난 연결이면 이미 완료 처리되어 무시된다
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Dispatch feed task rejected (shutting down)");
+        }
+    }
+
+    /**
+     * 기사에게 보낼 내용 (lock 안에서 호출)
+     */
+    private DispatchFeedResponse read(DriverContext driver, String cursorEpoch, Long cursorVersion,
+                                      FeedQuery query, LocalDateTime now) {
+        if (resumable(cursorEpoch, cursorVersion)) {
+            // 최신 변경부터 거꾸로 - 배차별 마지막 변경만 본다
+            Map<Long, RemoveReason> touched = new LinkedHashMap<>();
+            boolean scheduleChanged = false;
+            Iterator<Change> iterator = changes.descendingIterator();
+            while (iterator.hasNext()) {
+                Change change = iterator.next();
+                if (change.version() <= cursorVersion) {
+                    break;
+                }
+                if (change.driverId() != null) {
+                    if (change.driverId().equals(driver.driverId())) {
+                        scheduleChanged = true;
+                        break;
+                    }
+                    continue;
+                }
+                if (!touched.containsKey(change.dispatchId())) {
+                    touched.put(change.dispatchId(), change.reason());
+                }
+            }
+            if (!scheduleChanged) {
+                return diff(driver, touched, query, now);
+            }
+        }
+        return snapshot(driver, query, now);
+    }
+
+    private boolean resumable(String cursorEpoch, Long cursorVersion) {
+        if (!epoch.equals(cursorEpoch) || cursorVersion == null || cursorVersion > version) {
+            return false;
+        }
+        long oldest = changes.isEmpty() ? version + 1 : changes.peekFirst().version();
+        return cursorVersion >= oldest - 1;
+    }
+
+    private DispatchFeedResponse snapshot(DriverContext driver, FeedQuery query, LocalDateTime now) {
+        List<DispatchResponse> dispatches = items.entrySet().stream()
+                .filter(entry -> visible(entry.getKey(), entry.getValue(), driver, query, now))
+                .map(Map.Entry::getValue)
+                .sorted(Comparator.comparing(Item::workDate)
+                        .thenComparing(Item::workTime, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(item -> item.response().getId()))
+                .map(Item::response)
+                .toList();
+
+        return DispatchFeedResponse.builder()
+                .epoch(epoch)
+                .version(version)
+                .reset(true)
+                .dispatches(dispatches)
+                .removed(List.of())
+                .build();
+    }
+
+    private DispatchFeedResponse diff(DriverContext driver, Map<Long, RemoveReason> touched,
+                                      FeedQuery query, LocalDateTime now) {
+        List<DispatchResponse> dispatches = new ArrayList<>();
+        List<RemovedDispatch> removed = new ArrayList<>();
+        for (Map.Entry<Long, RemoveReason> entry : touched.entrySet()) {
+            Item item = items.get(entry.getKey());
+            if (item != null && visible(entry.getKey(), item, driver, query, now)) {
+                dispatches.add(item.response());
+            } else {
+                RemoveReason reason = item != null ? RemoveReason.HIDDEN
+                        : entry.getValue() != null ? entry.getValue() : RemoveReason.CANCELLED;
+                removed.add(RemovedDispatch.builder().id(entry.getKey()).reason(reason).build());
+            }
+        }
+
+        return DispatchFeedResponse.builder()
+                .epoch(epoch)
+                .version(version)
+                .reset(false)
+                .dispatches(dispatches)
+                .removed(removed)
+                .build();
+    }
+
+    private DispatchFeedResponse emptyResponse(long cursorVersion) {
+        return DispatchFeedResponse.builder()
+                .epoch(epoch)
+                .version(cursorVersion)
+                .reset(false)
+                .dispatches(List.of())
+                .removed(List.of())
+                .build();
+    }
+
+    private static boolean isEmpty(DispatchFeedResponse response) {
+        return !Boolean.TRUE.equals(response.getReset())
+                && response.getDispatches().isEmpty() && response.getRemoved().isEmpty();
+    }
+
+    /**
+     * 배차 목록 API(DispatchService.getAvailableDispatches)와 같은 노출 규칙
+     */
+    private boolean visible(Long dispatchId, Item item, DriverContext driver, FeedQuery query, LocalDateTime now) {
+        if (!item.isPublic()) {
+            LocalDateTime expiresAt = item.offers().get(driver.driverId());
+            if (expiresAt == null || !expiresAt.isAfter(now)) {
+                return false;
+            }
+        }
+        // 평가를 아직 받지 않은 기사는 제한하지 않는다
+        if (item.minDriverRating() != null && driver.totalRatings() > 0
+                && (driver.averageRating() == null || driver.averageRating() < item.minDriverRating())) {
+            return false;
+        }
+        if (query.hasLocation()) {
+            if (item.latitude() == null || item.longitude() == null
+                    || GeoUtils.distanceKm(query.latitude(), query.longitude(), item.latitude(), item.longitude()) > query.radiusKm()) {
+                return false;
+            }
+        }
+        return !scheduleIndex.conflicts(driver.driverId(), dispatchId, item.workDate(), item.workTime(),
+                item.estimatedHours());
+    }
+
+    /**
+     * 기사 노출 조건 (검증 상태/별점은 driver-cache-seconds 동안 캐시, 수락 시점에는 다시 검사한다)
+     */
+    private DriverContext driverContext(Long userId) {
+        DriverContext cached = driverContexts.get(userId);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.loadedAt() < driverCacheSeconds * 1000) {
+            return cached;
+        }
+
+        List<Object[]> rows = driverRepository.findFeedContextByUserId(userId);
+        if (rows.isEmpty()) {
+            throw CustomException.notFound("기사 정보를 찾을 수 없습니다");
+        }
+        Object[] row = rows.get(0);
+        if (row[1] != Driver.VerificationStatus.VERIFIED) {
+            driverContexts.remove(userId);
+            throw CustomException.forbidden("검증이 완료되지 않아 배차 목록을 조회할 수 없습니다");
+        }
+        DriverContext context = new DriverContext((Long) row[0], (Double) row[2],
+                row[3] != null ? (Integer) row[3] : 0, now);
+        driverContexts.put(userId, context);
+        return context;
+    }
+
+    // 열린 배차 (offers: 우선 제안 중인 기사 ID -> 만료 시각)
+    private record Item(DispatchResponse response, LocalDate workDate, LocalTime workTime, Integer estimatedHours,
+                        Double latitude, Double longitude, Integer minDriverRating, boolean isPublic,
+                        Map<Long, LocalDateTime> offers) {
+    }
+
+    // 변경 로그 (배차 변경이면 dispatchId, 기사 일정 변경이면 driverId)
+    private record Change(long version, Long dispatchId, Long driverId, RemoveReason reason) {
+    }
+
+    private record DriverContext(Long driverId, Double averageRating, int totalRatings, long loadedAt) {
+    }
+
+    @FunctionalInterface
+    private interface Sink {
+        boolean deliver(DispatchFeedResponse response);
+    }
+
+    private static final class Subscriber {
+        final Long userId;
+        final FeedQuery query;
+        final boolean oneShot;
+        final Sink sink;
+        // 구독자별 전송 순서 (SSE 쓰기를 감싸므로 synchronized 대신 락)
+        final ReentrantLock sending = new ReentrantLock();
+        SseEmitter emitter;
+        String epoch;
+        long version;
+
+        Subscriber(Long userId, FeedQuery query, boolean oneShot, Sink sink) {
+            this.userId = userId;
+            this.query = query;
+            this.oneShot = oneShot;
+            this.sink = sink;
+            this.epoch = query.epoch();
+            this.version = query.version() != null ? query.version() : -1;
+        }
+    }
+}
@@ -42,6 +42,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PdfGenerationService {
 
+    private final DispatchMetrics dispatchMetrics;
+
     @Value("${file.upload-dir:./uploads}")
     private String uploadDir;
 
@@ -57,6 +59,7 @@ public class PdfGenerationService {
      * 작업 확인서 PDF 생성
      */
     public String generateWorkReport(DispatchMatch match) throws IOException {
+        long startedAt = System.nanoTime();
         DispatchRequest request = match.getRequest();
         Driver driver = match.getDriver();
         Equipment equipment = match.getEquipment();
@@ -104,6 +107,7 @@ public class PdfGenerationService {
             Path filePath = pdfDir.resolve(fileName);
             Files.write(filePath, baos.toByteArray());
 
+            dispatchMetrics.pdfRendered(startedAt);
             log.info("Work report PDF generated: {}", filePath);
             return "/uploads/reports/" + fileName;
 
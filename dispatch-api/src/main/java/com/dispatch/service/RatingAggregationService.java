@@ -0,0 +1,246 @@
+package com.dispatch.service;
+
+import com.dispatch.entity.Driver;
+import com.dispatch.entity.DriverRatingDaily;
+import com.dispatch.exception.CustomException;
+import com.dispatch.repository.DriverRatingDailyRepository;
+import com.dispatch.repository.DriverRatingRepository;
+import com.dispatch.repository.DriverRepository;
+import com.dispatch.service.ReadModelCache.Region;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기사 별점 증분 집계
+ *
+ * 평가 한 건마다 기사 행을 잠그고 누적값만 갱신한다 (전체 평가 AVG/COUNT 재계산 없음).
+ * - 전체: 합계/건수 → averageRating
+ * - 최근 30일/90일: 합계/건수 + 일별 버킷, 기간을 벗어난 버킷은 야간 작업이 차감
+ * - 시간 감쇠: 반감기 기준 지수 감쇠 가중 합계/가중치 (둘 다 같은 비율로 감쇠하므로 평가가 없으면 평균은 그대로)
+ *
+ * 집계 컬럼이 비어 있는 기존 기사는 첫 평가 때 평가 이력으로 한 번 재구성한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RatingAggregationService {
+
+    static final String WINDOW_LEASE_NAME = "rating-window";
+
+    private static final int WINDOW_30D = 30;
+    private static final int WINDOW_90D = 90;
+
+    private final DriverRepository driverRepository;
+    private final DriverRatingRepository ratingRepository;
+    private final DriverRatingDailyRepository dailyRepository;
+    private final SchedulerLeaseService leaseService;
+    private final ReadModelCache readModelCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${rating.decay.half-life-days:90}")
+    private double halfLifeDays;
+
+    /**
+     * 새 평가 반영 (평가 저장과 같은 트랜잭션에서 호출, 잠금된 기사 반환)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Driver applyRating(Long driverId, int rating, LocalDateTime ratedAt) {
+        Driver driver = driverRepository.findByIdForUpdate(driverId)
+                .orElseThrow(() -> CustomException.notFound("기사를 찾을 수 없습니다"));
+
+        if (driver.getRatingSum() == null) {
+            // 집계 컬럼 도입 이전 기사 - 방금 저장된 평가까지 포함해 이력으로 재구성
+            rebuild(driver);
+        } else {
+            add(driver, rating, ratedAt);
+        }
+
+        readModelCache.evict(Region.DRIVER_PROFILE, driver.getUser().getId());
+        return driver;
+    }
+
+    /**
+     * 한 기사의 집계를 평가 이력으로 재구성
+     */
+    @Transactional
+    public void rebuildDriver(Long driverId) {
+        Driver driver = driverRepository.findByIdForUpdate(driverId)
+                .orElseThrow(() -> CustomException.notFound("기사를 찾을 수 없습니다"));
+        rebuild(driver);
+        readModelCache.evict(Region.DRIVER_PROFILE, driver.getUser().getId());
+    }
+
+    /**
+     * 전체 기사 집계 재구성 (기사별 트랜잭션, 운영 중 불일치 복구용)
+     */
+    public int rebuildAll() {
+        List<Long> driverIds = driverRepository.findAllIds();
+        for (Long driverId : driverIds) {
+            transactionTemplate.executeWithoutResult(status -> rebuildDriver(driverId));
+        }
+        log.info("Driver rating aggregates rebuilt: drivers={}", driverIds.size());
+        return driverIds.size();
+    }
+
+    /**
+     * 기간을 벗어난 일별 버킷 차감 (매일, 리더 인스턴스만)
+     * 버킷마다 expired 플래그로 한 번만 차감하므로 여러 번 실행되거나 하루 건너뛰어도 결과가 같다.
+     */
+    @Scheduled(cron = "${rating.window.cron:0 10 0 * * *}")
+    public void expireWindows() {
+        if (!leaseService.tryAcquire(WINDOW_LEASE_NAME, Duration.ofMinutes(10))) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        int[] counts = transactionTemplate.execute(status -> {
+            LocalDate cutoff30 = today.minusDays(WINDOW_30D);
+            int drivers30 = driverRepository.subtractExpired30d(cutoff30);
+            dailyRepository.markExpired30d(cutoff30);
+
+            LocalDate cutoff90 = today.minusDays(WINDOW_90D);
+            int drivers90 = driverRepository.subtractExpired90d(cutoff90);
+            dailyRepository.markExpired90d(cutoff90);
+            dailyRepository.deleteFullyExpired();
+
+            return new int[]{drivers30, drivers90};
+        });
+
+        // 기사 프로필 캐시는 TTL 안에 새 값으로 바뀐다 (일 단위 지표라 즉시 무효화하지 않음)
+        log.info("Driver rating windows expired: drivers30d={}, drivers90d={}",
+                counts != null ? counts[0] : 0, counts != null ? counts[1] : 0);
+    }
+
+    private void add(Driver driver, int rating, LocalDateTime ratedAt) {
+        // 전체
+        long sum = nz(driver.getRatingSum()) + rating;
+        int count = nz(driver.getTotalRatings()) + 1;
+        driver.setRatingSum(sum);
+        driver.setTotalRatings(count);
+        driver.setAverageRating(round((double) sum / count));
+
+        // 최근 30일/90일
+        driver.setRating30dSum(nz(driver.getRating30dSum()) + rating);
+        driver.setRating30dCount(nz(driver.getRating30dCount()) + 1);
+        driver.setRating90dSum(nz(driver.getRating90dSum()) + rating);
+        driver.setRating90dCount(nz(driver.getRating90dCount()) + 1);
+
+        DriverRatingDaily bucket = dailyRepository.findByDriverIdAndRatingDate(driver.getId(), ratedAt.toLocalDate())
+                .orElseGet(() -> DriverRatingDaily.builder()
+                        .driverId(driver.getId())
+                        .ratingDate(ratedAt.toLocalDate())
+                        .ratingSum(0L)
+                        .ratingCount(0)
+                        .build());
+        bucket.setRatingSum(bucket.getRatingSum() + rating);
+        bucket.setRatingCount(bucket.getRatingCount() + 1);
+        dailyRepository.save(bucket);
+
+        // 시간 감쇠
+        double factor = decayFactor(driver.getRatingDecayedAt(), ratedAt);
+        driver.setDecayedRatingSum(nz(driver.getDecayedRatingSum()) * factor + rating);
+        driver.setDecayedRatingWeight(nz(driver.getDecayedRatingWeight()) * factor + 1);
+        driver.setRatingDecayedAt(ratedAt);
+    }
+
+    private void rebuild(Driver driver) {
+        LocalDate today = LocalDate.now();
+        LocalDate from30 = today.minusDays(WINDOW_30D - 1);
+        LocalDate from90 = today.minusDays(WINDOW_90D - 1);
+
+        long sum = 0;
+        int count = 0;
+        long sum30 = 0;
+        int count30 = 0;
+        long sum90 = 0;
+        int count90 = 0;
+        double decayedSum = 0;
+        double decayedWeight = 0;
+        LocalDateTime decayedAt = null;
+        Map<LocalDate, long[]> buckets = new HashMap<>();
+
+        for (Object[] row : ratingRepository.findRatingHistoryByDriverId(driver.getId())) {
+            int rating = (Integer) row[0];
+            LocalDateTime ratedAt = (LocalDateTime) row[1];
+            LocalDate date = ratedAt.toLocalDate();
+
+            sum += rating;
+            count++;
+            if (!date.isBefore(from30)) {
+                sum30 += rating;
+                count30++;
+            }
+            if (!date.isBefore(from90)) {
+                sum90 += rating;
+                count90++;
+                long[] bucket = buckets.computeIfAbsent(date, d -> new long[2]);
+                bucket[0] += rating;
+                bucket[1]++;
+            }
+
+            double factor = decayFactor(decayedAt, ratedAt);
+            decayedSum = decayedSum * factor + rating;
+            decayedWeight = decayedWeight * factor + 1;
+            decayedAt = ratedAt;
+        }
+
+        driver.setRatingSum(sum);
+        driver.setTotalRatings(count);
+        driver.setAverageRating(count > 0 ? round((double) sum / count) : 0.0);
+        driver.setRating30dSum(sum30);
+        driver.setRating30dCount(count30);
+        driver.setRating90dSum(sum90);
+        driver.setRating90dCount(count90);
+        driver.setDecayedRatingSum(decayedSum);
+        driver.setDecayedRatingWeight(decayedWeight);
+        driver.setRatingDecayedAt(decayedAt);
+
+        dailyRepository.deleteByDriverId(driver.getId());
+        buckets.forEach((date, bucket) -> dailyRepository.save(DriverRatingDaily.builder()
+                .driverId(driver.getId())
+                .ratingDate(date)
+                .ratingSum(bucket[0])
+                .ratingCount((int) bucket[1])
+                .expired30d(date.isBefore(from30))
+                .build()));
+
+        log.debug("Driver rating aggregates rebuilt: driverId={}, ratings={}", driver.getId(), count);
+    }
+
+    private double decayFactor(LocalDateTime from, LocalDateTime to) {
+        if (from == null || !to.isAfter(from)) {
+            return 1.0;
+        }
+        double elapsedDays = Duration.between(from, to).toMinutes() / (24.0 * 60);
+        return Math.pow(0.5, elapsedDays / halfLifeDays);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static long nz(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static int nz(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static double nz(Double value) {
+        return value != null ? value : 0.0;
+    }
+}
@@ -10,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -23,6 +24,8 @@ public class RatingService {
     private final DispatchRequestRepository dispatchRequestRepository;
     private final UserRepository userRepository;
     private final CompanyRepository companyRepository;
+    private final RatingAggregationService ratingAggregationService;
+    private final DriverGradingService driverGradingService;
 
     /**
      * 기사 평가 등록
@@ -65,8 +68,10 @@ public class RatingService {
 
         ratingRepository.save(rating);
 
-        // 기사 평균 별점 업데이트
-        updateDriverAverageRating(match.getDriver().getId());
+        // 기사 별점 집계 증분 반영 및 등급 재산정
+        Driver driver = ratingAggregationService.applyRating(match.getDriver().getId(), rating.getRating(),
+                rating.getCreatedAt() != null ? rating.getCreatedAt() : LocalDateTime.now());
+        driverGradingService.regrade(driver, "평가");
 
         log.info("Rating created: dispatchId={}, driverId={}, rating={}",
                 dispatchId, match.getDriver().getId(), request.getRating());
@@ -106,19 +111,6 @@ public class RatingService {
         return buildRatingResponse(rating);
     }
 
-    /**
-     * 기사 평균 별점 업데이트
-     */
-    private void updateDriverAverageRating(Long driverId) {
-        Double avgRating = ratingRepository.getAverageRatingByDriverId(driverId);
-        Integer totalRatings = ratingRepository.countByDriverId(driverId);
-
-        driverRepository.findById(driverId).ifPresent(driver -> {
-            driver.setAverageRating(avgRating != null ? avgRating : 0.0);
-            driver.setTotalRatings(totalRatings != null ? totalRatings : 0);
-        });
-    }
-
     private RatingResponse buildRatingResponse(DriverRating rating) {
         RatingResponse response = RatingResponse.from(rating);
 
@@ -0,0 +1,405 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.admin.CacheStatsResponse;
+import com.dispatch.dto.auth.CachedUser;
+import com.dispatch.dto.company.CompanyResponse;
+import com.dispatch.dto.dispatch.DispatchResponse;
+import com.dispatch.dto.driver.DriverResponse;
+import com.dispatch.util.TransactionCallbacks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 조회 모델 2단 캐시 (L1 Caffeine + L2 Redis)
+ *
+ * - 조회: L1 → L2 → DB 순서. 같은 키의 동시 조회는 한 번만 적재하고 나머지는 결과를 공유한다.
+ *   여러 인스턴스가 동시에 놓친 경우 Redis 잠금을 잡은 한 곳만 DB를 읽고 나머지는 L2 채워지기를 잠시 기다린다.
+ * - 무효화: 서비스의 변경 메서드가 evict 를 호출하면 커밋 이후 L1/L2 를 지우고
+ *   Redis 채널로 다른 인스턴스에 알려 각자의 L1 도 지운다.
+ * - Redis 장애 시 L2 를 잠시 건너뛰고 L1 + DB 로 동작한다.
+ */
+@Slf4j
+@Component
+public class ReadModelCache {
+
+    public static final String INVALIDATION_CHANNEL = "dispatch:cache:invalidate";
+
+    private static final String KEY_PREFIX = "dispatch:cache:";
+    private static final String KEY_SEPARATOR = "\n";
+    private static final Duration LOCK_TTL = Duration.ofSeconds(3);
+    private static final int LOCK_WAIT_ATTEMPTS = 5;
+    private static final long LOCK_WAIT_MS = 40;
+    private static final long L2_RETRY_AFTER_MS = 30_000;
+
+    public enum Region {
+        DISPATCH("dispatch", DispatchResponse.class),       // 배차 상세 (dispatchId)
+        DRIVER_PROFILE("driver", DriverResponse.class),     // 기사 프로필 (userId)
+        COMPANY("company", CompanyResponse.class),          // 발주처 (companyId)
+        USER("user", CachedUser.class);                     // 토큰 인증 사용자 (email)
+
+        private final String prefix;
+        private final Class<?> type;
+
+        Region(String prefix, Class<?> type) {
+            this.prefix = prefix;
+            this.type = type;
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean l2Enabled;
+    private final Duration l2Ttl;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<Region, RegionCache> regions = new EnumMap<>(Region.class);
+    private volatile long l2DownUntil;
+
+    public ReadModelCache(StringRedisTemplate redisTemplate,
+                          ObjectMapper objectMapper,
+                          @Value("${cache.l1.max-size:10000}") long l1MaxSize,
+                          @Value("${cache.l1.ttl-seconds:30}") long l1TtlSeconds,
+                          @Value("${cache.l2.enabled:true}") boolean l2Enabled,
+                          @Value("${cache.l2.ttl-seconds:600}") long l2TtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.l2Enabled = l2Enabled;
+        this.l2Ttl = Duration.ofSeconds(l2TtlSeconds);
+
+        for (Region region : Region.values()) {
+            regions.put(region, new RegionCache(Caffeine.newBuilder()
+                    .maximumSize(l1MaxSize)
+                    .expireAfterWrite(l1TtlSeconds, TimeUnit.SECONDS)
+                    .build()));
+        }
+    }
+
+    /**
+     * 캐시 조회 (없으면 loader 로 적재)
+     * loader 가 예외를 던지면 캐시하지 않고 그대로 전달한다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Region region, Object key, Supplier<T> loader) {
+        RegionCache cache = regions.get(region);
+        String cacheKey = String.valueOf(key);
+
+        Object cached = cache.l1.getIfPresent(cacheKey);
+        if (cached != null) {
+            cache.l1Hits.increment();
+            return (T) cached;
+        }
+
+        // 같은 키 동시 조회는 먼저 온 요청의 결과를 공유
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = cache.inFlight.putIfAbsent(cacheKey, mine);
+        if (inFlight != null) {
+            cache.coalesced.increment();
+            return (T) await(inFlight);
+        }
+
+        try {
+            long version = cache.version.get();
+            Object value = readL2(region, cacheKey);
+            if (value != null) {
+                cache.l2Hits.increment();
+            } else {
+                value = loadGuarded(region, cacheKey, loader, version);
+            }
+
+            if (value != null && cache.version.get() == version) {
+                cache.l1.put(cacheKey, value);
+            }
+            mine.complete(value);
+            return (T) value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            cache.inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    /**
+     * 캐시 무효화 (트랜잭션 중이면 커밋 이후)
+     */
+    public void evict(Region region, Object key) {
+        if (key == null) {
+            return;
+        }
+        String cacheKey = String.valueOf(key);
+        TransactionCallbacks.afterCommit(() -> {
+            evictLocal(region, cacheKey);
+            deleteL2(region, cacheKey);
+            publish(region, cacheKey);
+        });
+    }
+
+    /**
+     * 여러 키 무효화 (커밋 이후 L2 는 DEL 한 번, 다른 인스턴스에는 메시지 한 건으로)
+     */
+    public void evictAll(Region region, List<?> keys) {
+        List<String> cacheKeys = keys.stream()
+                .filter(Objects::nonNull)
+                .map(String::valueOf)
+                .distinct()
+                .toList();
+        if (cacheKeys.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            cacheKeys.forEach(cacheKey -> evictLocal(region, cacheKey));
+            deleteL2(region, cacheKeys);
+            publish(region, String.join(KEY_SEPARATOR, cacheKeys));
+        });
+    }
+
+    /**
+     * 전체 캐시 초기화 (L1 전체, L2 는 TTL 만료에 맡김)
+     */
+    public void clear() {
+        regions.values().forEach(cache -> {
+            cache.version.incrementAndGet();
+            cache.l1.invalidateAll();
+        });
+        publish(null, "*");
+    }
+
+    /**
+     * 다른 인스턴스의 무효화 메시지 처리 (nodeId|region|key, 여러 키는 줄바꿈으로 구분)
+     */
+    public void onInvalidationMessage(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        if ("*".equals(parts[2])) {
+            regions.values().forEach(cache -> {
+                cache.version.incrementAndGet();
+                cache.l1.invalidateAll();
+            });
+            return;
+        }
+
+        Arrays.stream(Region.values())
+                .filter(region -> region.name().equals(parts[1]))
+                .findFirst()
+                .ifPresent(region -> {
+                    for (String cacheKey : parts[2].split(KEY_SEPARATOR)) {
+                        evictLocal(region, cacheKey);
+                    }
+                });
+    }
+
+    /**
+     * 영역별 적중률 통계
+     */
+    public List<CacheStatsResponse> getStats() {
+        boolean l2Available = isL2Available();
+        return regions.entrySet().stream()
+                .map(entry -> entry.getValue().toStats(entry.getKey(), l2Available))
+                .toList();
+    }
+
+    private Object loadGuarded(Region region, String cacheKey, Supplier<?> loader, long version) {
+        RegionCache cache = regions.get(region);
+        String lockKey = redisKey(region, cacheKey) + ":lock";
+
+        boolean locked = tryLock(lockKey);
+        if (!locked && isL2Available()) {
+            // 다른 인스턴스가 적재 중 - L2 에 채워질 때까지 잠시 대기
+            for (int i = 0; i < LOCK_WAIT_ATTEMPTS; i++) {
+                sleep(LOCK_WAIT_MS);
+                Object value = readL2(region, cacheKey);
+                if (value != null) {
+                    cache.l2Hits.increment();
+                    return value;
+                }
+            }
+        }
+
+        try {
+            cache.misses.increment();
+            Object value = loader.get();
+            if (value != null && cache.version.get() == version) {
+                writeL2(region, cacheKey, value);
+            }
+            return value;
+        } finally {
+            if (locked) {
+                unlock(lockKey);
+            }
+        }
+    }
+
+    private void evictLocal(Region region, String cacheKey) {
+        RegionCache cache = regions.get(region);
+        cache.version.incrementAndGet();
+        cache.l1.invalidate(cacheKey);
+        cache.evictions.increment();
+    }
+
+    private Object readL2(Region region, String cacheKey) {
+        if (!isL2Available()) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(redisKey(region, cacheKey));
+            return json != null ? objectMapper.readValue(json, region.type) : null;
+        } catch (Exception e) {
+            markL2Down(e);
+            return null;
+        }
+    }
+
+    private void writeL2(Region region, String cacheKey, Object value) {
+        if (!isL2Available()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(redisKey(region, cacheKey), objectMapper.writeValueAsString(value), l2Ttl);
+        } catch (Exception e) {
+            markL2Down(e);
+        }
+    }
+
+    private void deleteL2(Region region, String cacheKey) {
+        if (!isL2Available()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(redisKey(region, cacheKey));
+        } catch (Exception e) {
+            markL2Down(e);
+        }
+    }
+
+    private void deleteL2(Region region, List<String> cacheKeys) {
+        if (!isL2Available()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(cacheKeys.stream().map(cacheKey -> redisKey(region, cacheKey)).toList());
+        } catch (Exception e) {
+            markL2Down(e);
+        }
+    }
+
+    private void publish(Region region, String cacheKey) {
+        if (!isL2Available()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+                    nodeId + "|" + (region != null ? region.name() : "*") + "|" + cacheKey);
+        } catch (Exception e) {
+            markL2Down(e);
+        }
+    }
+
+    private boolean tryLock(String lockKey) {
+        if (!isL2Available()) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, nodeId, LOCK_TTL));
+        } catch (Exception e) {
+            markL2Down(e);
+            return false;
+        }
+    }
+
+    private void unlock(String lockKey) {
+        try {
+            redisTemplate.delete(lockKey);
+        } catch (Exception e) {
+            markL2Down(e);
+        }
+    }
+
+    private boolean isL2Available() {
+        return l2Enabled && System.currentTimeMillis() >= l2DownUntil;
+    }
+
+    private void markL2Down(Exception e) {
+        l2DownUntil = System.currentTimeMillis() + L2_RETRY_AFTER_MS;
+        log.warn("Redis cache unavailable, using L1 only for {}ms: {}", L2_RETRY_AFTER_MS, e.getMessage());
+    }
+
+    private String redisKey(Region region, String cacheKey) {
+        return KEY_PREFIX + region.prefix + ":" + cacheKey;
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RegionCache {
+        private final Cache<String, Object> l1;
+        private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+        // 무효화 시 증가 - 적재 도중 무효화되면 적재 결과를 캐시에 넣지 않는다
+        private final AtomicLong version = new AtomicLong();
+
+        private final LongAdder l1Hits = new LongAdder();
+        private final LongAdder l2Hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        RegionCache(Cache<String, Object> l1) {
+            this.l1 = l1;
+        }
+
+        CacheStatsResponse toStats(Region region, boolean l2Available) {
+            long hits = l1Hits.sum() + l2Hits.sum() + coalesced.sum();
+            long total = hits + misses.sum();
+            return CacheStatsResponse.builder()
+                    .region(region.name())
+                    .size(l1.estimatedSize())
+                    .l1Hits(l1Hits.sum())
+                    .l2Hits(l2Hits.sum())
+                    .misses(misses.sum())
+                    .coalesced(coalesced.sum())
+                    .evictions(evictions.sum())
+                    .hitRatio(total > 0 ? (double) hits / total : 0.0)
+                    .l2Available(l2Available)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.dispatch.service;
+
+import com.dispatch.entity.SchedulerLease;
+import com.dispatch.repository.SchedulerLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DB 기반 리더 선출
+ *
+ * 작업 이름별 임대 행 하나를 조건부 UPDATE 로 가져간다.
+ * 보유자는 임대 시간 안에 주기적으로 갱신해야 하며, 갱신이 끊기면 다른 인스턴스가 이어받는다.
+ * 인스턴스 간 시계 차이는 임대 시간보다 충분히 작다고 가정한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 임대 획득 또는 갱신 (성공 시 이 인스턴스가 리더)
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(ttl);
+
+        Integer updated = transactionTemplate.execute(status ->
+                leaseRepository.acquire(name, nodeId, now, leaseUntil));
+        if (updated != null && updated > 0) {
+            return true;
+        }
+
+        // 최초 실행 시 임대 행 생성 (동시에 생성하면 한 곳만 성공)
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (leaseRepository.existsById(name)) {
+                    return false;
+                }
+                leaseRepository.saveAndFlush(SchedulerLease.builder()
+                        .name(name)
+                        .owner(nodeId)
+                        .leaseUntil(leaseUntil)
+                        .build());
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 임대 반납 (종료 시 다른 인스턴스가 바로 이어받도록)
+     */
+    public void release(String name) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    leaseRepository.release(name, nodeId, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to release scheduler lease: name={}, error={}", name, e.getMessage());
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
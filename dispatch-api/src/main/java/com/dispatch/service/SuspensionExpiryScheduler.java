@@ -0,0 +1,225 @@
+package com.dispatch.service;
+
+import com.dispatch.repository.SuspensionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 임시 정지 만료 처리
+ *
+ * 리더 인스턴스(scheduler_leases 임대 보유)만 실행한다.
+ * 리더는 종료일이 가까운 정지의 (ID, 종료일)만 DelayQueue 에 올려두고 종료 시각에 바로 해제한다.
+ * 같은 시각에 만료된 정지는 한 번에 모아 일괄 UPDATE 로 처리한다.
+ *
+ * 대기열 적재
+ * - 리더가 된 직후와 window-refresh 주기마다: 종료일이 horizon 안에 있는 정지 전체
+ * - 매 주기: 마지막으로 확인한 ID 이후 새로 생긴 정지 (다른 인스턴스에서 생성된 정지 포함)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SuspensionExpiryScheduler {
+
+    static final String LEASE_NAME = "suspension-expiry";
+
+    private final SuspensionRepository suspensionRepository;
+    private final SuspensionService suspensionService;
+    private final SchedulerLeaseService leaseService;
+
+    @Value("${suspension.expiry.lease-ttl-seconds:30}")
+    private long leaseTtlSeconds;
+
+    @Value("${suspension.expiry.horizon-hours:24}")
+    private long horizonHours;
+
+    @Value("${suspension.expiry.window-refresh-minutes:60}")
+    private long windowRefreshMinutes;
+
+    @Value("${suspension.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${suspension.expiry.retry-delay-seconds:30}")
+    private long retryDelaySeconds;
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean leader;
+    private volatile boolean running = true;
+    private long lastSeenId;
+    private LocalDateTime windowLoadedAt;
+    private Thread worker;
+
+    // poll 직렬화 (임대 갱신과 적재가 DB 를 거치므로 ReentrantLock)
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    @PostConstruct
+    void start() {
+        worker = new Thread(this::runWorker, "suspension-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        worker.interrupt();
+        if (leader) {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * 임대 갱신 및 대기열 적재 (모든 인스턴스에서 실행, 리더만 적재)
+     */
+    @Scheduled(fixedDelayString = "${suspension.expiry.poll-interval-ms:10000}",
+            initialDelayString = "${suspension.expiry.initial-delay-ms:5000}")
+    public void poll() {
+        pollLock.lock();
+        try {
+            boolean acquired;
+            try {
+                acquired = leaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseTtlSeconds));
+            } catch (RuntimeException e) {
+                log.warn("Suspension expiry lease check failed: {}", e.getMessage());
+                acquired = false;
+            }
+
+            if (!acquired) {
+                if (leader) {
+                    log.info("Suspension expiry leadership lost: node={}", leaseService.getNodeId());
+                    resetQueue();
+                }
+                leader = false;
+                return;
+            }
+
+            if (!leader) {
+                log.info("Suspension expiry leadership acquired: node={}", leaseService.getNodeId());
+                resetQueue();
+                leader = true;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            if (windowLoadedAt == null || windowLoadedAt.plusMinutes(windowRefreshMinutes).isBefore(now)) {
+                load(0L, now);
+                windowLoadedAt = now;
+            } else {
+                load(lastSeenId, now);
+            }
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    /**
+     * 현재 대기 중인 만료 건수
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    private void load(long afterId, LocalDateTime now) {
+        Long maxId = suspensionRepository.findMaxId();
+        if (maxId == null || maxId <= afterId) {
+            return;
+        }
+
+        int added = 0;
+        for (Object[] row : suspensionRepository.findPendingExpiries(afterId, maxId, now.plusHours(horizonHours))) {
+            if (enqueue((Long) row[0], (LocalDateTime) row[1])) {
+                added++;
+            }
+        }
+        lastSeenId = Math.max(lastSeenId, maxId);
+
+        if (added > 0) {
+            log.debug("Suspension expiries queued: added={}, queued={}", added, queue.size());
+        }
+    }
+
+    private boolean enqueue(Long suspensionId, LocalDateTime endDate) {
+        if (!queued.add(suspensionId)) {
+            return false;
+        }
+        long fireAt = endDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        queue.put(new Expiry(suspensionId, fireAt));
+        return true;
+    }
+
+    // pollLock 안에서만 호출
+    private void resetQueue() {
+        queue.clear();
+        queued.clear();
+        lastSeenId = 0L;
+        windowLoadedAt = null;
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                Expiry first = queue.take();
+
+                // 같은 시각에 만료된 건을 모아 한 번에 처리
+                List<Expiry> batch = new ArrayList<>();
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                if (leader) {
+                    lift(batch);
+                } else {
+                    batch.forEach(expiry -> queued.remove(expiry.suspensionId()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void lift(List<Expiry> batch) {
+        List<Long> ids = batch.stream().map(Expiry::suspensionId).toList();
+        try {
+            suspensionService.liftExpiredSuspensions(ids);
+            ids.forEach(queued::remove);
+        } catch (RuntimeException e) {
+            log.error("Failed to lift expired suspensions: ids={}, error={}", ids, e.getMessage());
+            long retryAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(retryDelaySeconds);
+            batch.forEach(expiry -> queue.put(new Expiry(expiry.suspensionId(), retryAt)));
+        }
+    }
+
+    private record Expiry(Long suspensionId, long fireAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(fireAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(fireAtMillis, ((Expiry) other).fireAtMillis);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.dispatch.service;
+
+import com.dispatch.entity.Warning;
+import com.dispatch.repository.SuspensionRepository;
+import com.dispatch.security.CustomUserDetails;
+import com.dispatch.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 현재 정지 중인 기사/발주처 목록 (메모리)
+ *
+ * 요청 경로(JwtAuthenticationFilter, 배차 수락)에서 SQL 없이 정지 여부를 확인한다.
+ * 이 인스턴스의 정지/해제는 커밋 이후 바로 반영하고,
+ * 다른 인스턴스의 변경은 refresh 주기마다 전체 재적재로 반영한다.
+ * 종료일을 함께 보관하므로 만료 처리가 늦어져도 종료 시각이 지나면 정지로 보지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SuspensionRegistry {
+
+    private static final long PERMANENT = Long.MAX_VALUE;
+
+    private final SuspensionRepository suspensionRepository;
+
+    // (대상 유형, 대상 ID) -> 종료 시각(epoch ms)
+    private volatile Map<Key, Long> suspended = new ConcurrentHashMap<>();
+
+    // 변경 시 증가 - 재적재 도중 변경되면 재적재 결과를 버린다
+    private final AtomicLong version = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    /**
+     * 전체 재적재 (다른 인스턴스 변경 반영)
+     */
+    @Scheduled(fixedDelayString = "${suspension.registry.refresh-ms:30000}",
+            initialDelayString = "${suspension.registry.refresh-ms:30000}")
+    public void refresh() {
+        long startVersion = version.get();
+        Map<Key, Long> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : suspensionRepository.findCurrentActiveKeys(LocalDateTime.now())) {
+            loaded.put(new Key((Warning.UserType) row[1], (Long) row[0]), toMillis((LocalDateTime) row[2]));
+        }
+
+        if (version.get() == startVersion) {
+            suspended = loaded;
+            log.debug("Suspension registry refreshed: size={}", loaded.size());
+        }
+    }
+
+    /**
+     * 정지 여부 (기사 ID 또는 발주처 ID)
+     */
+    public boolean isSuspended(Warning.UserType userType, Long targetId) {
+        if (targetId == null) {
+            return false;
+        }
+        Long endMillis = suspended.get(new Key(userType, targetId));
+        return endMillis != null && endMillis > System.currentTimeMillis();
+    }
+
+    /**
+     * 인증 사용자의 정지 여부 (본인 기사 정지 또는 소속 발주처 정지)
+     */
+    public boolean isSuspended(CustomUserDetails userDetails) {
+        return isSuspended(Warning.UserType.DRIVER, userDetails.getDriverId())
+                || isSuspended(Warning.UserType.COMPANY, userDetails.getCompanyId());
+    }
+
+    /**
+     * 정지 반영 (트랜잭션 중이면 커밋 이후)
+     */
+    public void markSuspended(Warning.UserType userType, Long targetId, LocalDateTime endDate) {
+        long endMillis = toMillis(endDate);
+        TransactionCallbacks.afterCommit(() -> {
+            version.incrementAndGet();
+            suspended.put(new Key(userType, targetId), endMillis);
+        });
+    }
+
+    /**
+     * 해제 반영 (트랜잭션 중이면 커밋 이후)
+     */
+    public void markLifted(Warning.UserType userType, Long targetId) {
+        TransactionCallbacks.afterCommit(() -> {
+            version.incrementAndGet();
+            suspended.remove(new Key(userType, targetId));
+        });
+    }
+
+    public int size() {
+        return suspended.size();
+    }
+
+    private static long toMillis(LocalDateTime endDate) {
+        return endDate == null ? PERMANENT : endDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Key(Warning.UserType userType, Long targetId) {
+    }
+}
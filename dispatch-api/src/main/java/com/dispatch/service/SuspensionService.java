@@ -1,17 +1,23 @@
 package com.dispatch.service;
 
+import com.dispatch.dto.PageResponse;
 import com.dispatch.dto.admin.SuspensionRequest;
 import com.dispatch.dto.admin.SuspensionResponse;
 import com.dispatch.entity.*;
 import com.dispatch.exception.CustomException;
 import com.dispatch.repository.*;
+import com.dispatch.service.ReadModelCache.Region;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Slf4j
@@ -19,10 +25,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SuspensionService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final SuspensionRepository suspensionRepository;
     private final DriverRepository driverRepository;
     private final CompanyRepository companyRepository;
     private final UserRepository userRepository;
+    private final ReadModelCache readModelCache;
+    private final SuspensionRegistry suspensionRegistry;
+    private final AuditNameResolver auditNameResolver;
 
     /**
      * 정지 처리
@@ -62,6 +73,7 @@ public class SuspensionService {
 
         // 사용자/발주처 상태 변경
         updateUserStatus(request.getUserId(), request.getUserType(), User.UserStatus.SUSPENDED);
+        suspensionRegistry.markSuspended(request.getUserType(), request.getUserId(), endDate);
 
         log.info("Suspension created: userId={}, userType={}, type={}, adminId={}",
                 request.getUserId(), request.getUserType(), request.getType(), adminId);
@@ -97,6 +109,7 @@ public class SuspensionService {
 
         // 사용자/발주처 상태 변경
         updateUserStatus(userId, userType, User.UserStatus.SUSPENDED);
+        suspensionRegistry.markSuspended(userType, userId, endDate);
 
         log.info("Auto suspension created: userId={}, userType={}, days={}", userId, userType, days);
     }
@@ -119,6 +132,7 @@ public class SuspensionService {
 
         // 사용자/발주처 상태 복원
         updateUserStatus(suspension.getUserId(), suspension.getUserType(), User.UserStatus.APPROVED);
+        suspensionRegistry.markLifted(suspension.getUserType(), suspension.getUserId());
 
         log.info("Suspension lifted: suspensionId={}, adminId={}", suspensionId, adminId);
 
@@ -126,25 +140,21 @@ public class SuspensionService {
     }
 
     /**
-     * 정지 목록 조회
+     * 정지 목록 조회 (페이지)
      */
     @Transactional(readOnly = true)
-    public List<SuspensionResponse> getAllSuspensions() {
-        return suspensionRepository.findAllOrderByCreatedAtDesc()
-                .stream()
-                .map(this::buildSuspensionResponse)
-                .toList();
+    public PageResponse<SuspensionResponse> getAllSuspensions(int page, int size) {
+        Page<Suspension> suspensions = suspensionRepository.findAllOrderByCreatedAtDesc(toPageable(page, size));
+        return PageResponse.of(suspensions, buildSuspensionResponses(suspensions.getContent()));
     }
 
     /**
-     * 활성 정지 목록
+     * 활성 정지 목록 (페이지)
      */
     @Transactional(readOnly = true)
-    public List<SuspensionResponse> getActiveSuspensions() {
-        return suspensionRepository.findAllActiveSuspensions()
-                .stream()
-                .map(this::buildSuspensionResponse)
-                .toList();
+    public PageResponse<SuspensionResponse> getActiveSuspensions(int page, int size) {
+        Page<Suspension> suspensions = suspensionRepository.findAllActiveSuspensions(toPageable(page, size));
+        return PageResponse.of(suspensions, buildSuspensionResponses(suspensions.getContent()));
     }
 
     /**
@@ -152,73 +162,124 @@ public class SuspensionService {
      */
     @Transactional(readOnly = true)
     public List<SuspensionResponse> getSuspensionsByUser(Long userId, Warning.UserType userType) {
-        return suspensionRepository.findByUserIdAndUserType(userId, userType)
-                .stream()
-                .map(this::buildSuspensionResponse)
-                .toList();
+        return buildSuspensionResponses(suspensionRepository.findByUserIdAndUserType(userId, userType));
     }
 
     /**
-     * 현재 정지 상태 확인
+     * 현재 정지 상태 확인 (메모리, SQL 없음)
      */
-    @Transactional(readOnly = true)
     public boolean isCurrentlySuspended(Long userId, Warning.UserType userType) {
-        return suspensionRepository.findCurrentActiveSuspension(userId, userType, LocalDateTime.now())
-                .isPresent();
+        return suspensionRegistry.isSuspended(userType, userId);
     }
 
     /**
-     * 만료된 정지 자동 해제 (스케줄러)
+     * 만료된 정지 일괄 해제 (SuspensionExpiryScheduler 에서 호출)
+     * 이미 해제되었거나 종료일이 지나지 않은 정지는 건너뛰며, 실제 해제된 건수를 반환한다.
      */
-    @Scheduled(fixedRate = 3600000) // 1시간마다
     @Transactional
-    public void autoLiftExpiredSuspensions() {
-        List<Suspension> expiredSuspensions = suspensionRepository.findExpiredSuspensions(LocalDateTime.now());
-
-        for (Suspension suspension : expiredSuspensions) {
-            suspension.setIsActive(false);
-            suspension.setLiftedAt(LocalDateTime.now());
+    public int liftExpiredSuspensions(Collection<Long> suspensionIds) {
+        if (suspensionIds.isEmpty()) {
+            return 0;
+        }
 
-            // 사용자/발주처 상태 복원
-            updateUserStatus(suspension.getUserId(), suspension.getUserType(), User.UserStatus.APPROVED);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> due = suspensionRepository.findDueForLift(suspensionIds, now);
+        if (due.isEmpty()) {
+            return 0;
+        }
 
-            log.info("Auto lifted expired suspension: suspensionId={}", suspension.getId());
+        List<Long> ids = new ArrayList<>();
+        List<Long> driverIds = new ArrayList<>();
+        List<Long> companyIds = new ArrayList<>();
+        for (Object[] row : due) {
+            ids.add((Long) row[0]);
+            suspensionRegistry.markLifted((Warning.UserType) row[2], (Long) row[1]);
+            if (row[2] == Warning.UserType.DRIVER) {
+                driverIds.add((Long) row[1]);
+            } else {
+                companyIds.add((Long) row[1]);
+            }
         }
+
+        int lifted = suspensionRepository.deactivateByIds(ids, now);
+
+        // 사용자/발주처 상태 복원
+        updateDriverStatus(driverIds, User.UserStatus.APPROVED);
+        updateCompanyStatus(companyIds, User.UserStatus.APPROVED);
+
+        log.info("Auto lifted expired suspensions: count={}, drivers={}, companies={}",
+                lifted, driverIds.size(), companyIds.size());
+
+        return lifted;
     }
 
     private void updateUserStatus(Long userId, Warning.UserType userType, User.UserStatus status) {
         if (userType == Warning.UserType.DRIVER) {
-            driverRepository.findById(userId)
-                    .ifPresent(driver -> driver.getUser().setStatus(status));
+            updateDriverStatus(List.of(userId), status);
         } else {
-            companyRepository.findById(userId)
-                    .ifPresent(company -> {
-                        if (status == User.UserStatus.SUSPENDED) {
-                            company.setStatus(Company.CompanyStatus.SUSPENDED);
-                        } else {
-                            company.setStatus(Company.CompanyStatus.APPROVED);
-                        }
-                        company.getEmployees().forEach(user -> user.setStatus(status));
-                    });
+            updateCompanyStatus(List.of(userId), status);
         }
     }
 
-    private SuspensionResponse buildSuspensionResponse(Suspension suspension) {
-        SuspensionResponse response = SuspensionResponse.from(suspension);
+    /**
+     * 기사 사용자 상태 일괄 변경 (엔티티 미적재)
+     */
+    private void updateDriverStatus(List<Long> driverIds, User.UserStatus status) {
+        if (driverIds.isEmpty()) {
+            return;
+        }
 
-        // 사용자 이름 조회
-        if (suspension.getUserType() == Warning.UserType.DRIVER) {
-            driverRepository.findById(suspension.getUserId())
-                    .ifPresent(driver -> response.setUserName(driver.getUser().getName()));
-        } else {
-            companyRepository.findById(suspension.getUserId())
-                    .ifPresent(company -> response.setUserName(company.getName()));
+        userRepository.updateStatusByDriverIds(driverIds, status);
+
+        for (Object[] row : driverRepository.findUserKeysByIds(driverIds)) {
+            readModelCache.evict(Region.DRIVER_PROFILE, row[0]);
+            readModelCache.evict(Region.USER, row[1]);
+        }
+    }
+
+    /**
+     * 발주처와 소속 직원 상태 일괄 변경 (직원 엔티티 미적재)
+     */
+    private void updateCompanyStatus(List<Long> companyIds, User.UserStatus status) {
+        if (companyIds.isEmpty()) {
+            return;
         }
 
-        // 생성자 이름 조회
-        userRepository.findById(suspension.getCreatedBy())
-                .ifPresent(user -> response.setCreatedByName(user.getName()));
+        Company.CompanyStatus companyStatus = status == User.UserStatus.SUSPENDED
+                ? Company.CompanyStatus.SUSPENDED
+                : Company.CompanyStatus.APPROVED;
+        companyRepository.updateStatusByIds(companyIds, companyStatus);
+        userRepository.updateStatusByCompanyIds(companyIds, status);
 
-        return response;
+        readModelCache.evictAll(Region.COMPANY, companyIds);
+        readModelCache.evictAll(Region.USER, userRepository.findEmailsByCompanyIds(companyIds));
+    }
+
+    private Pageable toPageable(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    private SuspensionResponse buildSuspensionResponse(Suspension suspension) {
+        return buildSuspensionResponses(List.of(suspension)).get(0);
+    }
+
+    /**
+     * 응답 목록 생성 - 대상/처리자 이름은 유형별 1회씩 일괄 조회
+     */
+    private List<SuspensionResponse> buildSuspensionResponses(List<Suspension> suspensions) {
+        AuditNameResolver.Request request = auditNameResolver.request();
+        suspensions.forEach(suspension -> request
+                .target(suspension.getUserType(), suspension.getUserId())
+                .user(suspension.getCreatedBy()));
+        AuditNameResolver.Names names = request.resolve();
+
+        return suspensions.stream()
+                .map(suspension -> {
+                    SuspensionResponse response = SuspensionResponse.from(suspension);
+                    response.setUserName(names.target(suspension.getUserType(), suspension.getUserId()));
+                    response.setCreatedByName(names.user(suspension.getCreatedBy()));
+                    return response;
+                })
+                .toList();
     }
 }
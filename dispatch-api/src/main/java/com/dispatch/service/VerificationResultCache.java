@@ -0,0 +1,260 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.verify.VerifyResponse;
+import com.dispatch.entity.VerificationResult;
+import com.dispatch.repository.VerificationResultRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 외부 검증 결과 캐시 (L1 Caffeine + 영속 테이블 verification_results)
+ *
+ * 결과 종류별 보관 기간: VALID 는 길게, INVALID 는 하루(음성 캐시 - 틀린 번호로 반복 조회해도 호출하지 않음),
+ * UNKNOWN(검증 기관이 판단 불가로 응답)은 짧게. 타임아웃/차단/격벽 거절처럼 호출 측 실패는 저장하지 않는다.
+ * 같은 키로 동시에 들어온 조회는 진행 중인 한 번의 호출 결과를 함께 받는다 (인스턴스 내).
+ * 영속 테이블은 재시작/다른 인스턴스와 결과를 공유하기 위한 것으로, 조회/저장 실패는 캐시 미스로 처리한다.
+ */
+@Slf4j
+@Component
+public class VerificationResultCache {
+
+    private final VerificationResultRepository repository;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    private final Cache<String, Entry> l1;
+    // 키 -> 진행 중인 조회
+    private final Map<String, CompletableFuture<VerifyResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Duration validTtl;
+    private final Duration invalidTtl;
+    private final Duration unknownTtl;
+
+    private final AtomicLong l1Hits = new AtomicLong();
+    private final AtomicLong storeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public VerificationResultCache(VerificationResultRepository repository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${verify.cache.l1-max-size:10000}") long l1MaxSize,
+                                   @Value("${verify.cache.valid-ttl-hours:720}") long validTtlHours,
+                                   @Value("${verify.cache.invalid-ttl-hours:24}") long invalidTtlHours,
+                                   @Value("${verify.cache.unknown-ttl-minutes:5}") long unknownTtlMinutes) {
+        this.repository = repository;
+
+        // 가입 트랜잭션의 커밋 이후 콜백에서도 불리므로 항상 별도 트랜잭션
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.validTtl = Duration.ofHours(validTtlHours);
+        this.invalidTtl = Duration.ofHours(invalidTtlHours);
+        this.unknownTtl = Duration.ofMinutes(unknownTtlMinutes);
+
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return Math.max(0, Duration.between(LocalDateTime.now(), entry.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader 로 검증 (key 는 "종류:번호..." 형식)
+     */
+    public CompletableFuture<VerifyResponse> get(String key, Supplier<CompletableFuture<VerifyResponse>> loader) {
+        Entry cached = l1.getIfPresent(key);
+        if (cached != null) {
+            l1Hits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached.response());
+        }
+
+        CompletableFuture<VerifyResponse> mine = new CompletableFuture<>();
+        CompletableFuture<VerifyResponse> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            // 호출자가 타임아웃 등으로 완료시켜도 다른 대기자에게 번지지 않도록 복사본
+            return running.copy();
+        }
+
+        try {
+            Entry stored = load(key);
+            if (stored != null) {
+                storeHits.incrementAndGet();
+                l1.put(key, stored);
+                complete(key, mine, stored.response(), null);
+                return mine.copy();
+            }
+
+            misses.incrementAndGet();
+            loader.get().whenComplete((response, error) -> {
+                if (response != null) {
+                    store(key, response);
+                }
+                complete(key, mine, response, error);
+            });
+        } catch (RuntimeException e) {
+            complete(key, mine, null, e);
+        }
+        return mine.copy();
+    }
+
+    public void evict(String key) {
+        l1.invalidate(key);
+        try {
+            writeTransaction.executeWithoutResult(status -> repository.deleteById(hash(key)));
+        } catch (DataAccessException e) {
+            log.warn("Verification result evict failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 만료된 영속 결과 정리
+     */
+    @Scheduled(fixedDelayString = "${verify.cache.purge-ms:3600000}", initialDelayString = "${verify.cache.purge-ms:3600000}")
+    public void purgeExpired() {
+        Integer deleted = writeTransaction.execute(status -> repository.deleteExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            log.info("Expired verification results purged: {}", deleted);
+        }
+    }
+
+    public long getL1Hits() {
+        return l1Hits.get();
+    }
+
+    public long getStoreHits() {
+        return storeHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public long getSize() {
+        return l1.estimatedSize();
+    }
+
+    private void complete(String key, CompletableFuture<VerifyResponse> future, VerifyResponse response,
+                          Throwable error) {
+        inFlight.remove(key, future);
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete(response);
+        }
+    }
+
+    private Entry load(String key) {
+        try {
+            VerificationResult row = readTransaction.execute(status -> repository.findById(hash(key)).orElse(null));
+            if (row == null || !row.getExpiresAt().isAfter(LocalDateTime.now())) {
+                return null;
+            }
+            return new Entry(VerifyResponse.builder()
+                    .result(row.getResult())
+                    .reasonCode(row.getReasonCode())
+                    .provider(row.getProvider())
+                    .verifiedAt(row.getVerifiedAt())
+                    .message(row.getMessage())
+                    .build(), row.getExpiresAt());
+        } catch (DataAccessException e) {
+            log.warn("Verification result lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String key, VerifyResponse response) {
+        Duration ttl = ttl(response);
+        if (ttl == null || ttl.isZero()) {
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        l1.put(key, new Entry(response, expiresAt));
+
+        try {
+            writeTransaction.executeWithoutResult(status -> repository.save(VerificationResult.builder()
+                    .keyHash(hash(key))
+                    .kind(key.substring(0, Math.max(0, key.indexOf(':'))))
+                    .result(response.getResult())
+                    .reasonCode(response.getReasonCode())
+                    .provider(response.getProvider())
+                    .verifiedAt(response.getVerifiedAt())
+                    .message(truncate(response.getMessage(), 500))
+                    .expiresAt(expiresAt)
+                    .build()));
+        } catch (DataAccessException e) {
+            // 다른 인스턴스가 같은 키를 먼저 저장한 경우 등 - L1 에는 남아 있다
+            log.debug("Verification result store failed: {}", e.getMessage());
+        }
+    }
+
+    // 저장 기간 (null 이면 저장하지 않음)
+    private Duration ttl(VerifyResponse response) {
+        if (response.getResult() == null || VerifyClient.isClientFailure(response)) {
+            return null;
+        }
+        return switch (response.getResult()) {
+            case VALID -> validTtl;
+            case INVALID -> invalidTtl;
+            case UNKNOWN -> unknownTtl;
+        };
+    }
+
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private record Entry(VerifyResponse response, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,266 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.admin.VerifyClientStatsResponse;
+import com.dispatch.dto.verify.VerifyResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * verify-server 호출 클라이언트
+ *
+ * - 연결 재사용(JDK HttpClient 커넥션 풀) + 연결/응답 타임아웃, 호출 전체 기한(call-timeout)
+ * - 격벽: 전용 스레드 max-concurrent 개 + 대기열 queue-size, 넘치면 기다리지 않고 UNKNOWN(BULKHEAD_FULL)
+ * - 차단기: 연속 failure-threshold 번 실패하면 open-seconds 동안 호출하지 않고 UNKNOWN(CIRCUIT_OPEN),
+ *   이후 한 건만 시험 호출해 성공하면 닫는다
+ * - 결과 캐시: 키(자격증/사업자번호)가 있는 호출은 VerificationResultCache 를 거친다 (동시 동일 조회는 한 번만 호출)
+ * 실패는 예외 대신 result = UNKNOWN 응답으로 돌려준다 (호출자는 검증 보류로 처리).
+ */
+@Slf4j
+@Component
+public class VerifyClient {
+
+    private final RestTemplate restTemplate;
+    private final ThreadPoolExecutor executor;
+    private final CircuitBreaker breaker;
+    private final VerificationResultCache resultCache;
+    private final Duration callTimeout;
+
+    private static final Set<String> CLIENT_FAILURE_CODES = Set.of("TIMEOUT", "CIRCUIT_OPEN", "BULKHEAD_FULL", "ERROR");
+
+    @Value("${verify.api.url:http://localhost:8080}")
+    private String verifyApiUrl;
+
+    @Value("${verify.api.key:}")
+    private String verifyApiKey;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public VerifyClient(VerificationResultCache resultCache,
+                        @Value("${verify.client.connect-timeout-ms:2000}") long connectTimeoutMs,
+                        @Value("${verify.client.read-timeout-ms:5000}") long readTimeoutMs,
+                        @Value("${verify.client.call-timeout-ms:8000}") long callTimeoutMs,
+                        @Value("${verify.client.max-concurrent:16}") int maxConcurrent,
+                        @Value("${verify.client.queue-size:64}") int queueSize,
+                        @Value("${verify.client.breaker.failure-threshold:5}") int failureThreshold,
+                        @Value("${verify.client.breaker.open-seconds:30}") long openSeconds) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), runnable -> {
+                    Thread thread = new Thread(runnable, "verify-client-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.breaker = new CircuitBreaker(failureThreshold, Duration.ofSeconds(openSeconds).toNanos());
+        this.resultCache = resultCache;
+        this.callTimeout = Duration.ofMillis(callTimeoutMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * JSON 본문 POST (cacheKey 가 null 이면 캐시하지 않는다)
+     */
+    public CompletableFuture<VerifyResponse> post(String path, Object body, String cacheKey) {
+        return call(path, body, MediaType.APPLICATION_JSON, cacheKey);
+    }
+
+    /**
+     * multipart POST (업로드 파일은 매번 달라 캐시하지 않는다)
+     */
+    public CompletableFuture<VerifyResponse> postMultipart(String path, Object body) {
+        return call(path, body, MediaType.MULTIPART_FORM_DATA, null);
+    }
+
+    /**
+     * 검증 기관의 판단이 아니라 호출 측 사정(타임아웃, 차단, 격벽, 연결 실패)으로 나온 UNKNOWN 인지
+     */
+    public static boolean isClientFailure(VerifyResponse response) {
+        return CLIENT_FAILURE_CODES.contains(response.getReasonCode());
+    }
+
+    public boolean isCircuitOpen() {
+        return !breaker.allowsCalls();
+    }
+
+    public VerifyClientStatsResponse getStats() {
+        return VerifyClientStatsResponse.builder()
+                .calls(calls.get())
+                .failures(failures.get())
+                .rejected(rejected.get())
+                .cacheL1Hits(resultCache.getL1Hits())
+                .cacheStoreHits(resultCache.getStoreHits())
+                .cacheMisses(resultCache.getMisses())
+                .coalesced(resultCache.getCoalesced())
+                .cacheSize(resultCache.getSize())
+                .circuitOpen(isCircuitOpen())
+                .active(executor.getActiveCount())
+                .queued(executor.getQueue().size())
+                .build();
+    }
+
+    private CompletableFuture<VerifyResponse> call(String path, Object body, MediaType contentType, String cacheKey) {
+        if (cacheKey != null) {
+            return resultCache.get(cacheKey, () -> callUpstream(path, body, contentType));
+        }
+        return callUpstream(path, body, contentType);
+    }
+
+    private CompletableFuture<VerifyResponse> callUpstream(String path, Object body, MediaType contentType) {
+        if (!breaker.tryAcquire()) {
+            return CompletableFuture.completedFuture(unavailable("CIRCUIT_OPEN", "검증 서버 장애로 잠시 검증을 보류합니다"));
+        }
+
+        CompletableFuture<VerifyResponse> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> execute(path, body, contentType), executor);
+        } catch (RejectedExecutionException e) {
+            // 시험 호출 자리를 잡은 상태였으면 돌려준다
+            breaker.release();
+            rejected.incrementAndGet();
+            log.warn("Verify call rejected (bulkhead full): path={}, active={}, queued={}",
+                    path, executor.getActiveCount(), executor.getQueue().size());
+            return CompletableFuture.completedFuture(unavailable("BULKHEAD_FULL", "검증 요청이 많아 잠시 검증을 보류합니다"));
+        }
+        return future.completeOnTimeout(unavailable("TIMEOUT", "검증 서버 응답 시간 초과"),
+                callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private VerifyResponse execute(String path, Object body, MediaType contentType) {
+        calls.incrementAndGet();
+        String url = verifyApiUrl + path;
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(contentType);
+            if (verifyApiKey != null && !verifyApiKey.isEmpty()) {
+                headers.set("X-API-KEY", verifyApiKey);
+            }
+            log.debug("Calling verify API: {}", url);
+
+            VerifyResponse response = restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(body, headers),
+                    VerifyResponse.class).getBody();
+            breaker.onSuccess();
+
+            if (response == null) {
+                return VerifyResponse.error("검증 서버 응답이 비어 있습니다");
+            }
+            return response;
+
+        } catch (HttpClientErrorException e) {
+            // 요청 자체가 거절된 경우 (서버는 응답했으므로 차단기 실패로 세지 않는다)
+            breaker.onSuccess();
+            log.warn("Verify API rejected request: url={}, status={}", url, e.getStatusCode());
+            return VerifyResponse.error("검증 요청 거절: " + e.getStatusCode());
+        } catch (RestClientException e) {
+            failures.incrementAndGet();
+            if (breaker.onFailure()) {
+                log.warn("Verify circuit opened after {} consecutive failures", breaker.failureThreshold);
+            }
+            log.error("Verify API call failed: url={}, error={}", url, e.getMessage());
+            if (e.getRootCause() instanceof HttpTimeoutException) {
+                return unavailable("TIMEOUT", "검증 서버 응답 시간 초과");
+            }
+            return VerifyResponse.error("검증 서버 연결 실패: " + e.getMessage());
+        }
+    }
+
+    private static VerifyResponse unavailable(String reasonCode, String message) {
+        return VerifyResponse.builder()
+                .result(VerifyResponse.VerifyResult.UNKNOWN)
+                .reasonCode(reasonCode)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * 연속 실패 기반 차단기 (CLOSED -> OPEN -> HALF_OPEN 시험 호출 한 건 -> CLOSED/OPEN)
+     */
+    private static final class CircuitBreaker {
+        private final int failureThreshold;
+        private final long openNanos;
+
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean open;
+        private boolean trialInFlight;
+
+        CircuitBreaker(int failureThreshold, long openNanos) {
+            this.failureThreshold = Math.max(1, failureThreshold);
+            this.openNanos = openNanos;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (!open) {
+                return true;
+            }
+            if (trialInFlight || System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            trialInFlight = true;
+            return true;
+        }
+
+        synchronized boolean allowsCalls() {
+            return !open || (!trialInFlight && System.nanoTime() - openedAt >= openNanos);
+        }
+
+        synchronized void release() {
+            trialInFlight = false;
+        }
+
+        synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            open = false;
+            trialInFlight = false;
+        }
+
+        /**
+         * 실패 기록, 이번 실패로 새로 열렸으면 true
+         */
+        synchronized boolean onFailure() {
+            consecutiveFailures++;
+            boolean wasOpen = open;
+            if (trialInFlight || consecutiveFailures >= failureThreshold) {
+                open = true;
+                openedAt = System.nanoTime();
+            }
+            trialInFlight = false;
+            return open && !wasOpen;
+        }
+    }
+}
@@ -2,35 +2,35 @@ package com.dispatch.service;
 
 import com.dispatch.dto.verify.CargoVerifyRequest;
 import com.dispatch.dto.verify.VerifyResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.Map;
-
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 자격증/사업자 검증
+ *
+ * verify-server 호출은 VerifyClient 를 거친다 (타임아웃, 격벽, 차단기, 결과 캐시).
+ * 동기 메서드는 검증 API 용이고, 가입/정보 수정은 비동기 메서드로 요청만 하고 결과는 나중에 반영한다.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class VerifyService {
 
-    private final RestTemplate restTemplate;
-
-    @Value("${verify.api.url:http://localhost:8080}")
-    private String verifyApiUrl;
+    private final VerifyClient verifyClient;
 
-    @Value("${verify.api.key:}")
-    private String verifyApiKey;
-
-    public VerifyService() {
-        this.restTemplate = new RestTemplate();
-    }
+    // 사업자등록상태 조회를 verify-server 로 보낼지 (미연동이면 형식 검증까지만)
+    @Value("${verify.business.remote-enabled:false}")
+    private boolean businessRemoteEnabled;
 
     /**
      * 화물운송 자격증 검증
@@ -38,32 +38,10 @@ public class VerifyService {
     public VerifyResponse verifyCargo(CargoVerifyRequest request) {
         log.info("Verifying cargo license: name={}, lcnsNo={}", request.getName(), request.getLcnsNo());
 
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            if (verifyApiKey != null && !verifyApiKey.isEmpty()) {
-                headers.set("X-API-KEY", verifyApiKey);
-            }
-
-            HttpEntity<CargoVerifyRequest> entity = new HttpEntity<>(request, headers);
-
-            String url = verifyApiUrl + "/api/verify/cargo";
-            log.debug("Calling verify API: {}", url);
-
-            ResponseEntity<VerifyResponse> response = restTemplate.postForEntity(
-                    url,
-                    entity,
-                    VerifyResponse.class
-            );
-
-            VerifyResponse body = response.getBody();
-            log.info("Cargo verification result: {}", body != null ? body.getResult() : "null");
-            return body;
-
-        } catch (RestClientException e) {
-            log.error("Cargo verification failed: {}", e.getMessage());
-            return VerifyResponse.error("자격증 검증 서버 연결 실패: " + e.getMessage());
-        }
+        String cacheKey = "cargo:" + request.getLcnsNo() + ":" + request.getName() + ":" + request.getBirth();
+        VerifyResponse result = verifyClient.post("/api/verify/cargo", request, cacheKey).join();
+        log.info("Cargo verification result: {}", result.getResult());
+        return result;
     }
 
     /**
@@ -73,60 +51,68 @@ public class VerifyService {
         log.info("Verifying KOSHA certificate: filename={}, size={}",
                 image.getOriginalFilename(), image.getSize());
 
+        // MultipartFile을 ByteArrayResource로 변환
+        ByteArrayResource fileResource;
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-            if (verifyApiKey != null && !verifyApiKey.isEmpty()) {
-                headers.set("X-API-KEY", verifyApiKey);
-            }
-
-            // MultipartFile을 ByteArrayResource로 변환
-            ByteArrayResource fileResource = new ByteArrayResource(image.getBytes()) {
+            fileResource = new ByteArrayResource(image.getBytes()) {
                 @Override
                 public String getFilename() {
                     return image.getOriginalFilename();
                 }
             };
-
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("image", fileResource);
-
-            HttpEntity<MultiValueMap<String, Object>> entity = new HttpEntity<>(body, headers);
-
-            String url = verifyApiUrl + "/api/verify/kosha";
-            log.debug("Calling verify API: {}", url);
-
-            ResponseEntity<VerifyResponse> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    entity,
-                    VerifyResponse.class
-            );
-
-            VerifyResponse result = response.getBody();
-            log.info("KOSHA verification result: {}", result != null ? result.getResult() : "null");
-            return result;
-
         } catch (IOException e) {
             log.error("KOSHA verification failed - file read error: {}", e.getMessage());
             return VerifyResponse.error("파일 읽기 실패: " + e.getMessage());
-        } catch (RestClientException e) {
-            log.error("KOSHA verification failed: {}", e.getMessage());
-            return VerifyResponse.error("검증 서버 연결 실패: " + e.getMessage());
         }
+
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("image", fileResource);
+
+        VerifyResponse result = verifyClient.postMultipart("/api/verify/kosha", body).join();
+        log.info("KOSHA verification result: {}", result.getResult());
+        return result;
     }
 
     /**
-     * 사업자등록번호 검증 (국세청 API - 미구현)
+     * 사업자등록번호 검증 (국세청 API - verify-server 연동 전에는 형식 검증만)
      *
      * 국세청 사업자등록상태 조회 API 연동 필요
      * https://www.data.go.kr/data/15081808/openapi.do
      */
     public VerifyResponse verifyBusinessRegistration(String businessNumber) {
+        return verifyBusinessRegistrationAsync(businessNumber).join();
+    }
+
+    /**
+     * 사업자등록번호 검증 (비동기) - 형식이 틀리면 바로 완료된다
+     */
+    public CompletableFuture<VerifyResponse> verifyBusinessRegistrationAsync(String businessNumber) {
         log.info("Verifying business registration: {}", businessNumber);
 
-        // TODO: 국세청 API 연동 구현
-        // 현재는 형식 검증만 수행
+        VerifyResponse formatError = checkBusinessNumberFormat(businessNumber);
+        if (formatError != null) {
+            return CompletableFuture.completedFuture(formatError);
+        }
+
+        if (!businessRemoteEnabled) {
+            return CompletableFuture.completedFuture(VerifyResponse.builder()
+                    .result(VerifyResponse.VerifyResult.UNKNOWN)
+                    .reasonCode("NOT_IMPLEMENTED")
+                    .message("사업자등록상태 조회 API 연동 대기 중")
+                    .build());
+        }
+        return verifyClient.post("/api/verify/business-registration",
+                Map.of("businessNumber", businessNumber), "business:" + businessNumber);
+    }
+
+    public boolean isBusinessRemoteEnabled() {
+        return businessRemoteEnabled;
+    }
+
+    /**
+     * 사업자등록번호 형식/체크섬 검증 (외부 호출 없음), 올바르면 null
+     */
+    public VerifyResponse checkBusinessNumberFormat(String businessNumber) {
         if (businessNumber == null || !businessNumber.matches("\\d{10}")) {
             return VerifyResponse.builder()
                     .result(VerifyResponse.VerifyResult.INVALID)
@@ -143,12 +129,7 @@ public class VerifyService {
                     .message("사업자등록번호 체크섬이 올바르지 않습니다")
                     .build();
         }
-
-        return VerifyResponse.builder()
-                .result(VerifyResponse.VerifyResult.UNKNOWN)
-                .reasonCode("NOT_IMPLEMENTED")
-                .message("사업자등록상태 조회 API 연동 대기 중")
-                .build();
+        return null;
     }
 
     /**
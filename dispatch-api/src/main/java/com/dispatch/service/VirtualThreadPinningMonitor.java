@@ -0,0 +1,213 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.admin.ThreadPinningStatsResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가상 스레드 고정(pinning) 진단
+ *
+ * 가상 스레드 모드에서 synchronized 블록이나 네이티브 호출 안에서 블로킹하면 가상 스레드가 캐리어 스레드에 고정되어
+ * 그동안 다른 가상 스레드가 그 캐리어를 쓰지 못한다. JFR 의 jdk.VirtualThreadPinned 이벤트를 받아
+ * 고정을 일으킨 애플리케이션 프레임별로 횟수/시간을 모으고, 위치별로 log-interval 마다 한 번 경고한다.
+ * - 가상 스레드 모드가 아니면(설정 꺼짐 또는 Java 21 미만) 수집하지 않는다
+ * - threshold-ms 보다 짧은 고정은 JFR 단계에서 버린다 (JDK 기본 20ms)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.dispatch.";
+    private static final int STACK_DEPTH = 12;
+    // 위치가 무한히 늘지 않도록 (넘으면 나머지로 합산)
+    private static final int MAX_SITES = 200;
+    private static final String OTHER_SITE = "(other)";
+
+    private final Environment environment;
+
+    @Value("${threads.pinning.threshold-ms:20}")
+    private long thresholdMs;
+
+    @Value("${threads.pinning.log-interval-seconds:60}")
+    private long logIntervalSeconds;
+
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final LongAdder events = new LongAdder();
+
+    private volatile RecordingStream stream;
+
+    @PostConstruct
+    void start() {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+                log.warn("Virtual threads requested but not supported on Java {}; using platform threads",
+                        Runtime.version().feature());
+            }
+            return;
+        }
+
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            log.info("Virtual threads enabled; pinning monitor started (threshold={}ms)", thresholdMs);
+        } catch (RuntimeException e) {
+            log.warn("Virtual thread pinning monitor unavailable: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            stream = null;
+            recording.close();
+        }
+    }
+
+    /**
+     * 고정 위치별 통계 (총 고정 시간 순)
+     */
+    public ThreadPinningStatsResponse getStats() {
+        List<ThreadPinningStatsResponse.Site> result = sites.entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .sorted(Comparator.comparingLong(ThreadPinningStatsResponse.Site::getTotalMs).reversed())
+                .toList();
+
+        return ThreadPinningStatsResponse.builder()
+                .virtualThreads(Threading.VIRTUAL.isActive(environment))
+                .monitoring(stream != null)
+                .javaVersion(Runtime.version().feature())
+                .thresholdMs(thresholdMs)
+                .events(events.sum())
+                .sites(result)
+                .build();
+    }
+
+    public void reset() {
+        sites.clear();
+        events.reset();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        events.increment();
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String frame = siteFrame(frames);
+        if (!sites.containsKey(frame) && sites.size() >= MAX_SITES) {
+            frame = OTHER_SITE;
+        }
+
+        Site site = sites.computeIfAbsent(frame, key -> new Site());
+        long nanos = event.getDuration().toNanos();
+        String stack = format(frames);
+        long count = site.record(nanos, stack, logIntervalSeconds * 1_000_000_000L);
+        if (count > 0) {
+            log.warn("Virtual thread pinned for {}ms at {} (count={}, thread={})\n{}",
+                    nanos / 1_000_000, frame, count,
+                    event.getThread() != null ? event.getThread().getJavaName() : "?", stack);
+        }
+    }
+
+    // 가상 스레드 내부(park/yield) 프레임을 뺀 스택
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        int from = 0;
+        while (from < frames.size() && isRuntimeFrame(frames.get(from))) {
+            from++;
+        }
+        return frames.subList(from, frames.size());
+    }
+
+    private static boolean isRuntimeFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.lang.VirtualThread") || type.startsWith("jdk.internal.vm.Continuation");
+    }
+
+    private static String siteFrame(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return name(frame);
+            }
+        }
+        return frames.isEmpty() ? "(unknown)" : name(frames.get(0));
+    }
+
+    private static String format(List<RecordedFrame> frames) {
+        StringBuilder stack = new StringBuilder();
+        for (int i = 0; i < Math.min(STACK_DEPTH, frames.size()); i++) {
+            stack.append("\tat ").append(name(frames.get(i))).append('\n');
+        }
+        return stack.toString();
+    }
+
+    private static String name(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static final class Site {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long lastSeenMillis;
+        private long lastLoggedNanos;
+        private boolean logged;
+        private String stack;
+
+        /**
+         * 기록하고, 이번 이벤트를 로그로 남길 차례면 누적 횟수를 반환 (위치별 logIntervalNanos 마다 한 번, 아니면 0)
+         */
+        synchronized long record(long nanos, String stack, long logIntervalNanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            lastSeenMillis = System.currentTimeMillis();
+            this.stack = stack;
+
+            long now = System.nanoTime();
+            if (!logged || now - lastLoggedNanos >= logIntervalNanos) {
+                logged = true;
+                lastLoggedNanos = now;
+                return count;
+            }
+            return 0;
+        }
+
+        synchronized ThreadPinningStatsResponse.Site toResponse(String frame) {
+            return ThreadPinningStatsResponse.Site.builder()
+                    .frame(frame)
+                    .count(count)
+                    .totalMs(totalNanos / 1_000_000)
+                    .maxMs(maxNanos / 1_000_000)
+                    .lastSeenAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(lastSeenMillis), ZoneId.systemDefault()))
+                    .stack(stack)
+                    .build();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.dispatch.service;
 
+import com.dispatch.dto.PageResponse;
 import com.dispatch.dto.admin.WarningRequest;
 import com.dispatch.dto.admin.WarningResponse;
 import com.dispatch.entity.Driver;
@@ -8,8 +9,11 @@ import com.dispatch.entity.SystemSetting;
 import com.dispatch.entity.Warning;
 import com.dispatch.exception.CustomException;
 import com.dispatch.repository.*;
+import com.dispatch.service.ReadModelCache.Region;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,12 +24,16 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WarningService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final WarningRepository warningRepository;
     private final DriverRepository driverRepository;
     private final CompanyRepository companyRepository;
-    private final UserRepository userRepository;
     private final SystemSettingRepository systemSettingRepository;
     private final SuspensionService suspensionService;
+    private final ReadModelCache readModelCache;
+    private final AuditNameResolver auditNameResolver;
+    private final DriverGradingService driverGradingService;
 
     /**
      * 경고 부여
@@ -34,17 +42,20 @@ public class WarningService {
     public WarningResponse createWarning(WarningRequest request, Long adminId) {
         // 대상 존재 여부 확인
         if (request.getUserType() == Warning.UserType.DRIVER) {
-            Driver driver = driverRepository.findById(request.getUserId())
+            Driver driver = driverRepository.findByIdForUpdate(request.getUserId())
                     .orElseThrow(() -> CustomException.notFound("기사를 찾을 수 없습니다"));
 
-            // 기사 경고 횟수 증가
+            // 기사 경고 횟수 증가 및 등급 재산정
             driver.setWarningCount(driver.getWarningCount() + 1);
+            driverGradingService.regrade(driver, "경고");
+            readModelCache.evict(Region.DRIVER_PROFILE, driver.getUser().getId());
         } else {
             Company company = companyRepository.findById(request.getUserId())
                     .orElseThrow(() -> CustomException.notFound("발주처를 찾을 수 없습니다"));
 
             // 발주처 경고 횟수 증가
             company.setWarningCount(company.getWarningCount() + 1);
+            readModelCache.evict(Region.COMPANY, company.getId());
         }
 
         Warning warning = Warning.builder()
@@ -68,14 +79,13 @@ public class WarningService {
     }
 
     /**
-     * 경고 목록 조회
+     * 경고 목록 조회 (페이지)
      */
     @Transactional(readOnly = true)
-    public List<WarningResponse> getAllWarnings() {
-        return warningRepository.findAllOrderByCreatedAtDesc()
-                .stream()
-                .map(this::buildWarningResponse)
-                .toList();
+    public PageResponse<WarningResponse> getAllWarnings(int page, int size) {
+        Page<Warning> warnings = warningRepository.findAllOrderByCreatedAtDesc(
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE)));
+        return PageResponse.of(warnings, buildWarningResponses(warnings.getContent()));
     }
 
     /**
@@ -83,10 +93,8 @@ public class WarningService {
      */
     @Transactional(readOnly = true)
     public List<WarningResponse> getWarningsByUser(Long userId, Warning.UserType userType) {
-        return warningRepository.findByUserIdAndUserTypeOrderByCreatedAtDesc(userId, userType)
-                .stream()
-                .map(this::buildWarningResponse)
-                .toList();
+        return buildWarningResponses(
+                warningRepository.findByUserIdAndUserTypeOrderByCreatedAtDesc(userId, userType));
     }
 
     /**
@@ -133,21 +141,26 @@ public class WarningService {
     }
 
     private WarningResponse buildWarningResponse(Warning warning) {
-        WarningResponse response = WarningResponse.from(warning);
-
-        // 사용자 이름 조회
-        if (warning.getUserType() == Warning.UserType.DRIVER) {
-            driverRepository.findById(warning.getUserId())
-                    .ifPresent(driver -> response.setUserName(driver.getUser().getName()));
-        } else {
-            companyRepository.findById(warning.getUserId())
-                    .ifPresent(company -> response.setUserName(company.getName()));
-        }
-
-        // 생성자 이름 조회
-        userRepository.findById(warning.getCreatedBy())
-                .ifPresent(user -> response.setCreatedByName(user.getName()));
+        return buildWarningResponses(List.of(warning)).get(0);
+    }
 
-        return response;
+    /**
+     * 응답 목록 생성 - 대상/처리자 이름은 유형별 1회씩 일괄 조회
+     */
+    private List<WarningResponse> buildWarningResponses(List<Warning> warnings) {
+        AuditNameResolver.Request request = auditNameResolver.request();
+        warnings.forEach(warning -> request
+                .target(warning.getUserType(), warning.getUserId())
+                .user(warning.getCreatedBy()));
+        AuditNameResolver.Names names = request.resolve();
+
+        return warnings.stream()
+                .map(warning -> {
+                    WarningResponse response = WarningResponse.from(warning);
+                    response.setUserName(names.target(warning.getUserType(), warning.getUserId()));
+                    response.setCreatedByName(names.user(warning.getCreatedBy()));
+                    return response;
+                })
+                .toList();
     }
 }
@@ -0,0 +1,23 @@
+package com.dispatch.util;
+
+/**
+ * 좌표 계산 (배차 매칭, 배차 계획, 공개 배차 피드가 같은 거리 기준을 쓰도록 한곳에 둔다)
+ */
+public final class GeoUtils {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * 두 좌표 사이 거리 (haversine, km)
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,277 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.chat.ChatMessageRequest;
+import com.dispatch.dto.chat.ChatMessageResponse;
+import com.dispatch.dto.chat.ChatSyncResponse;
+import com.dispatch.dto.websocket.WebSocketMessage.MessageType;
+import com.dispatch.entity.ChatMessage;
+import com.dispatch.entity.DispatchMatch;
+import com.dispatch.entity.DispatchRequest;
+import com.dispatch.entity.Driver;
+import com.dispatch.entity.Equipment;
+import com.dispatch.entity.User;
+import com.dispatch.exception.CustomException;
+import com.dispatch.repository.ChatMessageRepository;
+import com.dispatch.repository.DispatchMatchRepository;
+import com.dispatch.repository.DispatchRequestRepository;
+import com.dispatch.repository.DriverRepository;
+import com.dispatch.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 채팅 순번 발급, 순번 기반 동기화(/messages/sync) 페이징, 참여자 권한 확인, 읽음 푸시 대상 (H2)
+ *
+ * 동시 전송은 서비스 트랜잭션끼리 경쟁해야 하므로 테스트 트랜잭션 없이 실행하고 끝나면 지운다.
+ */
+@DataJpaTest
+@Import(ChatService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChatServiceTest {
+
+    @Autowired
+    private ChatService chatService;
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+    @Autowired
+    private DispatchMatchRepository dispatchMatchRepository;
+    @Autowired
+    private DispatchRequestRepository dispatchRequestRepository;
+    @Autowired
+    private DriverRepository driverRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private ChatReadReceiptBuffer readReceiptBuffer;
+    @MockBean
+    private ChatUnreadService chatUnreadService;
+    @MockBean
+    private NotificationService notificationService;
+    @MockBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    private User staff;
+    private User driverUser;
+    private User outsider;
+    private User admin;
+    private Long dispatchId;
+    private Long otherDispatchId;
+
+    @BeforeEach
+    void setUp() {
+        staff = user("staff", User.UserRole.STAFF);
+        driverUser = user("driver", User.UserRole.DRIVER);
+        outsider = user("outsider", User.UserRole.DRIVER);
+        admin = user("admin", User.UserRole.ADMIN);
+        Driver driver = driverRepository.save(Driver.builder().user(driverUser).build());
+
+        dispatchId = matchedDispatch(driver);
+        otherDispatchId = matchedDispatch(driver);
+    }
+
+    @AfterEach
+    void tearDown() {
+        chatMessageRepository.deleteAllInBatch();
+        dispatchMatchRepository.deleteAllInBatch();
+        dispatchRequestRepository.deleteAllInBatch();
+        driverRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void sequencesAreGaplessAndPerDispatch() {
+        send(dispatchId, staff, "1");
+        send(dispatchId, driverUser, "2");
+        send(otherDispatchId, staff, "a");
+        send(dispatchId, staff, "3");
+
+        assertThat(sequences(dispatchId)).containsExactly(1L, 2L, 3L);
+        assertThat(sequences(otherDispatchId)).containsExactly(1L);
+        assertThat(dispatchRequestRepository.findChatSequence(dispatchId)).isEqualTo(3L);
+        assertThat(chatService.getMessages(dispatchId, staff.getId()))
+                .extracting(ChatMessageResponse::getMessage)
+                .containsExactly("1", "2", "3");
+    }
+
+    @Test
+    void concurrentSendsGetDistinctGaplessSequences() throws Exception {
+        int threads = 4;
+        int perThread = 5;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                User sender = t % 2 == 0 ? staff : driverUser;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        send(dispatchId, sender, "m");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long total = (long) threads * perThread;
+        assertThat(sequences(dispatchId)).containsExactlyElementsOf(LongStream.rangeClosed(1, total).boxed().toList());
+        assertThat(dispatchRequestRepository.findChatSequence(dispatchId)).isEqualTo(total);
+    }
+
+    @Test
+    void syncPagesAfterSequenceWithLimit() {
+        for (int i = 1; i <= 5; i++) {
+            send(dispatchId, i % 2 == 0 ? driverUser : staff, "m" + i);
+        }
+
+        ChatSyncResponse first = chatService.syncMessages(dispatchId, null, 2, staff.getId());
+        assertThat(first.getMessages()).extracting(ChatMessageResponse::getSequence).containsExactly(1L, 2L);
+        assertThat(first.getLastSequence()).isEqualTo(2L);
+        assertThat(first.getHasMore()).isTrue();
+
+        ChatSyncResponse second = chatService.syncMessages(dispatchId, first.getLastSequence(), 2, driverUser.getId());
+        assertThat(second.getMessages()).extracting(ChatMessageResponse::getSequence).containsExactly(3L, 4L);
+        assertThat(second.getHasMore()).isTrue();
+
+        ChatSyncResponse last = chatService.syncMessages(dispatchId, second.getLastSequence(), 2, staff.getId());
+        assertThat(last.getMessages()).extracting(ChatMessageResponse::getSequence).containsExactly(5L);
+        assertThat(last.getLastSequence()).isEqualTo(5L);
+        assertThat(last.getHasMore()).isFalse();
+    }
+
+    @Test
+    void syncWithNothingNewKeepsCursorAndClampsLimit() {
+        send(dispatchId, staff, "1");
+        send(dispatchId, staff, "2");
+
+        ChatSyncResponse empty = chatService.syncMessages(dispatchId, 2L, 50, staff.getId());
+        assertThat(empty.getMessages()).isEmpty();
+        assertThat(empty.getLastSequence()).isEqualTo(2L);
+        assertThat(empty.getHasMore()).isFalse();
+
+        // limit 0 이하는 1건으로 맞춘다
+        ChatSyncResponse clamped = chatService.syncMessages(dispatchId, 0L, 0, staff.getId());
+        assertThat(clamped.getMessages()).hasSize(1);
+        assertThat(clamped.getHasMore()).isTrue();
+    }
+
+    @Test
+    void nonParticipantCannotSendOrRead() {
+        assertForbidden(() -> send(dispatchId, outsider, "hi"));
+        assertForbidden(() -> send(dispatchId, admin, "hi"));
+        assertForbidden(() -> chatService.getMessages(dispatchId, outsider.getId()));
+        assertForbidden(() -> chatService.syncMessages(dispatchId, 0L, 10, outsider.getId()));
+
+        // 거절된 전송은 순번을 쓰지 않는다
+        assertThat(dispatchRequestRepository.findChatSequence(dispatchId)).isZero();
+    }
+
+    @Test
+    void adminCanReadWithoutParticipating() {
+        send(dispatchId, staff, "1");
+
+        assertThat(chatService.getMessages(dispatchId, admin.getId())).hasSize(1);
+        assertThat(chatService.syncMessages(dispatchId, 0L, 10, admin.getId()).getMessages()).hasSize(1);
+    }
+
+    @Test
+    void unmatchedDispatchIsNotFound() {
+        assertThatThrownBy(() -> chatService.syncMessages(-1L, 0L, 10, staff.getId()))
+                .isInstanceOfSatisfying(CustomException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void readReceiptIsPushedSilentlyToTheOtherParticipantOnly() {
+        chatService.markAsRead(dispatchId, driverUser.getId());
+
+        verify(notificationService).pushSilentIfOffline(eq(staff.getId()), eq(staff.getEmail()), eq(MessageType.CHAT_READ),
+                argThat(data -> data.get("dispatchId").equals(String.valueOf(dispatchId))
+                        && data.get("readerId").equals(String.valueOf(driverUser.getId()))));
+        verify(notificationService, never()).pushSilentIfOffline(eq(driverUser.getId()), any(), any(), any());
+    }
+
+    @Test
+    void readOnUnmatchedDispatchPushesNothing() {
+        chatService.markAsRead(-1L, staff.getId());
+
+        verify(notificationService, never()).pushSilentIfOffline(anyLong(), any(), any(), any());
+    }
+
+    private void send(Long dispatch, User sender, String text) {
+        chatService.sendMessage(dispatch, ChatMessageRequest.builder().message(text).build(), sender.getId());
+    }
+
+    private List<Long> sequences(Long dispatch) {
+        return chatMessageRepository.findAll().stream()
+                .filter(message -> message.getDispatchId().equals(dispatch))
+                .map(ChatMessage::getSequence)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+    }
+
+    private void assertForbidden(Runnable call) {
+        assertThatThrownBy(call::run)
+                .isInstanceOfSatisfying(CustomException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.FORBIDDEN));
+    }
+
+    private User user(String name, User.UserRole role) {
+        return userRepository.save(User.builder()
+                .email(name + "@test.com")
+                .password("pw")
+                .name(name)
+                .phone("010-0000-0000")
+                .role(role)
+                .status(User.UserStatus.APPROVED)
+                .build());
+    }
+
+    private Long matchedDispatch(Driver driver) {
+        DispatchRequest request = dispatchRequestRepository.save(DispatchRequest.builder()
+                .staff(staff)
+                .siteAddress("서울시 강남구")
+                .workDate(LocalDate.now().plusDays(1))
+                .workTime(LocalTime.of(9, 0))
+                .equipmentType(Equipment.EquipmentType.CRANE)
+                .status(DispatchRequest.DispatchStatus.MATCHED)
+                .build());
+        dispatchMatchRepository.save(DispatchMatch.builder()
+                .request(request)
+                .driver(driver)
+                .status(DispatchMatch.MatchStatus.ACCEPTED)
+                .build());
+        return request.getId();
+    }
+}
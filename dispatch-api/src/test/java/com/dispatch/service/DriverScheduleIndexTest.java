@@ -0,0 +1,284 @@
+package com.dispatch.service;
+
+import com.dispatch.entity.DispatchMatch.MatchStatus;
+import com.dispatch.entity.DispatchRequest;
+import com.dispatch.exception.CustomException;
+import com.dispatch.repository.DispatchMatchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 기사 일정 색인: 작업 시간 겹침 계산, 최장 일정 기준 탐색 중단, 수락 롤백/해제, dispatch_matches 재적재·변경분 반영
+ */
+class DriverScheduleIndexTest {
+
+    private static final Long DRIVER = 1L;
+    private static final Long OTHER_DRIVER = 2L;
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 20);
+
+    private final DispatchMatchRepository dispatchMatchRepository = mock(DispatchMatchRepository.class);
+    private final List<Long> changedDrivers = new ArrayList<>();
+
+    private DriverScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(dispatchMatchRepository.findActiveSchedules(any())).thenReturn(List.of());
+        when(dispatchMatchRepository.findScheduleChangesSince(any())).thenReturn(List.of());
+        index = new DriverScheduleIndex(dispatchMatchRepository);
+        ReflectionTestUtils.setField(index, "defaultHours", 4);
+        index.addListener(changedDrivers::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void adjacentIntervalsDoNotConflict() {
+        index.reserve(DRIVER, dispatch(10L, DAY, LocalTime.of(9, 0), 4));
+
+        // [09:00, 13:00) 바로 앞/뒤에 붙은 일정은 겹치지 않는다
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(13, 0), 2)).isFalse();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(5, 0), 4)).isFalse();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(12, 59), 1)).isTrue();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(6, 0), 4)).isTrue();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(10, 0), 1)).isTrue();
+        // 다른 기사, 같은 배차는 겹침이 아니다
+        assertThat(conflicts(OTHER_DRIVER, DAY, LocalTime.of(10, 0), 1)).isFalse();
+        assertThat(index.conflicts(DRIVER, 10L, DAY, LocalTime.of(10, 0), 1)).isFalse();
+    }
+
+    @Test
+    void missingEstimatedHoursUsesDefaultHours() {
+        index.reserve(DRIVER, dispatch(10L, DAY, LocalTime.of(9, 0), null));
+
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(12, 30), 1)).isTrue();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(13, 0), 1)).isFalse();
+    }
+
+    @Test
+    void bufferMinutesKeepGapBetweenJobs() {
+        ReflectionTestUtils.setField(index, "bufferMinutes", 30);
+        index.reserve(DRIVER, dispatch(10L, DAY, LocalTime.of(9, 0), 4));
+
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(13, 0), 1)).isTrue();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(13, 30), 1)).isFalse();
+    }
+
+    @Test
+    void jobsCrossingMidnightBlockTheNextDay() {
+        index.reserve(DRIVER, dispatch(10L, DAY, LocalTime.of(22, 0), 4));
+
+        assertThat(conflicts(DRIVER, DAY.plusDays(1), LocalTime.of(1, 0), 1)).isTrue();
+        assertThat(conflicts(DRIVER, DAY.plusDays(1), LocalTime.MIDNIGHT, 1)).isTrue();
+        assertThat(conflicts(DRIVER, DAY.plusDays(1), LocalTime.of(2, 0), 1)).isFalse();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(21, 0), 1)).isFalse();
+    }
+
+    @Test
+    void queryCrossingMidnightFindsNextDayJob() {
+        index.reserve(DRIVER, dispatch(10L, DAY.plusDays(1), LocalTime.MIDNIGHT, 2));
+
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(23, 0), 2)).isTrue();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(20, 0), 4)).isFalse();
+    }
+
+    @Test
+    void missingWorkTimeBlocksTheWholeWorkDay() {
+        index.reserve(DRIVER, dispatch(10L, DAY, null, 2));
+
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(0, 0), 1)).isTrue();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(23, 0), 1)).isTrue();
+        assertThat(conflicts(DRIVER, DAY.plusDays(1), LocalTime.MIDNIGHT, 1)).isFalse();
+        assertThat(conflicts(DRIVER, DAY.minusDays(1), LocalTime.of(22, 0), 2)).isFalse();
+        assertThat(conflicts(DRIVER, DAY.minusDays(1), LocalTime.of(22, 0), 3)).isTrue();
+
+        // 확인하는 쪽의 작업 시각이 없어도 하루 전체로 본다
+        assertThat(index.conflicts(DRIVER, 99L, DAY.plusDays(1), null, null)).isFalse();
+        index.reserve(OTHER_DRIVER, dispatch(11L, DAY, LocalTime.of(15, 0), 1));
+        assertThat(index.conflicts(OTHER_DRIVER, 99L, DAY, null, null)).isTrue();
+    }
+
+    @Test
+    void longJobIsFoundPastShorterLaterJobs() {
+        // 긴 일정 뒤에 짧은 일정이 여럿 있어도, 탐색은 최장 일정 길이만큼 앞서 시작한 일정까지 본다
+        putViaSync(DRIVER, 10L, DAY, LocalTime.MIDNIGHT, 20, MatchStatus.ACCEPTED);
+        putViaSync(DRIVER, 11L, DAY, LocalTime.of(16, 0), 1, MatchStatus.ACCEPTED);
+        putViaSync(DRIVER, 12L, DAY, LocalTime.of(17, 0), 1, MatchStatus.ACCEPTED);
+
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(19, 0), 1)).isTrue();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(20, 0), 1)).isFalse();
+
+        // 긴 일정이 빠지면 짧은 일정 사이 빈 시간은 비어 있다
+        putViaSync(DRIVER, 10L, DAY, LocalTime.MIDNIGHT, 20, MatchStatus.CANCELLED);
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(19, 0), 1)).isFalse();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(16, 30), 1)).isTrue();
+    }
+
+    @Test
+    void reserveRejectsOverlapWithConflict() {
+        index.reserve(DRIVER, dispatch(10L, DAY, LocalTime.of(9, 0), 4));
+
+        assertThatThrownBy(() -> index.reserve(DRIVER, dispatch(11L, DAY, LocalTime.of(12, 0), 2)))
+                .isInstanceOfSatisfying(CustomException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+        assertThat(index.size()).isEqualTo(1);
+
+        // 다시 수락(같은 배차)은 겹침이 아니다
+        index.reserve(DRIVER, dispatch(10L, DAY, LocalTime.of(9, 0), 4));
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackReserveIsRemoved() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.reserve(DRIVER, dispatch(10L, DAY, LocalTime.of(9, 0), 4));
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(10, 0), 1)).isTrue();
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(10, 0), 1)).isFalse();
+        assertThat(index.size()).isZero();
+        assertThat(changedDrivers).containsExactly(DRIVER, DRIVER);
+    }
+
+    @Test
+    void committedReserveIsKept() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.reserve(DRIVER, dispatch(10L, DAY, LocalTime.of(9, 0), 4));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(10, 0), 1)).isTrue();
+    }
+
+    @Test
+    void releaseWaitsForCommit() {
+        index.reserve(DRIVER, dispatch(10L, DAY, LocalTime.of(9, 0), 4));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.release(10L);
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(10, 0), 1)).isTrue();
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(10, 0), 1)).isFalse();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void releaseOutsideTransactionRemovesImmediately() {
+        index.reserve(DRIVER, dispatch(10L, DAY, LocalTime.of(9, 0), 4));
+
+        index.release(10L);
+        index.release(10L);
+
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(10, 0), 1)).isFalse();
+    }
+
+    @Test
+    void syncAppliesChangedMatches() {
+        putViaSync(DRIVER, 10L, DAY, LocalTime.of(9, 0), 4, MatchStatus.ACCEPTED);
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(10, 0), 1)).isTrue();
+
+        // 작업 시간 변경
+        putViaSync(DRIVER, 10L, DAY, LocalTime.of(14, 0), 4, MatchStatus.EN_ROUTE);
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(10, 0), 1)).isFalse();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(15, 0), 1)).isTrue();
+
+        // 다른 기사로 재배정되면 이전 기사 일정에서 빠진다
+        changedDrivers.clear();
+        putViaSync(OTHER_DRIVER, 10L, DAY, LocalTime.of(14, 0), 4, MatchStatus.ACCEPTED);
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(15, 0), 1)).isFalse();
+        assertThat(conflicts(OTHER_DRIVER, DAY, LocalTime.of(15, 0), 1)).isTrue();
+        assertThat(changedDrivers).containsExactly(DRIVER, OTHER_DRIVER);
+
+        // 완료/취소 상태는 제거
+        putViaSync(OTHER_DRIVER, 10L, DAY, LocalTime.of(14, 0), 4, MatchStatus.COMPLETED);
+        assertThat(conflicts(OTHER_DRIVER, DAY, LocalTime.of(15, 0), 1)).isFalse();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void unchangedSyncRowDoesNotNotify() {
+        putViaSync(DRIVER, 10L, DAY, LocalTime.of(9, 0), 4, MatchStatus.ACCEPTED);
+        changedDrivers.clear();
+
+        putViaSync(DRIVER, 10L, DAY, LocalTime.of(9, 0), 4, MatchStatus.WORKING);
+
+        assertThat(changedDrivers).isEmpty();
+    }
+
+    @Test
+    void reloadDropsMissingSlotsButKeepsReservesMadeDuringReload() {
+        putViaSync(DRIVER, 10L, DAY, LocalTime.of(9, 0), 4, MatchStatus.ACCEPTED);
+        putViaSync(DRIVER, 11L, DAY, LocalTime.of(14, 0), 2, MatchStatus.ACCEPTED);
+
+        // 적재 조회 도중 이 인스턴스에서 새 배차가 수락된다 (조회 결과에는 아직 없다)
+        when(dispatchMatchRepository.findActiveSchedules(any())).thenAnswer(invocation -> {
+            index.reserve(DRIVER, dispatch(12L, DAY, LocalTime.of(18, 0), 2));
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{11L, DRIVER, DAY, LocalTime.of(14, 0), 2});
+            return rows;
+        });
+        index.reload();
+
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(10, 0), 1)).isFalse();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(14, 30), 1)).isTrue();
+        assertThat(conflicts(DRIVER, DAY, LocalTime.of(18, 30), 1)).isTrue();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private boolean conflicts(Long driverId, LocalDate workDate, LocalTime workTime, Integer estimatedHours) {
+        return index.conflicts(driverId, 99L, workDate, workTime, estimatedHours);
+    }
+
+    private void putViaSync(Long driverId, Long dispatchId, LocalDate workDate, LocalTime workTime,
+                            Integer estimatedHours, MatchStatus status) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{dispatchId, driverId, workDate, workTime, estimatedHours, status});
+        when(dispatchMatchRepository.findScheduleChangesSince(any())).thenReturn(rows);
+        index.sync();
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private static DispatchRequest dispatch(Long id, LocalDate workDate, LocalTime workTime, Integer estimatedHours) {
+        return DispatchRequest.builder()
+                .id(id)
+                .workDate(workDate)
+                .workTime(workTime)
+                .estimatedHours(estimatedHours)
+                .build();
+    }
+}
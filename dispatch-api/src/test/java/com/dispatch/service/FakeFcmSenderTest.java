@@ -0,0 +1,49 @@
+package com.dispatch.service;
+
+import com.google.firebase.messaging.MulticastMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FakeFcmSenderTest {
+
+    private final FakeFcmSender sender = new FakeFcmSender();
+
+    @Test
+    void failsFirstNAttemptsThenSucceeds() {
+        List<String> tokens = List.of("fake-UNAVAILABLE-2-a");
+
+        assertThat(send(tokens)).containsExactly("UNAVAILABLE");
+        assertThat(send(tokens)).containsExactly("UNAVAILABLE");
+        assertThat(send(tokens)).containsExactly((String) null);
+
+        assertThat(sender.getRequests()).isEqualTo(3);
+        assertThat(sender.getFailed()).isEqualTo(2);
+        assertThat(sender.getDelivered()).isEqualTo(1);
+    }
+
+    @Test
+    void zeroFailuresMeansAlwaysFails() {
+        List<String> tokens = List.of("fake-UNREGISTERED-0-c");
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(send(tokens)).containsExactly("UNREGISTERED");
+        }
+        assertThat(sender.getDelivered()).isZero();
+    }
+
+    @Test
+    void resultsFollowTokenOrder() {
+        List<String> tokens = List.of("plain-token", "fake-QUOTA_EXCEEDED-1-b", "fake-bad", "fake-INTERNAL-x-d");
+
+        assertThat(send(tokens)).isEqualTo(Arrays.asList(null, "QUOTA_EXCEEDED", null, null));
+        assertThat(send(tokens)).isEqualTo(Arrays.asList(null, null, null, null));
+    }
+
+    private List<String> send(List<String> tokens) {
+        return sender.send(MulticastMessage.builder().addAllTokens(tokens).build(), tokens);
+    }
+}
@@ -0,0 +1,214 @@
+package com.dispatch.service;
+
+import com.dispatch.entity.FcmDeadLetter;
+import com.dispatch.entity.FcmRetryTask;
+import com.dispatch.repository.DeviceTokenRepository;
+import com.dispatch.repository.FcmDeadLetterRepository;
+import com.dispatch.repository.FcmRetryTaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 재전송 스케줄러: 선점, 실행기 전송, 재시도/dead-letter/토큰 비활성화 분기
+ */
+class FcmServiceRetryTest {
+
+    private static final String NODE_ID = "node-1";
+
+    private final FakeFcmSender sender = new FakeFcmSender();
+    private final DeviceTokenRepository deviceTokenRepository = mock(DeviceTokenRepository.class);
+    private final FcmRetryTaskRepository retryTaskRepository = mock(FcmRetryTaskRepository.class);
+    private final FcmDeadLetterRepository deadLetterRepository = mock(FcmDeadLetterRepository.class);
+    private final FcmTokenCache tokenCache = mock(FcmTokenCache.class);
+    private final SchedulerLeaseService leaseService = mock(SchedulerLeaseService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExecutorService sendExecutor;
+    private FcmService fcmService;
+
+    @BeforeEach
+    void setUp() {
+        FcmRetryPolicy retryPolicy = new FcmRetryPolicy();
+        ReflectionTestUtils.setField(retryPolicy, "maxAttempts", 3);
+        ReflectionTestUtils.setField(retryPolicy, "baseDelayMs", 1000L);
+        ReflectionTestUtils.setField(retryPolicy, "quotaBaseDelayMs", 60000L);
+        ReflectionTestUtils.setField(retryPolicy, "maxDelayMs", 3600000L);
+
+        sendExecutor = Executors.newSingleThreadExecutor();
+        when(leaseService.getNodeId()).thenReturn(NODE_ID);
+
+        fcmService = new FcmService(
+                sender,
+                deviceTokenRepository,
+                retryTaskRepository,
+                deadLetterRepository,
+                tokenCache,
+                new FcmMessageTemplates(),
+                retryPolicy,
+                new FcmRateLimiter(100000, 0),
+                new DispatchMetrics(new SimpleMeterRegistry()),
+                leaseService,
+                sendExecutor,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                objectMapper);
+        ReflectionTestUtils.setField(fcmService, "retryBatchSize", 50);
+        ReflectionTestUtils.setField(fcmService, "retryLeaseSeconds", 300L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sendExecutor.shutdownNow();
+    }
+
+    @Test
+    void claimedTaskIsSentOnExecutorAndDeleted() throws Exception {
+        FcmRetryTask task = task(1L, List.of("token-a", "token-b"), 1);
+        givenDue(task);
+        when(retryTaskRepository.claim(eq(1L), eq(NODE_ID), any(), any())).thenReturn(1);
+
+        fcmService.processRetries();
+        drainExecutor();
+
+        assertThat(sender.getRequests()).isEqualTo(1);
+        assertThat(sender.getDelivered()).isEqualTo(2);
+        verify(retryTaskRepository).deleteClaimed(1L, NODE_ID);
+        verify(retryTaskRepository, never()).save(any());
+        verify(deadLetterRepository, never()).save(any());
+    }
+
+    @Test
+    void taskClaimedElsewhereIsSkipped() throws Exception {
+        FcmRetryTask task = task(2L, List.of("token-a"), 1);
+        givenDue(task);
+        when(retryTaskRepository.claim(eq(2L), eq(NODE_ID), any(), any())).thenReturn(0);
+
+        fcmService.processRetries();
+        drainExecutor();
+
+        assertThat(sender.getRequests()).isZero();
+        verify(retryTaskRepository, never()).deleteClaimed(anyLong(), any());
+    }
+
+    @Test
+    void transientFailureBelowLimitIsRequeued() throws Exception {
+        FcmRetryTask task = task(3L, List.of("fake-UNAVAILABLE-0-a", "token-b"), 1);
+        givenDue(task);
+        when(retryTaskRepository.claim(eq(3L), eq(NODE_ID), any(), any())).thenReturn(1);
+
+        fcmService.processRetries();
+        drainExecutor();
+
+        ArgumentCaptor<FcmRetryTask> requeued = ArgumentCaptor.forClass(FcmRetryTask.class);
+        verify(retryTaskRepository).save(requeued.capture());
+        assertThat(requeued.getValue().getAttempts()).isEqualTo(2);
+        assertThat(requeued.getValue().getErrorCode()).isEqualTo("UNAVAILABLE");
+        assertThat(requeued.getValue().getTokens()).isEqualTo("[\"fake-UNAVAILABLE-0-a\"]");
+        assertThat(requeued.getValue().getNextAttemptAt()).isAfter(LocalDateTime.now());
+        verify(retryTaskRepository).deleteClaimed(3L, NODE_ID);
+        verify(deadLetterRepository, never()).save(any());
+    }
+
+    @Test
+    void transientFailureAtLimitIsDeadLettered() throws Exception {
+        FcmRetryTask task = task(4L, List.of("fake-UNAVAILABLE-0-a"), 2);
+        givenDue(task);
+        when(retryTaskRepository.claim(eq(4L), eq(NODE_ID), any(), any())).thenReturn(1);
+
+        fcmService.processRetries();
+        drainExecutor();
+
+        ArgumentCaptor<FcmDeadLetter> deadLetter = ArgumentCaptor.forClass(FcmDeadLetter.class);
+        verify(deadLetterRepository).save(deadLetter.capture());
+        assertThat(deadLetter.getValue().getAttempts()).isEqualTo(3);
+        assertThat(deadLetter.getValue().getErrorCode()).isEqualTo("UNAVAILABLE");
+        verify(retryTaskRepository, never()).save(any());
+        verify(retryTaskRepository).deleteClaimed(4L, NODE_ID);
+    }
+
+    @Test
+    void nonRetryableFailureIsDeadLetteredImmediately() throws Exception {
+        FcmRetryTask task = task(5L, List.of("fake-SENDER_ID_MISMATCH-0-a"), 1);
+        givenDue(task);
+        when(retryTaskRepository.claim(eq(5L), eq(NODE_ID), any(), any())).thenReturn(1);
+
+        fcmService.processRetries();
+        drainExecutor();
+
+        verify(deadLetterRepository).save(any());
+        verify(retryTaskRepository, never()).save(any());
+    }
+
+    @Test
+    void unregisteredTokenIsDeactivated() throws Exception {
+        FcmRetryTask task = task(6L, List.of("fake-UNREGISTERED-0-a", "token-b"), 1);
+        givenDue(task);
+        when(retryTaskRepository.claim(eq(6L), eq(NODE_ID), any(), any())).thenReturn(1);
+
+        fcmService.processRetries();
+        drainExecutor();
+
+        verify(deviceTokenRepository).deactivateByTokens(List.of("fake-UNREGISTERED-0-a"));
+        verify(tokenCache).evictTokens(List.of("fake-UNREGISTERED-0-a"));
+        verify(retryTaskRepository, never()).save(any());
+        verify(deadLetterRepository, never()).save(any());
+    }
+
+    @Test
+    void failedSendKeepsClaimUntilLeaseExpires() throws Exception {
+        FcmRetryTask task = task(7L, List.of("token-a"), 1);
+        task.setTokens("not-json");
+        givenDue(task);
+        when(retryTaskRepository.claim(eq(7L), eq(NODE_ID), any(), any())).thenReturn(1);
+
+        fcmService.processRetries();
+        drainExecutor();
+
+        assertThat(sender.getRequests()).isZero();
+        verify(retryTaskRepository, never()).deleteClaimed(anyLong(), any());
+    }
+
+    private void givenDue(FcmRetryTask... tasks) {
+        when(retryTaskRepository.findDue(any(), any())).thenReturn(List.of(tasks));
+    }
+
+    private FcmRetryTask task(Long id, List<String> tokens, int attempts) throws Exception {
+        return FcmRetryTask.builder()
+                .id(id)
+                .title("title")
+                .body("body")
+                .tokens(objectMapper.writeValueAsString(tokens))
+                .tokenCount(tokens.size())
+                .errorCode("UNAVAILABLE")
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+
+    private void drainExecutor() throws InterruptedException {
+        sendExecutor.shutdown();
+        assertThat(sendExecutor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
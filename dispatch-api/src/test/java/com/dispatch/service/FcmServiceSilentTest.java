@@ -0,0 +1,131 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.fcm.FcmPushPlan;
+import com.dispatch.dto.websocket.WebSocketMessage.MessageType;
+import com.dispatch.repository.DeviceTokenRepository;
+import com.dispatch.repository.FcmDeadLetterRepository;
+import com.dispatch.repository.FcmRetryTaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.firebase.messaging.MulticastMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * data-only(조용한) 전송: 알림 없이 content-available / 낮은 우선순위로 나가는지, 일반 알림과 구분되는지
+ */
+class FcmServiceSilentTest {
+
+    private final List<MulticastMessage> sent = Collections.synchronizedList(new ArrayList<>());
+    private final FcmTokenCache tokenCache = mock(FcmTokenCache.class);
+
+    private ExecutorService sendExecutor;
+    private FcmService fcmService;
+
+    @BeforeEach
+    void setUp() {
+        sendExecutor = Executors.newSingleThreadExecutor();
+        when(tokenCache.resolve(any())).thenReturn(List.of("token-a", "token-b"));
+
+        FcmSender sender = (message, tokens) -> {
+            sent.add(message);
+            return Collections.nCopies(tokens.size(), null);
+        };
+        fcmService = new FcmService(
+                sender,
+                mock(DeviceTokenRepository.class),
+                mock(FcmRetryTaskRepository.class),
+                mock(FcmDeadLetterRepository.class),
+                tokenCache,
+                new FcmMessageTemplates(),
+                new FcmRetryPolicy(),
+                new FcmRateLimiter(100000, 0),
+                new DispatchMetrics(new SimpleMeterRegistry()),
+                mock(SchedulerLeaseService.class),
+                sendExecutor,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sendExecutor.shutdownNow();
+    }
+
+    @Test
+    void silentMulticastHasNoNotificationAndWakesAppInBackground() throws Exception {
+        fcmService.sendSilent(FcmPushPlan.toUsers(1L), MessageType.CHAT_UNREAD, Map.of("totalUnread", "3"));
+        drainExecutor();
+
+        assertThat(sent).hasSize(1);
+        MulticastMessage message = sent.get(0);
+        assertThat(field(message, "notification")).isNull();
+        assertThat(data(message)).containsEntry("type", "CHAT_UNREAD").containsEntry("totalUnread", "3");
+
+        assertThat(field(field(message, "androidConfig"), "priority")).isEqualTo("normal");
+        assertThat(field(field(message, "androidConfig"), "notification")).isNull();
+
+        Object apns = field(message, "apnsConfig");
+        assertThat(map(field(apns, "headers")))
+                .containsEntry("apns-push-type", "background")
+                .containsEntry("apns-priority", "5");
+        Map<String, Object> aps = map(map(field(apns, "payload")).get("aps"));
+        assertThat(aps).containsEntry("content-available", 1).doesNotContainKeys("alert", "sound", "badge");
+        assertThat(field(message, "webpushConfig")).isNull();
+    }
+
+    @Test
+    void chatReadIsSilentToo() throws Exception {
+        fcmService.sendSilent(FcmPushPlan.toUsers(1L), MessageType.CHAT_READ, Map.of("dispatchId", "7"));
+        drainExecutor();
+
+        assertThat(field(sent.get(0), "notification")).isNull();
+        assertThat(data(sent.get(0))).containsEntry("type", "CHAT_READ").containsEntry("dispatchId", "7");
+    }
+
+    @Test
+    void alertTemplateStillCarriesNotification() throws Exception {
+        FcmMessageTemplates.Template template = new FcmMessageTemplates().get(MessageType.DISPATCH_ACCEPTED);
+        fcmService.send(FcmPushPlan.toUsers(1L), template, template.body(7L), Map.of("dispatchId", "7"));
+        drainExecutor();
+
+        assertThat(field(sent.get(0), "notification")).isNotNull();
+        assertThat(field(field(sent.get(0), "androidConfig"), "priority")).isEqualTo("high");
+    }
+
+    private static Object field(Object target, String name) {
+        return ReflectionTestUtils.getField(target, name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return (Map<String, Object>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> data(MulticastMessage message) {
+        return (Map<String, String>) field(message, "data");
+    }
+
+    private void drainExecutor() throws InterruptedException {
+        sendExecutor.shutdown();
+        assertThat(sendExecutor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,315 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.dispatch.DispatchFeedResponse;
+import com.dispatch.dto.dispatch.DispatchFeedResponse.RemoveReason;
+import com.dispatch.dto.dispatch.DispatchFeedResponse.RemovedDispatch;
+import com.dispatch.dto.dispatch.DispatchResponse;
+import com.dispatch.entity.DispatchRequest;
+import com.dispatch.entity.DispatchRequest.DispatchStatus;
+import com.dispatch.entity.Driver;
+import com.dispatch.entity.Equipment;
+import com.dispatch.entity.User;
+import com.dispatch.repository.DispatchMatchRepository;
+import com.dispatch.repository.DispatchOfferRepository;
+import com.dispatch.repository.DispatchRequestRepository;
+import com.dispatch.repository.DriverRepository;
+import com.dispatch.service.OpenDispatchFeed.FeedQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 배차 피드 이어받기: 같은 epoch/버전이면 diff, 다른 epoch·로그에서 밀려난 버전·기사 일정 변경이면 snapshot,
+ * 목록에서 빠진 배차의 사유 (HIDDEN / CANCELLED / TAKEN / EXPIRED)
+ */
+class OpenDispatchFeedTest {
+
+    private static final Long USER_ID = 100L;
+    private static final Long DRIVER_ID = 10L;
+    private static final Long OTHER_DRIVER_ID = 20L;
+    private static final int LOG_SIZE = 5;
+
+    private final DispatchRequestRepository dispatchRequestRepository = mock(DispatchRequestRepository.class);
+    private final DispatchOfferRepository offerRepository = mock(DispatchOfferRepository.class);
+    private final DriverRepository driverRepository = mock(DriverRepository.class);
+    private final DispatchMatchRepository dispatchMatchRepository = mock(DispatchMatchRepository.class);
+
+    // DB 에 있는 배차와 마지막 sync 이후 바뀐 배차 ID
+    private final Map<Long, DispatchRequest> dispatches = new ConcurrentHashMap<>();
+    private final List<Long> updatedIds = new ArrayList<>();
+
+    private final User staff = User.builder().id(1L).name("staff").phone("010-0000-0000").build();
+    private final LocalDate workDate = LocalDate.now().plusDays(1);
+
+    private DriverScheduleIndex scheduleIndex;
+    private OpenDispatchFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        when(dispatchRequestRepository.findAvailableIds(any())).thenAnswer(invocation -> dispatches.values().stream()
+                .filter(dispatch -> dispatch.getStatus() == DispatchStatus.OPEN)
+                .map(DispatchRequest::getId)
+                .toList());
+        when(dispatchRequestRepository.findIdsUpdatedSince(any())).thenAnswer(invocation -> {
+            List<Long> ids = List.copyOf(updatedIds);
+            updatedIds.clear();
+            return ids;
+        });
+        when(dispatchRequestRepository.findAllWithStaffByIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(dispatches::get).filter(dispatch -> dispatch != null).toList();
+        });
+        when(offerRepository.findDispatchIdsChangedSince(any())).thenReturn(List.of());
+        when(offerRepository.findLiveOffersByDispatchIds(any(), any())).thenReturn(List.of());
+        when(driverRepository.findFeedContextByUserId(USER_ID)).thenReturn(
+                List.<Object[]>of(new Object[]{DRIVER_ID, Driver.VerificationStatus.VERIFIED, 3.5, 10}));
+        when(dispatchMatchRepository.findActiveSchedules(any())).thenReturn(List.of());
+
+        DispatchMatchingService matchingService = mock(DispatchMatchingService.class);
+        when(matchingService.isPublic(any())).thenReturn(true);
+
+        scheduleIndex = new DriverScheduleIndex(dispatchMatchRepository);
+        ReflectionTestUtils.setField(scheduleIndex, "defaultHours", 4);
+
+        feed = new OpenDispatchFeed(dispatchRequestRepository, offerRepository, driverRepository, matchingService,
+                scheduleIndex, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(feed, "logSize", LOG_SIZE);
+        ReflectionTestUtils.setField(feed, "longPollTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(feed, "driverCacheSeconds", 60L);
+        ReflectionTestUtils.setField(feed, "parallelism", 1);
+
+        open(1L, LocalTime.of(9, 0));
+        open(2L, LocalTime.of(13, 0));
+        open(3L, LocalTime.of(17, 0));
+        feed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+    }
+
+    @Test
+    void firstReadIsSnapshot() {
+        DispatchFeedResponse snapshot = poll(null, null);
+
+        assertThat(snapshot.getReset()).isTrue();
+        assertThat(ids(snapshot)).containsExactly(1L, 2L, 3L);
+        assertThat(snapshot.getRemoved()).isEmpty();
+    }
+
+    @Test
+    void sameEpochResumesWithOnlyChangedDispatches() {
+        DispatchFeedResponse snapshot = poll(null, null);
+
+        dispatches.get(2L).setPrice(BigDecimal.valueOf(200_000));
+        open(4L, LocalTime.of(20, 0));
+        changed(2L, 4L);
+
+        DispatchFeedResponse diff = poll(snapshot.getEpoch(), snapshot.getVersion());
+        assertThat(diff.getReset()).isFalse();
+        assertThat(ids(diff)).containsExactlyInAnyOrder(2L, 4L);
+        assertThat(diff.getVersion()).isEqualTo(snapshot.getVersion() + 2);
+        assertThat(diff.getEpoch()).isEqualTo(snapshot.getEpoch());
+    }
+
+    @Test
+    void upToDateCursorWaitsInsteadOfResending() {
+        DispatchFeedResponse snapshot = poll(null, null);
+
+        // 다시 읽어도 내용이 같으면 버전은 그대로
+        changed(1L);
+
+        DeferredResult<DispatchFeedResponse> pending = feed.poll(USER_ID,
+                query(snapshot.getEpoch(), snapshot.getVersion()), Function.identity());
+        assertThat(pending.hasResult()).isFalse();
+    }
+
+    @Test
+    void otherEpochGetsSnapshot() {
+        DispatchFeedResponse snapshot = poll(null, null);
+
+        DispatchFeedResponse restarted = poll("otherepo", snapshot.getVersion());
+
+        assertThat(restarted.getReset()).isTrue();
+        assertThat(restarted.getEpoch()).isEqualTo(snapshot.getEpoch());
+        assertThat(ids(restarted)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void cursorAheadOfFeedGetsSnapshot() {
+        DispatchFeedResponse snapshot = poll(null, null);
+
+        assertThat(poll(snapshot.getEpoch(), snapshot.getVersion() + 1).getReset()).isTrue();
+    }
+
+    @Test
+    void cursorOlderThanChangeLogGetsSnapshot() {
+        DispatchFeedResponse snapshot = poll(null, null);
+        long start = snapshot.getVersion();
+
+        // 로그 크기(5)보다 많은 변경 - 가장 오래된 변경이 밀려난다
+        for (int i = 1; i <= LOG_SIZE + 1; i++) {
+            dispatches.get(1L).setPrice(BigDecimal.valueOf(i));
+            changed(1L);
+        }
+
+        DispatchFeedResponse tooOld = poll(snapshot.getEpoch(), start);
+        assertThat(tooOld.getReset()).isTrue();
+        assertThat(tooOld.getVersion()).isEqualTo(start + LOG_SIZE + 1);
+
+        // 로그에 남은 가장 오래된 변경 직전 버전까지는 diff 로 이어받는다
+        DispatchFeedResponse oldestKept = poll(snapshot.getEpoch(), start + 1);
+        assertThat(oldestKept.getReset()).isFalse();
+        assertThat(ids(oldestKept)).containsExactly(1L);
+    }
+
+    @Test
+    void ownScheduleChangeForcesSnapshot() {
+        DispatchFeedResponse snapshot = poll(null, null);
+
+        // 2번 배차 시간과 겹치는 일정을 수락 - 2번이 목록에서 빠져야 한다
+        scheduleIndex.reserve(DRIVER_ID, dispatch(50L, LocalTime.of(12, 0), 2));
+
+        DispatchFeedResponse response = poll(snapshot.getEpoch(), snapshot.getVersion());
+        assertThat(response.getReset()).isTrue();
+        assertThat(ids(response)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void otherDriversScheduleChangeKeepsDiff() {
+        DispatchFeedResponse snapshot = poll(null, null);
+
+        scheduleIndex.reserve(OTHER_DRIVER_ID, dispatch(50L, LocalTime.of(12, 0), 2));
+        dispatches.get(3L).setPrice(BigDecimal.valueOf(300_000));
+        changed(3L);
+
+        DispatchFeedResponse diff = poll(snapshot.getEpoch(), snapshot.getVersion());
+        assertThat(diff.getReset()).isFalse();
+        assertThat(ids(diff)).containsExactly(3L);
+    }
+
+    @Test
+    void stillOpenButNotForThisDriverIsHidden() {
+        DispatchFeedResponse snapshot = poll(null, null);
+
+        // 기사 별점(3.5)보다 높은 최소 별점
+        dispatches.get(2L).setMinDriverRating(4);
+        changed(2L);
+
+        DispatchFeedResponse diff = poll(snapshot.getEpoch(), snapshot.getVersion());
+        assertThat(diff.getReset()).isFalse();
+        assertThat(diff.getDispatches()).isEmpty();
+        assertThat(diff.getRemoved()).containsExactly(removed(2L, RemoveReason.HIDDEN));
+    }
+
+    @Test
+    void closedDispatchesCarryTheirReason() {
+        open(4L, LocalTime.of(20, 0));
+        feed.reload();
+        DispatchFeedResponse snapshot = poll(null, null);
+
+        dispatches.get(1L).setStatus(DispatchStatus.CANCELLED);
+        dispatches.get(2L).setStatus(DispatchStatus.MATCHED);
+        dispatches.remove(3L);
+        dispatches.get(4L).setWorkDate(LocalDate.now().minusDays(1));
+        changed(1L, 2L, 3L, 4L);
+
+        DispatchFeedResponse diff = poll(snapshot.getEpoch(), snapshot.getVersion());
+        assertThat(diff.getReset()).isFalse();
+        assertThat(diff.getRemoved()).containsExactlyInAnyOrder(
+                removed(1L, RemoveReason.CANCELLED),
+                removed(2L, RemoveReason.TAKEN),
+                removed(3L, RemoveReason.CANCELLED),
+                removed(4L, RemoveReason.EXPIRED));
+    }
+
+    @Test
+    void diffKeepsOnlyTheLatestChangePerDispatch() {
+        DispatchFeedResponse snapshot = poll(null, null);
+
+        dispatches.get(2L).setMinDriverRating(4);
+        changed(2L);
+        dispatches.get(2L).setStatus(DispatchStatus.CANCELLED);
+        changed(2L);
+
+        DispatchFeedResponse diff = poll(snapshot.getEpoch(), snapshot.getVersion());
+        assertThat(diff.getDispatches()).isEmpty();
+        assertThat(diff.getRemoved()).containsExactly(removed(2L, RemoveReason.CANCELLED));
+    }
+
+    @Test
+    void hiddenDispatchComesBackWhenVisibleAgain() {
+        DispatchFeedResponse snapshot = poll(null, null);
+        dispatches.get(2L).setMinDriverRating(4);
+        changed(2L);
+        DispatchFeedResponse hidden = poll(snapshot.getEpoch(), snapshot.getVersion());
+
+        dispatches.get(2L).setMinDriverRating(null);
+        changed(2L);
+
+        DispatchFeedResponse visible = poll(hidden.getEpoch(), hidden.getVersion());
+        assertThat(visible.getReset()).isFalse();
+        assertThat(ids(visible)).containsExactly(2L);
+        assertThat(visible.getRemoved()).isEmpty();
+    }
+
+    private DispatchFeedResponse poll(String epoch, Long version) {
+        DeferredResult<DispatchFeedResponse> result = feed.poll(USER_ID, query(epoch, version), Function.identity());
+        assertThat(result.hasResult()).isTrue();
+        return (DispatchFeedResponse) result.getResult();
+    }
+
+    private static FeedQuery query(String epoch, Long version) {
+        return new FeedQuery(epoch, version, null, null, null);
+    }
+
+    private void changed(Long... ids) {
+        updatedIds.addAll(List.of(ids));
+        feed.sync();
+    }
+
+    private void open(Long id, LocalTime workTime) {
+        dispatches.put(id, dispatch(id, workTime, 2));
+    }
+
+    private DispatchRequest dispatch(Long id, LocalTime workTime, Integer estimatedHours) {
+        return DispatchRequest.builder()
+                .id(id)
+                .staff(staff)
+                .siteAddress("서울시 강남구")
+                .workDate(workDate)
+                .workTime(workTime)
+                .estimatedHours(estimatedHours)
+                .equipmentType(Equipment.EquipmentType.CRANE)
+                .status(DispatchStatus.OPEN)
+                .build();
+    }
+
+    private static RemovedDispatch removed(Long id, RemoveReason reason) {
+        return RemovedDispatch.builder().id(id).reason(reason).build();
+    }
+
+    private static List<Long> ids(DispatchFeedResponse response) {
+        return response.getDispatches().stream().map(DispatchResponse::getId).toList();
+    }
+}
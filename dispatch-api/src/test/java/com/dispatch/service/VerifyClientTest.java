@@ -0,0 +1,209 @@
+package com.dispatch.service;
+
+import com.dispatch.dto.verify.VerifyResponse;
+import com.dispatch.dto.verify.VerifyResponse.VerifyResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * verify-server 호출 클라이언트: 타임아웃, 격벽, 차단기 상태 전이 (로컬 HTTP 대역 서버 사용)
+ */
+class VerifyClientTest {
+
+    private static final String PATH = "/api/verify/business-registration";
+    private static final String VALID_BODY = "{\"result\":\"VALID\",\"message\":\"ok\"}";
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile long delayMs;
+    private volatile CountDownLatch gate;
+
+    private VerifyClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext(PATH, this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (gate != null) {
+            gate.countDown();
+        }
+        if (client != null) {
+            client.stop();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void callTimeoutReturnsUnknown() {
+        delayMs = 2000;
+        client = client(5000, 200, 4, 4, 5, 30);
+
+        VerifyResponse response = post();
+
+        assertThat(response.getResult()).isEqualTo(VerifyResult.UNKNOWN);
+        assertThat(response.getReasonCode()).isEqualTo("TIMEOUT");
+        assertThat(VerifyClient.isClientFailure(response)).isTrue();
+    }
+
+    @Test
+    void readTimeoutReturnsUnknownAndCountsAsFailure() {
+        delayMs = 2000;
+        client = client(200, 5000, 4, 4, 1, 30);
+
+        VerifyResponse response = post();
+
+        assertThat(response.getReasonCode()).isEqualTo("TIMEOUT");
+        assertThat(client.getStats().getFailures()).isEqualTo(1);
+        assertThat(client.isCircuitOpen()).isTrue();
+    }
+
+    @Test
+    void bulkheadRejectsWhenThreadsAndQueueAreFull() throws Exception {
+        gate = new CountDownLatch(1);
+        client = client(5000, 5000, 1, 1, 5, 30);
+
+        CompletableFuture<VerifyResponse> running = client.post(PATH, Map.of("businessNumber", "1"), null);
+        awaitRequests(1);
+        CompletableFuture<VerifyResponse> queued = client.post(PATH, Map.of("businessNumber", "2"), null);
+        CompletableFuture<VerifyResponse> rejected = client.post(PATH, Map.of("businessNumber", "3"), null);
+
+        assertThat(rejected).isDone();
+        assertThat(rejected.get().getReasonCode()).isEqualTo("BULKHEAD_FULL");
+        assertThat(client.getStats().getRejected()).isEqualTo(1);
+
+        gate.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).getResult()).isEqualTo(VerifyResult.VALID);
+        assertThat(queued.get(5, TimeUnit.SECONDS).getResult()).isEqualTo(VerifyResult.VALID);
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void breakerOpensAfterConsecutiveFailuresAndSkipsCalls() {
+        status = 500;
+        client = client(5000, 5000, 4, 4, 2, 60);
+
+        assertThat(post().getReasonCode()).isEqualTo("ERROR");
+        assertThat(client.isCircuitOpen()).isFalse();
+        assertThat(post().getReasonCode()).isEqualTo("ERROR");
+        assertThat(client.isCircuitOpen()).isTrue();
+
+        VerifyResponse skipped = post();
+
+        assertThat(skipped.getReasonCode()).isEqualTo("CIRCUIT_OPEN");
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void clientErrorDoesNotOpenBreaker() {
+        status = 400;
+        client = client(5000, 5000, 4, 4, 1, 60);
+
+        assertThat(post().getReasonCode()).isEqualTo("ERROR");
+        assertThat(post().getReasonCode()).isEqualTo("ERROR");
+
+        assertThat(client.isCircuitOpen()).isFalse();
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void successfulTrialCallClosesBreaker() {
+        status = 500;
+        client = client(5000, 5000, 4, 4, 1, 0);
+        post();
+        assertThat(client.isCircuitOpen()).isFalse(); // 차단 시간 0 - 바로 시험 호출 가능
+
+        status = 200;
+        assertThat(post().getResult()).isEqualTo(VerifyResult.VALID);
+        assertThat(post().getResult()).isEqualTo(VerifyResult.VALID);
+        assertThat(requests.get()).isEqualTo(3);
+    }
+
+    @Test
+    void failedTrialCallReopensBreaker() {
+        status = 500;
+        client = client(5000, 5000, 4, 4, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            post();
+        }
+
+        // 시험 호출 한 건이 실패하면 연속 실패 수와 관계없이 다시 열린다
+        assertThat(post().getReasonCode()).isEqualTo("ERROR");
+        Object breaker = ReflectionTestUtils.getField(client, "breaker");
+        ReflectionTestUtils.setField(breaker, "openNanos", TimeUnit.MINUTES.toNanos(1));
+
+        assertThat(post().getReasonCode()).isEqualTo("CIRCUIT_OPEN");
+        assertThat(requests.get()).isEqualTo(4);
+    }
+
+    private VerifyClient client(long readTimeoutMs, long callTimeoutMs, int maxConcurrent, int queueSize,
+                                int failureThreshold, long openSeconds) {
+        VerifyClient verifyClient = new VerifyClient(mock(VerificationResultCache.class), 1000, readTimeoutMs,
+                callTimeoutMs, maxConcurrent, queueSize, failureThreshold, openSeconds);
+        ReflectionTestUtils.setField(verifyClient, "verifyApiUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(verifyClient, "verifyApiKey", "");
+        return verifyClient;
+    }
+
+    private VerifyResponse post() {
+        return client.post(PATH, Map.of("businessNumber", "1234567890"), null).join();
+    }
+
+    private void awaitRequests(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requests.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(requests.get()).isEqualTo(count);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            exchange.getRequestBody().readAllBytes();
+            if (gate != null) {
+                gate.await(10, TimeUnit.SECONDS);
+            }
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+            byte[] body = (status == 200 ? VALID_BODY : "{}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().put("Content-Type", List.of("application/json"));
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // 클라이언트가 먼저 끊은 경우 (타임아웃 테스트)
+        } finally {
+            exchange.close();
+        }
+    }
+}
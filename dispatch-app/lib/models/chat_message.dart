@@ -3,6 +3,7 @@ enum SenderType { DRIVER, COMPANY }
 class ChatMessage {
   final int id;
   final int dispatchId;
+  final int? sequence;
   final int senderId;
   final String? senderName;
   final SenderType senderType;
@@ -15,6 +16,7 @@ class ChatMessage {
   ChatMessage({
     required this.id,
     required this.dispatchId,
+    this.sequence,
     required this.senderId,
     this.senderName,
     required this.senderType,
@@ -29,6 +31,7 @@ class ChatMessage {
     return ChatMessage(
       id: json['id'],
       dispatchId: json['dispatchId'],
+      sequence: json['sequence'],
       senderId: json['senderId'],
       senderName: json['senderName'],
       senderType: SenderType.values.firstWhere(
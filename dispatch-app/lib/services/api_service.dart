@@ -5,8 +5,17 @@ class ApiService {
   static const String baseUrl = 'http://10.0.2.2:8082/api'; // Android 에뮬레이터
   // static const String baseUrl = 'http://localhost:8082/api'; // iOS 시뮬레이터
 
+  // 조건부 GET 대상 (서버가 약한 ETag 를 주는 주기 조회 경로)
+  // 저장한 ETag 를 If-None-Match 로 보내고, 304 면 저장해 둔 본문을 200 응답처럼 돌려준다.
+  static const Set<String> _conditionalPaths = {
+    '/dispatches/driver/history',
+    '/drivers/statistics',
+    '/companies/statistics',
+  };
+
   late final Dio _dio;
   final FlutterSecureStorage _storage = const FlutterSecureStorage();
+  final Map<String, _CachedResponse> _etagCache = {};
 
   ApiService() {
     _dio = Dio(BaseOptions(
@@ -22,8 +31,37 @@ class ApiService {
         if (token != null) {
           options.headers['Authorization'] = 'Bearer $token';
         }
+        if (_isConditional(options)) {
+          final cached = _etagCache[options.uri.toString()];
+          if (cached != null) {
+            options.headers['If-None-Match'] = cached.etag;
+          }
+          options.validateStatus = (status) => status != null && (status >= 200 && status < 300 || status == 304);
+        }
         return handler.next(options);
       },
+      onResponse: (response, handler) {
+        final options = response.requestOptions;
+        if (_isConditional(options)) {
+          final key = options.uri.toString();
+          final cached = _etagCache[key];
+          if (response.statusCode == 304 && cached != null) {
+            return handler.resolve(Response(
+              requestOptions: options,
+              data: cached.data,
+              statusCode: 200,
+              headers: response.headers,
+            ));
+          }
+          final etag = response.headers.value('etag');
+          if (etag != null) {
+            _etagCache[key] = _CachedResponse(etag, response.data);
+          } else {
+            _etagCache.remove(key);
+          }
+        }
+        return handler.next(response);
+      },
       onError: (error, handler) async {
         if (error.response?.statusCode == 401) {
           // 토큰 만료 시 리프레시 시도
@@ -195,6 +233,10 @@ class ApiService {
     return _dio.post('/dispatches/$id/accept');
   }
 
+  Future<Response> declineDispatch(int id) {
+    return _dio.post('/dispatches/$id/decline');
+  }
+
   Future<Response> departForSite(int id) {
     return _dio.post('/dispatches/$id/depart');
   }
@@ -286,6 +328,13 @@ class ApiService {
     return _dio.get('/dispatches/$dispatchId/chat/messages');
   }
 
+  Future<Response> syncChatMessages(int dispatchId, int afterSequence, {int limit = 200}) {
+    return _dio.get('/dispatches/$dispatchId/chat/messages/sync', queryParameters: {
+      'afterSequence': afterSequence,
+      'limit': limit,
+    });
+  }
+
   Future<Response> sendChatMessage(int dispatchId, String message, {String? imageUrl}) {
     return _dio.post('/dispatches/$dispatchId/chat/messages', data: {
       'message': message,
@@ -348,9 +397,21 @@ class ApiService {
   Future<void> clearTokens() async {
     await _storage.delete(key: 'accessToken');
     await _storage.delete(key: 'refreshToken');
+    _etagCache.clear();
   }
 
   Future<String?> getAccessToken() async {
     return await _storage.read(key: 'accessToken');
   }
+
+  bool _isConditional(RequestOptions options) {
+    return options.method == 'GET' && _conditionalPaths.contains(options.path);
+  }
+}
+
+class _CachedResponse {
+  final String etag;
+  final dynamic data;
+
+  _CachedResponse(this.etag, this.data);
 }
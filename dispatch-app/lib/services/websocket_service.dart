@@ -5,6 +5,7 @@ import 'package:stomp_dart_client/stomp_dart_client.dart';
 
 enum MessageType {
   newDispatch,
+  dispatchOffer,
   dispatchAccepted,
   dispatchArrived,
   dispatchCompleted,
@@ -44,6 +45,8 @@ class WebSocketMessage<T> {
     switch (type) {
       case 'NEW_DISPATCH':
         return MessageType.newDispatch;
+      case 'DISPATCH_OFFER':
+        return MessageType.dispatchOffer;
       case 'DISPATCH_ACCEPTED':
         return MessageType.dispatchAccepted;
       case 'DISPATCH_ARRIVED':
@@ -224,6 +227,12 @@ class WebSocketService {
       final json = jsonDecode(frame.body!);
       final message = WebSocketMessage.fromJson(json);
       _messageController.add(message);
+
+      // 우선 제안받은 배차도 새 배차와 같이 목록 갱신
+      if (message.type == MessageType.dispatchOffer && message.data != null) {
+        final dispatch = DispatchNotification.fromJson(message.data as Map<String, dynamic>);
+        _newDispatchController.add(dispatch);
+      }
     } catch (e) {
       debugPrint('[WebSocket] Parse error: $e');
     }
@@ -1,6 +1,7 @@
 import client from './client';
 import {
   ApiResponse,
+  PageResponse,
   Driver,
   Company,
   Warning,
@@ -118,8 +119,8 @@ export const searchCompanies = async (keyword: string): Promise<ApiResponse<Comp
 
 // ==================== 경고 관리 ====================
 
-export const getAllWarnings = async (): Promise<ApiResponse<Warning[]>> => {
-  const response = await client.get('/admin/warnings');
+export const getAllWarnings = async (page = 0, size = 50): Promise<ApiResponse<PageResponse<Warning>>> => {
+  const response = await client.get('/admin/warnings', { params: { page, size } });
   return response.data;
 };
 
@@ -143,13 +144,13 @@ export const getWarningsByUser = async (userId: number, userType: WarningUserTyp
 
 // ==================== 정지 관리 ====================
 
-export const getAllSuspensions = async (): Promise<ApiResponse<Suspension[]>> => {
-  const response = await client.get('/admin/suspensions');
+export const getAllSuspensions = async (page = 0, size = 50): Promise<ApiResponse<PageResponse<Suspension>>> => {
+  const response = await client.get('/admin/suspensions', { params: { page, size } });
   return response.data;
 };
 
-export const getActiveSuspensions = async (): Promise<ApiResponse<Suspension[]>> => {
-  const response = await client.get('/admin/suspensions/active');
+export const getActiveSuspensions = async (page = 0, size = 50): Promise<ApiResponse<PageResponse<Suspension>>> => {
+  const response = await client.get('/admin/suspensions/active', { params: { page, size } });
   return response.data;
 };
 
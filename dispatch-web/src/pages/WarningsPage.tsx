@@ -22,6 +22,8 @@ import {
 
 type TabType = 'warnings' | 'suspensions';
 
+const PAGE_SIZE = 50;
+
 export default function WarningsPage() {
   const [activeTab, setActiveTab] = useState<TabType>('warnings');
   const [warnings, setWarnings] = useState<Warning[]>([]);
@@ -30,25 +32,33 @@ export default function WarningsPage() {
   const [showWarningModal, setShowWarningModal] = useState(false);
   const [showSuspensionModal, setShowSuspensionModal] = useState(false);
   const [showActiveOnly, setShowActiveOnly] = useState(true);
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
 
   useEffect(() => {
-    loadData();
+    setPage(0);
   }, [activeTab, showActiveOnly]);
 
+  useEffect(() => {
+    loadData();
+  }, [activeTab, showActiveOnly, page]);
+
   const loadData = async () => {
     setLoading(true);
     try {
       if (activeTab === 'warnings') {
-        const response = await getAllWarnings();
+        const response = await getAllWarnings(page, PAGE_SIZE);
         if (response.success && response.data) {
-          setWarnings(response.data);
+          setWarnings(response.data.content);
+          setTotalPages(response.data.totalPages);
         }
       } else {
         const response = showActiveOnly
-          ? await getActiveSuspensions()
-          : await getAllSuspensions();
+          ? await getActiveSuspensions(page, PAGE_SIZE)
+          : await getAllSuspensions(page, PAGE_SIZE);
         if (response.success && response.data) {
-          setSuspensions(response.data);
+          setSuspensions(response.data.content);
+          setTotalPages(response.data.totalPages);
         }
       }
     } catch (error) {
@@ -143,6 +153,28 @@ export default function WarningsPage() {
         <SuspensionsTable suspensions={suspensions} onLift={handleLiftSuspension} />
       )}
 
+      {!loading && totalPages > 1 && (
+        <div className="flex justify-center items-center gap-4 mt-4">
+          <button
+            onClick={() => setPage(page - 1)}
+            disabled={page === 0}
+            className="px-4 py-2 border border-gray-300 rounded-lg hover:bg-gray-50 disabled:opacity-50"
+          >
+            이전
+          </button>
+          <span className="text-sm text-gray-600">
+            {page + 1} / {totalPages}
+          </span>
+          <button
+            onClick={() => setPage(page + 1)}
+            disabled={page + 1 >= totalPages}
+            className="px-4 py-2 border border-gray-300 rounded-lg hover:bg-gray-50 disabled:opacity-50"
+          >
+            다음
+          </button>
+        </div>
+      )}
+
       {showWarningModal && (
         <CreateWarningModal
           onClose={() => setShowWarningModal(false)}
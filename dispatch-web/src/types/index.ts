@@ -180,6 +180,16 @@ export interface ApiResponse<T> {
   data?: T;
 }
 
+// 페이지 단위 목록 응답
+export interface PageResponse<T> {
+  content: T[];
+  page: number;
+  size: number;
+  totalElements: number;
+  totalPages: number;
+  hasNext: boolean;
+}
+
 // 발주처 관련 타입
 export enum CompanyStatus {
   PENDING = 'PENDING',